@@ -0,0 +1,36 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CacheBatches {
+    private CacheBatches() {
+    }
+
+    public static <V> Map<String, V> getAll(@Nullable Cache cache, Collection<String> keys, Class<V> type) {
+        Map<String, V> values = new HashMap<>();
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.getAll(keys).forEach((key, value) -> values.put(key, type.cast(value)));
+        } else if (cache != null) {
+            keys.forEach(key -> {
+                V value = cache.get(key, type);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+        }
+        return values;
+    }
+
+    public static void putAll(@Nullable Cache cache, Map<String, ?> values) {
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.putAll(new HashMap<>(values));
+        } else if (cache != null) {
+            values.forEach(cache::put);
+        }
+    }
+}
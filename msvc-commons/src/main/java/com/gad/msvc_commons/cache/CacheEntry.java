@@ -0,0 +1,14 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+record CacheEntry(@Nullable Object value, long expiresAtMillis) implements Cache.ValueWrapper {
+    static final long UNKNOWN_EXPIRY = Long.MAX_VALUE;
+
+    @Override
+    @Nullable
+    public Object get() {
+        return value;
+    }
+}
@@ -0,0 +1,7 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.lang.Nullable;
+
+public interface CacheInvalidationPublisher {
+    void publishInvalidation(String cacheName, @Nullable String key);
+}
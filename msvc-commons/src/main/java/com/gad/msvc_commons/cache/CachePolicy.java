@@ -0,0 +1,58 @@
+package com.gad.msvc_commons.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+public class CachePolicy {
+    private Duration ttl;
+    private Long maxEntries;
+    private Duration localTtl;
+    private Boolean cacheNullValues;
+    private String keyPrefix;
+    private DataSize compressionThreshold;
+    private Double earlyRefreshBeta;
+
+    public static CachePolicy defaultPolicy() {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(Duration.ofMinutes(10));
+        policy.setMaxEntries(10_000L);
+        policy.setLocalTtl(Duration.ofMinutes(1));
+        policy.setCacheNullValues(true);
+        policy.setEarlyRefreshBeta(1.0);
+        return policy;
+    }
+
+    public CachePolicy mergeWith(CachePolicy defaults) {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(ttl != null ? ttl : defaults.getTtl());
+        policy.setMaxEntries(maxEntries != null ? maxEntries : defaults.getMaxEntries());
+        policy.setLocalTtl(localTtl != null ? localTtl : defaults.getLocalTtl());
+        policy.setCacheNullValues(cacheNullValues != null ? cacheNullValues : defaults.getCacheNullValues());
+        policy.setKeyPrefix(keyPrefix != null ? keyPrefix : defaults.getKeyPrefix());
+        policy.setCompressionThreshold(compressionThreshold != null ? compressionThreshold : defaults.getCompressionThreshold());
+        policy.setEarlyRefreshBeta(earlyRefreshBeta != null ? earlyRefreshBeta : defaults.getEarlyRefreshBeta());
+        return policy;
+    }
+
+    public RedisCacheConfiguration toRedisCacheConfiguration(CacheSerializationFormat serializationFormat) {
+        long compressionThresholdBytes = compressionThreshold == null ? 0 : compressionThreshold.toBytes();
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new VersionedCacheSerializer(serializationFormat, compressionThresholdBytes)));
+        if (!Boolean.TRUE.equals(cacheNullValues)) {
+            configuration = configuration.disableCachingNullValues();
+        }
+        if (keyPrefix != null && !keyPrefix.isEmpty()) {
+            configuration = configuration.prefixCacheNameWith(keyPrefix);
+        }
+        return configuration;
+    }
+}
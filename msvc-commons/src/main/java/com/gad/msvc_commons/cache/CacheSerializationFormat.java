@@ -0,0 +1,25 @@
+package com.gad.msvc_commons.cache;
+
+public enum CacheSerializationFormat {
+    JSON((byte) 1),
+    SMILE((byte) 2);
+
+    private final byte version;
+
+    CacheSerializationFormat(byte version) {
+        this.version = version;
+    }
+
+    public byte getVersion() {
+        return version;
+    }
+
+    public static CacheSerializationFormat fromVersion(byte version) {
+        for (CacheSerializationFormat format : values()) {
+            if (format.version == version) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache serialization version: " + version);
+    }
+}
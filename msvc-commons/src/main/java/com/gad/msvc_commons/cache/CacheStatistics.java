@@ -0,0 +1,18 @@
+package com.gad.msvc_commons.cache;
+
+public record CacheStatistics(
+        long localEntries,
+        long localMaxEntries,
+        long localTtlSeconds,
+        Long remoteEntries,
+        Long remoteMemoryBytes,
+        long ttlSeconds,
+        boolean cacheNullValues,
+        String keyPrefix,
+        Long compressionThresholdBytes,
+        long localHits,
+        long remoteHits,
+        long misses,
+        double hitRatio
+) {
+}
@@ -0,0 +1,93 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public class ReactiveRemoteCache implements DisposableBean {
+    private final String instanceId = UUID.randomUUID().toString();
+    private final String name;
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final String keyPrefix;
+    private final String invalidationChannel;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final boolean ownsConnectionFactory;
+
+    public ReactiveRemoteCache(String name, ReactiveRedisTemplate<String, Object> redisTemplate, ReactiveStringRedisTemplate stringRedisTemplate,
+                               RedisCacheConfiguration cacheConfiguration, String invalidationChannel, boolean ownsConnectionFactory) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheConfiguration = cacheConfiguration;
+        this.keyPrefix = cacheConfiguration.getKeyPrefixFor(name);
+        this.invalidationChannel = invalidationChannel;
+        this.connectionFactory = redisTemplate.getConnectionFactory();
+        this.ownsConnectionFactory = ownsConnectionFactory;
+    }
+
+    public static ReactiveRemoteCache create(String name, ReactiveRedisConnectionFactory connectionFactory,
+                                             TwoTierCacheProperties properties, boolean ownsConnectionFactory) {
+        RedisCacheConfiguration cacheConfiguration = properties.policyFor(name).toRedisCacheConfiguration(properties.getSerializationFormat());
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(cacheConfiguration.getValueSerializationPair())
+                .build();
+        return new ReactiveRemoteCache(name, new ReactiveRedisTemplate<>(connectionFactory, serializationContext),
+                new ReactiveStringRedisTemplate(connectionFactory), cacheConfiguration, properties.getInvalidationChannel(), ownsConnectionFactory);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return redisTemplate.opsForValue().get(keyPrefix + key)
+                .filter(value -> !(value instanceof NullValue))
+                .map(type::cast);
+    }
+
+    public <T> Mono<T> get(String key, Class<T> type, Supplier<Mono<T>> valueLoader) {
+        return get(key, type).switchIfEmpty(Mono.defer(valueLoader)
+                .flatMap(value -> store(key, value).thenReturn(value)));
+    }
+
+    public Mono<Boolean> put(String key, Object value) {
+        return store(key, value).flatMap(stored -> publishInvalidation(key).thenReturn(stored));
+    }
+
+    public Mono<Void> evict(String key) {
+        return redisTemplate.delete(keyPrefix + key)
+                .then(publishInvalidation(key));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (ownsConnectionFactory && connectionFactory instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private Mono<Boolean> store(String key, Object value) {
+        Duration ttl = cacheConfiguration.getTtlFunction().getTimeToLive(key, value);
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return redisTemplate.opsForValue().set(keyPrefix + key, value);
+        }
+        return redisTemplate.opsForValue().set(keyPrefix + key, value, ttl);
+    }
+
+    private Mono<Void> publishInvalidation(String key) {
+        return stringRedisTemplate.convertAndSend(invalidationChannel, TwoTierCacheManager.invalidationMessage(instanceId, name, key)).then();
+    }
+}
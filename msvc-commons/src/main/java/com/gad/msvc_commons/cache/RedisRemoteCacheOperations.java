@@ -0,0 +1,88 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class RedisRemoteCacheOperations implements RemoteCacheOperations {
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final String keyPrefix;
+
+    public RedisRemoteCacheOperations(StringRedisTemplate redisTemplate, RedisCache redisCache) {
+        this.redisTemplate = redisTemplate;
+        this.cacheConfiguration = redisCache.getCacheConfiguration();
+        this.keyPrefix = cacheConfiguration.getKeyPrefixFor(redisCache.getName());
+    }
+
+    @Override
+    public long ttlMillis(String key) {
+        Long ttl = redisTemplate.getExpire(keyPrefix + key, TimeUnit.MILLISECONDS);
+        return ttl == null ? -1 : ttl;
+    }
+
+    @Override
+    public List<Cache.ValueWrapper> multiGet(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        byte[][] rawKeys = keys.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<byte[]> rawValues = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+
+        List<Cache.ValueWrapper> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] rawValue = rawValues == null ? null : rawValues.get(i);
+            values.add(rawValue == null ? null : toValueWrapper(cacheConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(rawValue))));
+        }
+        return values;
+    }
+
+    @Override
+    public void multiPut(Map<String, Object> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            values.forEach((key, value) -> {
+                if (value == null && !cacheConfiguration.getAllowCacheNullValues()) {
+                    return;
+                }
+                Object storeValue = value == null ? NullValue.INSTANCE : value;
+                Duration ttl = cacheConfiguration.getTtlFunction().getTimeToLive(key, value);
+                connection.stringCommands().set(rawKey(key), rawValue(storeValue),
+                        ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                        RedisStringCommands.SetOption.upsert());
+            });
+            return null;
+        });
+    }
+
+    private byte[] rawKey(String key) {
+        return (keyPrefix + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] rawValue(Object value) {
+        ByteBuffer buffer = cacheConfiguration.getValueSerializationPair().write(value);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static Cache.ValueWrapper toValueWrapper(Object value) {
+        return new SimpleValueWrapper(value instanceof NullValue ? null : value);
+    }
+}
@@ -0,0 +1,33 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.Map;
+
+public interface RemoteCacheOperations {
+    long ttlMillis(String key);
+
+    List<Cache.ValueWrapper> multiGet(List<String> keys);
+
+    void multiPut(Map<String, Object> values);
+
+    static RemoteCacheOperations of(Cache remoteCache) {
+        return new RemoteCacheOperations() {
+            @Override
+            public long ttlMillis(String key) {
+                return -1;
+            }
+
+            @Override
+            public List<Cache.ValueWrapper> multiGet(List<String> keys) {
+                return keys.stream().map(remoteCache::get).toList();
+            }
+
+            @Override
+            public void multiPut(Map<String, Object> values) {
+                values.forEach(remoteCache::put);
+            }
+        };
+    }
+}
@@ -0,0 +1,349 @@
+package com.gad.msvc_commons.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public class TwoTierCache implements Cache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> localCache;
+    private final Cache remoteCache;
+    private final CachePolicy policy;
+    private final RemoteCacheOperations remoteOperations;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+    private volatile long lastLoadNanos;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> localCache, Cache remoteCache,
+                        CachePolicy policy, RemoteCacheOperations remoteOperations,
+                        CacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.policy = policy;
+        this.remoteOperations = remoteOperations;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = getsCounter(meterRegistry, "local", "hit");
+        this.remoteHits = getsCounter(meterRegistry, "remote", "hit");
+        this.misses = getsCounter(meterRegistry, "remote", "miss");
+        this.loads = loadsCounter(meterRegistry, "load");
+        this.coalescedLoads = loadsCounter(meterRegistry, "coalesced");
+        this.earlyRefreshes = loadsCounter(meterRegistry, "early-refresh");
+        Gauge.builder("cache.size", localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name)
+                .tag("tier", "local")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return lookup(key, localKey(key), false);
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper == null ? null : valueWrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        CacheEntry entry = lookup(key, localKey, isEarlyRefreshEnabled());
+        if (entry == null) {
+            return (T) load(key, localKey, valueLoader);
+        }
+        if (shouldRefreshEarly(entry)) {
+            return (T) refresh(key, localKey, valueLoader, entry);
+        }
+        return (T) entry.get();
+    }
+
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (String key : keys) {
+            CacheEntry localEntry = localCache.getIfPresent(key);
+            if (localEntry == null) {
+                remoteKeys.add(key);
+            } else if (localEntry.get() != null) {
+                localHits.increment();
+                values.put(key, localEntry.get());
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return values;
+        }
+
+        List<ValueWrapper> remoteValues = remoteOperations.multiGet(remoteKeys);
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            ValueWrapper remoteValue = remoteValues.get(i);
+            if (remoteValue == null || remoteValue.get() == null) {
+                misses.increment();
+                continue;
+            }
+            remoteHits.increment();
+            localCache.put(remoteKeys.get(i), new CacheEntry(remoteValue.get(), CacheEntry.UNKNOWN_EXPIRY));
+            values.put(remoteKeys.get(i), remoteValue.get());
+        }
+        return values;
+    }
+
+    public void putAll(Map<String, Object> values) {
+        remoteOperations.multiPut(values);
+        long expiresAt = expiresAt();
+        values.forEach((key, value) -> localCache.put(key, new CacheEntry(value, expiresAt)));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        String localKey = localKey(key);
+        remoteCache.put(key, value);
+        localCache.put(localKey, new CacheEntry(value, expiresAt()));
+        invalidationPublisher.publishInvalidation(name, localKey);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        String localKey = localKey(key);
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publishInvalidation(name, localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remoteCache.evict(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publishInvalidation(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = remoteCache.evictIfPresent(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publishInvalidation(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publishInvalidation(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remoteCache.invalidate();
+        localCache.invalidateAll();
+        invalidationPublisher.publishInvalidation(name, null);
+        return invalidated;
+    }
+
+    @Nullable
+    private CacheEntry lookup(Object key, String localKey, boolean resolveExpiry) {
+        CacheEntry localEntry = localCache.getIfPresent(localKey);
+        if (localEntry != null) {
+            localHits.increment();
+            return localEntry;
+        }
+
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        CacheEntry remoteEntry = new CacheEntry(remoteValue.get(), resolveExpiry ? remoteExpiresAt(localKey) : CacheEntry.UNKNOWN_EXPIRY);
+        localCache.put(localKey, remoteEntry);
+        return remoteEntry;
+    }
+
+    @Nullable
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(localKey, loading);
+        if (inFlightLoad != null) {
+            coalescedLoads.increment();
+            return await(inFlightLoad);
+        }
+
+        try {
+            CacheEntry loadedMeanwhile = localCache.getIfPresent(localKey);
+            Object value = loadedMeanwhile != null ? loadedMeanwhile.get() : loadAndStore(key, localKey, valueLoader);
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(localKey, loading);
+        }
+    }
+
+    @Nullable
+    private Object refresh(Object key, String localKey, Callable<?> valueLoader, CacheEntry staleEntry) {
+        CompletableFuture<Object> refreshing = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(localKey, refreshing) != null) {
+            return staleEntry.get();
+        }
+
+        try {
+            Object value = loadAndStore(key, localKey, valueLoader);
+            earlyRefreshes.increment();
+            refreshing.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            log.warn("Early refresh of {} in cache {} failed, serving the cached value: {}", localKey, name, e.getMessage());
+            refreshing.complete(staleEntry.get());
+            return staleEntry.get();
+        } finally {
+            inFlightLoads.remove(localKey, refreshing);
+        }
+    }
+
+    @Nullable
+    private Object loadAndStore(Object key, String localKey, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        lastLoadNanos = System.nanoTime() - start;
+        loads.increment();
+
+        remoteCache.put(key, value);
+        localCache.put(localKey, new CacheEntry(value, expiresAt()));
+        return value;
+    }
+
+    @Nullable
+    private static Object await(CompletableFuture<Object> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isEarlyRefreshEnabled() {
+        return policy.getEarlyRefreshBeta() != null && policy.getEarlyRefreshBeta() > 0;
+    }
+
+    private boolean shouldRefreshEarly(CacheEntry entry) {
+        long loadNanos = lastLoadNanos;
+        if (!isEarlyRefreshEnabled() || loadNanos == 0 || entry.expiresAtMillis() == CacheEntry.UNKNOWN_EXPIRY) {
+            return false;
+        }
+        double headStartMillis = loadNanos / 1_000_000.0 * policy.getEarlyRefreshBeta()
+                * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + headStartMillis >= entry.expiresAtMillis();
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + policy.getTtl().toMillis();
+    }
+
+    private long remoteExpiresAt(String localKey) {
+        long ttlMillis = remoteOperations.ttlMillis(localKey);
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : CacheEntry.UNKNOWN_EXPIRY;
+    }
+
+    public Cache getRemoteCache() {
+        return remoteCache;
+    }
+
+    public long getLocalSize() {
+        return localCache.estimatedSize();
+    }
+
+    public long getLocalHits() {
+        return (long) localHits.count();
+    }
+
+    public long getRemoteHits() {
+        return (long) remoteHits.count();
+    }
+
+    public long getMisses() {
+        return (long) misses.count();
+    }
+
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private Counter getsCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loadsCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.loads")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
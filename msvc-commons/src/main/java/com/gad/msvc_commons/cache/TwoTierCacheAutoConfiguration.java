@@ -0,0 +1,36 @@
+package com.gad.msvc_commons.cache;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+@AutoConfiguration
+@ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory", "com.github.benmanes.caffeine.cache.Caffeine"})
+@EnableConfigurationProperties(TwoTierCacheProperties.class)
+public class TwoTierCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(TwoTierCacheManager.class)
+    public TwoTierCacheInvalidationSubscriber twoTierCacheInvalidationSubscriber(RedisConnectionFactory redisConnectionFactory,
+                                                                                 TwoTierCacheManager twoTierCacheManager) {
+        return new TwoTierCacheInvalidationSubscriber(redisConnectionFactory, twoTierCacheManager);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class TwoTierCacheEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnBean(TwoTierCacheManager.class)
+        @ConditionalOnAvailableEndpoint(endpoint = TwoTierCacheEndpoint.class)
+        public TwoTierCacheEndpoint twoTierCacheEndpoint(TwoTierCacheManager twoTierCacheManager,
+                                                         RedisConnectionFactory redisConnectionFactory) {
+            return new TwoTierCacheEndpoint(twoTierCacheManager, redisConnectionFactory);
+        }
+    }
+}
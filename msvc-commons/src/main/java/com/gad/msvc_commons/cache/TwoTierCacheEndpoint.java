@@ -0,0 +1,151 @@
+package com.gad.msvc_commons.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class TwoTierCacheEndpoint {
+    private static final int MEMORY_SAMPLE_SIZE = 100;
+    private static final long SCAN_COUNT = 1_000;
+    private static final long EXACT_SCAN_LIMIT = 10_000;
+    private static final int KEY_SAMPLE_SIZE = 500;
+    private static final byte[] USAGE = "USAGE".getBytes(StandardCharsets.UTF_8);
+
+    private final TwoTierCacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    @ReadOperation
+    public Map<String, CacheStatistics> caches() {
+        Map<String, CacheStatistics> statistics = new TreeMap<>();
+        cacheManager.getCacheNames().forEach(name -> statistics.put(name, cache(name)));
+        return statistics;
+    }
+
+    @ReadOperation
+    @Nullable
+    public CacheStatistics cache(@Selector String name) {
+        if (!cacheManager.getCacheNames().contains(name)
+                || !(cacheManager.getCache(name) instanceof TwoTierCache cache)) {
+            return null;
+        }
+
+        CachePolicy policy = cacheManager.getPolicy(name);
+        long[] remote = remoteFootprint(cache);
+        long lookups = cache.getLocalHits() + cache.getRemoteHits() + cache.getMisses();
+        double hitRatio = lookups == 0 ? 0 : (double) (cache.getLocalHits() + cache.getRemoteHits()) / lookups;
+        return new CacheStatistics(
+                cache.getLocalSize(),
+                policy.getMaxEntries(),
+                policy.getLocalTtl().toSeconds(),
+                remote == null ? null : remote[0],
+                remote == null ? null : remote[1],
+                policy.getTtl().toSeconds(),
+                policy.getCacheNullValues(),
+                keyPrefix(cache),
+                policy.getCompressionThreshold() == null ? null : policy.getCompressionThreshold().toBytes(),
+                cache.getLocalHits(),
+                cache.getRemoteHits(),
+                cache.getMisses(),
+                hitRatio);
+    }
+
+    @Nullable
+    private long[] remoteFootprint(TwoTierCache cache) {
+        String keyPrefix = keyPrefix(cache);
+        if (keyPrefix == null) {
+            return null;
+        }
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            Long keyspace = connection.serverCommands().dbSize();
+            if (keyspace == null || keyspace <= EXACT_SCAN_LIMIT) {
+                return scan(connection, keyPrefix);
+            }
+            return sample(connection, keyPrefix.getBytes(StandardCharsets.UTF_8), keyspace);
+        } catch (DataAccessException e) {
+            log.warn("Could not measure remote footprint of cache {}: {}", cache.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private long[] scan(RedisConnection connection, String keyPrefix) {
+        ScanOptions options = ScanOptions.scanOptions().match(escapeGlob(keyPrefix) + "*").count(SCAN_COUNT).build();
+        try (Cursor<byte[]> keys = connection.keyCommands().scan(options)) {
+            long entries = 0;
+            long sampledBytes = 0;
+            int sampled = 0;
+            while (keys.hasNext() && entries < EXACT_SCAN_LIMIT) {
+                byte[] key = keys.next();
+                entries++;
+                if (sampled < MEMORY_SAMPLE_SIZE && memoryUsage(connection, key) instanceof Number bytes) {
+                    sampledBytes += bytes.longValue();
+                    sampled++;
+                }
+            }
+            return new long[]{entries, sampled == 0 ? 0 : sampledBytes * entries / sampled};
+        }
+    }
+
+    private long[] sample(RedisConnection connection, byte[] keyPrefix, long keyspace) {
+        long matched = 0;
+        long sampledBytes = 0;
+        int measured = 0;
+        for (int i = 0; i < KEY_SAMPLE_SIZE; i++) {
+            byte[] key = connection.keyCommands().randomKey();
+            if (key == null || !startsWith(key, keyPrefix)) {
+                continue;
+            }
+            matched++;
+            if (measured < MEMORY_SAMPLE_SIZE && memoryUsage(connection, key) instanceof Number bytes) {
+                sampledBytes += bytes.longValue();
+                measured++;
+            }
+        }
+        long entries = Math.round((double) matched * keyspace / KEY_SAMPLE_SIZE);
+        return new long[]{entries, measured == 0 ? 0 : sampledBytes * entries / measured};
+    }
+
+    private static Object memoryUsage(RedisConnection connection, byte[] key) {
+        return connection.execute("MEMORY", USAGE, key);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    @Nullable
+    private static String keyPrefix(TwoTierCache cache) {
+        if (cache.getRemoteCache() instanceof RedisCache redisCache) {
+            return redisCache.getCacheConfiguration().getKeyPrefixFor(cache.getName());
+        }
+        return null;
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gad.msvc_commons.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class TwoTierCacheInvalidationSubscriber implements SmartLifecycle {
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private ScheduledExecutorService retryExecutor;
+    private volatile boolean running;
+
+    public TwoTierCacheInvalidationSubscriber(RedisConnectionFactory redisConnectionFactory, TwoTierCacheManager twoTierCacheManager) {
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(twoTierCacheManager, twoTierCacheManager.getInvalidationTopic());
+    }
+
+    @Override
+    public synchronized void start() {
+        container.afterPropertiesSet();
+        retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "two-tier-cache-subscriber");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        retryExecutor.shutdownNow();
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void subscribe() {
+        if (!running) {
+            return;
+        }
+        try {
+            container.start();
+        } catch (RuntimeException e) {
+            log.warn("Could not subscribe to cache invalidations, local cache entries expire by TTL until Redis is reachable: {}", e.getMessage());
+            retryExecutor.schedule(this::subscribe, RETRY_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.gad.msvc_commons.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class TwoTierCacheManager implements CacheManager, CacheInvalidationPublisher, MessageListener, InitializingBean {
+    private static final String SEPARATOR = "\n";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TwoTierCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                               TwoTierCacheProperties properties, MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static TwoTierCacheManager create(RedisConnectionFactory redisConnectionFactory, StringRedisTemplate redisTemplate,
+                                             TwoTierCacheProperties properties, MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        properties.getCaches().keySet().forEach(name -> cacheConfigurations.put(name,
+                properties.policyFor(name).toRedisCacheConfiguration(properties.getSerializationFormat())));
+        RedisCacheManager remoteCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(properties.getDefaults().toRedisCacheConfiguration(properties.getSerializationFormat()))
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        return new TwoTierCacheManager(remoteCacheManager, redisTemplate, properties, meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (remoteCacheManager instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+        properties.getCaches().keySet().forEach(this::getCache);
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        CachePolicy policy = getPolicy(name);
+        return caches.computeIfAbsent(name, key -> new TwoTierCache(name, Caffeine.newBuilder()
+                .maximumSize(policy.getMaxEntries())
+                .expireAfterWrite(policy.getLocalTtl())
+                .build(), remoteCache, policy, remoteOperations(remoteCache), this, meterRegistry));
+    }
+
+    public CachePolicy getPolicy(String name) {
+        return properties.policyFor(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public ChannelTopic getInvalidationTopic() {
+        return new ChannelTopic(properties.getInvalidationChannel());
+    }
+
+    @Override
+    public void publishInvalidation(String cacheName, @Nullable String key) {
+        redisTemplate.convertAndSend(properties.getInvalidationChannel(), invalidationMessage(instanceId, cacheName, key));
+    }
+
+    static String invalidationMessage(String instanceId, String cacheName, @Nullable String key) {
+        return instanceId + SEPARATOR + cacheName + (key == null ? "" : SEPARATOR + key);
+    }
+
+    private RemoteCacheOperations remoteOperations(Cache remoteCache) {
+        if (remoteCache instanceof RedisCache redisCache) {
+            return new RedisRemoteCacheOperations(redisTemplate, redisCache);
+        }
+        return RemoteCacheOperations.of(remoteCache);
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 2) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+}
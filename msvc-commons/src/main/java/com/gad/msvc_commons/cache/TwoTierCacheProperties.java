@@ -0,0 +1,22 @@
+package com.gad.msvc_commons.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cache.two-tier")
+@Getter
+@Setter
+public class TwoTierCacheProperties {
+    private String invalidationChannel = "cache:invalidation";
+    private CacheSerializationFormat serializationFormat = CacheSerializationFormat.JSON;
+    private CachePolicy defaults = CachePolicy.defaultPolicy();
+    private Map<String, CachePolicy> caches = new LinkedHashMap<>();
+
+    public CachePolicy policyFor(String cacheName) {
+        return caches.getOrDefault(cacheName, new CachePolicy()).mergeWith(defaults);
+    }
+}
@@ -0,0 +1,103 @@
+package com.gad.msvc_commons.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class VersionedCacheSerializer implements RedisSerializer<Object> {
+    static final byte MAGIC = (byte) 0xFE;
+    static final byte COMPRESSED = 0x40;
+    private static final int HEADER_LENGTH = 2;
+
+    private final CacheSerializationFormat writeFormat;
+    private final long compressionThreshold;
+    private final Map<CacheSerializationFormat, RedisSerializer<Object>> delegates = new EnumMap<>(CacheSerializationFormat.class);
+
+    public VersionedCacheSerializer(CacheSerializationFormat writeFormat) {
+        this(writeFormat, 0);
+    }
+
+    public VersionedCacheSerializer(CacheSerializationFormat writeFormat, long compressionThreshold) {
+        this.writeFormat = writeFormat;
+        this.compressionThreshold = compressionThreshold;
+        delegates.put(CacheSerializationFormat.JSON, new GenericJackson2JsonRedisSerializer());
+        delegates.put(CacheSerializationFormat.SMILE, GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(new ObjectMapper(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build()))
+                .defaultTyping(true)
+                .build());
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        byte[] payload = delegates.get(writeFormat).serialize(value);
+        boolean compress = compressionThreshold > 0 && payload.length > compressionThreshold;
+        if (writeFormat == CacheSerializationFormat.JSON && !compress) {
+            return payload;
+        }
+        if (compress) {
+            payload = deflate(payload);
+        }
+
+        byte[] bytes = new byte[payload.length + HEADER_LENGTH];
+        bytes[0] = MAGIC;
+        bytes[1] = (byte) (compress ? writeFormat.getVersion() | COMPRESSED : writeFormat.getVersion());
+        System.arraycopy(payload, 0, bytes, HEADER_LENGTH, payload.length);
+        return bytes;
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return delegates.get(CacheSerializationFormat.JSON).deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Cache value header is truncated");
+        }
+
+        CacheSerializationFormat format;
+        try {
+            format = CacheSerializationFormat.fromVersion((byte) (bytes[1] & ~COMPRESSED));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+        byte[] payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        return delegates.get(format).deserialize((bytes[1] & COMPRESSED) != 0 ? inflate(payload) : payload);
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(payload.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(output)) {
+            deflater.write(payload);
+        } catch (IOException e) {
+            throw new SerializationException("Could not compress cache value", e);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return inflater.readAllBytes();
+        } catch (IOException e) {
+            throw new SerializationException("Could not decompress cache value", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.gad.msvc_commons.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Slf4j
+public class EmbeddedEventBroker implements EventBroker, SmartLifecycle {
+    static final String DEAD_LETTER_SUFFIX = ".dlq";
+
+    private final EventBrokerProperties properties;
+    private final Map<String, BlockingQueue<EventMessage>> topics = new ConcurrentHashMap<>();
+    private final List<Thread> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public EmbeddedEventBroker(EventBrokerProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void publish(String topic, List<EventMessage> messages) {
+        BlockingQueue<EventMessage> queue = queue(topic);
+        for (EventMessage message : messages) {
+            if (!queue.offer(message)) {
+                throw new EventPublishException("Topic " + topic + " is full, " + queue.size() + " events are waiting to be consumed");
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, String group, EventBatchHandler handler) {
+        Thread consumer = Thread.ofPlatform()
+                .name("event-consumer-" + topic + "-" + group)
+                .daemon()
+                .unstarted(() -> consume(topic, queue(topic), handler));
+        consumers.add(consumer);
+        if (running) {
+            consumer.start();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        consumers.stream().filter(consumer -> consumer.getState() == Thread.State.NEW).forEach(Thread::start);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        consumers.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    int pending(String topic) {
+        return queue(topic).size();
+    }
+
+    private BlockingQueue<EventMessage> queue(String topic) {
+        return topics.computeIfAbsent(topic, name -> new LinkedBlockingQueue<>(properties.getEmbedded().getCapacity()));
+    }
+
+    private void consume(String topic, BlockingQueue<EventMessage> queue, EventBatchHandler handler) {
+        List<EventMessage> batch = new ArrayList<>(properties.getBatchSize());
+        Map<EventMessage, Integer> deliveries = new IdentityHashMap<>();
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    EventMessage first = queue.poll(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                List<EventMessage> failed = new ArrayList<>();
+                for (EventMessage message : batch) {
+                    int delivery = deliveries.merge(message, 1, Integer::sum);
+                    try {
+                        handler.handle(List.of(message));
+                        deliveries.remove(message);
+                    } catch (RuntimeException e) {
+                        if (delivery >= properties.getMaxDeliveries()) {
+                            deliveries.remove(message);
+                            deadLetter(topic, message, delivery, e.getMessage());
+                        } else {
+                            log.warn("Could not handle event {} from topic {} (delivery {} of {}), retrying: {}",
+                                    message.id(), topic, delivery, properties.getMaxDeliveries(), e.getMessage());
+                            failed.add(message);
+                        }
+                    }
+                }
+                boolean progressed = failed.size() < batch.size();
+                batch.clear();
+                batch.addAll(failed);
+                if (!progressed) {
+                    Thread.sleep(properties.getRetryDelay());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deadLetter(String topic, EventMessage message, int attempts, String reason) {
+        String deadLetterTopic = topic + DEAD_LETTER_SUFFIX;
+        if (queue(deadLetterTopic).offer(message)) {
+            log.error("Moved event {} from topic {} to {} after {} failed deliveries: {}", message.id(), topic, deadLetterTopic, attempts, reason);
+        } else {
+            log.error("Dropped event {} from topic {} after {} failed deliveries, {} is full: {}", message.id(), topic, attempts, deadLetterTopic, reason);
+        }
+    }
+}
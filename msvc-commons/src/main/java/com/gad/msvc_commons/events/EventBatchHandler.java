@@ -0,0 +1,8 @@
+package com.gad.msvc_commons.events;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface EventBatchHandler {
+    void handle(List<EventMessage> messages);
+}
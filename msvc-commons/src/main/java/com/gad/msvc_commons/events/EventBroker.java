@@ -0,0 +1,9 @@
+package com.gad.msvc_commons.events;
+
+import java.util.List;
+
+public interface EventBroker {
+    void publish(String topic, List<EventMessage> messages);
+
+    void subscribe(String topic, String group, EventBatchHandler handler);
+}
@@ -0,0 +1,47 @@
+package com.gad.msvc_commons.events;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.util.StringUtils;
+
+@AutoConfiguration(after = RedisAutoConfiguration.class)
+@EnableConfigurationProperties(EventBrokerProperties.class)
+public class EventBrokerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(EventBroker.class)
+    @ConditionalOnProperty(prefix = "events.broker", name = "type", havingValue = "embedded", matchIfMissing = true)
+    public EmbeddedEventBroker embeddedEventBroker(EventBrokerProperties eventBrokerProperties) {
+        return new EmbeddedEventBroker(eventBrokerProperties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"org.springframework.data.redis.connection.RedisConnectionFactory", "redis.clients.jedis.Jedis"})
+    @ConditionalOnProperty(prefix = "events.broker", name = "type", havingValue = "redis")
+    static class RedisStreamEventBrokerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EventBroker.class)
+        public RedisStreamEventBroker redisStreamEventBroker(ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                                             EventBrokerProperties eventBrokerProperties) {
+            EventBrokerProperties.Redis redis = eventBrokerProperties.getRedis();
+            if (!StringUtils.hasText(redis.getHost())) {
+                return new RedisStreamEventBroker(redisConnectionFactory.getObject(), eventBrokerProperties, false);
+            }
+            JedisConnectionFactory connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration(redis.getHost(), redis.getPort()));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            return new RedisStreamEventBroker(connectionFactory, eventBrokerProperties, true);
+        }
+    }
+}
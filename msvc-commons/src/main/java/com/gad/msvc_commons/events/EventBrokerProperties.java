@@ -0,0 +1,39 @@
+package com.gad.msvc_commons.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "events.broker")
+@Getter
+@Setter
+public class EventBrokerProperties {
+    private EventBrokerType type = EventBrokerType.EMBEDDED;
+    private int batchSize = 100;
+    private Duration pollTimeout = Duration.ofSeconds(1);
+    private Duration retryDelay = Duration.ofSeconds(5);
+    private int maxDeliveries = 5;
+    private Embedded embedded = new Embedded();
+    private Redis redis = new Redis();
+
+    @Getter
+    @Setter
+    public static class Embedded {
+        private int capacity = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Redis {
+        private String host;
+        private int port = 6379;
+        private String streamPrefix = "events:";
+        private long maxLength = 100_000;
+        private String consumerName;
+        private Duration claimInterval = Duration.ofSeconds(30);
+        private Duration claimMinIdle = Duration.ofMinutes(5);
+        private Duration deadConsumerIdle = Duration.ofHours(1);
+    }
+}
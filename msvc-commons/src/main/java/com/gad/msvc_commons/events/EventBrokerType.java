@@ -0,0 +1,6 @@
+package com.gad.msvc_commons.events;
+
+public enum EventBrokerType {
+    EMBEDDED,
+    REDIS
+}
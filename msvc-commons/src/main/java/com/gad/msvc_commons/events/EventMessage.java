@@ -0,0 +1,6 @@
+package com.gad.msvc_commons.events;
+
+import java.time.Instant;
+
+public record EventMessage(String id, String type, String key, String payload, Instant occurredAt) {
+}
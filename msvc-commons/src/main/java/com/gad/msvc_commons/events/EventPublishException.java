@@ -0,0 +1,11 @@
+package com.gad.msvc_commons.events;
+
+public class EventPublishException extends RuntimeException {
+    public EventPublishException(String message) {
+        super(message);
+    }
+
+    public EventPublishException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,291 @@
+package com.gad.msvc_commons.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Slf4j
+public class RedisStreamEventBroker implements EventBroker, SmartLifecycle, DisposableBean {
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_PAYLOAD = "payload";
+    private static final String FIELD_OCCURRED_AT = "occurred_at";
+    static final String DEAD_LETTER_SUFFIX = ".dlq";
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final EventBrokerProperties properties;
+    private final boolean ownsConnectionFactory;
+    private final String consumerName;
+    private final List<Thread> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public RedisStreamEventBroker(RedisConnectionFactory redisConnectionFactory, EventBrokerProperties properties, boolean ownsConnectionFactory) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        this.properties = properties;
+        this.ownsConnectionFactory = ownsConnectionFactory;
+        this.consumerName = StringUtils.hasText(properties.getRedis().getConsumerName()) ? properties.getRedis().getConsumerName() : hostName();
+    }
+
+    @Override
+    public void publish(String topic, List<EventMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        String stream = stream(topic);
+        byte[] rawStream = stream.getBytes(StandardCharsets.UTF_8);
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions.maxlen(properties.getRedis().getMaxLength()).approximateTrimming(true);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                messages.forEach(message -> connection.streamCommands().xAdd(StreamRecords.rawBytes(toFields(message)).withStreamKey(rawStream), options));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            throw new EventPublishException("Could not publish " + messages.size() + " events to stream " + stream, e);
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, String group, EventBatchHandler handler) {
+        Thread consumer = Thread.ofPlatform()
+                .name("event-consumer-" + topic + "-" + group)
+                .daemon()
+                .unstarted(() -> consume(stream(topic), group, handler));
+        consumers.add(consumer);
+        if (running) {
+            consumer.start();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        consumers.stream().filter(consumer -> consumer.getState() == Thread.State.NEW).forEach(Thread::start);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        consumers.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (ownsConnectionFactory && redisConnectionFactory instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private void consume(String stream, String group, EventBatchHandler handler) {
+        StreamOperations<String, Object, Object> streamOperations = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(group, consumerName);
+        boolean groupCreated = false;
+        boolean readPending = true;
+        boolean retryPending = false;
+        long nextClaimAt = System.nanoTime();
+        while (running) {
+            try {
+                if (!groupCreated) {
+                    createGroup(streamOperations, stream, group);
+                    groupCreated = true;
+                }
+                if (System.nanoTime() - nextClaimAt >= 0) {
+                    int claimed = claimStale(streamOperations, stream, group);
+                    readPending |= claimed > 0;
+                    nextClaimAt = System.nanoTime() + (claimed > 0 ? 0 : properties.getRedis().getClaimInterval().toNanos());
+                }
+                StreamReadOptions options = StreamReadOptions.empty().count(properties.getBatchSize());
+                List<MapRecord<String, Object, Object>> records = streamOperations.read(consumer,
+                        readPending ? options : options.block(properties.getPollTimeout()),
+                        StreamOffset.create(stream, readPending ? ReadOffset.from("0") : ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) {
+                    readPending = !readPending && retryPending;
+                    retryPending = false;
+                    continue;
+                }
+                Map<RecordId, Long> deliveries = readPending ? deliveries(streamOperations, stream, consumer, records) : Map.of();
+                int failed = handle(streamOperations, stream, group, records, deliveries, handler);
+                if (readPending) {
+                    if (failed == records.size()) {
+                        Thread.sleep(properties.getRetryDelay());
+                    }
+                    readPending = failed == 0;
+                    retryPending = failed > 0;
+                } else {
+                    readPending = retryPending || failed > 0;
+                    retryPending = false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Could not consume events from stream {} as {}, retrying in {}: {}", stream, consumer, properties.getRetryDelay(), e.getMessage());
+                readPending = true;
+                try {
+                    Thread.sleep(properties.getRetryDelay());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int handle(StreamOperations<String, Object, Object> streamOperations, String stream, String group,
+                       List<MapRecord<String, Object, Object>> records, Map<RecordId, Long> deliveries, EventBatchHandler handler) {
+        List<RecordId> handled = new ArrayList<>(records.size());
+        int failed = 0;
+        for (MapRecord<String, Object, Object> record : records) {
+            long delivery = deliveries.getOrDefault(record.getId(), 1L);
+            if (delivery > properties.getMaxDeliveries()) {
+                deadLetter(streamOperations, stream, group, record, delivery - 1, "handler did not complete");
+                continue;
+            }
+            try {
+                handler.handle(List.of(toMessage(record)));
+                handled.add(record.getId());
+            } catch (RuntimeException e) {
+                if (delivery >= properties.getMaxDeliveries()) {
+                    deadLetter(streamOperations, stream, group, record, delivery, e.getMessage());
+                } else {
+                    log.warn("Could not handle event {} from stream {} (delivery {} of {}), retrying: {}",
+                            record.getId(), stream, delivery, properties.getMaxDeliveries(), e.getMessage());
+                    failed++;
+                }
+            }
+        }
+        if (!handled.isEmpty()) {
+            streamOperations.acknowledge(stream, group, handled.toArray(RecordId[]::new));
+        }
+        return failed;
+    }
+
+    private int claimStale(StreamOperations<String, Object, Object> streamOperations, String stream, String group) {
+        StreamInfo.XInfoConsumers consumers = streamOperations.consumers(stream, group);
+        if (consumers == null) {
+            return 0;
+        }
+        Duration minIdle = properties.getRedis().getClaimMinIdle();
+        int claimed = 0;
+        for (StreamInfo.XInfoConsumer other : consumers) {
+            if (other.consumerName().equals(consumerName)) {
+                continue;
+            }
+            Consumer owner = Consumer.from(group, other.consumerName());
+            if (other.pendingCount() == 0) {
+                if (other.idleTime().compareTo(properties.getRedis().getDeadConsumerIdle()) >= 0) {
+                    streamOperations.deleteConsumer(stream, owner);
+                    log.info("Removed consumer {} from stream {} after {} without activity", owner, stream, other.idleTime());
+                }
+                continue;
+            }
+            RecordId[] stale = streamOperations.pending(stream, owner, Range.unbounded(), properties.getBatchSize()).stream()
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            if (stale.length == 0) {
+                continue;
+            }
+            List<MapRecord<String, Object, Object>> records = streamOperations.claim(stream, group, consumerName, minIdle, stale);
+            claimed += records.size();
+            log.warn("Claimed {} events from stream {} left pending by {} for over {}", records.size(), stream, owner, minIdle);
+        }
+        return claimed;
+    }
+
+    private Map<RecordId, Long> deliveries(StreamOperations<String, Object, Object> streamOperations, String stream, Consumer consumer,
+                                           List<MapRecord<String, Object, Object>> records) {
+        PendingMessages pending = streamOperations.pending(stream, consumer,
+                Range.closed(records.getFirst().getId().getValue(), records.getLast().getId().getValue()), records.size());
+        Map<RecordId, Long> deliveries = new HashMap<>();
+        pending.forEach(message -> deliveries.put(message.getId(), message.getTotalDeliveryCount()));
+        return deliveries;
+    }
+
+    private void deadLetter(StreamOperations<String, Object, Object> streamOperations, String stream, String group,
+                            MapRecord<String, Object, Object> record, long attempts, String reason) {
+        String deadLetterStream = stream + DEAD_LETTER_SUFFIX;
+        streamOperations.add(record.withStreamKey(deadLetterStream).withId(RecordId.autoGenerate()));
+        streamOperations.acknowledge(stream, group, record.getId());
+        log.error("Moved event {} from stream {} to {} after {} failed deliveries: {}", record.getId(), stream, deadLetterStream, attempts, reason);
+    }
+
+    private static void createGroup(StreamOperations<String, Object, Object> streamOperations, String stream, String group) {
+        try {
+            streamOperations.createGroup(stream, ReadOffset.from("0"), group);
+        } catch (RedisSystemException e) {
+            if (e.getMostSpecificCause().getMessage() == null || !e.getMostSpecificCause().getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private String stream(String topic) {
+        return properties.getRedis().getStreamPrefix() + topic;
+    }
+
+    private static Map<byte[], byte[]> toFields(EventMessage message) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(raw(FIELD_ID), raw(message.id()));
+        fields.put(raw(FIELD_TYPE), raw(message.type()));
+        fields.put(raw(FIELD_KEY), raw(message.key()));
+        fields.put(raw(FIELD_PAYLOAD), raw(message.payload()));
+        fields.put(raw(FIELD_OCCURRED_AT), raw(message.occurredAt().toString()));
+        return fields;
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static EventMessage toMessage(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        return new EventMessage(
+                (String) fields.get(FIELD_ID),
+                (String) fields.get(FIELD_TYPE),
+                (String) fields.get(FIELD_KEY),
+                (String) fields.get(FIELD_PAYLOAD),
+                Instant.parse((String) fields.get(FIELD_OCCURRED_AT)));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.gad.msvc_commons.jwt;
+
+public class JwtVerificationException extends RuntimeException {
+    public JwtVerificationException(String message) {
+        super(message);
+    }
+
+    public JwtVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
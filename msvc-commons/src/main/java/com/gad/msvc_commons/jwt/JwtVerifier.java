@@ -0,0 +1,132 @@
+package com.gad.msvc_commons.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class JwtVerifier {
+    private static final String UUID_CUSTOMER_CLAIM = "uuid_customer";
+    private static final String TIMER_NAME = "jwt.verification";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final int maxCachedTokens;
+    private final Map<String, VerifiedClaims> verifiedTokens = new ConcurrentHashMap<>();
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer failedTimer;
+    private volatile String publicKey;
+    private volatile JwtParser jwtParser;
+
+    public JwtVerifier(String publicKey, int maxCachedTokens, MeterRegistry meterRegistry) {
+        this.publicKey = publicKey;
+        this.maxCachedTokens = maxCachedTokens;
+        this.cachedTimer = Timer.builder(TIMER_NAME).tag(OUTCOME_TAG, "cached").register(meterRegistry);
+        this.verifiedTimer = Timer.builder(TIMER_NAME).tag(OUTCOME_TAG, "verified").register(meterRegistry);
+        this.failedTimer = Timer.builder(TIMER_NAME).tag(OUTCOME_TAG, "failed").register(meterRegistry);
+        meterRegistry.gaugeMapSize("jwt.verification.cache.size", List.of(), verifiedTokens);
+    }
+
+    public VerifiedClaims verify(String token) {
+        long start = System.nanoTime();
+        try {
+            String tokenHash = hashToken(token);
+            VerifiedClaims cached = verifiedTokens.get(tokenHash);
+            if (cached != null && cached.expiresAt().toEpochMilli() > System.currentTimeMillis()) {
+                cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return cached;
+            }
+
+            JwtParser parser = getJwtParser();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            UUID uuidCustomer = UUID.fromString(claims.get(UUID_CUSTOMER_CLAIM, String.class));
+            Date expiration = claims.getExpiration();
+            VerifiedClaims verifiedClaims = new VerifiedClaims(uuidCustomer, expiration == null ? null : expiration.toInstant());
+            if (parser == jwtParser) {
+                cache(tokenHash, verifiedClaims);
+            }
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return verifiedClaims;
+        } catch (RuntimeException e) {
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new JwtVerificationException("JWT could not be verified", e);
+        }
+    }
+
+    public void trust(String token, VerifiedClaims verifiedClaims) {
+        cache(hashToken(token), verifiedClaims);
+    }
+
+    public synchronized void updatePublicKey(String publicKey) {
+        if (publicKey == null || publicKey.equals(this.publicKey)) {
+            return;
+        }
+        this.publicKey = publicKey;
+        this.jwtParser = null;
+        verifiedTokens.clear();
+    }
+
+    public static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new JwtVerificationException("Error hashing token", e);
+        }
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser current = jwtParser;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (jwtParser == null) {
+                jwtParser = Jwts.parserBuilder()
+                        .setSigningKey(loadPublicKey(publicKey))
+                        .build();
+            }
+            return jwtParser;
+        }
+    }
+
+    private void cache(String tokenHash, VerifiedClaims verifiedClaims) {
+        if (verifiedClaims.expiresAt() == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt().toEpochMilli() <= now);
+        }
+        if (verifiedTokens.size() < maxCachedTokens) {
+            verifiedTokens.put(tokenHash, verifiedClaims);
+        }
+    }
+
+    private PublicKey loadPublicKey(String encodedKey) {
+        try {
+            byte[] keyBytes = Base64.getDecoder().decode(encodedKey);
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(keyBytes));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException | RuntimeException e) {
+            throw new JwtVerificationException("Error loading public key", e);
+        }
+    }
+}
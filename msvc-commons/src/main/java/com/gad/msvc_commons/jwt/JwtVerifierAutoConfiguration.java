@@ -0,0 +1,72 @@
+package com.gad.msvc_commons.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties(JwtVerifierProperties.class)
+public class JwtVerifierAutoConfiguration {
+    static final String PUBLIC_KEY_PROPERTY = "rsa.key.public-key";
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(PUBLIC_KEY_PROPERTY)
+    @ConditionalOnClass(name = "io.jsonwebtoken.Jwts")
+    public JwtVerifier jwtVerifier(Environment environment, JwtVerifierProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JwtVerifier(environment.getProperty(PUBLIC_KEY_PROPERTY), properties.getMaxCachedTokens(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("jwt.verifier.trusted-header.secret")
+    public TrustedClaimsCodec trustedClaimsCodec(JwtVerifierProperties properties) {
+        return new TrustedClaimsCodec(properties.getTrustedHeader().getSecret());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(EnvironmentChangeEvent.class)
+    static class RefreshConfiguration {
+        @Bean
+        @ConditionalOnBean(JwtVerifier.class)
+        ApplicationListener<EnvironmentChangeEvent> jwtVerifierRefreshListener(JwtVerifier jwtVerifier, Environment environment) {
+            return event -> {
+                if (event.getKeys().contains(PUBLIC_KEY_PROPERTY)) {
+                    jwtVerifier.updatePublicKey(environment.getProperty(PUBLIC_KEY_PROPERTY));
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty("jwt.verifier.trusted-header.secret")
+    static class TrustedClaimsFilterConfiguration {
+        @Bean
+        @ConditionalOnBean(JwtVerifier.class)
+        FilterRegistrationBean<TrustedClaimsFilter> trustedClaimsFilter(JwtVerifier jwtVerifier,
+                                                                        TrustedClaimsCodec trustedClaimsCodec,
+                                                                        JwtVerifierProperties properties) {
+            FilterRegistrationBean<TrustedClaimsFilter> registration = new FilterRegistrationBean<>(
+                    new TrustedClaimsFilter(jwtVerifier, trustedClaimsCodec, properties.getTrustedHeader().getName()));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.gad.msvc_commons.jwt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "jwt.verifier")
+@Getter
+@Setter
+public class JwtVerifierProperties {
+    private int maxCachedTokens = 10_000;
+    private TrustedHeader trustedHeader = new TrustedHeader();
+
+    @Getter
+    @Setter
+    public static class TrustedHeader {
+        private String name = "X-Verified-Claims";
+        private String secret;
+    }
+}
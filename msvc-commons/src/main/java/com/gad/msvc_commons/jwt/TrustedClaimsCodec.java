@@ -0,0 +1,70 @@
+package com.gad.msvc_commons.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+public class TrustedClaimsCodec {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = ".";
+
+    private final SecretKeySpec secretKey;
+
+    public TrustedClaimsCodec(String secret) {
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    public String encode(String token, VerifiedClaims verifiedClaims) {
+        String payload = verifiedClaims.uuidCustomer() + SEPARATOR + verifiedClaims.expiresAt().toEpochMilli();
+        return payload + SEPARATOR + sign(token, payload);
+    }
+
+    public Optional<VerifiedClaims> decode(String token, String headerValue) {
+        if (token == null || headerValue == null) {
+            return Optional.empty();
+        }
+
+        int signatureSeparator = headerValue.lastIndexOf(SEPARATOR);
+        int expirationSeparator = headerValue.indexOf(SEPARATOR);
+        if (signatureSeparator <= 0 || expirationSeparator == signatureSeparator) {
+            return Optional.empty();
+        }
+
+        String payload = headerValue.substring(0, signatureSeparator);
+        byte[] expected = sign(token, payload).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = headerValue.substring(signatureSeparator + 1).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+
+        try {
+            UUID uuidCustomer = UUID.fromString(payload.substring(0, expirationSeparator));
+            Instant expiresAt = Instant.ofEpochMilli(Long.parseLong(payload.substring(expirationSeparator + 1)));
+            if (!expiresAt.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedClaims(uuidCustomer, expiresAt));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String token, String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            mac.update(JwtVerifier.hashToken(token).getBytes(StandardCharsets.UTF_8));
+            mac.update(SEPARATOR.getBytes(StandardCharsets.UTF_8));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new JwtVerificationException("Error signing trusted claims", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.gad.msvc_commons.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class TrustedClaimsFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final TrustedClaimsCodec trustedClaimsCodec;
+    private final String headerName;
+
+    public TrustedClaimsFilter(JwtVerifier jwtVerifier, TrustedClaimsCodec trustedClaimsCodec, String headerName) {
+        this.jwtVerifier = jwtVerifier;
+        this.trustedClaimsCodec = trustedClaimsCodec;
+        this.headerName = headerName;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String trustedClaims = request.getHeader(headerName);
+
+        if (trustedClaims != null && authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            String token = authorization.substring(BEARER_PREFIX.length());
+            trustedClaimsCodec.decode(token, trustedClaims)
+                    .ifPresent(verifiedClaims -> jwtVerifier.trust(token, verifiedClaims));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gad.msvc_commons.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VerifiedClaims(
+        UUID uuidCustomer,
+        Instant expiresAt
+) {
+}
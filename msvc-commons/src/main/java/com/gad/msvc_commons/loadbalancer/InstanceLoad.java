@@ -0,0 +1,56 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InstanceLoad {
+    private final double decayNanos;
+    private final long penaltyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double costNanos;
+    private long stampNanos;
+
+    public InstanceLoad(long decayNanos, long penaltyNanos, long now) {
+        this.decayNanos = Math.max(1, decayNanos);
+        this.penaltyNanos = penaltyNanos;
+        this.stampNanos = now;
+    }
+
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finish() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized void observe(long rttNanos, long now) {
+        if (rttNanos > costNanos) {
+            costNanos = rttNanos;
+        } else {
+            double weight = Math.exp(-Math.max(0, now - stampNanos) / decayNanos);
+            costNanos = costNanos * weight + rttNanos * (1 - weight);
+        }
+        stampNanos = Math.max(stampNanos, now);
+    }
+
+    public void observeFailure(long rttNanos, long now) {
+        observe(Math.max(rttNanos, penaltyNanos), now);
+    }
+
+    public synchronized double latencyNanos(long now) {
+        return costNanos * Math.exp(-Math.max(0, now - stampNanos) / decayNanos);
+    }
+
+    public double score(long now) {
+        double latency = latencyNanos(now);
+        int pending = Math.max(0, inFlight.get());
+        if (latency == 0 && pending > 0) {
+            return penaltyNanos + pending;
+        }
+        return latency * (pending + 1);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
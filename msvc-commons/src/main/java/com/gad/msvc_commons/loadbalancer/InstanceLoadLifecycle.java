@@ -0,0 +1,64 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+public class InstanceLoadLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    private final InstanceLoadRegistry instanceLoadRegistry;
+
+    public InstanceLoadLifecycle(InstanceLoadRegistry instanceLoadRegistry) {
+        this.instanceLoadRegistry = instanceLoadRegistry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timedRequestContext) {
+            timedRequestContext.setRequestStartTime(System.nanoTime());
+        }
+        instanceLoadRegistry.get(lbResponse.getServer()).start();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        InstanceLoad load = instanceLoadRegistry.get(lbResponse.getServer());
+        load.finish();
+        if (!(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timedRequestContext)
+                || timedRequestContext.getRequestStartTime() == 0) {
+            return;
+        }
+        long rttNanos = now - timedRequestContext.getRequestStartTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED || isServerError(completionContext.getClientResponse())) {
+            load.observeFailure(rttNanos, now);
+        } else {
+            load.observe(rttNanos, now);
+        }
+    }
+
+    private static boolean isServerError(Object clientResponse) {
+        return clientResponse instanceof ResponseData responseData
+                && responseData.getHttpStatus() != null
+                && responseData.getHttpStatus().is5xxServerError();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class InstanceLoadRegistry {
+    static final String SCORE_METRIC = "loadbalancer.instance.score";
+    static final String LATENCY_METRIC = "loadbalancer.instance.latency";
+    static final String IN_FLIGHT_METRIC = "loadbalancer.instance.in.flight";
+
+    private final LatencyAwareLoadBalancerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public InstanceLoadRegistry(LatencyAwareLoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceLoad get(ServiceInstance instance) {
+        return entries.computeIfAbsent(key(instance.getServiceId(), address(instance)), key -> register(instance)).load();
+    }
+
+    public void retain(String serviceId, List<ServiceInstance> instances) {
+        Set<String> current = instances.stream()
+                .map(instance -> key(serviceId, address(instance)))
+                .collect(Collectors.toSet());
+        String prefix = key(serviceId, "");
+        entries.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix) || current.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters().forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private Entry register(ServiceInstance instance) {
+        InstanceLoad load = new InstanceLoad(properties.getDecayTime().toNanos(), properties.getFailurePenalty().toNanos(), System.nanoTime());
+        String serviceId = instance.getServiceId();
+        String address = address(instance);
+        List<Meter> meters = List.of(
+                TimeGauge.builder(SCORE_METRIC, load, TimeUnit.NANOSECONDS, value -> value.score(System.nanoTime()))
+                        .description("Load balancer score (EWMA latency weighted by requests in flight), lower is preferred")
+                        .tags("service", serviceId, "instance", address)
+                        .register(meterRegistry),
+                TimeGauge.builder(LATENCY_METRIC, load, TimeUnit.NANOSECONDS, value -> value.latencyNanos(System.nanoTime()))
+                        .description("Peak-sensitive EWMA latency observed for the instance")
+                        .tags("service", serviceId, "instance", address)
+                        .register(meterRegistry),
+                Gauge.builder(IN_FLIGHT_METRIC, load, InstanceLoad::getInFlight)
+                        .description("Requests in flight to the instance")
+                        .tags("service", serviceId, "instance", address)
+                        .register(meterRegistry));
+        return new Entry(load, meters);
+    }
+
+    private static String key(String serviceId, String address) {
+        return serviceId + "/" + address;
+    }
+
+    private static String address(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private record Entry(InstanceLoad load, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final InstanceLoadRegistry instanceLoadRegistry;
+    private volatile List<ServiceInstance> knownInstances = List.of();
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider, String serviceId,
+                                    InstanceLoadRegistry instanceLoadRegistry) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.instanceLoadRegistry = instanceLoadRegistry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        ServiceInstance previous = request != null && request.getContext() instanceof RetryableRequestContext context
+                ? context.getPreviousServiceInstance()
+                : null;
+        return supplier.get(request)
+                .next()
+                .map(instances -> {
+                    Response<ServiceInstance> response = choose(instances, previous);
+                    if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                        callback.selectedServiceInstance(response.getServer());
+                    }
+                    return response;
+                });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        return choose(instances, null);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> allInstances, ServiceInstance previous) {
+        if (allInstances != knownInstances) {
+            knownInstances = allInstances;
+            instanceLoadRegistry.retain(serviceId, allInstances);
+        }
+        List<ServiceInstance> instances = previous == null
+                ? allInstances
+                : allInstances.stream().filter(instance -> !sameAddress(instance, previous)).toList();
+        if (instances.isEmpty() && !allInstances.isEmpty()) {
+            instances = allInstances;
+        }
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.getFirst());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = System.nanoTime();
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(instanceLoadRegistry.get(a).score(now) <= instanceLoadRegistry.get(b).score(now) ? a : b);
+    }
+
+    private static boolean sameAddress(ServiceInstance instance, ServiceInstance other) {
+        return instance.getHost().equals(other.getHost()) && instance.getPort() == other.getPort();
+    }
+}
@@ -0,0 +1,35 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+@ConditionalOnClass(name = "org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer")
+@ConditionalOnProperty(prefix = "loadbalancer.latency-aware", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InstanceLoadRegistry instanceLoadRegistry(LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new InstanceLoadRegistry(latencyAwareLoadBalancerProperties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InstanceLoadLifecycle instanceLoadLifecycle(InstanceLoadRegistry instanceLoadRegistry) {
+        return new InstanceLoadLifecycle(instanceLoadRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "loadbalancer.latency-aware")
+public class LatencyAwareLoadBalancerProperties {
+    private boolean enabled = true;
+    private Duration decayTime = Duration.ofSeconds(10);
+    private Duration failurePenalty = Duration.ofSeconds(1);
+}
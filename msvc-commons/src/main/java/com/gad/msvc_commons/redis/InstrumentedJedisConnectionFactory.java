@@ -0,0 +1,120 @@
+package com.gad.msvc_commons.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.util.StringUtils;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.util.Pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Slf4j
+public class InstrumentedJedisConnectionFactory extends JedisConnectionFactory {
+    static final String BORROW_METRIC = "redis.pool.borrow";
+
+    private final String poolName;
+    private final boolean warmUp;
+    private final Timer borrowTimer;
+    private volatile Pool<Jedis> pool;
+    private int minIdle;
+
+    public InstrumentedJedisConnectionFactory(RedisStandaloneConfiguration standaloneConfiguration, JedisClientConfiguration clientConfiguration,
+                                              MeterRegistry meterRegistry, boolean warmUp) {
+        super(standaloneConfiguration, clientConfiguration);
+        this.poolName = standaloneConfiguration.getHostName() + ":" + standaloneConfiguration.getPort();
+        this.warmUp = warmUp;
+        this.borrowTimer = Timer.builder(BORROW_METRIC)
+                .description("Time spent borrowing a Redis connection, including waiting for a free one")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("redis.pool.connections", this, factory -> factory.poolValue(Pool::getNumActive))
+                .tag("pool", poolName).tag("state", "active").register(meterRegistry);
+        Gauge.builder("redis.pool.connections", this, factory -> factory.poolValue(Pool::getNumIdle))
+                .tag("pool", poolName).tag("state", "idle").register(meterRegistry);
+        Gauge.builder("redis.pool.waiters", this, factory -> factory.poolValue(Pool::getNumWaiters))
+                .description("Threads blocked waiting for a Redis connection")
+                .tag("pool", poolName).register(meterRegistry);
+        TimeGauge.builder("redis.pool.wait.mean", this, TimeUnit.MILLISECONDS,
+                        factory -> factory.poolValue(current -> current.getMeanBorrowWaitDuration().toMillis()))
+                .tag("pool", poolName).register(meterRegistry);
+        TimeGauge.builder("redis.pool.wait.max", this, TimeUnit.MILLISECONDS,
+                        factory -> factory.poolValue(current -> current.getMaxBorrowWaitDuration().toMillis()))
+                .tag("pool", poolName).register(meterRegistry);
+    }
+
+    public static InstrumentedJedisConnectionFactory create(RedisProperties redisProperties, RedisClientProperties clientProperties,
+                                                            MeterRegistry meterRegistry) {
+        return new InstrumentedJedisConnectionFactory(RedisClientSettings.standaloneConfiguration(redisProperties),
+                clientConfiguration(redisProperties), meterRegistry, clientProperties.isWarmUp());
+    }
+
+    static JedisClientConfiguration clientConfiguration(RedisProperties redisProperties) {
+        JedisClientConfiguration.JedisClientConfigurationBuilder builder = JedisClientConfiguration.builder();
+        builder.usePooling().poolConfig(RedisClientSettings.applyPool(new JedisPoolConfig(), redisProperties.getJedis().getPool()));
+        if (redisProperties.getTimeout() != null) {
+            builder.readTimeout(redisProperties.getTimeout());
+        }
+        if (redisProperties.getConnectTimeout() != null) {
+            builder.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        if (StringUtils.hasText(redisProperties.getClientName())) {
+            builder.clientName(redisProperties.getClientName());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        Pool<Jedis> current = pool;
+        if (current != null && minIdle > 0) {
+            current.setMinIdle(minIdle);
+            if (warmUp) {
+                warmUp(current);
+            }
+        }
+    }
+
+    @Override
+    protected Pool<Jedis> createRedisPool() {
+        Pool<Jedis> created = super.createRedisPool();
+        minIdle = created.getMinIdle();
+        created.setMinIdle(0);
+        pool = created;
+        return created;
+    }
+
+    @Override
+    protected Jedis fetchJedisConnector() {
+        long startedAt = System.nanoTime();
+        try {
+            return super.fetchJedisConnector();
+        } finally {
+            borrowTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void warmUp(Pool<Jedis> current) {
+        try {
+            current.preparePool();
+            log.info("Opened {} Redis connections to {} at startup", current.getNumIdle(), poolName);
+        } catch (Exception e) {
+            log.warn("Could not open {} Redis connections to {} at startup, the pool will fill them in the background: {}",
+                    minIdle, poolName, e.getMessage());
+        }
+    }
+
+    private double poolValue(ToDoubleFunction<Pool<Jedis>> value) {
+        Pool<Jedis> current = pool;
+        return current == null ? 0 : value.applyAsDouble(current);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gad.msvc_commons.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.resource.ClientResources;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+public final class LettuceConnectionFactories {
+    private LettuceConnectionFactories() {
+    }
+
+    public static LettuceConnectionFactory create(RedisProperties redisProperties, RedisClientProperties clientProperties,
+                                                  @Nullable ClientResources clientResources) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                RedisClientSettings.standaloneConfiguration(redisProperties), clientConfiguration(redisProperties, clientResources));
+        connectionFactory.setShareNativeConnection(true);
+        connectionFactory.setPipeliningFlushPolicy(flushPolicy(clientProperties.getLettuce().getPipeliningFlushSize()));
+        return connectionFactory;
+    }
+
+    static LettucePoolingClientConfiguration clientConfiguration(RedisProperties redisProperties, @Nullable ClientResources clientResources) {
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder builder = LettucePoolingClientConfiguration.builder()
+                .poolConfig(RedisClientSettings.applyPool(new GenericObjectPoolConfig<StatefulConnection<?, ?>>(), redisProperties.getLettuce().getPool()));
+        if (clientResources != null) {
+            builder.clientResources(clientResources);
+        }
+        if (redisProperties.getTimeout() != null) {
+            builder.commandTimeout(redisProperties.getTimeout());
+        }
+        if (redisProperties.getLettuce().getShutdownTimeout() != null) {
+            builder.shutdownTimeout(redisProperties.getLettuce().getShutdownTimeout());
+        }
+        if (redisProperties.getConnectTimeout() != null) {
+            builder.clientOptions(ClientOptions.builder()
+                    .socketOptions(SocketOptions.builder().connectTimeout(redisProperties.getConnectTimeout()).build())
+                    .build());
+        }
+        if (StringUtils.hasText(redisProperties.getClientName())) {
+            builder.clientName(redisProperties.getClientName());
+        }
+        return builder.build();
+    }
+
+    static LettuceConnection.PipeliningFlushPolicy flushPolicy(int pipeliningFlushSize) {
+        return pipeliningFlushSize > 1
+                ? LettuceConnection.PipeliningFlushPolicy.buffered(pipeliningFlushSize)
+                : LettuceConnection.PipeliningFlushPolicy.flushEachCommand();
+    }
+}
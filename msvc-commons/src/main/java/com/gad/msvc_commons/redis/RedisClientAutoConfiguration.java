@@ -0,0 +1,50 @@
+package com.gad.msvc_commons.redis;
+
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+@AutoConfiguration(before = RedisAutoConfiguration.class)
+@ConditionalOnClass(name = "org.springframework.data.redis.connection.RedisConnectionFactory")
+@EnableConfigurationProperties({RedisProperties.class, RedisClientProperties.class})
+public class RedisClientAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"org.springframework.data.redis.connection.jedis.JedisConnectionFactory", "redis.clients.jedis.Jedis"})
+    @ConditionalOnProperty(prefix = "spring.data.redis", name = "client-type", havingValue = "jedis", matchIfMissing = true)
+    static class JedisConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(RedisConnectionFactory.class)
+        public InstrumentedJedisConnectionFactory redisConnectionFactory(RedisProperties redisProperties, RedisClientProperties redisClientProperties,
+                                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+            return InstrumentedJedisConnectionFactory.create(redisProperties, redisClientProperties,
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"io.lettuce.core.RedisClient", "org.apache.commons.pool2.impl.GenericObjectPool"})
+    @ConditionalOnProperty(prefix = "spring.data.redis", name = "client-type", havingValue = "lettuce")
+    static class LettuceConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(RedisConnectionFactory.class)
+        public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties, RedisClientProperties redisClientProperties,
+                                                               ObjectProvider<ClientResources> clientResources) {
+            return LettuceConnectionFactories.create(redisProperties, redisClientProperties, clientResources.getIfAvailable());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gad.msvc_commons.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "redis.client")
+public class RedisClientProperties {
+    private boolean warmUp = true;
+    private Lettuce lettuce = new Lettuce();
+
+    @Getter
+    @Setter
+    public static class Lettuce {
+        private int pipeliningFlushSize = 64;
+    }
+}
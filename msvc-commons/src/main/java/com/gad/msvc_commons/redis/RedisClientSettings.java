@@ -0,0 +1,33 @@
+package com.gad.msvc_commons.redis;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+
+final class RedisClientSettings {
+    private RedisClientSettings() {
+    }
+
+    static RedisStandaloneConfiguration standaloneConfiguration(RedisProperties redisProperties) {
+        RedisStandaloneConfiguration standaloneConfiguration = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        standaloneConfiguration.setDatabase(redisProperties.getDatabase());
+        standaloneConfiguration.setUsername(redisProperties.getUsername());
+        standaloneConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+        return standaloneConfiguration;
+    }
+
+    static <T extends GenericObjectPoolConfig<?>> T applyPool(T poolConfig, RedisProperties.Pool pool) {
+        poolConfig.setMaxTotal(pool.getMaxActive());
+        poolConfig.setMaxIdle(pool.getMaxIdle());
+        poolConfig.setMinIdle(pool.getMinIdle());
+        poolConfig.setJmxEnabled(false);
+        if (pool.getMaxWait() != null) {
+            poolConfig.setMaxWait(pool.getMaxWait());
+        }
+        if (pool.getTimeBetweenEvictionRuns() != null) {
+            poolConfig.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns());
+        }
+        return poolConfig;
+    }
+}
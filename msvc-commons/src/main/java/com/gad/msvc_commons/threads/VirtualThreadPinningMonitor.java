@@ -0,0 +1,87 @@
+package com.gad.msvc_commons.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METRIC = "jvm.threads.virtual.pinned";
+    private static final String UNKNOWN_LOCATION = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final VirtualThreadPinningProperties properties;
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+    private RecordingStream recordingStream;
+    private volatile boolean running;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, VirtualThreadPinningProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        running = true;
+        log.info("Reporting virtual threads pinned for longer than {} as {}", properties.getThreshold(), PINNED_METRIC);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void record(String location, Duration duration) {
+        Timer.builder(PINNED_METRIC)
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("location", location)
+                .register(meterRegistry)
+                .record(duration);
+        if (reportedLocations.add(location)) {
+            log.warn("Virtual thread pinned for {} at {}", duration, location);
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        record(location(event.getStackTrace()), event.getDuration());
+    }
+
+    private static String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_LOCATION;
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdkType(frame.getMethod().getType().getName()))
+                .findFirst()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .orElse(UNKNOWN_LOCATION);
+    }
+
+    private static boolean isJdkType(String typeName) {
+        return typeName.startsWith("java.") || typeName.startsWith("jdk.") || typeName.startsWith("sun.");
+    }
+}
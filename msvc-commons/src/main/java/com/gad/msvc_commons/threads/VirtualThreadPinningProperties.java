@@ -0,0 +1,15 @@
+package com.gad.msvc_commons.threads;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "virtual-threads.pinning")
+public class VirtualThreadPinningProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,62 @@
+package com.gad.msvc_commons.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePolicyTest {
+
+    @Test
+    @DisplayName("Should fall back to the defaults for settings a cache does not override")
+    void givenPartialCachePolicy_whenResolved_thenMergedWithDefaults() {
+        TwoTierCacheProperties properties = bind(Map.of(
+                "cache.two-tier.defaults.ttl", "5m",
+                "cache.two-tier.caches.productsByUuid.ttl", "30m",
+                "cache.two-tier.caches.productsByUuid.max-entries", "50000",
+                "cache.two-tier.caches[User'sRolesAndPermissions].cache-null-values", "false"));
+
+        CachePolicy products = properties.policyFor("productsByUuid");
+        CachePolicy roles = properties.policyFor("User'sRolesAndPermissions");
+        CachePolicy unconfigured = properties.policyFor("OrderByUuid");
+
+        assertEquals(Duration.ofMinutes(30), products.getTtl());
+        assertEquals(50_000L, products.getMaxEntries());
+        assertEquals(Duration.ofMinutes(1), products.getLocalTtl());
+        assertEquals(Duration.ofMinutes(5), roles.getTtl());
+        assertFalse(roles.getCacheNullValues());
+        assertEquals(Duration.ofMinutes(5), unconfigured.getTtl());
+        assertEquals(10_000L, unconfigured.getMaxEntries());
+        assertTrue(unconfigured.getCacheNullValues());
+    }
+
+    @Test
+    @DisplayName("Should translate a policy into the matching Redis cache configuration")
+    void givenPolicy_whenConvertedToRedisConfiguration_thenTtlPrefixAndNullCachingApplied() {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(Duration.ofMinutes(2));
+        policy.setCacheNullValues(false);
+        policy.setKeyPrefix("products:v2:");
+        policy.setCompressionThreshold(DataSize.ofKilobytes(2));
+
+        RedisCacheConfiguration configuration = policy.mergeWith(CachePolicy.defaultPolicy())
+                .toRedisCacheConfiguration(CacheSerializationFormat.SMILE);
+
+        assertEquals(Duration.ofMinutes(2), configuration.getTtlFunction().getTimeToLive("key", "value"));
+        assertFalse(configuration.getAllowCacheNullValues());
+        assertEquals("products:v2:productsByUuid::", configuration.getKeyPrefixFor("productsByUuid"));
+    }
+
+    private static TwoTierCacheProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bind("cache.two-tier", TwoTierCacheProperties.class)
+                .get();
+    }
+}
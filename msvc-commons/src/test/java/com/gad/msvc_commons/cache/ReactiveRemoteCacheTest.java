@@ -0,0 +1,106 @@
+package com.gad.msvc_commons.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRemoteCacheTest {
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    private ReactiveRemoteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(Duration.ofMinutes(3));
+        cache = new ReactiveRemoteCache("OrderByUuid", redisTemplate, stringRedisTemplate,
+                policy.mergeWith(CachePolicy.defaultPolicy()).toRedisCacheConfiguration(CacheSerializationFormat.SMILE),
+                "cache:invalidation", false);
+    }
+
+    @Test
+    @DisplayName("Should load a missing entry once and store it under the blocking cache key with the cache TTL")
+    void givenMiss_whenLoaded_thenStoresValueWithPrefixAndTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("OrderByUuid::order-1")).thenReturn(Mono.empty());
+        when(valueOperations.set("OrderByUuid::order-1", "value", Duration.ofMinutes(3))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(cache.get("order-1", String.class, () -> Mono.just("value")))
+                .expectNext("value")
+                .verifyComplete();
+
+        verify(valueOperations).set("OrderByUuid::order-1", "value", Duration.ofMinutes(3));
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should store the value and publish an invalidation so other instances drop their local copy")
+    void givenEntry_whenPut_thenStoresAndPublishesInvalidation() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set("OrderByUuid::order-1", "value", Duration.ofMinutes(3))).thenReturn(Mono.just(true));
+        when(stringRedisTemplate.convertAndSend(eq("cache:invalidation"), anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(cache.put("order-1", "value"))
+                .expectNext(true)
+                .verifyComplete();
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq("cache:invalidation"), message.capture());
+        String[] parts = message.getValue().split("\n");
+        assertEquals("OrderByUuid", parts[1]);
+        assertEquals("order-1", parts[2]);
+    }
+
+    @Test
+    @DisplayName("Should serve a hit without calling the loader")
+    void givenHit_whenLoaded_thenSkipsLoader() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("OrderByUuid::order-1")).thenReturn(Mono.just("cached"));
+
+        StepVerifier.create(cache.get("order-1", String.class, () -> Mono.error(new IllegalStateException("loader called"))))
+                .expectNext("cached")
+                .verifyComplete();
+
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should delete the entry and publish an invalidation the two-tier cache managers understand")
+    void givenEntry_whenEvicted_thenDeletesAndPublishesInvalidation() {
+        when(redisTemplate.delete("OrderByUuid::order-1")).thenReturn(Mono.just(1L));
+        when(stringRedisTemplate.convertAndSend(eq("cache:invalidation"), anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(cache.evict("order-1")).verifyComplete();
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq("cache:invalidation"), message.capture());
+        String[] parts = message.getValue().split("\n");
+        assertEquals(3, parts.length);
+        assertEquals("OrderByUuid", parts[1]);
+        assertEquals("order-1", parts[2]);
+    }
+}
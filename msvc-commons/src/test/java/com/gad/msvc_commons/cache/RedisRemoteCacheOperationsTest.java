@@ -0,0 +1,89 @@
+package com.gad.msvc_commons.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRemoteCacheOperationsTest {
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private RedisRemoteCacheOperations remoteOperations;
+
+    @BeforeEach
+    void setUp() {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(Duration.ofMinutes(3));
+        RedisCache redisCache = (RedisCache) RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(policy.mergeWith(CachePolicy.defaultPolicy()).toRedisCacheConfiguration(CacheSerializationFormat.SMILE))
+                .build()
+                .getCache("products");
+        remoteOperations = new RedisRemoteCacheOperations(redisTemplate, redisCache);
+        when(redisConnection.stringCommands()).thenReturn(stringCommands);
+    }
+
+    @Test
+    @DisplayName("Should write a batch in one pipeline with the cache TTL and read it back with one MGET")
+    @SuppressWarnings("unchecked")
+    void givenBatch_whenPutThenGet_thenValuesRoundTripThroughPrefixedKeys() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(redisConnection);
+                    return List.of();
+                });
+        Item item = new Item("Keyboard", new BigDecimal("49.99"));
+
+        remoteOperations.multiPut(Map.of("1", item));
+
+        ArgumentCaptor<byte[]> key = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        verify(stringCommands).set(key.capture(), value.capture(), eq(Expiration.from(Duration.ofMinutes(3))),
+                eq(RedisStringCommands.SetOption.upsert()));
+        assertEquals("products::1", new String(key.getValue(), StandardCharsets.UTF_8));
+
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(redisConnection));
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(Arrays.asList(value.getValue(), null));
+
+        List<Cache.ValueWrapper> values = remoteOperations.multiGet(List.of("1", "2"));
+
+        assertEquals(item, values.get(0).get());
+        assertNull(values.get(1));
+    }
+
+    record Item(String name, BigDecimal price) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.gad.msvc_commons.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheEndpointTest {
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private RedisServerCommands serverCommands;
+
+    @Mock
+    private Cursor<byte[]> cursor;
+
+    @Test
+    @DisplayName("Should report hit ratio and policy for every cache")
+    void givenLocalAndRemoteHits_whenCachesRead_thenHitRatioReported() {
+        ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate,
+                new TwoTierCacheProperties(), new SimpleMeterRegistry());
+        remoteCacheManager.getCache("products").put("1", "product");
+        Cache cache = cacheManager.getCache("products");
+        cache.get("1");
+        cache.get("1");
+        cache.get("2");
+
+        CacheStatistics statistics = new TwoTierCacheEndpoint(cacheManager, redisConnectionFactory).caches().get("products");
+
+        assertEquals(1, statistics.localEntries());
+        assertEquals(1, statistics.localHits());
+        assertEquals(1, statistics.remoteHits());
+        assertEquals(1, statistics.misses());
+        assertEquals(2.0 / 3, statistics.hitRatio(), 0.0001);
+        assertEquals(600, statistics.ttlSeconds());
+        assertNull(statistics.remoteEntries());
+    }
+
+    @Test
+    @DisplayName("Should count remote keys and extrapolate memory usage from sampled keys")
+    void givenRedisCache_whenStatisticsRead_thenRemoteFootprintReported() {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(RedisCacheManager.builder(redisConnectionFactory).build(),
+                redisTemplate, new TwoTierCacheProperties(), new SimpleMeterRegistry());
+        cacheManager.getCache("products");
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        when(redisConnection.serverCommands()).thenReturn(serverCommands);
+        when(serverCommands.dbSize()).thenReturn(2L);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(bytes("products::1"), bytes("products::2"));
+        when(redisConnection.execute(eq("MEMORY"), any(byte[].class), any(byte[].class))).thenReturn(120L, 80L);
+
+        CacheStatistics statistics = new TwoTierCacheEndpoint(cacheManager, redisConnectionFactory).cache("products");
+
+        assertEquals(2L, statistics.remoteEntries());
+        assertEquals(200L, statistics.remoteMemoryBytes());
+    }
+
+    @Test
+    @DisplayName("Should estimate the remote footprint from random keys instead of scanning a large keyspace")
+    void givenLargeKeyspace_whenStatisticsRead_thenFootprintIsEstimatedFromSample() {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(RedisCacheManager.builder(redisConnectionFactory).build(),
+                redisTemplate, new TwoTierCacheProperties(), new SimpleMeterRegistry());
+        cacheManager.getCache("products");
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        when(redisConnection.serverCommands()).thenReturn(serverCommands);
+        when(serverCommands.dbSize()).thenReturn(1_000_000L);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.randomKey()).thenReturn(bytes("products::1"), bytes("rate-limit:ip:10.0.0.1"));
+        when(redisConnection.execute(eq("MEMORY"), any(byte[].class), any(byte[].class))).thenReturn(100L);
+
+        CacheStatistics statistics = new TwoTierCacheEndpoint(cacheManager, redisConnectionFactory).cache("products");
+
+        assertEquals(2_000L, statistics.remoteEntries());
+        assertEquals(200_000L, statistics.remoteMemoryBytes());
+        verify(keyCommands, times(500)).randomKey();
+        verify(keyCommands, never()).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    @DisplayName("Should still report local statistics when Redis is unreachable")
+    void givenRedisDown_whenStatisticsRead_thenRemoteFootprintIsNull() {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(RedisCacheManager.builder(redisConnectionFactory).build(),
+                redisTemplate, new TwoTierCacheProperties(), new SimpleMeterRegistry());
+        cacheManager.getCache("products");
+        when(redisConnectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("down"));
+
+        CacheStatistics statistics = new TwoTierCacheEndpoint(cacheManager, redisConnectionFactory).cache("products");
+
+        assertNull(statistics.remoteEntries());
+        assertEquals(0, statistics.localEntries());
+        assertNull(new TwoTierCacheEndpoint(cacheManager, redisConnectionFactory).cache("unknown"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+package com.gad.msvc_commons.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager twoTierCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        twoTierCacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate, new TwoTierCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the local tier")
+    void givenRemoteValue_whenReadTwice_thenSecondReadIsLocalHit() {
+        remoteCacheManager.getCache("products").put("1", "product");
+        Cache cache = twoTierCacheManager.getCache("products");
+
+        assertEquals("product", cache.get("1", String.class));
+        remoteCacheManager.getCache("products").put("1", "changed remotely");
+        assertEquals("product", cache.get("1", String.class));
+
+        assertEquals(1.0, gets("products", "local", "hit"));
+        assertEquals(1.0, gets("products", "remote", "hit"));
+        assertEquals(0.0, gets("products", "remote", "miss"));
+    }
+
+    @Test
+    @DisplayName("Should write both tiers and publish invalidation on put")
+    void givenPut_whenRead_thenBothTiersHoldValueAndInvalidationPublished() {
+        Cache cache = twoTierCacheManager.getCache("products");
+
+        cache.put("1", "product");
+
+        assertEquals("product", remoteCacheManager.getCache("products").get("1").get());
+        assertEquals("product", cache.get("1").get());
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), message.capture());
+        assertTrue(message.getValue().endsWith("\nproducts\n1"));
+    }
+
+    @Test
+    @DisplayName("Should count a miss and load through the remote tier")
+    void givenMissingKey_whenGetWithLoader_thenLoadsAndCachesValue() {
+        Cache cache = twoTierCacheManager.getCache("products");
+
+        assertEquals("loaded", cache.get("1", () -> "loaded"));
+        assertEquals("loaded", remoteCacheManager.getCache("products").get("1").get());
+        assertEquals(1.0, gets("products", "remote", "miss"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop local entries when another instance publishes an invalidation")
+    void givenRemoteInvalidation_whenMessageReceived_thenLocalEntryEvicted() {
+        Cache cache = twoTierCacheManager.getCache("products");
+        cache.put("1", "product");
+        cache.put("2", "other");
+        remoteCacheManager.getCache("products").put("1", "updated");
+
+        twoTierCacheManager.onMessage(message("other-instance\nproducts\n1"), null);
+
+        assertEquals("updated", cache.get("1").get());
+        assertEquals(1.0, gets("products", "remote", "hit"));
+        assertEquals("other", cache.get("2").get());
+    }
+
+    @Test
+    @DisplayName("Should clear the local tier on a cache-wide invalidation and ignore own messages")
+    void givenClearMessage_whenReceived_thenLocalTierCleared() {
+        Cache cache = twoTierCacheManager.getCache("products");
+        cache.put("1", "product");
+        remoteCacheManager.getCache("products").clear();
+        ArgumentCaptor<String> ownMessage = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), ownMessage.capture());
+
+        twoTierCacheManager.onMessage(message(ownMessage.getValue()), null);
+        assertEquals("product", cache.get("1").get());
+
+        twoTierCacheManager.onMessage(message("other-instance\nproducts"), null);
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    @DisplayName("Should resolve a batch of keys from the local tier first and the remote tier for the rest")
+    void givenMixedKeys_whenGetAll_thenLocalThenRemoteHitsReturnedAndMissesOmitted() {
+        TwoTierCache cache = (TwoTierCache) twoTierCacheManager.getCache("products");
+        cache.putAll(Map.of("1", "local"));
+        remoteCacheManager.getCache("products").put("2", "remote");
+
+        Map<String, Object> values = cache.getAll(List.of("1", "2", "3"));
+
+        assertEquals(Map.of("1", "local", "2", "remote"), values);
+        assertEquals(1.0, gets("products", "local", "hit"));
+        assertEquals(1.0, gets("products", "remote", "hit"));
+        assertEquals(1.0, gets("products", "remote", "miss"));
+        assertEquals("remote", cache.getAll(List.of("2")).get("2"));
+        assertEquals(2.0, gets("products", "local", "hit"));
+    }
+
+    @Test
+    @DisplayName("Should fill both tiers on putAll without publishing invalidations")
+    void givenLoadedValues_whenPutAll_thenBothTiersFilledSilently() {
+        TwoTierCache cache = (TwoTierCache) twoTierCacheManager.getCache("products");
+
+        cache.putAll(Map.of("1", "one", "2", "two"));
+
+        assertEquals("one", remoteCacheManager.getCache("products").get("1").get());
+        assertEquals("two", cache.get("2").get());
+        assertEquals(1.0, gets("products", "local", "hit"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private double gets(String cacheName, String tier, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cacheName, "tier", tier, "result", result).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
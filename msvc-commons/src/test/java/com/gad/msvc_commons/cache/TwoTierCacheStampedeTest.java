@@ -0,0 +1,157 @@
+package com.gad.msvc_commons.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheStampedeTest {
+    private static final int CALLERS = 64;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCache remoteCache = new ConcurrentMapCache("products");
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run a single loader when many callers miss the same key at once")
+    void givenConcurrentMisses_whenLoaded_thenLoaderRunsOnce() throws Exception {
+        TwoTierCache cache = cache(0);
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        List<String> results = concurrently(() -> cache.get("hot", () -> {
+            loaderCalls.incrementAndGet();
+            Thread.sleep(200);
+            return "product";
+        }));
+
+        assertEquals(1, loaderCalls.get());
+        assertTrue(results.stream().allMatch("product"::equals));
+        assertEquals("product", remoteCache.get("hot").get());
+        assertEquals(1.0, loads("load"));
+        assertEquals(CALLERS - 1.0, loads("coalesced") + meterRegistry.get("cache.gets").tag("result", "hit").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum());
+    }
+
+    @Test
+    @DisplayName("Should hand the loader failure to every waiting caller without caching it")
+    void givenFailingLoader_whenCallersWait_thenAllFailAndNextCallRetries() throws Exception {
+        TwoTierCache cache = cache(0);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch callersStarted = new CountDownLatch(CALLERS);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                callersStarted.countDown();
+                return cache.get("missing", () -> {
+                    loaderCalls.incrementAndGet();
+                    Thread.sleep(200);
+                    throw new IllegalStateException("not found");
+                });
+            }));
+        }
+        callersStarted.await();
+
+        for (Future<String> future : futures) {
+            ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(Cache.ValueRetrievalException.class, exception.getCause());
+            assertEquals("not found", exception.getCause().getCause().getMessage());
+        }
+        assertTrue(loaderCalls.get() < CALLERS / 2);
+        assertEquals("recovered", cache.get("missing", () -> "recovered"));
+    }
+
+    @Test
+    @DisplayName("Should let exactly one caller refresh an entry close to expiry while the rest get the cached value")
+    void givenEntryNearExpiry_whenReadConcurrently_thenSingleEarlyRefresh() throws Exception {
+        TwoTierCache cache = cache(1e9);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch othersServed = new CountDownLatch(CALLERS - 1);
+        cache.get("hot", () -> {
+            loaderCalls.incrementAndGet();
+            Thread.sleep(5);
+            return "v1";
+        });
+
+        List<String> results = concurrently(() -> {
+            String value = cache.get("hot", () -> {
+                loaderCalls.incrementAndGet();
+                assertTrue(othersServed.await(10, TimeUnit.SECONDS));
+                return "v2";
+            });
+            if ("v1".equals(value)) {
+                othersServed.countDown();
+            }
+            return value;
+        });
+
+        assertEquals(2, loaderCalls.get());
+        assertEquals(CALLERS - 1, results.stream().filter("v1"::equals).count());
+        assertEquals(1, results.stream().filter("v2"::equals).count());
+        assertEquals("v2", remoteCache.get("hot").get());
+        assertEquals(1.0, loads("early-refresh"));
+    }
+
+    @Test
+    @DisplayName("Should never refresh early when the policy disables it")
+    void givenEarlyRefreshDisabled_whenReadRepeatedly_thenServedFromCache() {
+        TwoTierCache cache = cache(0);
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.get("hot", loaderCalls::incrementAndGet);
+        }
+
+        assertEquals(1, loaderCalls.get());
+        assertEquals(0.0, loads("early-refresh"));
+    }
+
+    private TwoTierCache cache(double earlyRefreshBeta) {
+        CachePolicy policy = new CachePolicy();
+        policy.setTtl(Duration.ofSeconds(30));
+        policy.setEarlyRefreshBeta(earlyRefreshBeta);
+        return new TwoTierCache("products", Caffeine.newBuilder().<String, CacheEntry>build(), remoteCache,
+                policy.mergeWith(CachePolicy.defaultPolicy()), RemoteCacheOperations.of(remoteCache), (cacheName, key) -> {
+        }, meterRegistry);
+    }
+
+    private List<String> concurrently(Callable<String> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private double loads(String type) {
+        return meterRegistry.get("cache.loads").tags("cache", "products", "type", type).counter().count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gad.msvc_commons.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedCacheSerializerTest {
+    private final VersionedCacheSerializer smileSerializer = new VersionedCacheSerializer(CacheSerializationFormat.SMILE);
+    private final VersionedCacheSerializer jsonSerializer = new VersionedCacheSerializer(CacheSerializationFormat.JSON);
+
+    @Test
+    @DisplayName("Should round-trip records through the Smile format with a version header")
+    void givenRecordPage_whenSerializedAsSmile_thenRoundTripsWithHeader() {
+        ItemPage page = new ItemPage(List.of(new Item(UUID.randomUUID(), "Keyboard", new BigDecimal("49.99"), 10)), 0, 5, 1L);
+
+        byte[] bytes = smileSerializer.serialize(page);
+
+        assertEquals(VersionedCacheSerializer.MAGIC, bytes[0]);
+        assertEquals(CacheSerializationFormat.SMILE.getVersion(), bytes[1]);
+        assertEquals(page, smileSerializer.deserialize(bytes));
+        assertTrue(bytes.length < new GenericJackson2JsonRedisSerializer().serialize(page).length);
+    }
+
+    @Test
+    @DisplayName("Should keep writing headerless JSON readable by previous versions")
+    void givenJsonFormat_whenSerialized_thenLegacySerializerCanRead() {
+        Item item = new Item(UUID.randomUUID(), "Mouse", BigDecimal.TEN, 3);
+
+        byte[] bytes = jsonSerializer.serialize(item);
+
+        assertEquals(item, new GenericJackson2JsonRedisSerializer().deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should read entries written by either format during a rolling deploy")
+    void givenMixedEntries_whenDeserialized_thenBothFormatsAreRead() {
+        Item item = new Item(UUID.randomUUID(), "Mouse", BigDecimal.TEN, 3);
+
+        assertEquals(item, smileSerializer.deserialize(new GenericJackson2JsonRedisSerializer().serialize(item)));
+        assertEquals(item, jsonSerializer.deserialize(smileSerializer.serialize(item)));
+        assertInstanceOf(NullValue.class, jsonSerializer.deserialize(smileSerializer.serialize(NullValue.INSTANCE)));
+    }
+
+    @Test
+    @DisplayName("Should reject entries written with an unknown version")
+    void givenUnknownVersion_whenDeserialized_thenThrowsSerializationException() {
+        assertThrows(SerializationException.class, () -> smileSerializer.deserialize(new byte[]{VersionedCacheSerializer.MAGIC, 99, 1}));
+    }
+
+    @Test
+    @DisplayName("Should compress payloads above the threshold and flag them in the header")
+    void givenPayloadAboveThreshold_whenSerialized_thenCompressedAndRoundTrips() {
+        VersionedCacheSerializer compressingSerializer = new VersionedCacheSerializer(CacheSerializationFormat.JSON, 256);
+        ItemPage page = new ItemPage(IntStream.range(0, 50)
+                .mapToObj(i -> new Item(UUID.randomUUID(), "Keyboard " + i, new BigDecimal("49.99"), i))
+                .toList(), 0, 50, 50L);
+
+        byte[] bytes = compressingSerializer.serialize(page);
+
+        assertEquals(VersionedCacheSerializer.MAGIC, bytes[0]);
+        assertEquals(CacheSerializationFormat.JSON.getVersion() | VersionedCacheSerializer.COMPRESSED, bytes[1]);
+        assertTrue(bytes.length < jsonSerializer.serialize(page).length);
+        assertEquals(page, jsonSerializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should leave payloads below the threshold uncompressed")
+    void givenPayloadBelowThreshold_whenSerialized_thenNotCompressed() {
+        VersionedCacheSerializer compressingSerializer = new VersionedCacheSerializer(CacheSerializationFormat.JSON, 4096);
+        Item item = new Item(UUID.randomUUID(), "Mouse", BigDecimal.TEN, 3);
+
+        assertArrayEquals(jsonSerializer.serialize(item), compressingSerializer.serialize(item));
+    }
+
+    record Item(UUID uuid, String name, BigDecimal price, Integer stock) {
+    }
+
+    record ItemPage(List<Item> content, int pageNumber, int pageSize, long totalElements) {
+    }
+}
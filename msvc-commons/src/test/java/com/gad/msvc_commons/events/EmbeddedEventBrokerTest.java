@@ -0,0 +1,124 @@
+package com.gad.msvc_commons.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedEventBrokerTest {
+    private EventBrokerProperties properties;
+    private EmbeddedEventBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EventBrokerProperties();
+        properties.setBatchSize(10);
+        properties.setPollTimeout(Duration.ofMillis(50));
+        properties.setRetryDelay(Duration.ofMillis(50));
+        properties.getEmbedded().setCapacity(100);
+        broker = new EmbeddedEventBroker(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver published events in order and in batches no larger than the batch size")
+    void givenPublishedEvents_whenSubscribed_thenDeliveredInOrderedBatches() throws InterruptedException {
+        List<List<EventMessage>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(25);
+        broker.publish("orders", messages(25));
+        broker.subscribe("orders", "test", batch -> {
+            batches.add(batch);
+            batch.forEach(message -> delivered.countDown());
+        });
+
+        broker.start();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(IntStream.range(0, 25).mapToObj(String::valueOf).toList(),
+                batches.stream().flatMap(List::stream).map(EventMessage::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should retry only the event whose handler failed")
+    void givenFailingHandler_whenEventFails_thenOnlyThatEventIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        broker.start();
+        broker.subscribe("orders", "test", batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            batch.forEach(message -> handled.add(message.id()));
+            delivered.countDown();
+        });
+
+        broker.publish("orders", messages(3));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(4, attempts.get());
+        assertEquals(List.of("1", "2", "0"), handled);
+    }
+
+    @Test
+    @DisplayName("Should move a poison event to the dead-letter topic without blocking the events after it")
+    void givenPoisonEvent_whenHandlerKeepsFailing_thenEventIsDeadLetteredAndOthersAreHandled() throws InterruptedException {
+        properties.setMaxDeliveries(3);
+        AtomicInteger poisonAttempts = new AtomicInteger();
+        List<String> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(4);
+        broker.publish("orders", messages(5));
+        broker.subscribe("orders", "test", batch -> batch.forEach(message -> {
+            if (message.id().equals("1")) {
+                poisonAttempts.incrementAndGet();
+                throw new IllegalArgumentException("unreadable payload");
+            }
+            handled.add(message.id());
+            delivered.countDown();
+        }));
+
+        broker.start();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("0", "2", "3", "4"), handled);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broker.pending("orders" + EmbeddedEventBroker.DEAD_LETTER_SUFFIX) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, broker.pending("orders" + EmbeddedEventBroker.DEAD_LETTER_SUFFIX));
+        assertEquals(3, poisonAttempts.get());
+    }
+
+    @Test
+    @DisplayName("Should reject events once the topic is full so the outbox keeps them")
+    void givenFullTopic_whenPublishing_thenThrowsEventPublishException() {
+        broker.publish("orders", messages(100));
+
+        EventPublishException exception = assertThrows(EventPublishException.class, () -> broker.publish("orders", messages(1)));
+
+        assertEquals("Topic orders is full, 100 events are waiting to be consumed", exception.getMessage());
+        assertEquals(100, broker.pending("orders"));
+    }
+
+    private static List<EventMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EventMessage(String.valueOf(i), "OrderDetailCreated", "order-" + i, "{}", Instant.now()))
+                .toList();
+    }
+}
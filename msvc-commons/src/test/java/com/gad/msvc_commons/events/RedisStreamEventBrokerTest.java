@@ -0,0 +1,242 @@
+package com.gad.msvc_commons.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisStreamEventBrokerTest {
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    private EventBrokerProperties properties;
+    private RedisStreamEventBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EventBrokerProperties();
+        properties.getRedis().setConsumerName("test");
+        broker = new RedisStreamEventBroker(redisConnectionFactory, properties, false);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+    }
+
+    @Test
+    @DisplayName("Should append a batch to the topic stream in one pipeline with approximate trimming")
+    void givenBatch_whenPublished_thenAppendsEveryEventInOnePipeline() {
+        Instant occurredAt = Instant.parse("2026-01-01T10:00:00Z");
+
+        broker.publish("order-details", List.of(
+                new EventMessage("1", "OrderDetailCreated", "order-1", "{\"amount\":1}", occurredAt),
+                new EventMessage("2", "OrderDetailCreated", "order-2", "{\"amount\":2}", occurredAt)));
+
+        ArgumentCaptor<ByteRecord> records = ArgumentCaptor.forClass(ByteRecord.class);
+        ArgumentCaptor<RedisStreamCommands.XAddOptions> options = ArgumentCaptor.forClass(RedisStreamCommands.XAddOptions.class);
+        verify(redisConnection).openPipeline();
+        verify(redisConnection, times(2)).xAdd(records.capture(), options.capture());
+        verify(redisConnection).closePipeline();
+        assertEquals("events:order-details", new String(records.getValue().getStream(), StandardCharsets.UTF_8));
+        assertEquals(Map.of("id", "2", "type", "OrderDetailCreated", "key", "order-2", "payload", "{\"amount\":2}", "occurred_at", "2026-01-01T10:00:00Z"),
+                records.getValue().getValue().entrySet().stream().collect(Collectors.toMap(
+                        entry -> new String(entry.getKey(), StandardCharsets.UTF_8),
+                        entry -> new String(entry.getValue(), StandardCharsets.UTF_8))));
+        assertEquals(100_000L, options.getValue().getMaxlen());
+        assertTrue(options.getValue().isApproximateTrimming());
+    }
+
+    @Test
+    @DisplayName("Should report a Redis failure as EventPublishException so the outbox retries the batch")
+    void givenRedisDown_whenPublished_thenThrowsEventPublishException() {
+        when(redisConnectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        EventPublishException exception = assertThrows(EventPublishException.class, () -> broker.publish("order-details",
+                List.of(new EventMessage("1", "OrderDetailCreated", "order-1", "{}", Instant.now()))));
+
+        assertEquals("Could not publish 1 events to stream events:order-details", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should move a poison event to the dead-letter stream and acknowledge the events after it")
+    void givenPoisonEvent_whenHandlerKeepsFailing_thenEventIsDeadLetteredAndOthersAreAcknowledged() throws InterruptedException {
+        properties.setMaxDeliveries(3);
+        properties.setPollTimeout(Duration.ofMillis(10));
+        properties.setRetryDelay(Duration.ofMillis(10));
+        List<ByteRecord> stream = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> StreamRecords.rawBytes(fields(String.valueOf(i))).withStreamKey(raw("events:orders")).withId(RecordId.of(i + "-0")))
+                .toList();
+        Map<RecordId, Long> pending = new ConcurrentHashMap<>();
+        AtomicInteger delivered = new AtomicInteger();
+        List<ByteRecord> deadLetters = new CopyOnWriteArrayList<>();
+        when(redisConnection.xReadGroup(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class))).thenAnswer(invocation -> {
+            StreamOffset<?> offset = invocation.getArgument(2);
+            if (offset.getOffset().getOffset().equals("0")) {
+                return stream.stream().filter(record -> pending.computeIfPresent(record.getId(), (id, count) -> count + 1) != null).toList();
+            }
+            List<ByteRecord> unread = stream.subList(delivered.getAndSet(stream.size()), stream.size());
+            unread.forEach(record -> pending.put(record.getId(), 1L));
+            if (unread.isEmpty()) {
+                Thread.sleep(10);
+            }
+            return unread;
+        });
+        when(redisConnection.xPending(any(byte[].class), eq("test-group"), any(RedisStreamCommands.XPendingOptions.class))).thenAnswer(invocation ->
+                new PendingMessages("test-group", pending.entrySet().stream()
+                        .map(entry -> new PendingMessage(entry.getKey(), Consumer.from("test-group", "test"), Duration.ZERO, entry.getValue()))
+                        .toList()));
+        when(redisConnection.xAck(any(byte[].class), eq("test-group"), any(RecordId[].class))).thenAnswer(invocation -> {
+            Object[] ids = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            Arrays.stream(ids).forEach(pending::remove);
+            return (long) ids.length;
+        });
+        when(redisConnection.xAdd(any(), any(RedisStreamCommands.XAddOptions.class))).thenAnswer(invocation -> {
+            deadLetters.add(StreamRecords.rawBytes(((MapRecord<byte[], byte[], byte[]>) invocation.getArgument(0)).getValue())
+                    .withStreamKey(((MapRecord<byte[], byte[], byte[]>) invocation.getArgument(0)).getStream()));
+            return RecordId.of("1-0");
+        });
+        List<String> handled = new CopyOnWriteArrayList<>();
+        AtomicInteger poisonAttempts = new AtomicInteger();
+        broker.subscribe("orders", "test-group", batch -> batch.forEach(message -> {
+            if (message.id().equals("2")) {
+                poisonAttempts.incrementAndGet();
+                throw new IllegalArgumentException("unreadable payload");
+            }
+            handled.add(message.id());
+        }));
+
+        broker.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((deadLetters.isEmpty() || !pending.isEmpty()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            broker.stop();
+        }
+
+        assertEquals(List.of("1", "3", "4", "5"), handled);
+        assertEquals(3, poisonAttempts.get());
+        assertTrue(pending.isEmpty());
+        assertEquals(1, deadLetters.size());
+        assertEquals("events:orders.dlq", new String(deadLetters.getFirst().getStream(), StandardCharsets.UTF_8));
+        assertEquals("2", deadLetters.getFirst().getValue().entrySet().stream()
+                .filter(entry -> new String(entry.getKey(), StandardCharsets.UTF_8).equals("id"))
+                .map(entry -> new String(entry.getValue(), StandardCharsets.UTF_8))
+                .findFirst().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should claim an event left pending by a replaced consumer and remove that consumer once it is drained")
+    void givenEventPendingForReplacedConsumer_whenClaimRuns_thenEventIsRedeliveredAndDeadConsumerIsRemoved() throws InterruptedException {
+        properties.setPollTimeout(Duration.ofMillis(10));
+        properties.setRetryDelay(Duration.ofMillis(10));
+        properties.getRedis().setClaimInterval(Duration.ofMillis(10));
+        properties.getRedis().setDeadConsumerIdle(Duration.ofMinutes(5));
+        ByteRecord stale = StreamRecords.rawBytes(fields("7")).withStreamKey(raw("events:orders")).withId(RecordId.of("7-0"));
+        Map<RecordId, String> owners = new ConcurrentHashMap<>(Map.of(stale.getId(), "old-host"));
+        Map<RecordId, Long> deliveries = new ConcurrentHashMap<>(Map.of(stale.getId(), 1L));
+        List<String> removed = new CopyOnWriteArrayList<>();
+        when(redisConnection.xInfoConsumers(any(byte[].class), eq("test-group"))).thenAnswer(invocation -> StreamInfo.XInfoConsumers.fromList("test-group",
+                Stream.of("old-host", "test")
+                        .filter(name -> !removed.contains(name))
+                        .map(name -> (Object) List.<Object>of("name", name,
+                                "pending", owners.values().stream().filter(name::equals).count(),
+                                "idle", name.equals("test") ? 0L : Duration.ofMinutes(10).toMillis()))
+                        .toList()));
+        when(redisConnection.xPending(any(byte[].class), eq("test-group"), any(RedisStreamCommands.XPendingOptions.class))).thenAnswer(invocation -> {
+            RedisStreamCommands.XPendingOptions options = invocation.getArgument(2);
+            return new PendingMessages("test-group", owners.entrySet().stream()
+                    .filter(entry -> !options.hasConsumer() || entry.getValue().equals(options.getConsumerName()))
+                    .map(entry -> new PendingMessage(entry.getKey(), Consumer.from("test-group", entry.getValue()), Duration.ofMinutes(10), deliveries.get(entry.getKey())))
+                    .toList());
+        });
+        when(redisConnection.xClaim(any(byte[].class), eq("test-group"), eq("test"), any(RedisStreamCommands.XClaimOptions.class))).thenAnswer(invocation -> {
+            RedisStreamCommands.XClaimOptions options = invocation.getArgument(3);
+            options.getIds().forEach(id -> {
+                owners.put(id, "test");
+                deliveries.merge(id, 1L, Long::sum);
+            });
+            return options.getIds().stream().map(id -> stale).toList();
+        });
+        when(redisConnection.xReadGroup(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class))).thenAnswer(invocation -> {
+            StreamOffset<?> offset = invocation.getArgument(2);
+            if (offset.getOffset().getOffset().equals("0")) {
+                return owners.entrySet().stream()
+                        .filter(entry -> entry.getValue().equals("test"))
+                        .peek(entry -> deliveries.merge(entry.getKey(), 1L, Long::sum))
+                        .map(entry -> stale)
+                        .toList();
+            }
+            Thread.sleep(10);
+            return List.of();
+        });
+        when(redisConnection.xAck(any(byte[].class), eq("test-group"), any(RecordId[].class))).thenAnswer(invocation -> {
+            Object[] ids = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            Arrays.stream(ids).forEach(owners::remove);
+            return (long) ids.length;
+        });
+        when(redisConnection.xGroupDelConsumer(any(byte[].class), any(Consumer.class))).thenAnswer(invocation -> {
+            removed.add(((Consumer) invocation.getArgument(1)).getName());
+            return true;
+        });
+        List<String> handled = new CopyOnWriteArrayList<>();
+        broker.subscribe("orders", "test-group", batch -> batch.forEach(message -> handled.add(message.id())));
+
+        broker.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (removed.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            broker.stop();
+        }
+
+        assertEquals(List.of("7"), handled);
+        assertTrue(owners.isEmpty());
+        assertEquals(List.of("old-host"), removed);
+    }
+
+    private static Map<byte[], byte[]> fields(String id) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(raw("id"), raw(id));
+        fields.put(raw("type"), raw("OrderDetailCreated"));
+        fields.put(raw("key"), raw("order-" + id));
+        fields.put(raw("payload"), raw("{}"));
+        fields.put(raw("occurred_at"), raw("2026-01-01T10:00:00Z"));
+        return fields;
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
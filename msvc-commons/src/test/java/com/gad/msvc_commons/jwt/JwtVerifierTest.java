@@ -0,0 +1,107 @@
+package com.gad.msvc_commons.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+    private KeyPair keyPair;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtVerifier = new JwtVerifier(encode(keyPair), 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should return claims when token is valid")
+    void givenValidToken_whenVerify_thenReturnsClaims() {
+        UUID expectedUuid = UUID.randomUUID();
+
+        VerifiedClaims verifiedClaims = jwtVerifier.verify(generateToken(expectedUuid, keyPair));
+
+        assertEquals(expectedUuid, verifiedClaims.uuidCustomer());
+        assertNotNull(verifiedClaims.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated token from cache until it expires")
+    void givenVerifiedToken_whenVerifyAgain_thenRecordsCachedOutcome() {
+        String token = generateToken(UUID.randomUUID(), keyPair);
+
+        jwtVerifier.verify(token);
+        jwtVerifier.verify(token);
+
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "verified").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "cached").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should throw JwtVerificationException when signature does not match")
+    void givenTokenSignedWithOtherKey_whenVerify_thenThrowsException() {
+        String token = generateToken(UUID.randomUUID(), Keys.keyPairFor(SignatureAlgorithm.RS256));
+
+        assertThrows(JwtVerificationException.class, () -> jwtVerifier.verify(token));
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should throw JwtVerificationException when public key is malformed")
+    void givenMalformedPublicKey_whenVerify_thenThrowsException() {
+        JwtVerifier malformedVerifier = new JwtVerifier("invalid_public_key", 100, meterRegistry);
+        String token = generateToken(UUID.randomUUID(), keyPair);
+
+        assertThrows(JwtVerificationException.class, () -> malformedVerifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should reject previously verified token after public key is updated")
+    void givenVerifiedToken_whenPublicKeyUpdated_thenThrowsException() {
+        String token = generateToken(UUID.randomUUID(), keyPair);
+        jwtVerifier.verify(token);
+        KeyPair rotatedKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        jwtVerifier.updatePublicKey(encode(rotatedKeyPair));
+
+        assertThrows(JwtVerificationException.class, () -> jwtVerifier.verify(token));
+        assertNotNull(jwtVerifier.verify(generateToken(UUID.randomUUID(), rotatedKeyPair)));
+    }
+
+    @Test
+    @DisplayName("Should return trusted claims without verifying signature")
+    void givenTrustedClaims_whenVerify_thenReturnsTrustedClaims() {
+        JwtVerifier verifierWithoutKey = new JwtVerifier("invalid_public_key", 100, meterRegistry);
+        VerifiedClaims trustedClaims = new VerifiedClaims(UUID.randomUUID(), Instant.now().plusSeconds(60));
+
+        verifierWithoutKey.trust("opaque-token", trustedClaims);
+
+        assertEquals(trustedClaims, verifierWithoutKey.verify("opaque-token"));
+    }
+
+    private String encode(KeyPair pair) {
+        return Base64.getEncoder().encodeToString(pair.getPublic().getEncoded());
+    }
+
+    private String generateToken(UUID uuid, KeyPair signingKeyPair) {
+        return Jwts.builder()
+                .claim("uuid_customer", uuid.toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(signingKeyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+}
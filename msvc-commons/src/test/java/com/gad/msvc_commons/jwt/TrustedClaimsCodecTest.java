@@ -0,0 +1,51 @@
+package com.gad.msvc_commons.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrustedClaimsCodecTest {
+    private final TrustedClaimsCodec trustedClaimsCodec = new TrustedClaimsCodec("shared-secret");
+
+    @Test
+    @DisplayName("Should decode claims encoded for the same token")
+    void givenEncodedClaims_whenDecodeWithSameToken_thenReturnsClaims() {
+        VerifiedClaims verifiedClaims = new VerifiedClaims(UUID.randomUUID(), Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS));
+        String header = trustedClaimsCodec.encode("token", verifiedClaims);
+
+        assertEquals(Optional.of(verifiedClaims), trustedClaimsCodec.decode("token", header));
+    }
+
+    @Test
+    @DisplayName("Should reject header when it is replayed with another token")
+    void givenEncodedClaims_whenDecodeWithOtherToken_thenReturnsEmpty() {
+        String header = trustedClaimsCodec.encode("token", new VerifiedClaims(UUID.randomUUID(), Instant.now().plusSeconds(60)));
+
+        assertTrue(trustedClaimsCodec.decode("other-token", header).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject header signed with another secret")
+    void givenHeaderSignedWithOtherSecret_whenDecode_thenReturnsEmpty() {
+        String header = new TrustedClaimsCodec("other-secret")
+                .encode("token", new VerifiedClaims(UUID.randomUUID(), Instant.now().plusSeconds(60)));
+
+        assertTrue(trustedClaimsCodec.decode("token", header).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject expired or malformed headers")
+    void givenExpiredOrMalformedHeader_whenDecode_thenReturnsEmpty() {
+        String expired = trustedClaimsCodec.encode("token", new VerifiedClaims(UUID.randomUUID(), Instant.now().minusSeconds(1)));
+
+        assertTrue(trustedClaimsCodec.decode("token", expired).isEmpty());
+        assertTrue(trustedClaimsCodec.decode("token", "not-a-header").isEmpty());
+        assertTrue(trustedClaimsCodec.decode("token", null).isEmpty());
+    }
+}
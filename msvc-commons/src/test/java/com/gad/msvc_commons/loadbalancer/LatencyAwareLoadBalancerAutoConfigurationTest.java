@@ -0,0 +1,35 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerAutoConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(LatencyAwareLoadBalancerAutoConfiguration.class, LoadBalancerAutoConfiguration.class));
+
+    @Test
+    @DisplayName("Should use the latency-aware balancer for every load-balanced client by default")
+    void givenDefaults_whenClientContextIsCreated_thenLatencyAwareBalancerIsUsed() {
+        contextRunner.run(context -> {
+            assertNotNull(context.getBean(InstanceLoadLifecycle.class));
+            assertInstanceOf(LatencyAwareLoadBalancer.class, context.getBean(LoadBalancerClientFactory.class).getInstance("msvc-products"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should fall back to round robin when the latency-aware balancer is disabled")
+    void givenDisabled_whenClientContextIsCreated_thenRoundRobinIsUsed() {
+        contextRunner.withPropertyValues("loadbalancer.latency-aware.enabled=false")
+                .run(context -> {
+                    assertFalse(context.containsBean("instanceLoadLifecycle"));
+                    assertInstanceOf(RoundRobinLoadBalancer.class, context.getBean(LoadBalancerClientFactory.class).getInstance("msvc-products"));
+                });
+    }
+}
@@ -0,0 +1,180 @@
+package com.gad.msvc_commons.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerTest {
+    private static final String SERVICE_ID = "msvc-products";
+    private static final int CLIENTS = 24;
+    private static final int REQUESTS = 1_500;
+    private static final int WARM_UP_REQUESTS = 150;
+
+    private final ServiceInstance fastA = instance("fast-a", 8081);
+    private final ServiceInstance fastB = instance("fast-b", 8082);
+    private final ServiceInstance degraded = instance("degraded", 8083);
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstanceLoadRegistry instanceLoadRegistry;
+    private InstanceLoadLifecycle instanceLoadLifecycle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instanceLoadRegistry = new InstanceLoadRegistry(new LatencyAwareLoadBalancerProperties(), meterRegistry);
+        instanceLoadLifecycle = new InstanceLoadLifecycle(instanceLoadRegistry);
+    }
+
+    @Test
+    @DisplayName("Should prefer the instance with the lower EWMA latency once latencies are known")
+    void choose_WhenOneInstanceIsSlower_ThenFasterInstanceIsPreferred() {
+        long now = System.nanoTime();
+        instanceLoadRegistry.get(fastA).observe(Duration.ofMillis(10).toNanos(), now);
+        instanceLoadRegistry.get(degraded).observe(Duration.ofMillis(200).toNanos(), now);
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(fastA, degraded);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(fastA, loadBalancer.choose(request()).block().getServer());
+        }
+    }
+
+    @Test
+    @DisplayName("Should steer away from an instance that already has many requests in flight")
+    void choose_WhenInstancesHaveSameLatency_ThenLessLoadedInstanceIsPreferred() {
+        long now = System.nanoTime();
+        instanceLoadRegistry.get(fastA).observe(Duration.ofMillis(10).toNanos(), now);
+        instanceLoadRegistry.get(fastB).observe(Duration.ofMillis(10).toNanos(), now);
+        for (int i = 0; i < 5; i++) {
+            instanceLoadRegistry.get(fastA).start();
+        }
+
+        assertEquals(fastB, loadBalancer(fastA, fastB).choose(request()).block().getServer());
+    }
+
+    @Test
+    @DisplayName("Should avoid the previous instance of a retried or hedged request even when it scores best")
+    void choose_WhenRequestNamesPreviousInstance_ThenAnotherInstanceIsChosen() {
+        long now = System.nanoTime();
+        instanceLoadRegistry.get(fastA).observe(Duration.ofMillis(10).toNanos(), now);
+        instanceLoadRegistry.get(degraded).observe(Duration.ofMillis(200).toNanos(), now);
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(fastA, degraded);
+        Request<RetryableRequestContext> request = new DefaultRequest<>(new RetryableRequestContext(fastA));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(degraded, loadBalancer.choose(request).block().getServer());
+        }
+        assertEquals(fastA, loadBalancer(fastA).choose(request).block().getServer());
+    }
+
+    @Test
+    @DisplayName("Should publish a score per instance and drop it when the instance leaves the registry")
+    void choose_WhenInstanceDisappears_ThenItsMetricsAreRemoved() {
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(null, SERVICE_ID, instanceLoadRegistry);
+        loadBalancer.choose(List.of(fastA, degraded));
+
+        assertNotNull(meterRegistry.find(InstanceLoadRegistry.SCORE_METRIC).tags("service", SERVICE_ID, "instance", "localhost:8083").timeGauge());
+
+        loadBalancer.choose(List.of(fastA));
+
+        assertNull(meterRegistry.find(InstanceLoadRegistry.SCORE_METRIC).tags("service", SERVICE_ID, "instance", "localhost:8083").timeGauge());
+        assertNotNull(meterRegistry.find(InstanceLoadRegistry.SCORE_METRIC).tags("service", SERVICE_ID, "instance", "localhost:8081").timeGauge());
+    }
+
+    @Test
+    @DisplayName("Should cut p99 against round robin when one instance is degraded")
+    void choose_WhenOneOfThreeInstancesIsDegraded_ThenP99IsLowerThanRoundRobin() {
+        Map<ServiceInstance, StubInstance> stubs = Map.of(
+                fastA, new StubInstance(Duration.ofMillis(10), 8),
+                fastB, new StubInstance(Duration.ofMillis(10), 8),
+                degraded, new StubInstance(Duration.ofMillis(80), 8));
+
+        long roundRobinP99 = p99(simulate(new RoundRobinLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, fastA, fastB, degraded), SERVICE_ID), stubs));
+        long latencyAwareP99 = p99(simulate(loadBalancer(fastA, fastB, degraded), stubs));
+
+        assertTrue(latencyAwareP99 < roundRobinP99 / 2, "latency-aware p99 " + latencyAwareP99 + "ms vs round robin p99 " + roundRobinP99 + "ms");
+    }
+
+    private List<Long> simulate(ReactorServiceInstanceLoadBalancer loadBalancer, Map<ServiceInstance, StubInstance> stubs) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger completed = new AtomicInteger();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> {
+                    Request<Object> request = request();
+                    long startedAt = System.nanoTime();
+                    return loadBalancer.choose(request).flatMap(response -> {
+                        instanceLoadLifecycle.onStartRequest(request, response);
+                        return stubs.get(response.getServer()).call()
+                                .doOnSuccess(done -> {
+                                    instanceLoadLifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+                                    if (completed.incrementAndGet() > WARM_UP_REQUESTS) {
+                                        latencies.add(Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+                                    }
+                                });
+                    });
+                }, CLIENTS)
+                .blockLast(Duration.ofSeconds(60));
+        return latencies;
+    }
+
+    private LatencyAwareLoadBalancer loadBalancer(ServiceInstance... instances) {
+        return new LatencyAwareLoadBalancer(ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances), SERVICE_ID, instanceLoadRegistry);
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Request<Object> request() {
+        return (Request) new DefaultRequest<>(new DefaultRequestContext());
+    }
+
+    private static ServiceInstance instance(String instanceId, int port) {
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", port, false);
+    }
+
+    private static final class StubInstance {
+        private final Duration latency;
+        private final int capacity;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private StubInstance(Duration latency, int capacity) {
+            this.latency = latency;
+            this.capacity = capacity;
+        }
+
+        private Mono<Void> call() {
+            int concurrent = inFlight.incrementAndGet();
+            long delay = (long) (latency.toMillis() * Math.max(1.0, (double) concurrent / capacity));
+            return Mono.delay(Duration.ofMillis(delay))
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .then();
+        }
+    }
+}
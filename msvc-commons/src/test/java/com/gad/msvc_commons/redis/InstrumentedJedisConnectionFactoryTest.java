@@ -0,0 +1,64 @@
+package com.gad.msvc_commons.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedJedisConnectionFactoryTest {
+
+    @Test
+    @DisplayName("Should build a bounded pool and client timeouts from spring.data.redis properties")
+    void givenRedisProperties_whenClientConfigurationBuilt_thenPoolAndTimeoutsAreApplied() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setConnectTimeout(Duration.ofSeconds(2));
+        redisProperties.setTimeout(Duration.ofMillis(500));
+        redisProperties.getJedis().getPool().setMaxActive(64);
+        redisProperties.getJedis().getPool().setMaxIdle(32);
+        redisProperties.getJedis().getPool().setMinIdle(8);
+        redisProperties.getJedis().getPool().setMaxWait(Duration.ofMillis(200));
+
+        JedisClientConfiguration configuration = InstrumentedJedisConnectionFactory.clientConfiguration(redisProperties);
+
+        assertTrue(configuration.isUsePooling());
+        assertEquals(64, configuration.getPoolConfig().orElseThrow().getMaxTotal());
+        assertEquals(32, configuration.getPoolConfig().orElseThrow().getMaxIdle());
+        assertEquals(8, configuration.getPoolConfig().orElseThrow().getMinIdle());
+        assertEquals(Duration.ofMillis(200), configuration.getPoolConfig().orElseThrow().getMaxWaitDuration());
+        assertEquals(Duration.ofSeconds(2), configuration.getConnectTimeout());
+        assertEquals(Duration.ofMillis(500), configuration.getReadTimeout());
+    }
+
+    @Test
+    @DisplayName("Should start without Redis and record failed borrows in the borrow timer")
+    void givenRedisDown_whenStartedAndBorrowed_thenWarmUpFailureIsToleratedAndBorrowIsTimed() throws IOException {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setPort(unusedPort());
+        redisProperties.setConnectTimeout(Duration.ofMillis(200));
+        redisProperties.getJedis().getPool().setMinIdle(4);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InstrumentedJedisConnectionFactory connectionFactory = InstrumentedJedisConnectionFactory.create(redisProperties, new RedisClientProperties(), meterRegistry);
+
+        connectionFactory.afterPropertiesSet();
+        assertThrows(RedisConnectionFailureException.class, connectionFactory::getConnection);
+        connectionFactory.destroy();
+
+        String pool = "localhost:" + redisProperties.getPort();
+        assertEquals(1, meterRegistry.get(InstrumentedJedisConnectionFactory.BORROW_METRIC).tag("pool", pool).timer().count());
+        assertEquals(0, meterRegistry.get("redis.pool.connections").tag("pool", pool).tag("state", "active").gauge().value());
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gad.msvc_commons.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisClientAutoConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RedisClientAutoConfiguration.class));
+
+    @Test
+    @DisplayName("Should use the pooled Jedis factory when no client type is configured")
+    void givenNoClientType_whenContextStarts_thenJedisFactoryIsUsed() {
+        contextRunner.run(context -> assertInstanceOf(InstrumentedJedisConnectionFactory.class, context.getBean(RedisConnectionFactory.class)));
+    }
+
+    @Test
+    @DisplayName("Should use a shared Lettuce connection with a pool for pipelines when the service selects lettuce")
+    void givenLettuceClientType_whenContextStarts_thenSharedLettuceFactoryIsUsed() {
+        contextRunner.withPropertyValues(
+                        "spring.data.redis.client-type=lettuce",
+                        "spring.data.redis.timeout=750ms",
+                        "spring.data.redis.lettuce.pool.max-active=4")
+                .run(context -> {
+                    LettuceConnectionFactory connectionFactory = assertInstanceOf(LettuceConnectionFactory.class, context.getBean(RedisConnectionFactory.class));
+                    assertTrue(connectionFactory.getShareNativeConnection());
+                    LettucePoolingClientConfiguration clientConfiguration = assertInstanceOf(LettucePoolingClientConfiguration.class,
+                            connectionFactory.getClientConfiguration());
+                    assertEquals(4, clientConfiguration.getPoolConfig().getMaxTotal());
+                    assertEquals(Duration.ofMillis(750), clientConfiguration.getCommandTimeout());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package com.gad.msvc_commons.threads;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object monitor = new Object();
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningProperties properties = new VirtualThreadPinningProperties();
+        properties.setThreshold(Duration.ofMillis(10));
+        pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should record a virtual thread that blocks inside a synchronized block with its application frame")
+    void givenVirtualThreadBlockingWhileSynchronized_whenMonitored_thenPinningIsRecorded() throws InterruptedException {
+        pinningMonitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        Timer pinned = awaitPinnedTimer();
+        assertNotNull(pinned);
+        assertEquals(1, pinned.count());
+        assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 10);
+        assertTrue(pinned.getId().getTag("location").startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor"));
+    }
+
+    @Test
+    @DisplayName("Should aggregate pinning events of the same location into one timer")
+    void givenSameLocation_whenRecordedTwice_thenOneTimerCountsBoth() {
+        pinningMonitor.record("com.gad.Example.call:10", Duration.ofMillis(30));
+        pinningMonitor.record("com.gad.Example.call:10", Duration.ofMillis(50));
+
+        Timer pinned = meterRegistry.get(VirtualThreadPinningMonitor.PINNED_METRIC).tag("location", "com.gad.Example.call:10").timer();
+        assertEquals(2, pinned.count());
+        assertEquals(80, pinned.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Timer awaitPinnedTimer() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Timer pinned = meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timer();
+            if (pinned != null) {
+                return pinned;
+            }
+            Thread.sleep(100);
+        }
+        return null;
+    }
+}
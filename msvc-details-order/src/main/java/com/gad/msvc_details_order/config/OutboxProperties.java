@@ -0,0 +1,17 @@
+package com.gad.msvc_details_order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxProperties {
+    private String topic = "order-details";
+    private Duration interval = Duration.ofMillis(500);
+    private int batchSize = 100;
+    private Duration lease = Duration.ofSeconds(30);
+}
@@ -1,38 +1,18 @@
 package com.gad.msvc_details_order.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.gad.msvc_commons.cache.TwoTierCacheManager;
+import com.gad.msvc_commons.cache.TwoTierCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
-import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
-
-import java.time.Duration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
 public class RedisConfig {
-    @Value("${spring.data.redis.host}")
-    private String redisHost;
-
-    @Value("${spring.data.redis.port}")
-    private int redisPort;
-
-    @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(redisHost, redisPort);
-        return new JedisConnectionFactory(config);
-    }
-
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
-        return RedisCacheManager.builder(redisConnectionFactory).cacheDefaults(config).build();
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, StringRedisTemplate stringRedisTemplate,
+                                            TwoTierCacheProperties twoTierCacheProperties, MeterRegistry meterRegistry) {
+        return TwoTierCacheManager.create(redisConnectionFactory, stringRedisTemplate, twoTierCacheProperties, meterRegistry);
     }
 }
@@ -1,13 +1,19 @@
 package com.gad.msvc_details_order.config.feign;
 
 import com.gad.msvc_details_order.dto.DataResponse;
+import com.gad.msvc_details_order.dto.ProductBatchRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 
 @FeignClient(name = "msvc-products")
 public interface ProductFeignClient {
     @GetMapping("${custom.path}/products/{uuid_product}")
     DataResponse findProductByUuid(@PathVariable("uuid_product") String uuidProduct);
+
+    @PostMapping("${custom.path}/products/batch")
+    DataResponse findProductsByUuids(@RequestBody ProductBatchRequest productBatchRequest);
 }
@@ -1,8 +1,10 @@
 package com.gad.msvc_details_order.controller;
 
 import com.gad.msvc_details_order.dto.CreateOrderDetailRequest;
+import com.gad.msvc_details_order.dto.CreateOrderDetailsRequest;
 import com.gad.msvc_details_order.dto.DataResponse;
 import com.gad.msvc_details_order.dto.OrderDetailDTO;
+import com.gad.msvc_details_order.dto.OrderTotalsRequest;
 import com.gad.msvc_details_order.service.OrderDetailService;
 import com.gad.msvc_details_order.utils.Enums;
 import com.gad.msvc_details_order.utils.FormatterDateTime;
@@ -19,6 +21,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -45,6 +48,19 @@ public class OrderDetailController {
         ));
     }
 
+    @CircuitBreaker(name = "createOrderDetailsCircuitBreaker", fallbackMethod = "createOrderDetailsFallback")
+    @PostMapping("/bulk")
+    public ResponseEntity<DataResponse> createOrderDetails(@RequestBody @Valid CreateOrderDetailsRequest createOrderDetailsRequest) {
+        List<OrderDetailDTO> orderDetailDTOs = orderDetailService.createOrderDetails(createOrderDetailsRequest);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new DataResponse(
+                HttpStatus.CREATED.value(),
+                "Order details created",
+                orderDetailDTOs,
+                FormatterDateTime.dateTimeNowFormatted(),
+                null
+        ));
+    }
 
     @CircuitBreaker(name = "getOrderDetailByUuidCircuitBreaker", fallbackMethod = "getOrderDetailByUuidFallback")
     @Retry(name = "getOrderDetailByUuidRetry", fallbackMethod = "getOrderDetailByUuidFallback")
@@ -60,6 +76,17 @@ public class OrderDetailController {
         ));
     }
 
+    @PostMapping("/totals")
+    public ResponseEntity<DataResponse> getOrderTotals(@RequestBody @Valid OrderTotalsRequest orderTotalsRequest) {
+        return ResponseEntity.ok().body(new DataResponse(
+                HttpStatus.OK.value(),
+                "Order totals aggregated",
+                orderDetailService.aggregateOrderTotals(orderTotalsRequest.uuidOrders()),
+                FormatterDateTime.dateTimeNowFormatted(),
+                null
+        ));
+    }
+
     public ResponseEntity<DataResponse> createOrderDetailFallback(CreateOrderDetailRequest createOrderDetailRequest, Throwable ex) {
         log.warn("Fallback triggered for createOrderDetail with request {}. Reason: {}", createOrderDetailRequest, ex.getMessage());
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
@@ -72,6 +99,19 @@ public class OrderDetailController {
                 ));
     }
 
+    public ResponseEntity<DataResponse> createOrderDetailsFallback(CreateOrderDetailsRequest createOrderDetailsRequest, Throwable ex) {
+        log.warn("Fallback triggered for createOrderDetails with order {} and {} lines. Reason: {}",
+                createOrderDetailsRequest.uuidOrder(), createOrderDetailsRequest.lines().size(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new DataResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Order Detail service is currently unavailable. Please try again later.",
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        Map.of("error", ex.getMessage())
+                ));
+    }
+
     public ResponseEntity<DataResponse> getOrderDetailByUuidFallback(String uuid, Throwable ex) {
         log.warn("Fallback triggered for getOrderDetailByUuid with uuid {}. Reason: {}", uuid, ex.getMessage());
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
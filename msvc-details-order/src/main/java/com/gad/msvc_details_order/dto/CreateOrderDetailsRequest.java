@@ -0,0 +1,25 @@
+package com.gad.msvc_details_order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gad.msvc_details_order.utils.Enums;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateOrderDetailsRequest(
+        @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+        @NotBlank(message = "Order UUID cannot be empty")
+        @JsonProperty("uuid_order")
+        String uuidOrder,
+
+        @NotEmpty(message = "Lines cannot be empty")
+        @Size(max = CreateOrderDetailsRequest.MAX_LINES, message = "No more than " + CreateOrderDetailsRequest.MAX_LINES + " lines are allowed per request")
+        @JsonProperty("lines")
+        List<@Valid CreateOrderDetailLineRequest> lines
+) {
+    public static final int MAX_LINES = 500;
+}
@@ -0,0 +1,19 @@
+package com.gad.msvc_details_order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+public record OrderDetailCreatedEvent(
+        @JsonProperty("uuid_detail")
+        String uuidDetail,
+        @JsonProperty("uuid_order")
+        String uuidOrder,
+        @JsonProperty("uuid_product")
+        String uuidProduct,
+        Integer amount,
+        @JsonProperty("unit_price")
+        BigDecimal unitPrice
+) {
+    public static final String TYPE = "OrderDetailCreated";
+}
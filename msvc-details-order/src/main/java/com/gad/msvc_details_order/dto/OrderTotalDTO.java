@@ -0,0 +1,18 @@
+package com.gad.msvc_details_order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record OrderTotalDTO(
+        @JsonProperty("uuid_order")
+        String uuidOrder,
+        @JsonProperty("total_price")
+        BigDecimal totalPrice,
+        @JsonProperty("line_count")
+        Integer lineCount,
+        @JsonProperty("uuid_details")
+        List<String> uuidDetails
+) {
+}
@@ -0,0 +1,18 @@
+package com.gad.msvc_details_order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gad.msvc_details_order.utils.Enums;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderTotalsRequest(
+        @NotEmpty(message = "Order UUIDs cannot be empty")
+        @Size(max = OrderTotalsRequest.MAX_UUIDS, message = "A maximum of " + OrderTotalsRequest.MAX_UUIDS + " order UUIDs can be requested at once")
+        @JsonProperty("uuid_orders")
+        List<@Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format") String> uuidOrders
+) {
+    public static final int MAX_UUIDS = 500;
+}
@@ -0,0 +1,12 @@
+package com.gad.msvc_details_order.dto;
+
+import com.gad.msvc_details_order.model.Product;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProductBatchDTO(
+        List<Product> content,
+        List<UUID> notFound
+) {
+}
@@ -0,0 +1,11 @@
+package com.gad.msvc_details_order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record ProductBatchRequest(
+        @JsonProperty("uuid_products")
+        List<String> uuidProducts
+) {
+}
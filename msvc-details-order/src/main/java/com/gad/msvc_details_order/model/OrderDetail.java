@@ -2,6 +2,7 @@ package com.gad.msvc_details_order.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -14,6 +15,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @ToString
 @Document(collection = "order_details")
+@CompoundIndex(name = "outbox_pending", def = "{'outbox.status': 1, 'outbox.available_at': 1}")
 public class OrderDetail {
     @Id
     @Field("uuid_detail")
@@ -29,4 +31,6 @@ public class OrderDetail {
 
     @Field("unit_price")
     private BigDecimal unitPrice;
+
+    private OrderDetailOutbox outbox;
 }
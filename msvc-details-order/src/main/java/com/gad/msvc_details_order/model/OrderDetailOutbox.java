@@ -0,0 +1,33 @@
+package com.gad.msvc_details_order.model;
+
+import lombok.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OrderDetailOutbox {
+    private OutboxStatus status;
+
+    private Integer attempts;
+
+    @Field("created_at")
+    private Instant createdAt;
+
+    @Field("available_at")
+    private Instant availableAt;
+
+    @Field("published_at")
+    private Instant publishedAt;
+
+    private String claim;
+
+    public static OrderDetailOutbox pending() {
+        Instant now = Instant.now();
+        return new OrderDetailOutbox(OutboxStatus.PENDING, 0, now, now, null, null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.gad.msvc_details_order.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OrderTotal {
+    @Id
+    private UUID uuidOrder;
+
+    @Field("total_price")
+    private BigDecimal totalPrice;
+
+    @Field("line_count")
+    private Integer lineCount;
+
+    @Field("uuid_details")
+    private List<UUID> uuidDetails;
+}
@@ -0,0 +1,6 @@
+package com.gad.msvc_details_order.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED
+}
@@ -1,11 +1,21 @@
 package com.gad.msvc_details_order.repository;
 
 import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OrderTotal;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderDetailRepository extends MongoRepository<OrderDetail, UUID> {
     Optional<OrderDetail> findByUuidDetail(UUID uuidDetail);
+
+    @Aggregation(pipeline = {
+            "{ $match: { uuid_order: { $in: ?0 } } }",
+            "{ $group: { _id: '$uuid_order', total_price: { $sum: { $multiply: [ { $toDecimal: '$unit_price' }, '$amount' ] } }, line_count: { $sum: 1 }, uuid_details: { $push: '$_id' } } }"
+    })
+    List<OrderTotal> aggregateTotalsByUuidOrderIn(Collection<UUID> uuidOrders);
 }
@@ -0,0 +1,102 @@
+package com.gad.msvc_details_order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_commons.events.EventBroker;
+import com.gad.msvc_commons.events.EventMessage;
+import com.gad.msvc_commons.events.EventPublishException;
+import com.gad.msvc_details_order.config.OutboxProperties;
+import com.gad.msvc_details_order.dto.OrderDetailCreatedEvent;
+import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderDetailOutboxRelay {
+    private final MongoTemplate mongoTemplate;
+    private final EventBroker eventBroker;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties outboxProperties;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relayPendingEvents() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == outboxProperties.getBatchSize());
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        Query pendingQuery = new Query(pendingCriteria(now))
+                .with(Sort.by("outbox.available_at"))
+                .limit(outboxProperties.getBatchSize());
+        pendingQuery.fields().include("_id");
+        List<UUID> candidates = mongoTemplate.find(pendingQuery, OrderDetail.class).stream()
+                .map(OrderDetail::getUuidDetail)
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        String claim = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(candidates).andOperator(pendingCriteria(now))),
+                new Update()
+                        .set("outbox.available_at", now.plus(outboxProperties.getLease()))
+                        .set("outbox.claim", claim)
+                        .inc("outbox.attempts", 1),
+                OrderDetail.class);
+        List<OrderDetail> claimed = mongoTemplate.find(new Query(Criteria.where("_id").in(candidates).and("outbox.claim").is(claim)), OrderDetail.class);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            eventBroker.publish(outboxProperties.getTopic(), claimed.stream().map(this::toMessage).toList());
+        } catch (EventPublishException e) {
+            log.warn("Could not relay {} order detail events, they will be retried after {}: {}", claimed.size(), outboxProperties.getLease(), e.getMessage());
+            return 0;
+        }
+
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(claimed.stream().map(OrderDetail::getUuidDetail).toList()).and("outbox.claim").is(claim)),
+                new Update()
+                        .set("outbox.status", OutboxStatus.PUBLISHED)
+                        .set("outbox.published_at", Instant.now())
+                        .unset("outbox.claim"),
+                OrderDetail.class);
+        return candidates.size();
+    }
+
+    private static Criteria pendingCriteria(Instant now) {
+        return Criteria.where("outbox.status").is(OutboxStatus.PENDING).and("outbox.available_at").lte(now);
+    }
+
+    private EventMessage toMessage(OrderDetail orderDetail) {
+        OrderDetailCreatedEvent event = new OrderDetailCreatedEvent(
+                orderDetail.getUuidDetail().toString(),
+                orderDetail.getUuidOrder().toString(),
+                orderDetail.getUuidProduct().toString(),
+                orderDetail.getAmount(),
+                orderDetail.getUnitPrice());
+        try {
+            return new EventMessage(event.uuidDetail(), OrderDetailCreatedEvent.TYPE, event.uuidOrder(),
+                    objectMapper.writeValueAsString(event), orderDetail.getOutbox().getCreatedAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Order detail " + event.uuidDetail() + " could not be serialized", e);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.gad.msvc_details_order.service;
 
+import com.gad.msvc_details_order.dto.CreateOrderDetailLineRequest;
 import com.gad.msvc_details_order.dto.CreateOrderDetailRequest;
+import com.gad.msvc_details_order.dto.CreateOrderDetailsRequest;
 import com.gad.msvc_details_order.dto.OrderDetailDTO;
+import com.gad.msvc_details_order.dto.OrderTotalDTO;
 import com.gad.msvc_details_order.exception.OrderNotFoundException;
 import com.gad.msvc_details_order.exception.ProductFeignNotFoundException;
 import com.gad.msvc_details_order.exception.StockNotAvailableException;
 import com.gad.msvc_details_order.model.Order;
 import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OrderDetailOutbox;
+import com.gad.msvc_details_order.model.OrderTotal;
 import com.gad.msvc_details_order.model.Product;
 import com.gad.msvc_details_order.repository.OrderDetailRepository;
 import com.gad.msvc_details_order.service.feign.OrderServiceFeign;
@@ -14,10 +19,19 @@ import com.gad.msvc_details_order.service.feign.ProductServiceFeign;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -26,6 +40,7 @@ public class OrderDetailService {
     private final OrderDetailRepository orderDetailRepository;
     private final ProductServiceFeign productServiceFeign;
     private final OrderServiceFeign orderServiceFeign;
+    private final AsyncTaskExecutor applicationTaskExecutor;
 
     @Transactional
     public OrderDetailDTO createOrderDetail(CreateOrderDetailRequest createOrderDetailRequest) {
@@ -45,6 +60,7 @@ public class OrderDetailService {
         orderDetail.setUuidProduct(UUID.fromString(createOrderDetailRequest.uuidProduct()));
         orderDetail.setAmount(createOrderDetailRequest.amount());
         orderDetail.setUnitPrice(product.getPrice());
+        orderDetail.setOutbox(OrderDetailOutbox.pending());
         orderDetailRepository.save(orderDetail);
 
         return new OrderDetailDTO(
@@ -56,6 +72,59 @@ public class OrderDetailService {
         );
     }
 
+    @Transactional
+    public List<OrderDetailDTO> createOrderDetails(CreateOrderDetailsRequest createOrderDetailsRequest) {
+        List<String> uuidProducts = createOrderDetailsRequest.lines().stream().map(CreateOrderDetailLineRequest::uuidProduct).toList();
+        CompletableFuture<Order> orderFuture = CompletableFuture.supplyAsync(
+                () -> orderServiceFeign.findOrderByUuid(createOrderDetailsRequest.uuidOrder()), applicationTaskExecutor);
+        CompletableFuture<Map<String, Product>> productsFuture = CompletableFuture.supplyAsync(
+                () -> productServiceFeign.findProductsByUuids(uuidProducts), applicationTaskExecutor);
+
+        Order order = join(orderFuture);
+        if (order == null) {
+            throw new OrderNotFoundException("Order with uuid " + createOrderDetailsRequest.uuidOrder() + " not found");
+        }
+        Map<String, Product> products = join(productsFuture);
+
+        Map<String, Integer> requestedAmounts = new LinkedHashMap<>();
+        for (CreateOrderDetailLineRequest line : createOrderDetailsRequest.lines()) {
+            requestedAmounts.merge(UUID.fromString(line.uuidProduct()).toString(), line.amount(), Integer::sum);
+        }
+        requestedAmounts.forEach((uuidProduct, amount) -> {
+            Product product = products.get(uuidProduct);
+            if (product == null) {
+                throw new ProductFeignNotFoundException("Product with uuid " + uuidProduct + " not found");
+            }
+            if (product.getStock() < amount) {
+                throw new StockNotAvailableException("The amount entered " + amount + " exceeds the stock of the product " + product.getName() + " with stock " + product.getStock());
+            }
+        });
+
+        UUID uuidOrder = UUID.fromString(createOrderDetailsRequest.uuidOrder());
+        List<OrderDetail> orderDetails = createOrderDetailsRequest.lines().stream()
+                .map(line -> {
+                    OrderDetail orderDetail = new OrderDetail();
+                    orderDetail.setUuidOrder(uuidOrder);
+                    orderDetail.setUuidProduct(UUID.fromString(line.uuidProduct()));
+                    orderDetail.setAmount(line.amount());
+                    orderDetail.setUnitPrice(products.get(orderDetail.getUuidProduct().toString()).getPrice());
+                    orderDetail.setOutbox(OrderDetailOutbox.pending());
+                    return orderDetail;
+                })
+                .toList();
+        orderDetailRepository.insert(orderDetails);
+
+        return orderDetails.stream()
+                .map(orderDetail -> new OrderDetailDTO(
+                        orderDetail.getUuidDetail().toString(),
+                        orderDetail.getUuidOrder().toString(),
+                        products.get(orderDetail.getUuidProduct().toString()).getName(),
+                        orderDetail.getAmount(),
+                        orderDetail.getUnitPrice()
+                ))
+                .toList();
+    }
+
     @Cacheable(value = "OrderDetailByUuid", key = "#uuidOrderDetail")
     @Transactional(readOnly = true)
     public OrderDetailDTO findOrderDetailByUuid(String uuidOrderDetail) {
@@ -76,4 +145,30 @@ public class OrderDetailService {
                 orderDetail.getUnitPrice()
         );
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public List<OrderTotalDTO> aggregateOrderTotals(List<String> uuidOrders) {
+        List<UUID> keys = uuidOrders.stream().map(UUID::fromString).distinct().toList();
+        Map<UUID, OrderTotal> totals = orderDetailRepository.aggregateTotalsByUuidOrderIn(keys).stream()
+                .collect(Collectors.toMap(OrderTotal::getUuidOrder, Function.identity()));
+
+        return keys.stream()
+                .map(uuidOrder -> totals.getOrDefault(uuidOrder, new OrderTotal(uuidOrder, BigDecimal.ZERO, 0, List.of())))
+                .map(total -> new OrderTotalDTO(
+                        total.getUuidOrder().toString(),
+                        total.getTotalPrice(),
+                        total.getLineCount(),
+                        total.getUuidDetails().stream().map(UUID::toString).toList()))
+                .toList();
+    }
 }
@@ -1,21 +1,35 @@
 package com.gad.msvc_details_order.service.feign;
 
 import com.gad.msvc_details_order.config.feign.ProductFeignClient;
+import com.gad.msvc_commons.cache.CacheBatches;
 import com.gad.msvc_details_order.dto.DataResponse;
+import com.gad.msvc_details_order.dto.ProductBatchDTO;
+import com.gad.msvc_details_order.dto.ProductBatchRequest;
 import com.gad.msvc_details_order.exception.ProductFeignNotFoundException;
 import com.gad.msvc_details_order.model.Product;
 import com.gad.msvc_details_order.utils.MapperWildCard;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class ProductServiceFeign {
+    private static final String PRODUCT_BY_UUID_CACHE = "ProductByUuid";
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final ProductFeignClient productFeignClient;
+    private final CacheManager cacheManager;
 
-    @Cacheable(value = "ProductByUuid", key = "#uuidProduct")
+    @Cacheable(value = PRODUCT_BY_UUID_CACHE, key = "#uuidProduct")
     public Product findProductByUuid(String uuidProduct) {
         try {
             DataResponse dataResponse = productFeignClient.findProductByUuid(uuidProduct);
@@ -28,4 +42,30 @@ public class ProductServiceFeign {
             throw new ProductFeignNotFoundException("Feign: Product information with UUID " + uuidProduct + " could not be obtained", e);
         }
     }
+
+    public Map<String, Product> findProductsByUuids(Collection<String> uuidProducts) {
+        List<String> keys = uuidProducts.stream().map(uuid -> UUID.fromString(uuid).toString()).distinct().toList();
+        Map<String, Product> products = CacheBatches.getAll(cacheManager.getCache(PRODUCT_BY_UUID_CACHE), keys, Product.class);
+        List<String> uncached = keys.stream().filter(key -> !products.containsKey(key)).toList();
+
+        Map<String, Product> loaded = new HashMap<>();
+        for (int from = 0; from < uncached.size(); from += MAX_BATCH_SIZE) {
+            List<String> batch = uncached.subList(from, Math.min(from + MAX_BATCH_SIZE, uncached.size()));
+            try {
+                DataResponse dataResponse = productFeignClient.findProductsByUuids(new ProductBatchRequest(batch));
+
+                if (dataResponse == null || dataResponse.data() == null) {
+                    throw new ProductFeignNotFoundException("Feign: Products with UUIDs " + batch + " not found");
+                }
+                MapperWildCard.toEntity(dataResponse, ProductBatchDTO.class).content()
+                        .forEach(product -> loaded.put(product.getUuidProduct().toString(), product));
+            } catch (FeignException e) {
+                throw new ProductFeignNotFoundException("Feign: Product information for " + batch.size() + " UUIDs could not be obtained", e);
+            }
+        }
+        CacheBatches.putAll(cacheManager.getCache(PRODUCT_BY_UUID_CACHE), loaded);
+
+        products.putAll(loaded);
+        return products;
+    }
 }
@@ -0,0 +1,108 @@
+package com.gad.msvc_details_order.benchmark;
+
+import com.gad.msvc_details_order.config.feign.OrderFeignClient;
+import com.gad.msvc_details_order.config.feign.ProductFeignClient;
+import com.gad.msvc_details_order.dto.*;
+import com.gad.msvc_details_order.repository.OrderDetailRepository;
+import com.gad.msvc_details_order.service.OrderDetailService;
+import com.gad.msvc_details_order.service.feign.OrderServiceFeign;
+import com.gad.msvc_details_order.service.feign.ProductServiceFeign;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(16)
+@Fork(1)
+public class OrderDetailCreationBenchmark {
+    private static final long UPSTREAM_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(3);
+    private static final long MONGO_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int CATALOG_SIZE = 1_000;
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private OrderDetailService orderDetailService;
+    private CreateOrderDetailsRequest createOrderDetailsRequest;
+    private List<CreateOrderDetailRequest> createOrderDetailRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> catalog = IntStream.range(0, CATALOG_SIZE).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        Map<String, Map<String, Object>> productsByUuid = new HashMap<>();
+        catalog.forEach(uuid -> productsByUuid.put(uuid, Map.of("uuid_product", uuid, "name", "Product " + uuid, "price", 10.5, "stock", 1_000_000)));
+
+        OrderFeignClient orderFeignClient = uuidOrder -> {
+            LockSupport.parkNanos(UPSTREAM_LATENCY_NANOS);
+            return new DataResponse(200, "Order found", Map.of("uuid_order", uuidOrder), null, null);
+        };
+        ProductFeignClient productFeignClient = new ProductFeignClient() {
+            @Override
+            public DataResponse findProductByUuid(String uuidProduct) {
+                LockSupport.parkNanos(UPSTREAM_LATENCY_NANOS);
+                return new DataResponse(200, "Product found", productsByUuid.get(uuidProduct), null, null);
+            }
+
+            @Override
+            public DataResponse findProductsByUuids(ProductBatchRequest productBatchRequest) {
+                LockSupport.parkNanos(UPSTREAM_LATENCY_NANOS);
+                List<Map<String, Object>> content = productBatchRequest.uuidProducts().stream().map(productsByUuid::get).toList();
+                return new DataResponse(200, "Products found", Map.of("content", content, "notFound", List.of()), null, null);
+            }
+        };
+        OrderDetailRepository orderDetailRepository = (OrderDetailRepository) Proxy.newProxyInstance(
+                OrderDetailRepository.class.getClassLoader(), new Class<?>[]{OrderDetailRepository.class},
+                (proxy, method, args) -> {
+                    LockSupport.parkNanos(MONGO_LATENCY_NANOS);
+                    return args[0];
+                });
+
+        NoOpCacheManager cacheManager = new NoOpCacheManager();
+        SimpleAsyncTaskExecutor applicationTaskExecutor = new SimpleAsyncTaskExecutor();
+        applicationTaskExecutor.setVirtualThreads(true);
+        orderDetailService = new OrderDetailService(orderDetailRepository,
+                new ProductServiceFeign(productFeignClient, cacheManager), new OrderServiceFeign(orderFeignClient), applicationTaskExecutor);
+
+        String uuidOrder = UUID.randomUUID().toString();
+        Random random = new Random(42);
+        List<CreateOrderDetailLineRequest> lineRequests = IntStream.range(0, lines)
+                .mapToObj(i -> new CreateOrderDetailLineRequest(catalog.get(random.nextInt(CATALOG_SIZE)), 1 + random.nextInt(5)))
+                .toList();
+        createOrderDetailsRequest = new CreateOrderDetailsRequest(uuidOrder, lineRequests);
+        createOrderDetailRequests = lineRequests.stream()
+                .map(line -> new CreateOrderDetailRequest(uuidOrder, line.uuidProduct(), line.amount()))
+                .toList();
+    }
+
+    @Benchmark
+    public void perLineCreation(Blackhole blackhole) {
+        for (CreateOrderDetailRequest createOrderDetailRequest : createOrderDetailRequests) {
+            blackhole.consume(orderDetailService.createOrderDetail(createOrderDetailRequest));
+        }
+    }
+
+    @Benchmark
+    public List<OrderDetailDTO> bulkCreation() {
+        return orderDetailService.createOrderDetails(createOrderDetailsRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderDetailCreationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gad.msvc_details_order.benchmark;
+
+import com.gad.msvc_commons.redis.InstrumentedJedisConnectionFactory;
+import com.gad.msvc_commons.redis.LettuceConnectionFactories;
+import com.gad.msvc_commons.redis.RedisClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(200)
+@Fork(1)
+public class RedisClientBenchmark {
+    private static final int KEY_SPACE = 1_000;
+    private static final String KEY_PREFIX = "benchmark:order-detail:";
+    private static final String VALUE = "{\"uuid_order_detail\":\"1\",\"quantity\":2,\"unit_price\":10.00}";
+
+    @Param({"JEDIS", "LETTUCE"})
+    public String client;
+
+    private RedisConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost(System.getProperty("redis.host", "localhost"));
+        redisProperties.setPort(Integer.getInteger("redis.port", 6379));
+        redisProperties.setTimeout(Duration.ofSeconds(1));
+        redisProperties.getJedis().getPool().setMaxActive(64);
+        redisProperties.getJedis().getPool().setMaxIdle(64);
+        redisProperties.getJedis().getPool().setMinIdle(8);
+        redisProperties.getJedis().getPool().setMaxWait(Duration.ofSeconds(1));
+        redisProperties.getLettuce().getPool().setMaxActive(8);
+
+        connectionFactory = "LETTUCE".equals(client)
+                ? LettuceConnectionFactories.create(redisProperties, new RedisClientProperties(), null)
+                : InstrumentedJedisConnectionFactory.create(redisProperties, new RedisClientProperties(), new SimpleMeterRegistry());
+        ((InitializingBean) connectionFactory).afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        IntStream.range(0, KEY_SPACE).forEach(i -> redisTemplate.opsForValue().set(KEY_PREFIX + i, VALUE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        redisTemplate.delete(IntStream.range(0, KEY_SPACE).mapToObj(i -> KEY_PREFIX + i).toList());
+        ((DisposableBean) connectionFactory).destroy();
+    }
+
+    @Benchmark
+    public String get() {
+        return redisTemplate.opsForValue().get(KEY_PREFIX + ThreadLocalRandom.current().nextInt(KEY_SPACE));
+    }
+
+    @Benchmark
+    public void set() {
+        redisTemplate.opsForValue().set(KEY_PREFIX + ThreadLocalRandom.current().nextInt(KEY_SPACE), VALUE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RedisClientBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,7 +1,10 @@
 package com.gad.msvc_details_order.controller;
 
+import com.gad.msvc_details_order.dto.CreateOrderDetailLineRequest;
 import com.gad.msvc_details_order.dto.CreateOrderDetailRequest;
+import com.gad.msvc_details_order.dto.CreateOrderDetailsRequest;
 import com.gad.msvc_details_order.dto.OrderDetailDTO;
+import com.gad.msvc_details_order.dto.OrderTotalDTO;
 import com.gad.msvc_details_order.exception.*;
 import com.gad.msvc_details_order.service.OrderDetailService;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -304,4 +308,74 @@ class OrderDetailControllerTest {
 
         verify(orderDetailService, times(1)).findOrderDetailByUuid(createOrderDetailRequest.uuidProduct());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return status 201 and the created order details when CreateOrderDetailsRequest is valid")
+    void createOrderDetails_WhenCreateOrderDetailsRequestIsValid_ReturnsStatus201AndOrderDetailDtos() throws Exception {
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(uuidOrder.toString(), List.of(
+                new CreateOrderDetailLineRequest(UUID.randomUUID().toString(), 10),
+                new CreateOrderDetailLineRequest(UUID.randomUUID().toString(), 2)));
+        OrderDetailDTO secondOrderDetailDTO = new OrderDetailDTO(UUID.randomUUID().toString(), uuidOrder.toString(), "Product Test 2", 2, BigDecimal.valueOf(50));
+        when(orderDetailService.createOrderDetails(createOrderDetailsRequest)).thenReturn(List.of(orderDetailDTO, secondOrderDetailDTO));
+
+        mockMvc.perform(post("/api/v1/order-details/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createOrderDetailsRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value(201))
+                .andExpect(jsonPath("$.message").value("Order details created"))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].uuid_detail").value(orderDetailDTO.uuidDetail()))
+                .andExpect(jsonPath("$.data[1].product_name").value(secondOrderDetailDTO.productName()))
+                .andExpect(jsonPath("$.data[1].amount").value(secondOrderDetailDTO.amount()))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.errors").doesNotExist());
+        verify(orderDetailService, times(1)).createOrderDetails(createOrderDetailsRequest);
+    }
+
+    @Test
+    @DisplayName("Should return status 400 when CreateOrderDetailsRequest has no lines")
+    void createOrderDetails_WhenLinesAreEmpty_ReturnsStatus400() throws Exception {
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(uuidOrder.toString(), List.of());
+
+        mockMvc.perform(post("/api/v1/order-details/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createOrderDetailsRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Validation incorrect"))
+                .andExpect(jsonPath("$.errors[0].field").value("lines"))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("Lines cannot be empty"));
+        verify(orderDetailService, never()).createOrderDetails(any());
+    }
+
+    @Test
+    @DisplayName("Should return status 200 with the aggregated totals of the requested orders")
+    void getOrderTotals_WhenOrderTotalsRequestIsValid_ReturnsStatus200AndTotals() throws Exception {
+        OrderTotalDTO orderTotalDTO = new OrderTotalDTO(uuidOrder.toString(), BigDecimal.valueOf(150), 2, List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+        when(orderDetailService.aggregateOrderTotals(List.of(uuidOrder.toString()))).thenReturn(List.of(orderTotalDTO));
+
+        mockMvc.perform(post("/api/v1/order-details/totals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid_orders\":[\"" + uuidOrder + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.message").value("Order totals aggregated"))
+                .andExpect(jsonPath("$.data[0].uuid_order").value(uuidOrder.toString()))
+                .andExpect(jsonPath("$.data[0].total_price").value(150))
+                .andExpect(jsonPath("$.data[0].line_count").value(2))
+                .andExpect(jsonPath("$.data[0].uuid_details.length()").value(2));
+        verify(orderDetailService, times(1)).aggregateOrderTotals(List.of(uuidOrder.toString()));
+    }
+
+    @Test
+    @DisplayName("Should return status 400 when OrderTotalsRequest contains an invalid UUID")
+    void getOrderTotals_WhenUuidIsInvalid_ReturnsStatus400() throws Exception {
+        mockMvc.perform(post("/api/v1/order-details/totals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid_orders\":[\"not-a-uuid\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        verify(orderDetailService, never()).aggregateOrderTotals(any());
+    }
+}
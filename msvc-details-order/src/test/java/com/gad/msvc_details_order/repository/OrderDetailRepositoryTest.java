@@ -1,6 +1,7 @@
 package com.gad.msvc_details_order.repository;
 
 import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OrderTotal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,4 +69,23 @@ class OrderDetailRepositoryTest {
 
         assertNull(foundOrderDetail);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should aggregate total price, line count and detail uuids per order")
+    void aggregateTotalsByUuidOrderIn_WhenOrderHasDetails_ReturnsTotals() {
+        OrderDetail secondOrderDetail = new OrderDetail();
+        secondOrderDetail.setUuidOrder(orderDetail.getUuidOrder());
+        secondOrderDetail.setUuidProduct(UUID.randomUUID());
+        secondOrderDetail.setUnitPrice(new BigDecimal("2.50"));
+        secondOrderDetail.setAmount(3);
+        orderDetailRepository.save(secondOrderDetail);
+
+        List<OrderTotal> totals = orderDetailRepository.aggregateTotalsByUuidOrderIn(List.of(orderDetail.getUuidOrder(), UUID.randomUUID()));
+
+        assertEquals(1, totals.size());
+        assertEquals(orderDetail.getUuidOrder(), totals.getFirst().getUuidOrder());
+        assertEquals(0, new BigDecimal("507.50").compareTo(totals.getFirst().getTotalPrice()));
+        assertEquals(2, totals.getFirst().getLineCount());
+        assertTrue(totals.getFirst().getUuidDetails().containsAll(List.of(orderDetail.getUuidDetail(), secondOrderDetail.getUuidDetail())));
+    }
+}
@@ -0,0 +1,106 @@
+package com.gad.msvc_details_order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_commons.events.EventBroker;
+import com.gad.msvc_commons.events.EventMessage;
+import com.gad.msvc_commons.events.EventPublishException;
+import com.gad.msvc_details_order.config.OutboxProperties;
+import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OrderDetailOutbox;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDetailOutboxRelayTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EventBroker eventBroker;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private OutboxProperties outboxProperties = new OutboxProperties();
+
+    @InjectMocks
+    private OrderDetailOutboxRelay orderDetailOutboxRelay;
+
+    private OrderDetail orderDetail;
+
+    @BeforeEach
+    void setUp() {
+        orderDetail = new OrderDetail();
+        orderDetail.setUuidOrder(UUID.randomUUID());
+        orderDetail.setUuidProduct(UUID.randomUUID());
+        orderDetail.setAmount(2);
+        orderDetail.setUnitPrice(BigDecimal.valueOf(15));
+        orderDetail.setOutbox(OrderDetailOutbox.pending());
+    }
+
+    @Test
+    @DisplayName("Should claim pending order details, publish them and mark them as published")
+    void relayBatch_WhenPendingOrderDetails_PublishesAndMarksThemPublished() {
+        when(mongoTemplate.find(any(Query.class), eq(OrderDetail.class))).thenReturn(List.of(orderDetail), List.of(orderDetail));
+
+        int relayed = orderDetailOutboxRelay.relayBatch();
+
+        assertEquals(1, relayed);
+        ArgumentCaptor<List<EventMessage>> messages = ArgumentCaptor.captor();
+        verify(eventBroker).publish(eq("order-details"), messages.capture());
+        EventMessage message = messages.getValue().getFirst();
+        assertEquals(orderDetail.getUuidDetail().toString(), message.id());
+        assertEquals(orderDetail.getUuidOrder().toString(), message.key());
+        assertTrue(message.payload().contains("\"unit_price\":15"));
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), updates.capture(), eq(OrderDetail.class));
+        Document claim = (Document) updates.getAllValues().get(0).getUpdateObject().get("$set");
+        Document published = (Document) updates.getAllValues().get(1).getUpdateObject().get("$set");
+        assertNotNull(claim.get("outbox.claim"));
+        assertEquals("PUBLISHED", published.get("outbox.status").toString());
+    }
+
+    @Test
+    @DisplayName("Should leave order details pending when the broker rejects the batch")
+    void relayBatch_WhenBrokerFails_LeavesOrderDetailsPending() {
+        when(mongoTemplate.find(any(Query.class), eq(OrderDetail.class))).thenReturn(List.of(orderDetail), List.of(orderDetail));
+        doThrow(new EventPublishException("Topic order-details is full")).when(eventBroker).publish(anyString(), anyList());
+
+        int relayed = orderDetailOutboxRelay.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(OrderDetail.class));
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when no order detail is pending")
+    void relayBatch_WhenNothingPending_DoesNotPublish() {
+        when(mongoTemplate.find(any(Query.class), eq(OrderDetail.class))).thenReturn(List.of());
+
+        int relayed = orderDetailOutboxRelay.relayBatch();
+
+        assertEquals(0, relayed);
+        verifyNoInteractions(eventBroker);
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(OrderDetail.class));
+    }
+}
@@ -1,11 +1,17 @@
 package com.gad.msvc_details_order.service;
 
+import com.gad.msvc_details_order.dto.CreateOrderDetailLineRequest;
 import com.gad.msvc_details_order.dto.CreateOrderDetailRequest;
+import com.gad.msvc_details_order.dto.CreateOrderDetailsRequest;
 import com.gad.msvc_details_order.dto.OrderDetailDTO;
+import com.gad.msvc_details_order.dto.OrderTotalDTO;
 import com.gad.msvc_details_order.exception.OrderNotFoundException;
+import com.gad.msvc_details_order.exception.ProductFeignNotFoundException;
 import com.gad.msvc_details_order.exception.StockNotAvailableException;
 import com.gad.msvc_details_order.model.Order;
 import com.gad.msvc_details_order.model.OrderDetail;
+import com.gad.msvc_details_order.model.OrderTotal;
+import com.gad.msvc_details_order.model.OutboxStatus;
 import com.gad.msvc_details_order.model.Product;
 import com.gad.msvc_details_order.repository.OrderDetailRepository;
 import com.gad.msvc_details_order.service.feign.OrderServiceFeign;
@@ -14,16 +20,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +50,9 @@ class OrderDetailServiceTest {
     @Mock
     private OrderServiceFeign orderServiceFeign;
 
+    @Spy
+    private AsyncTaskExecutor applicationTaskExecutor = new SimpleAsyncTaskExecutor();
+
     @InjectMocks
     private OrderDetailService orderDetailService;
 
@@ -85,6 +101,22 @@ class OrderDetailServiceTest {
         verify(orderDetailRepository, times(1)).save(any(OrderDetail.class));
     }
 
+    @Test
+    @DisplayName("Should store a pending outbox event in the same document as the saved orderDetail")
+    void createOrderDetail_WhenCreateOrderRequest_SavesPendingOutboxEvent() {
+        when(orderServiceFeign.findOrderByUuid(any())).thenReturn(order);
+        when(productServiceFeign.findProductByUuid(any())).thenReturn(product);
+        when(orderDetailRepository.save(any(OrderDetail.class))).thenReturn(orderDetail);
+
+        orderDetailService.createOrderDetail(createOrderDetailRequest);
+
+        ArgumentCaptor<OrderDetail> saved = ArgumentCaptor.forClass(OrderDetail.class);
+        verify(orderDetailRepository).save(saved.capture());
+        assertEquals(OutboxStatus.PENDING, saved.getValue().getOutbox().getStatus());
+        assertEquals(0, saved.getValue().getOutbox().getAttempts());
+        assertNotNull(saved.getValue().getOutbox().getAvailableAt());
+    }
+
     @Test
     @DisplayName("Should throw OrderNotFoundException when order does not exist")
     void createOrderDetail_WhenOrderDoesNotExist_ThrowsException() {
@@ -140,4 +172,90 @@ class OrderDetailServiceTest {
         assertEquals("Order detail with uuid " + uuidOrderDetail + " not found", exception.getMessage());
         verify(orderDetailRepository, times(1)).findByUuidDetail(uuidOrderDetail);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should insert every line at once and return their OrderDetailDTOs when CreateOrderDetailsRequest is sent")
+    void createOrderDetails_WhenCreateOrderDetailsRequest_ReturnsOrderDetailDtosAndInsertsAllLines() {
+        Product otherProduct = new Product();
+        otherProduct.setUuidProduct(UUID.randomUUID());
+        otherProduct.setName("Other Product");
+        otherProduct.setPrice(BigDecimal.valueOf(5));
+        otherProduct.setStock(3);
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(order.getUuidOrder().toString(), List.of(
+                new CreateOrderDetailLineRequest(product.getUuidProduct().toString(), 10),
+                new CreateOrderDetailLineRequest(otherProduct.getUuidProduct().toString(), 3)));
+        when(orderServiceFeign.findOrderByUuid(order.getUuidOrder().toString())).thenReturn(order);
+        when(productServiceFeign.findProductsByUuids(anyList())).thenReturn(Map.of(
+                product.getUuidProduct().toString(), product,
+                otherProduct.getUuidProduct().toString(), otherProduct));
+
+        List<OrderDetailDTO> orderDetailDTOs = orderDetailService.createOrderDetails(createOrderDetailsRequest);
+
+        assertEquals(2, orderDetailDTOs.size());
+        assertEquals(order.getUuidOrder().toString(), orderDetailDTOs.get(0).uuidOrder());
+        assertEquals(product.getName(), orderDetailDTOs.get(0).productName());
+        assertEquals(product.getPrice(), orderDetailDTOs.get(0).unitPrice());
+        assertEquals(otherProduct.getName(), orderDetailDTOs.get(1).productName());
+        assertEquals(3, orderDetailDTOs.get(1).amount());
+        verify(orderDetailRepository, times(1)).insert(anyList());
+        verify(productServiceFeign, never()).findProductByUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should throw StockNotAvailableException when repeated lines of a product exceed its stock")
+    void createOrderDetails_WhenRepeatedLinesExceedStock_ThrowsException() {
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(order.getUuidOrder().toString(), List.of(
+                new CreateOrderDetailLineRequest(product.getUuidProduct().toString(), 15),
+                new CreateOrderDetailLineRequest(product.getUuidProduct().toString(), 15)));
+        when(orderServiceFeign.findOrderByUuid(any())).thenReturn(order);
+        when(productServiceFeign.findProductsByUuids(anyList())).thenReturn(Map.of(product.getUuidProduct().toString(), product));
+
+        Exception exception = assertThrows(StockNotAvailableException.class, () -> orderDetailService.createOrderDetails(createOrderDetailsRequest));
+        assertEquals("The amount entered 30 exceeds the stock of the product Test Product with stock 20", exception.getMessage());
+        verify(orderDetailRepository, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should throw ProductFeignNotFoundException when a product of the request does not exist")
+    void createOrderDetails_WhenProductDoesNotExist_ThrowsException() {
+        String missingProduct = UUID.randomUUID().toString();
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(order.getUuidOrder().toString(), List.of(
+                new CreateOrderDetailLineRequest(product.getUuidProduct().toString(), 1),
+                new CreateOrderDetailLineRequest(missingProduct, 1)));
+        when(orderServiceFeign.findOrderByUuid(any())).thenReturn(order);
+        when(productServiceFeign.findProductsByUuids(anyList())).thenReturn(Map.of(product.getUuidProduct().toString(), product));
+
+        Exception exception = assertThrows(ProductFeignNotFoundException.class, () -> orderDetailService.createOrderDetails(createOrderDetailsRequest));
+        assertEquals("Product with uuid " + missingProduct + " not found", exception.getMessage());
+        verify(orderDetailRepository, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when the order of the bulk request does not exist")
+    void createOrderDetails_WhenOrderDoesNotExist_ThrowsException() {
+        CreateOrderDetailsRequest createOrderDetailsRequest = new CreateOrderDetailsRequest(order.getUuidOrder().toString(), List.of(
+                new CreateOrderDetailLineRequest(product.getUuidProduct().toString(), 1)));
+        when(orderServiceFeign.findOrderByUuid(any())).thenReturn(null);
+        lenient().when(productServiceFeign.findProductsByUuids(anyList())).thenReturn(Map.of(product.getUuidProduct().toString(), product));
+
+        Exception exception = assertThrows(OrderNotFoundException.class, () -> orderDetailService.createOrderDetails(createOrderDetailsRequest));
+        assertEquals("Order with uuid " + createOrderDetailsRequest.uuidOrder() + " not found", exception.getMessage());
+        verify(orderDetailRepository, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should return aggregated totals in request order and zero totals for orders without details")
+    void aggregateOrderTotals_WhenOrdersRequested_ReturnsTotalsForEveryOrder() {
+        UUID uuidDetail = UUID.randomUUID();
+        UUID orderWithoutDetails = UUID.randomUUID();
+        when(orderDetailRepository.aggregateTotalsByUuidOrderIn(List.of(order.getUuidOrder(), orderWithoutDetails)))
+                .thenReturn(List.of(new OrderTotal(order.getUuidOrder(), BigDecimal.valueOf(120), 1, List.of(uuidDetail))));
+
+        List<OrderTotalDTO> orderTotals = orderDetailService.aggregateOrderTotals(List.of(
+                order.getUuidOrder().toString(), orderWithoutDetails.toString(), order.getUuidOrder().toString()));
+
+        assertEquals(2, orderTotals.size());
+        assertEquals(new OrderTotalDTO(order.getUuidOrder().toString(), BigDecimal.valueOf(120), 1, List.of(uuidDetail.toString())), orderTotals.get(0));
+        assertEquals(new OrderTotalDTO(orderWithoutDetails.toString(), BigDecimal.ZERO, 0, List.of()), orderTotals.get(1));
+    }
+}
@@ -2,6 +2,8 @@ package com.gad.msvc_details_order.service.feign;
 
 import com.gad.msvc_details_order.config.feign.ProductFeignClient;
 import com.gad.msvc_details_order.dto.DataResponse;
+import com.gad.msvc_details_order.dto.ProductBatchDTO;
+import com.gad.msvc_details_order.dto.ProductBatchRequest;
 import com.gad.msvc_details_order.exception.ProductFeignNotFoundException;
 import com.gad.msvc_details_order.model.Product;
 import feign.FeignException;
@@ -11,8 +13,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +31,9 @@ class ProductServiceFeignTest {
     @Mock
     private ProductFeignClient productFeignClient;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ProductServiceFeign productServiceFeign;
 
@@ -67,4 +81,59 @@ class ProductServiceFeignTest {
         assertEquals("Feign: Product information with UUID " + uuidProduct + " could not be obtained", exception.getMessage());
         verify(productFeignClient, times(1)).findProductByUuid(uuidProduct);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should fetch uncached products in batches of at most 500 UUIDs and cache them")
+    void findProductsByUuids_WhenUncached_FetchesInBatchesAndCaches() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("ProductByUuid");
+        List<String> uuids = IntStream.range(0, 501).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        when(cacheManager.getCache("ProductByUuid")).thenReturn(cache);
+        when(productFeignClient.findProductsByUuids(any(ProductBatchRequest.class))).thenAnswer(invocation -> {
+            ProductBatchRequest request = invocation.getArgument(0);
+            return new DataResponse(200, "Products found",
+                    new ProductBatchDTO(request.uuidProducts().stream().map(ProductServiceFeignTest::product).toList(), List.of()), null, null);
+        });
+
+        Map<String, Product> result = productServiceFeign.findProductsByUuids(uuids);
+
+        assertEquals(501, result.size());
+        verify(productFeignClient, times(2)).findProductsByUuids(any(ProductBatchRequest.class));
+        assertEquals(result.get(uuids.getFirst()), cache.get(uuids.getFirst(), Product.class));
+    }
+
+    @Test
+    @DisplayName("Should not call msvc-products when every product of the batch is cached")
+    void findProductsByUuids_WhenAllCached_SkipsFeignCall() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("ProductByUuid");
+        String uuid = UUID.randomUUID().toString();
+        cache.put(uuid, product(uuid));
+        when(cacheManager.getCache("ProductByUuid")).thenReturn(cache);
+
+        Map<String, Product> result = productServiceFeign.findProductsByUuids(List.of(uuid, uuid));
+
+        assertEquals(Map.of(uuid, product(uuid)), result);
+        verifyNoInteractions(productFeignClient);
+    }
+
+    @Test
+    @DisplayName("Should throw ProductFeignNotFoundException when the batch call fails")
+    void findProductsByUuids_WhenFeignExceptionOccurs_ThrowsProductFeignNotFoundException() {
+        String uuid = UUID.randomUUID().toString();
+        when(cacheManager.getCache("ProductByUuid")).thenReturn(new ConcurrentMapCache("ProductByUuid"));
+        when(productFeignClient.findProductsByUuids(any(ProductBatchRequest.class))).thenThrow(FeignException.class);
+
+        List<String> uuids = List.of(uuid);
+        Exception exception = assertThrows(ProductFeignNotFoundException.class, () -> productServiceFeign.findProductsByUuids(uuids));
+
+        assertEquals("Feign: Product information for 1 UUIDs could not be obtained", exception.getMessage());
+    }
+
+    private static Product product(String uuid) {
+        Product product = new Product();
+        product.setUuidProduct(UUID.fromString(uuid));
+        product.setName("Product " + uuid);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(5);
+        return product;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gad.msvc_gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimiter {
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private long samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        onSample(rttNanos, inFlight.getAndDecrement(), dropped);
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtSample, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        double current = estimatedLimit;
+        double threshold = Math.max(1, Math.log10(current));
+        if (dropped) {
+            update(current - threshold);
+            return;
+        }
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        if (++samplesSinceProbe >= PROBE_MULTIPLIER * current) {
+            noLoadRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            samplesSinceProbe = 0;
+            return;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (inFlightAtSample * 2 < current) {
+            return;
+        }
+
+        double queueSize = Math.ceil(current * (1 - (double) noLoadRttNanos / rttNanos));
+        if (queueSize <= threshold) {
+            update(current + 6 * threshold);
+        } else if (queueSize < 3 * threshold) {
+            update(current + threshold);
+        } else if (queueSize > 6 * threshold) {
+            update(current - threshold);
+        }
+    }
+
+    private void update(double next) {
+        estimatedLimit = Math.clamp(next, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
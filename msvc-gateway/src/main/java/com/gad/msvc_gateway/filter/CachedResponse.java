@@ -0,0 +1,35 @@
+package com.gad.msvc_gateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Duration;
+import java.time.Instant;
+
+record CachedResponse(
+        HttpStatusCode statusCode,
+        HttpHeaders headers,
+        byte[] body,
+        String etag,
+        Instant validatedAt,
+        Instant expiresAt
+) {
+    boolean isFreshAt(Instant instant) {
+        return instant.isBefore(expiresAt);
+    }
+
+    CachedResponse revalidated(Instant now, Duration ttl, String cacheControl) {
+        HttpHeaders refreshedHeaders = headers;
+        if (cacheControl != null) {
+            refreshedHeaders = HttpHeaders.readOnlyHttpHeaders(copyWithCacheControl(cacheControl));
+        }
+        return new CachedResponse(statusCode, refreshedHeaders, body, etag, now, now.plus(ttl));
+    }
+
+    private HttpHeaders copyWithCacheControl(String cacheControl) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.setCacheControl(cacheControl);
+        return copy;
+    }
+}
@@ -0,0 +1,182 @@
+package com.gad.msvc_gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.gad.msvc_gateway.dto.DataResponse;
+import com.gad.msvc_gateway.utils.FormatterDateTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class ConcurrencyLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+    static final String LIMIT_METRIC = "gateway.concurrency.limit";
+    static final String IN_FLIGHT_METRIC = "gateway.concurrency.in.flight";
+    static final String REQUESTS_METRIC = "gateway.concurrency.requests";
+    private static final String OVERLOAD_ERROR_KEY = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "initialLimit", "minLimit", "maxLimit");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(config.getName(), name -> register(name, config));
+        Counter accepted = counter(config.getName(), "accepted");
+        Counter rejected = counter(config.getName(), "rejected");
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                rejected.increment();
+                return reject(exchange.getResponse());
+            }
+            accepted.increment();
+            long startedAt = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return chain.filter(exchange)
+                    .doOnError(failure::set)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            limiter.release();
+                        } else {
+                            limiter.release(System.nanoTime() - startedAt, isDropped(failure.get(), exchange.getResponse().getStatusCode()));
+                        }
+                    });
+        };
+    }
+
+    private AdaptiveConcurrencyLimiter register(String name, Config config) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        Gauge.builder(LIMIT_METRIC, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests in flight through the concurrency limiter")
+                .tag("limiter", name)
+                .strongReference(true)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private Counter counter(String name, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Requests checked by the concurrency limiter by outcome")
+                .tag("limiter", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static boolean isDropped(Throwable failure, HttpStatusCode statusCode) {
+        if (failure == null) {
+            return isOverloaded(statusCode);
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof ConnectException
+                    || cause instanceof PrematureCloseException
+                    || (cause instanceof ResponseStatusException exception && isOverloaded(exception.getStatusCode()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOverloaded(HttpStatusCode statusCode) {
+        return statusCode != null
+                && (statusCode.value() == HttpStatus.SERVICE_UNAVAILABLE.value() || statusCode.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        DataResponse dataResponse = new DataResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service is overloaded, please retry later.",
+                null,
+                FormatterDateTime.dateTimeNowFormatted(),
+                Map.of(OVERLOAD_ERROR_KEY, "Concurrency limit reached at gateway"));
+
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(dataResponse);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    public static class Config {
+        private String name = "default";
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.gad.msvc_gateway.filter;
+
+import com.gad.msvc_gateway.hedging.HedgeBudget;
+import com.gad.msvc_gateway.hedging.LatencyWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+
+@Component
+public class HedgingGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgingGatewayFilterFactory.Config> {
+    private static final Logger log = LoggerFactory.getLogger(HedgingGatewayFilterFactory.class);
+    static final String REQUESTS_METRIC = "gateway.hedge.requests";
+    static final String DELAY_METRIC = "gateway.hedge.delay";
+    private static final int WINDOW_SIZE = 1_000;
+
+    private final HttpClient httpClient;
+    private final LoadBalancerClientFactory clientFactory;
+    private final GatewayLoadBalancerProperties loadBalancerProperties;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+
+    public HedgingGatewayFilterFactory(HttpClient httpClient, LoadBalancerClientFactory clientFactory,
+                                       GatewayLoadBalancerProperties loadBalancerProperties,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.clientFactory = clientFactory;
+        this.loadBalancerProperties = loadBalancerProperties;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "percentile", "budgetPercent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE, config.getPercentile(), config.getMinSamples());
+        HedgeBudget budget = new HedgeBudget(config.getBudgetPercent(), config.getMaxBurst());
+        Gauge.builder(DELAY_METRIC, latencies, window -> Math.max(0, window.getPercentileNanos()) / 1e9)
+                .description("Latency after which a GET is hedged to another instance")
+                .tag("hedger", config.getName())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        return new OrderedGatewayFilter(new HedgingFilter(config, latencies, budget),
+                ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1);
+    }
+
+    private static boolean sameInstance(ServiceInstance candidate, ServiceInstance primary) {
+        return candidate.getHost().equals(primary.getHost()) && candidate.getPort() == primary.getPort();
+    }
+
+    private String hint(String serviceId) {
+        Map<String, String> hints = clientFactory.getProperties(serviceId).getHint();
+        return hints.getOrDefault(serviceId, hints.getOrDefault("default", "default"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void complete(Set<LoadBalancerLifecycle> lifecycles, CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+        lifecycles.forEach(lifecycle -> lifecycle.onComplete(context));
+    }
+
+    private class HedgingFilter implements GatewayFilter {
+        private final Config config;
+        private final LatencyWindow latencies;
+        private final HedgeBudget budget;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter budgetExhausted;
+
+        HedgingFilter(Config config, LatencyWindow latencies, HedgeBudget budget) {
+            this.config = config;
+            this.latencies = latencies;
+            this.budget = budget;
+            this.sent = counter(config, "sent");
+            this.won = counter(config, "won");
+            this.budgetExhausted = counter(config, "budget_exhausted");
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            String schemePrefix = exchange.getAttribute(GATEWAY_SCHEME_PREFIX_ATTR);
+            if (exchange.getRequest().getMethod() != HttpMethod.GET || isAlreadyRouted(exchange) || url == null
+                    || (!"lb".equals(url.getScheme()) && !"lb".equals(schemePrefix))) {
+                return chain.filter(exchange);
+            }
+            addOriginalRequestUrl(exchange, url);
+            String serviceId = url.getHost();
+            Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+            Routing routing = new Routing(exchange, url, schemePrefix, serviceId, hint(serviceId), lifecycles,
+                    new RequestData(exchange.getRequest(), exchange.getAttributes()), new AtomicBoolean());
+
+            return choose(routing, null)
+                    .switchIfEmpty(Mono.error(() -> NotFoundException.create(loadBalancerProperties.isUse404(),
+                            "Unable to find instance for " + serviceId)))
+                    .flatMap(primary -> route(routing, primary));
+        }
+
+        private Mono<Void> route(Routing routing, Attempt primary) {
+            ServerWebExchange exchange = routing.exchange();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, primary.url());
+            exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, primary.response());
+            budget.onRequest();
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(List::of), exchange));
+            headers.remove(HttpHeaders.HOST);
+            long hedgeAfterNanos = latencies.getPercentileNanos();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Mono<UpstreamResponse> response = send(routing, primary, headers).doOnError(primaryError::set);
+            if (hedgeAfterNanos >= 0) {
+                Duration hedgeAfter = Duration.ofNanos(Math.max(hedgeAfterNanos, config.getMinDelay().toNanos()));
+                response = Mono.firstWithValue(response, Mono.delay(hedgeAfter)
+                                .then(Mono.defer(() -> hedge(routing, primary, headers))))
+                        .onErrorMap(NoSuchElementException.class, e -> primaryError.get() != null ? primaryError.get() : e);
+            }
+            return response.then();
+        }
+
+        private Mono<UpstreamResponse> hedge(Routing routing, Attempt primary, HttpHeaders headers) {
+            if (routing.served().get()) {
+                return Mono.empty();
+            }
+            return choose(routing, primary.response().getServer())
+                    .flatMap(attempt -> {
+                        if (sameInstance(attempt.response().getServer(), primary.response().getServer())) {
+                            complete(routing.lifecycles(), new CompletionContext<>(CompletionContext.Status.DISCARD, attempt.request(), attempt.response()));
+                            return Mono.<UpstreamResponse>empty();
+                        }
+                        if (!budget.tryWithdraw()) {
+                            budgetExhausted.increment();
+                            complete(routing.lifecycles(), new CompletionContext<>(CompletionContext.Status.DISCARD, attempt.request(), attempt.response()));
+                            return Mono.<UpstreamResponse>empty();
+                        }
+                        sent.increment();
+                        return send(routing, attempt, headers).doOnNext(upstream -> won.increment());
+                    })
+                    .doOnError(e -> log.debug("Hedged request for {} failed: {}", routing.serviceId(), e.getMessage()));
+        }
+
+        private Mono<Attempt> choose(Routing routing, ServiceInstance previous) {
+            ReactorServiceInstanceLoadBalancer loadBalancer = clientFactory.getInstance(routing.serviceId(), ReactorServiceInstanceLoadBalancer.class);
+            if (loadBalancer == null) {
+                return Mono.error(NotFoundException.create(loadBalancerProperties.isUse404(),
+                        "No loadbalancer available for " + routing.serviceId()));
+            }
+            Request<RequestDataContext> request = new DefaultRequest<>(new RetryableRequestContext(previous, routing.requestData(), routing.hint()));
+            routing.lifecycles().forEach(lifecycle -> lifecycle.onStart(request));
+            return loadBalancer.choose(request).flatMap(response -> {
+                if (!response.hasServer()) {
+                    complete(routing.lifecycles(), new CompletionContext<>(CompletionContext.Status.DISCARD, request, response));
+                    return Mono.empty();
+                }
+                String overrideScheme = routing.schemePrefix() != null
+                        ? routing.url().getScheme()
+                        : response.getServer().isSecure() ? "https" : "http";
+                URI url = LoadBalancerUriTools.reconstructURI(new DelegatingServiceInstance(response.getServer(), overrideScheme),
+                        routing.exchange().getRequest().getURI());
+                return Mono.just(new Attempt(request, response, url));
+            });
+        }
+
+        private Mono<UpstreamResponse> send(Routing routing, Attempt attempt, HttpHeaders headers) {
+            long maxBodyBytes = config.getMaxBodySize().toBytes();
+            routing.lifecycles().forEach(lifecycle -> lifecycle.onStartRequest(attempt.request(), attempt.response()));
+            AtomicReference<UpstreamResponse> received = new AtomicReference<>();
+            return Mono.fromFuture(() -> {
+                long startedAt = System.nanoTime();
+                return httpClient.headers(outbound -> headers.forEach(outbound::set))
+                        .get()
+                        .uri(attempt.url())
+                        .response((response, body) -> {
+                            HttpHeaders responseHeaders = new HttpHeaders();
+                            response.responseHeaders().forEach(header -> responseHeaders.add(header.getKey(), header.getValue()));
+                            UpstreamResponse upstream = new UpstreamResponse(attempt, response.status().code(), responseHeaders);
+                            received.set(upstream);
+                            if (responseHeaders.getContentLength() > maxBodyBytes) {
+                                latencies.record(System.nanoTime() - startedAt);
+                                return serve(routing, upstream, body.asByteArray(), -1);
+                            }
+                            AtomicLong size = new AtomicLong();
+                            return body.asByteArray()
+                                    .bufferUntil(chunk -> size.addAndGet(chunk.length) > maxBodyBytes)
+                                    .switchOnFirst((first, chunks) -> {
+                                        latencies.record(System.nanoTime() - startedAt);
+                                        if (size.get() > maxBodyBytes) {
+                                            return serve(routing, upstream, chunks.flatMapIterable(Function.identity()), -1);
+                                        }
+                                        return serve(routing, upstream, Flux.fromIterable(first.hasValue() ? first.get() : List.of()), size.get());
+                                    });
+                        })
+                        .singleOrEmpty()
+                        .doOnSuccess(served -> complete(routing.lifecycles(), new CompletionContext<>(CompletionContext.Status.SUCCESS, attempt.request(), attempt.response(),
+                                new ResponseData(HttpStatusCode.valueOf(received.get().statusCode()), received.get().headers(), null, routing.requestData()))))
+                        .doOnError(e -> complete(routing.lifecycles(),
+                                new CompletionContext<>(CompletionContext.Status.FAILED, e, attempt.request(), attempt.response())))
+                        .toFuture();
+            }, true);
+        }
+
+        private Mono<UpstreamResponse> serve(Routing routing, UpstreamResponse upstream, Flux<byte[]> body, long contentLength) {
+            if (!routing.served().compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            ServerWebExchange exchange = routing.exchange();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, upstream.attempt().url());
+            exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, upstream.attempt().response());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatusCode.valueOf(upstream.statusCode()));
+            response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(List::of), upstream.headers(),
+                    exchange, HttpHeadersFilter.Type.RESPONSE));
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+            if (contentLength >= 0) {
+                response.getHeaders().setContentLength(contentLength);
+            }
+            return response.writeWith(body.map(bytes -> response.bufferFactory().wrap(bytes))).thenReturn(upstream);
+        }
+
+        private Counter counter(Config config, String result) {
+            return Counter.builder(REQUESTS_METRIC)
+                    .description("GET requests seen by the hedging filter by outcome")
+                    .tag("hedger", config.getName())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record Routing(ServerWebExchange exchange, URI url, String schemePrefix, String serviceId, String hint,
+                           Set<LoadBalancerLifecycle> lifecycles, RequestData requestData, AtomicBoolean served) {
+    }
+
+    private record Attempt(Request<RequestDataContext> request, Response<ServiceInstance> response, URI url) {
+    }
+
+    private record UpstreamResponse(Attempt attempt, int statusCode, HttpHeaders headers) {
+    }
+
+    public static class Config {
+        private String name = "default";
+        private double percentile = 0.95;
+        private int minSamples = 20;
+        private Duration minDelay = Duration.ofMillis(10);
+        private double budgetPercent = 10;
+        private int maxBurst = 10;
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public int getMaxBurst() {
+            return maxBurst;
+        }
+
+        public void setMaxBurst(int maxBurst) {
+            this.maxBurst = maxBurst;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
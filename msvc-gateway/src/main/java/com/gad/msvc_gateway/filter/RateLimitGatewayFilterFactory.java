@@ -0,0 +1,118 @@
+package com.gad.msvc_gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_gateway.dto.DataResponse;
+import com.gad.msvc_gateway.ratelimit.RouteRateLimiter;
+import com.gad.msvc_gateway.ratelimit.RouteRateLimiterRegistry;
+import com.gad.msvc_gateway.utils.FormatterDateTime;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+    private static final String UUID_CUSTOMER_CLAIM = "uuid_customer";
+    private static final String RATE_LIMIT_ERROR_KEY = "error";
+
+    private final RouteRateLimiterRegistry routeRateLimiterRegistry;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitGatewayFilterFactory(RouteRateLimiterRegistry routeRateLimiterRegistry, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.routeRateLimiterRegistry = routeRateLimiterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteRateLimiter limiter = routeRateLimiterRegistry.limiter(config.getName(), config.getReplenishRate(), config.getBurstCapacity());
+        return (exchange, chain) -> resolveKey(exchange)
+                .flatMap(key -> {
+                    long waitNanos = limiter.tryAcquire(key);
+                    return waitNanos == 0 ? chain.filter(exchange) : reject(exchange.getResponse(), waitNanos);
+                });
+    }
+
+    private Mono<String> resolveKey(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .mapNotNull(principal -> ((JwtAuthenticationToken) principal).getToken().getClaimAsString(UUID_CUSTOMER_CLAIM))
+                .map(uuidCustomer -> "customer:" + uuidCustomer)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientAddress(exchange.getRequest().getRemoteAddress())));
+    }
+
+    private static String clientAddress(InetSocketAddress remoteAddress) {
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        DataResponse dataResponse = new DataResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, retry after " + retryAfterSeconds + " seconds",
+                null,
+                FormatterDateTime.dateTimeNowFormatted(),
+                Map.of(RATE_LIMIT_ERROR_KEY, "Rate limit exceeded at gateway"));
+
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(dataResponse);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    public static class Config {
+        private String name = "default";
+        private double replenishRate = 50;
+        private int burstCapacity = 100;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+    }
+}
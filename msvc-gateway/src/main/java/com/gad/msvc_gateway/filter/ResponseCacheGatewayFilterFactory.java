@@ -0,0 +1,304 @@
+package com.gad.msvc_gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    static final String REQUESTS_METRIC = "gateway.response.cache.requests";
+    static final String SIZE_METRIC = "gateway.response.cache.size";
+    private static final List<String> UNCACHED_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, HttpHeaders.AGE, "Keep-Alive");
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "maxEntries", "defaultTtl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .build();
+        Cache<String, List<String>> varies = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .build();
+        Gauge.builder(SIZE_METRIC, cache, Cache::estimatedSize)
+                .description("Responses held in the gateway response cache")
+                .tag("cache", config.getName())
+                .register(meterRegistry);
+        return new OrderedGatewayFilter(new ResponseCacheFilter(cache, varies, config), NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    static Map<String, String> directives(HttpHeaders headers) {
+        Map<String, String> directives = new HashMap<>();
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                if (!parts[0].isEmpty()) {
+                    directives.put(parts[0].toLowerCase(Locale.ROOT), parts.length > 1 ? parts[1].replace("\"", "") : "");
+                }
+            }
+        }
+        return directives;
+    }
+
+    static Duration ttl(Map<String, String> directives, Duration defaultTtl) {
+        if (directives.containsKey("no-cache")) {
+            return Duration.ZERO;
+        }
+        String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+        if (maxAge == null) {
+            return defaultTtl;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(maxAge)));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    static String variantKey(String resource, List<String> vary, HttpHeaders requestHeaders) {
+        StringBuilder key = new StringBuilder(resource);
+        for (String name : vary) {
+            key.append('\n').append(name.toLowerCase(Locale.ROOT)).append('=').append(String.join(",", requestHeaders.getOrEmpty(name)));
+        }
+        return key.toString();
+    }
+
+    private static boolean isCacheable(HttpHeaders headers, Map<String, String> directives) {
+        return !directives.containsKey("no-store")
+                && !directives.containsKey("private")
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && !headers.getVary().contains("*");
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        String strongEtag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return ifNoneMatch.stream()
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals(strongEtag) || candidate.equals("*"));
+    }
+
+    private class ResponseCacheFilter implements GatewayFilter {
+        private final Cache<String, CachedResponse> cache;
+        private final Cache<String, List<String>> varies;
+        private final Config config;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter revalidations;
+        private final Counter bypasses;
+
+        ResponseCacheFilter(Cache<String, CachedResponse> cache, Cache<String, List<String>> varies, Config config) {
+            this.cache = cache;
+            this.varies = varies;
+            this.config = config;
+            this.hits = counter(config, "hit");
+            this.misses = counter(config, "miss");
+            this.revalidations = counter(config, "revalidated");
+            this.bypasses = counter(config, "bypass");
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            ServerHttpRequest request = exchange.getRequest();
+            Map<String, String> requestDirectives = directives(request.getHeaders());
+            if (request.getMethod() != HttpMethod.GET || requestDirectives.containsKey("no-store")) {
+                bypasses.increment();
+                return chain.filter(exchange);
+            }
+
+            String resource = request.getURI().getRawQuery() == null
+                    ? request.getURI().getRawPath()
+                    : request.getURI().getRawPath() + "?" + request.getURI().getRawQuery();
+            List<String> vary = varies.getIfPresent(resource);
+            String key = variantKey(resource, vary == null ? List.of() : vary, request.getHeaders());
+            CachedResponse cached = cache.getIfPresent(key);
+            Instant now = Instant.now();
+            if (cached != null && cached.isFreshAt(now) && !requestDirectives.containsKey("no-cache")) {
+                hits.increment();
+                return respond(exchange.getResponse(), request.getHeaders(), cached, now);
+            }
+
+            ServerWebExchange forwarded = exchange.mutate()
+                    .request(builder -> builder.headers(headers -> {
+                        headers.remove(HttpHeaders.IF_NONE_MATCH);
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                        if (cached != null) {
+                            headers.setIfNoneMatch(cached.etag());
+                        }
+                    }))
+                    .response(new CachingResponse(exchange.getResponse(), request.getHeaders(), resource, key, cached))
+                    .build();
+            return chain.filter(forwarded);
+        }
+
+        private Mono<Void> respond(ServerHttpResponse response, HttpHeaders requestHeaders, CachedResponse cached, Instant now) {
+            HttpHeaders headers = response.getHeaders();
+            headers.clear();
+            headers.putAll(cached.headers());
+            headers.set(HttpHeaders.AGE, String.valueOf(Duration.between(cached.validatedAt(), now).toSeconds()));
+            if (matches(requestHeaders.getIfNoneMatch(), cached.etag())) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+            response.setStatusCode(cached.statusCode());
+            headers.setContentLength(cached.body().length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+        }
+
+        private CachedResponse store(String key, HttpHeaders responseHeaders, Duration ttl, byte[] body, Instant now) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(responseHeaders);
+            UNCACHED_HEADERS.forEach(headers::remove);
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+                headers.setETag(etag);
+            }
+            CachedResponse cached = new CachedResponse(HttpStatus.OK, HttpHeaders.readOnlyHttpHeaders(headers), body, etag, now, now.plus(ttl));
+            cache.put(key, cached);
+            return cached;
+        }
+
+        private Counter counter(Config config, String result) {
+            return Counter.builder(REQUESTS_METRIC)
+                    .description("Requests seen by the gateway response cache by outcome")
+                    .tag("cache", config.getName())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private class CachingResponse extends ServerHttpResponseDecorator {
+            private final HttpHeaders requestHeaders;
+            private final String resource;
+            private final String key;
+            private final CachedResponse cached;
+
+            CachingResponse(ServerHttpResponse delegate, HttpHeaders requestHeaders, String resource, String key, CachedResponse cached) {
+                super(delegate);
+                this.requestHeaders = requestHeaders;
+                this.resource = resource;
+                this.key = key;
+                this.cached = cached;
+            }
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Instant now = Instant.now();
+                Map<String, String> responseDirectives = directives(getHeaders());
+                if (cached != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                    revalidations.increment();
+                    CachedResponse refreshed = cached.revalidated(now, ttl(responseDirectives, config.getDefaultTtl()),
+                            getHeaders().getCacheControl());
+                    cache.put(key, refreshed);
+                    return Flux.from(body)
+                            .doOnNext(DataBufferUtils::release)
+                            .then(Mono.defer(() -> respond(getDelegate(), requestHeaders, refreshed, now)));
+                }
+
+                misses.increment();
+                if (!HttpStatus.OK.equals(getStatusCode()) || !isCacheable(getHeaders(), responseDirectives)) {
+                    cache.invalidate(key);
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body)
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            if (bytes.length > config.getMaxBodySize().toBytes()) {
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            }
+                            List<String> vary = getHeaders().getVary();
+                            varies.put(resource, vary);
+                            CachedResponse stored = store(variantKey(resource, vary, requestHeaders), getHeaders(),
+                                    ttl(responseDirectives, config.getDefaultTtl()), bytes, now);
+                            return respond(getDelegate(), requestHeaders, stored, now);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> super.writeWith(Flux.empty())));
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                return cached != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode()) ? writeWith(Flux.empty()) : super.setComplete();
+            }
+        }
+    }
+
+    public static class Config {
+        private String name = "default";
+        private long maxEntries = 10_000;
+        private Duration defaultTtl = Duration.ofSeconds(5);
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
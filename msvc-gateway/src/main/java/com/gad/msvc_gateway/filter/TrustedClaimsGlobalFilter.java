@@ -0,0 +1,62 @@
+package com.gad.msvc_gateway.filter;
+
+import com.gad.msvc_commons.jwt.JwtVerifierProperties;
+import com.gad.msvc_commons.jwt.TrustedClaimsCodec;
+import com.gad.msvc_commons.jwt.VerifiedClaims;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty("jwt.verifier.trusted-header.secret")
+public class TrustedClaimsGlobalFilter implements GlobalFilter, Ordered {
+    private static final String UUID_CUSTOMER_CLAIM = "uuid_customer";
+
+    private final TrustedClaimsCodec trustedClaimsCodec;
+    private final JwtVerifierProperties jwtVerifierProperties;
+
+    public TrustedClaimsGlobalFilter(TrustedClaimsCodec trustedClaimsCodec, JwtVerifierProperties jwtVerifierProperties) {
+        this.trustedClaimsCodec = trustedClaimsCodec;
+        this.jwtVerifierProperties = jwtVerifierProperties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String headerName = jwtVerifierProperties.getTrustedHeader().getName();
+
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> ((JwtAuthenticationToken) principal).getToken())
+                .filter(jwt -> jwt.getExpiresAt() != null && jwt.getClaimAsString(UUID_CUSTOMER_CLAIM) != null)
+                .map(jwt -> exchange.mutate()
+                        .request(request -> request.headers(headers -> {
+                            headers.remove(headerName);
+                            headers.set(headerName, encode(jwt));
+                        }))
+                        .build())
+                .switchIfEmpty(Mono.fromSupplier(() -> exchange.mutate()
+                        .request(request -> request.headers(headers -> headers.remove(headerName)))
+                        .build()))
+                .flatMap(chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private String encode(Jwt jwt) {
+        VerifiedClaims verifiedClaims = new VerifiedClaims(
+                UUID.fromString(jwt.getClaimAsString(UUID_CUSTOMER_CLAIM)),
+                jwt.getExpiresAt());
+        return trustedClaimsCodec.encode(jwt.getTokenValue(), verifiedClaims);
+    }
+}
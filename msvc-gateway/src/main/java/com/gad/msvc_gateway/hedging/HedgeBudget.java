@@ -0,0 +1,34 @@
+package com.gad.msvc_gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HedgeBudget {
+    private static final long TOKEN = 1_000;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double percent, int maxBurst) {
+        this.depositPerRequest = Math.round(Math.clamp(percent, 0.0, 100.0) / 100 * TOKEN);
+        this.capacity = Math.max(1, maxBurst) * TOKEN;
+    }
+
+    public void onRequest() {
+        if (depositPerRequest > 0) {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(capacity, current + deposit));
+        }
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
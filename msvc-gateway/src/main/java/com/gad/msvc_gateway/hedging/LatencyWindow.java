@@ -0,0 +1,37 @@
+package com.gad.msvc_gateway.hedging;
+
+import java.util.Arrays;
+
+public class LatencyWindow {
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    public LatencyWindow(int size, double percentile, int minSamples) {
+        this.samples = new long[Math.max(1, size)];
+        this.percentile = Math.clamp(percentile, 0.0, 1.0);
+        this.minSamples = Math.clamp(minSamples, 1, samples.length);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (count >= minSamples && (percentileNanos < 0 || ++sinceRecompute >= RECOMPUTE_INTERVAL)) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.max(0, (int) Math.ceil(count * percentile) - 1)];
+            sinceRecompute = 0;
+        }
+    }
+
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
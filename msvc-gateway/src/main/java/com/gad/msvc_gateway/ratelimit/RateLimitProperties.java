@@ -0,0 +1,36 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private Duration syncInterval = Duration.ofSeconds(1);
+    private String keyPrefix = "rate-limit";
+    private Duration keyTtl = Duration.ofMinutes(1);
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public Duration getKeyTtl() {
+        return keyTtl;
+    }
+
+    public void setKeyTtl(Duration keyTtl) {
+        this.keyTtl = keyTtl;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+public class RateLimitSynchronizer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(RateLimitSynchronizer.class);
+    private static final int CONCURRENCY = 64;
+
+    private final RouteRateLimiterRegistry routeRateLimiterRegistry;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private volatile Disposable subscription;
+    private volatile boolean redisAvailable = true;
+
+    public RateLimitSynchronizer(RouteRateLimiterRegistry routeRateLimiterRegistry, ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                                 RateLimitProperties properties) {
+        this.routeRateLimiterRegistry = routeRateLimiterRegistry;
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (redisTemplate == null) {
+            log.info("No Redis available, rate limits are enforced per gateway instance only");
+            return;
+        }
+        subscription = Flux.interval(properties.getSyncInterval(), properties.getSyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> synchronize())
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    Mono<Void> synchronize() {
+        long now = System.nanoTime();
+        return Flux.fromIterable(routeRateLimiterRegistry.limiters())
+                .concatMap(limiter -> Flux.fromIterable(limiter.buckets().entrySet())
+                        .flatMap(entry -> synchronize(limiter, entry, now), CONCURRENCY))
+                .then();
+    }
+
+    private Mono<Void> synchronize(RouteRateLimiter limiter, Map.Entry<String, TokenBucket> entry, long now) {
+        TokenBucket bucket = entry.getValue();
+        long admitted = bucket.drainAdmitted();
+        if (admitted == 0 && bucket.isFullAt(now)) {
+            limiter.buckets().remove(entry.getKey(), bucket);
+            return Mono.empty();
+        }
+        String redisKey = properties.getKeyPrefix() + ":" + limiter.getName() + ":" + entry.getKey();
+        return redisTemplate.opsForValue().increment(redisKey, admitted)
+                .flatMap(globalCount -> globalCount == admitted
+                        ? redisTemplate.expire(redisKey, properties.getKeyTtl()).thenReturn(globalCount)
+                        : Mono.just(globalCount))
+                .doOnNext(globalCount -> {
+                    bucket.applyGlobalCount(globalCount, admitted, System.nanoTime());
+                    if (!redisAvailable) {
+                        redisAvailable = true;
+                        log.info("Rate limit synchronization with Redis restored");
+                    }
+                })
+                .onErrorResume(e -> {
+                    bucket.restoreAdmitted(admitted);
+                    if (redisAvailable) {
+                        redisAvailable = false;
+                        log.warn("Could not synchronize rate limits with Redis, enforcing them locally: {}", e.getMessage());
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,50 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RouteRateLimiter {
+    private final String name;
+    private final double replenishRate;
+    private final int burstCapacity;
+    private final Counter allowed;
+    private final Counter rejected;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RouteRateLimiter(String name, double replenishRate, int burstCapacity, Counter allowed, Counter rejected) {
+        this.name = name;
+        this.replenishRate = replenishRate;
+        this.burstCapacity = burstCapacity;
+        this.allowed = allowed;
+        this.rejected = rejected;
+    }
+
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(replenishRate, burstCapacity, now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        (waitNanos == 0 ? allowed : rejected).increment();
+        return waitNanos;
+    }
+
+    public boolean hasLimits(double replenishRate, int burstCapacity) {
+        return this.replenishRate == replenishRate && this.burstCapacity == burstCapacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    Map<String, TokenBucket> buckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,50 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RouteRateLimiterRegistry {
+    static final String REQUESTS_METRIC = "gateway.rate.limit.requests";
+    static final String KEYS_METRIC = "gateway.rate.limit.keys";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RouteRateLimiterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RouteRateLimiter limiter(String name, double replenishRate, int burstCapacity) {
+        return limiters.compute(name, (ignored, existing) -> {
+            if (existing != null && existing.hasLimits(replenishRate, burstCapacity)) {
+                return existing;
+            }
+            if (existing == null) {
+                Gauge.builder(KEYS_METRIC, limiters, current -> current.containsKey(name) ? current.get(name).size() : 0)
+                        .description("Clients with an active token bucket")
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+            }
+            return new RouteRateLimiter(name, replenishRate, burstCapacity, counter(name, "allowed"), counter(name, "rejected"));
+        });
+    }
+
+    Collection<RouteRateLimiter> limiters() {
+        return limiters.values();
+    }
+
+    private Counter counter(String name, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Requests checked by the gateway rate limiter by outcome")
+                .tag("limiter", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
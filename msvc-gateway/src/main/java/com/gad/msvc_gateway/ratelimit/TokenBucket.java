@@ -0,0 +1,68 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong admitted = new AtomicLong();
+    private volatile long lastGlobalCount = -1;
+
+    public TokenBucket(double replenishRate, int burstCapacity, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / replenishRate));
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burstCapacity) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long allowedAt = arrival - burstToleranceNanos;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, nowNanos) + emissionIntervalNanos)) {
+                admitted.incrementAndGet();
+                return 0;
+            }
+        }
+    }
+
+    boolean isFullAt(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    long drainAdmitted() {
+        return admitted.getAndSet(0);
+    }
+
+    void restoreAdmitted(long count) {
+        admitted.addAndGet(count);
+    }
+
+    void applyGlobalCount(long globalCount, long localCount, long nowNanos) {
+        long previous = lastGlobalCount;
+        lastGlobalCount = globalCount;
+        if (previous < 0) {
+            return;
+        }
+        long remoteCount = globalCount - previous - localCount;
+        if (remoteCount > 0) {
+            consume(remoteCount, nowNanos);
+        }
+    }
+
+    private void consume(long tokens, long nowNanos) {
+        long emptyAt = nowNanos + burstToleranceNanos + emissionIntervalNanos;
+        long consumedNanos = Math.min(tokens, burstToleranceNanos / emissionIntervalNanos + 1) * emissionIntervalNanos;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long consumed = Math.max(arrival, nowNanos) + consumedNanos;
+            long next = Math.max(arrival, Math.min(consumed, emptyAt));
+            if (next == arrival || theoreticalArrival.compareAndSet(arrival, next)) {
+                return;
+            }
+        }
+    }
+}
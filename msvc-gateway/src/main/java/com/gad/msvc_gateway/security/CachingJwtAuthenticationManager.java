@@ -0,0 +1,69 @@
+package com.gad.msvc_gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+    static final String CACHE_NAME = "gateway.jwt.authentication";
+
+    private final ReactiveAuthenticationManager delegate;
+    private final Cache<String, JwtAuthenticationToken> cache;
+
+    public CachingJwtAuthenticationManager(ReactiveAuthenticationManager delegate, JwtAuthenticationCacheProperties properties,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new TokenExpiry(properties.getMaxTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearerToken)) {
+            return delegate.authenticate(authentication);
+        }
+        JwtAuthenticationToken cached = cache.getIfPresent(bearerToken.getToken());
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.authenticate(authentication)
+                .doOnNext(authenticated -> {
+                    if (authenticated instanceof JwtAuthenticationToken jwtAuthentication && jwtAuthentication.getToken().getExpiresAt() != null) {
+                        cache.put(bearerToken.getToken(), jwtAuthentication);
+                    }
+                });
+    }
+
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, JwtAuthenticationToken> {
+        @Override
+        public long expireAfterCreate(String token, JwtAuthenticationToken authentication, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), authentication.getToken().getExpiresAt());
+            Duration ttl = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+            return Math.max(0, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, authentication, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gad.msvc_gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "gateway.jwt-cache")
+public class JwtAuthenticationCacheProperties {
+    private long maxSize = 10_000;
+    private Duration maxTtl = Duration.ofMinutes(5);
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getMaxTtl() {
+        return maxTtl;
+    }
+
+    public void setMaxTtl(Duration maxTtl) {
+        this.maxTtl = maxTtl;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gad.msvc_gateway.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+public class RolesJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(@NonNull Jwt source) {
+        Collection<String> roles = source.getClaimAsStringList("roles");
+        Collection<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return Mono.just(new JwtAuthenticationToken(source, authorities));
+    }
+}
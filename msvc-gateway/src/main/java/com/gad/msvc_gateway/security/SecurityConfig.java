@@ -1,29 +1,26 @@
 package com.gad.msvc_gateway.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.convert.converter.Converter;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.web.server.SecurityWebFilterChain;
-import reactor.core.publisher.Mono;
-
-import java.util.Collection;
-import java.util.stream.Collectors;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
+@EnableConfigurationProperties(JwtAuthenticationCacheProperties.class)
 public class SecurityConfig {
     @Bean
     @Profile("!test")
-    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder,
+                                                  JwtAuthenticationCacheProperties jwtAuthenticationCacheProperties, MeterRegistry meterRegistry) {
         return http
                 .authorizeExchange(auth -> auth
                         .pathMatchers(HttpMethod.GET, "/api/v1/products/**").permitAll()
@@ -33,7 +30,7 @@ public class SecurityConfig {
                                 "/api/v1/order-details/{uuid}",
                                 "/api/v1/orders/{uuid}").hasRole("ADMIN")
                         .pathMatchers(HttpMethod.POST, "/api/v1/customers").permitAll()
-                        .pathMatchers(HttpMethod.POST, "/api/v1/orders", "/api/v1/order-details").hasRole("USER")
+                        .pathMatchers(HttpMethod.POST, "/api/v1/orders", "/api/v1/order-details", "/api/v1/order-details/bulk").hasRole("USER")
                         .pathMatchers(HttpMethod.PUT, "/api/v1/customers", "/api/v1/orders").hasRole("USER")
                         .pathMatchers(HttpMethod.DELETE, "/api/v1/orders/{uuid}").hasRole("USER")
                         .pathMatchers(HttpMethod.POST, "/actuator/refresh").permitAll()
@@ -44,19 +41,15 @@ public class SecurityConfig {
                 .oauth2Login(withDefaults())
                 .oauth2Client(withDefaults())
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(
-                        jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())
+                        jwt -> jwt.authenticationManager(jwtAuthenticationManager(jwtDecoder, jwtAuthenticationCacheProperties, meterRegistry))
                 ))
                 .build();
     }
 
-    private Converter<Jwt, Mono<AbstractAuthenticationToken>> jwtAuthenticationConverter() {
-        return source -> {
-            Collection<String> roles = source.getClaimAsStringList("roles");
-            Collection<GrantedAuthority> authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-
-            return Mono.just(new JwtAuthenticationToken(source, authorities));
-        };
+    private ReactiveAuthenticationManager jwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder, JwtAuthenticationCacheProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        jwtReactiveAuthenticationManager.setJwtAuthenticationConverter(new RolesJwtAuthenticationConverter());
+        return new CachingJwtAuthenticationManager(jwtReactiveAuthenticationManager, properties, meterRegistry);
     }
 }
@@ -0,0 +1,108 @@
+package com.gad.msvc_gateway.benchmark;
+
+import com.gad.msvc_gateway.security.CachingJwtAuthenticationManager;
+import com.gad.msvc_gateway.security.JwtAuthenticationCacheProperties;
+import com.gad.msvc_gateway.security.RolesJwtAuthenticationConverter;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+    private static final int SESSIONS = 100;
+    private static final String ORDER_JSON = "{\"status\":\"PENDING\"}";
+
+    @Param({"DECODE", "CACHED"})
+    public String authentication;
+
+    private WebTestClient webTestClient;
+    private String[] bearerTokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JOSEException {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).generate();
+        bearerTokens = IntStream.range(0, SESSIONS)
+                .mapToObj(i -> "Bearer " + sign(rsaKey))
+                .toArray(String[]::new);
+
+        JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager = new JwtReactiveAuthenticationManager(
+                NimbusReactiveJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build());
+        jwtReactiveAuthenticationManager.setJwtAuthenticationConverter(new RolesJwtAuthenticationConverter());
+        ReactiveAuthenticationManager authenticationManager = "CACHED".equals(authentication)
+                ? new CachingJwtAuthenticationManager(jwtReactiveAuthenticationManager, new JwtAuthenticationCacheProperties(), new SimpleMeterRegistry())
+                : jwtReactiveAuthenticationManager;
+
+        AuthenticationWebFilter authenticationWebFilter = new AuthenticationWebFilter(authenticationManager);
+        authenticationWebFilter.setServerAuthenticationConverter(new ServerBearerTokenAuthenticationConverter());
+        webTestClient = WebTestClient.bindToRouterFunction(RouterFunctions.route(GET("/api/v1/orders/{uuid}"),
+                        request -> ServerResponse.ok().bodyValue(ORDER_JSON)))
+                .webFilter(authenticationWebFilter)
+                .build();
+    }
+
+    @Benchmark
+    public void getOrder() {
+        webTestClient.get()
+                .uri("/api/v1/orders/{uuid}", "8c8a1f5e-6f1c-4b6e-9a55-0e4f0f2d1b7a")
+                .header(HttpHeaders.AUTHORIZATION, bearerTokens[next++ % SESSIONS])
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private static String sign(RSAKey rsaKey) {
+        try {
+            SignedJWT signedJwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), new JWTClaimsSet.Builder()
+                    .subject("customer@example.com")
+                    .claim("uuid_customer", UUID.randomUUID().toString())
+                    .claim("roles", List.of("ROLE_USER"))
+                    .issueTime(new Date())
+                    .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                    .build());
+            signedJwt.sign(new RSASSASigner(rsaKey));
+            return signedJwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
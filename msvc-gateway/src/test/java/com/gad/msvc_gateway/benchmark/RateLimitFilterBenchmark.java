@@ -0,0 +1,103 @@
+package com.gad.msvc_gateway.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_gateway.filter.RateLimitGatewayFilterFactory;
+import com.gad.msvc_gateway.ratelimit.RouteRateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+    private static final InetSocketAddress CLIENT_ADDRESS = new InetSocketAddress("10.0.0.1", 52000);
+    private static final byte[] ORDER_JSON = "{\"status\":\"PENDING\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"NONE", "ALLOWED", "REJECTED"})
+    public String filter;
+
+    private DisposableServer server;
+    private HttpClient httpClient;
+    private WebHandler webHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GatewayFilterChain backend = exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(ORDER_JSON)));
+        };
+        GatewayFilter rateLimitFilter = rateLimitFilter();
+        webHandler = "NONE".equals(filter)
+                ? backend::filter
+                : exchange -> rateLimitFilter.filter(exchange, backend);
+
+        server = HttpServer.create()
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.webHandler(webHandler).build()))
+                .bindNow();
+        httpClient = HttpClient.create().port(server.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public int request() {
+        return httpClient.get()
+                .uri("/api/v1/orders")
+                .responseSingle((response, body) -> body.thenReturn(response.status().code()))
+                .block();
+    }
+
+    @Benchmark
+    public HttpStatusCode handle() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders")
+                .remoteAddress(CLIENT_ADDRESS));
+        webHandler.handle(exchange).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private GatewayFilter rateLimitFilter() {
+        RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+        config.setName("orders");
+        if ("REJECTED".equals(filter)) {
+            config.setReplenishRate(0.001);
+            config.setBurstCapacity(1);
+        } else {
+            config.setReplenishRate(1_000_000_000);
+            config.setBurstCapacity(1_000_000);
+        }
+        return new RateLimitGatewayFilterFactory(new RouteRateLimiterRegistry(new SimpleMeterRegistry()), new ObjectMapper()).apply(config);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
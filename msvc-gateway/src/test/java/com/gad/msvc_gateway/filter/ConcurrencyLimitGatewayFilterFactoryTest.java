@@ -0,0 +1,163 @@
+package com.gad.msvc_gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitGatewayFilterFactoryTest {
+    private static final int BACKEND_CAPACITY = 10;
+    private static final long BACKEND_LATENCY_MILLIS = 20;
+    private static final int CLIENTS = 150;
+    private static final Duration WARM_UP = Duration.ofSeconds(1);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(3);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitGatewayFilterFactory concurrencyLimitGatewayFilterFactory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimitGatewayFilterFactory = new ConcurrencyLimitGatewayFilterFactory(meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should shed requests with a fast 503 once the route's concurrency limit is reached")
+    void filter_WhenLimitIsReached_ThenReturns503WithoutCallingBackend() {
+        GatewayFilter filter = concurrencyLimitGatewayFilterFactory.apply(config("orders", 2));
+        Sinks.Empty<Void> pending = Sinks.empty();
+        AtomicInteger forwarded = new AtomicInteger();
+        GatewayFilterChain backend = exchange -> {
+            forwarded.incrementAndGet();
+            return pending.asMono();
+        };
+
+        filter.filter(get(), backend).subscribe();
+        filter.filter(get(), backend).subscribe();
+        MockServerWebExchange shed = get();
+        filter.filter(shed, backend).block(Duration.ofSeconds(1));
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("1", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.IN_FLIGHT_METRIC).tag("limiter", "orders").gauge().value());
+        assertEquals(1, meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.REQUESTS_METRIC).tag("limiter", "orders").tag("result", "rejected").counter().count());
+
+        pending.tryEmitEmpty();
+        assertEquals(0, meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.IN_FLIGHT_METRIC).tag("limiter", "orders").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit only on overload signals and treat other failures as normal samples")
+    void filter_WhenBackendFails_ThenOnlyOverloadSignalsShrinkTheLimit() {
+        GatewayFilter filter = concurrencyLimitGatewayFilterFactory.apply(config("details", 20));
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(get(), exchange -> {
+                exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+                return Mono.empty();
+            }).block(Duration.ofSeconds(1));
+            filter.filter(get(), exchange -> Mono.error(new IllegalStateException("bug"))).onErrorComplete().block(Duration.ofSeconds(1));
+        }
+        assertEquals(20, limit("details"));
+
+        filter.filter(get(), exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        }).block(Duration.ofSeconds(1));
+        double afterUnavailable = limit("details");
+        assertTrue(afterUnavailable < 20);
+
+        filter.filter(get(), exchange -> Mono.error(new ConnectException("refused"))).onErrorComplete().block(Duration.ofSeconds(1));
+        assertTrue(limit("details") < afterUnavailable);
+    }
+
+    @Test
+    @DisplayName("Should keep p99 of admitted requests close to the backend latency when a slow backend is overloaded")
+    void filter_WhenSlowBackendIsOverloaded_ThenAdmittedP99StaysBounded() {
+        GatewayFilter filter = concurrencyLimitGatewayFilterFactory.apply(config("products", 20));
+
+        long unlimitedP99 = p99(runOverload((exchange, backend) -> backend.filter(exchange)));
+        long limitedP99 = p99(runOverload(filter::filter));
+        double limit = meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.LIMIT_METRIC).tag("limiter", "products").gauge().value();
+
+        assertTrue(limitedP99 < unlimitedP99 / 3, "limited p99 " + limitedP99 + "ms vs unlimited p99 " + unlimitedP99 + "ms");
+        assertTrue(limit < CLIENTS / 2.0, "limit " + limit);
+        assertTrue(meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.REQUESTS_METRIC).tag("limiter", "products").tag("result", "rejected").counter().count() > 0);
+    }
+
+    private static List<Long> runOverload(GatewayFilter filter) {
+        AtomicInteger backendInFlight = new AtomicInteger();
+        GatewayFilterChain slowBackend = exchange -> {
+            int concurrent = backendInFlight.incrementAndGet();
+            double jitter = 0.75 + ThreadLocalRandom.current().nextDouble() / 2;
+            long latency = (long) (BACKEND_LATENCY_MILLIS * jitter * Math.max(1.0, (double) concurrent / BACKEND_CAPACITY));
+            return Mono.delay(Duration.ofMillis(latency))
+                    .doFinally(signal -> backendInFlight.decrementAndGet())
+                    .then();
+        };
+
+        List<Long> admittedLatencies = Collections.synchronizedList(new ArrayList<>());
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long deadline = measureFrom + MEASUREMENT.toNanos();
+        Flux.range(0, CLIENTS)
+                .flatMap(client -> Mono.defer(() -> {
+                            MockServerWebExchange exchange = get();
+                            long startedAt = System.nanoTime();
+                            return filter.filter(exchange, slowBackend).then(Mono.defer(() -> {
+                                if (exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                                    return Mono.delay(Duration.ofMillis(BACKEND_LATENCY_MILLIS)).then();
+                                }
+                                if (startedAt >= measureFrom) {
+                                    admittedLatencies.add(Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+                                }
+                                return Mono.empty();
+                            }));
+                        })
+                        .repeat(() -> System.nanoTime() < deadline), CLIENTS)
+                .blockLast(Duration.ofSeconds(30));
+        return admittedLatencies;
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private static ConcurrencyLimitGatewayFilterFactory.Config config(String name, int initialLimit) {
+        ConcurrencyLimitGatewayFilterFactory.Config config = new ConcurrencyLimitGatewayFilterFactory.Config();
+        config.setName(name);
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(2);
+        return config;
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+    }
+
+    private double limit(String name) {
+        return meterRegistry.get(ConcurrencyLimitGatewayFilterFactory.LIMIT_METRIC).tag("limiter", name).gauge().value();
+    }
+}
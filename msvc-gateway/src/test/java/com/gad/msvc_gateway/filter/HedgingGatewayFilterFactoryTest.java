@@ -0,0 +1,312 @@
+package com.gad.msvc_gateway.filter;
+
+import com.gad.msvc_commons.loadbalancer.InstanceLoadLifecycle;
+import com.gad.msvc_commons.loadbalancer.InstanceLoadRegistry;
+import com.gad.msvc_commons.loadbalancer.LatencyAwareLoadBalancerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HedgingGatewayFilterFactoryTest {
+    private static final String SERVICE_ID = "msvc-products";
+    private static final String PRIMARY_ATTR = "test.primary";
+
+    @Mock
+    private LoadBalancerClientFactory clientFactory;
+
+    @Mock
+    private ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+    private final List<DisposableServer> backends = new ArrayList<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private InstanceLoadRegistry instanceLoadRegistry;
+    private HedgingGatewayFilterFactory hedgingGatewayFilterFactory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        resetInstanceLoads();
+        when(headersFilters.getIfAvailable(any())).thenReturn(List.of());
+        when(clientFactory.getProperties(SERVICE_ID)).thenReturn(new LoadBalancerProperties());
+        when(clientFactory.getInstances(SERVICE_ID, LoadBalancerLifecycle.class))
+                .thenAnswer(invocation -> Map.of("instanceLoadLifecycle", new InstanceLoadLifecycle(instanceLoadRegistry)));
+        hedgingGatewayFilterFactory = new HedgingGatewayFilterFactory(HttpClient.create(), clientFactory,
+                new GatewayLoadBalancerProperties(), headersFilters, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backends.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    @DisplayName("Should answer from a second instance when the primary exceeds the rolling p95")
+    void filter_WhenPrimaryIsSlowerThanP95_ThenHedgedInstanceAnswersFirst() {
+        ServiceInstance slow = backend("slow", () -> Duration.ofMillis(800));
+        ServiceInstance fast = backend("fast", () -> Duration.ofMillis(10));
+        useInstances(slow, fast);
+        GatewayFilter filter = hedgingGatewayFilterFactory.apply(config("products", 100));
+        warmUp(filter, fast);
+        resetInstanceLoads();
+
+        MockServerWebExchange exchange = routedGet(slow);
+        long startedAt = System.nanoTime();
+        filter.filter(exchange, unreachableChain()).block(Duration.ofSeconds(5));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() < 400);
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("fast", exchange.getResponse().getBodyAsString().block());
+        assertEquals(fast, ((DefaultResponse) exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR)).getServer());
+        assertEquals(0, instanceLoadRegistry.get(fast).getInFlight());
+        assertEquals(1, instanceLoadRegistry.get(slow).getInFlight());
+        awaitIdle(slow);
+        long now = System.nanoTime();
+        assertTrue(instanceLoadRegistry.get(fast).latencyNanos(now) < Duration.ofMillis(400).toNanos());
+        assertTrue(instanceLoadRegistry.get(slow).latencyNanos(now) > Duration.ofMillis(400).toNanos());
+        assertEquals(1, meterRegistry.get(HedgingGatewayFilterFactory.REQUESTS_METRIC).tag("hedger", "products").tag("result", "sent").counter().count());
+        assertEquals(1, meterRegistry.get(HedgingGatewayFilterFactory.REQUESTS_METRIC).tag("hedger", "products").tag("result", "won").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should wait for the primary instead of hedging once the extra-load budget is spent")
+    void filter_WhenBudgetIsExhausted_ThenPrimaryResponseIsUsed() {
+        ServiceInstance slow = backend("slow", () -> Duration.ofMillis(300));
+        ServiceInstance fast = backend("fast", () -> Duration.ofMillis(10));
+        useInstances(slow, fast);
+        GatewayFilter filter = hedgingGatewayFilterFactory.apply(config("products", 0));
+        warmUp(filter, fast);
+
+        MockServerWebExchange exchange = routedGet(slow);
+        filter.filter(exchange, unreachableChain()).block(Duration.ofSeconds(5));
+
+        assertEquals("slow", exchange.getResponse().getBodyAsString().block());
+        assertEquals(0, instanceLoadRegistry.get(slow).getInFlight());
+        assertEquals(0, instanceLoadRegistry.get(fast).getInFlight());
+        assertEquals(0, meterRegistry.get(HedgingGatewayFilterFactory.REQUESTS_METRIC).tag("hedger", "products").tag("result", "sent").counter().count());
+        assertEquals(1, meterRegistry.get(HedgingGatewayFilterFactory.REQUESTS_METRIC).tag("hedger", "products").tag("result", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should leave non-GET requests to the regular routing filter")
+    void filter_WhenRequestIsNotGet_ThenDelegatesToChain() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost:8090/api/v1/products"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://" + SERVICE_ID + "/api/v1/products"));
+        AtomicInteger routed = new AtomicInteger();
+
+        hedgingGatewayFilterFactory.apply(config("products", 100))
+                .filter(exchange, forwarded -> Mono.fromRunnable(routed::incrementAndGet))
+                .block(Duration.ofSeconds(1));
+
+        assertEquals(1, routed.get());
+        verifyNoInteractions(clientFactory);
+    }
+
+    @Test
+    @DisplayName("Should stream a body larger than the buffering limit from the single backend request")
+    void filter_WhenSizedBodyExceedsMaxBodySize_ThenStreamsItWithoutSecondRequest() {
+        String body = "x".repeat(4096);
+        ServiceInstance large = backend("large", () -> Duration.ZERO, Mono.just(body));
+        assertStreamedOnce(large, body);
+    }
+
+    @Test
+    @DisplayName("Should stream a chunked body once it passes the buffering limit from the single backend request")
+    void filter_WhenChunkedBodyExceedsMaxBodySize_ThenStreamsItWithoutSecondRequest() {
+        List<String> chunks = List.of("a".repeat(512), "b".repeat(512), "c".repeat(512), "d".repeat(512));
+        ServiceInstance large = backend("large", () -> Duration.ZERO, Flux.fromIterable(chunks).delayElements(Duration.ofMillis(5)));
+        assertStreamedOnce(large, String.join("", chunks));
+    }
+
+    private void assertStreamedOnce(ServiceInstance large, String body) {
+        useInstances(large);
+        HedgingGatewayFilterFactory.Config config = config("products", 100);
+        config.setMaxBodySize(DataSize.ofKilobytes(1));
+
+        MockServerWebExchange exchange = routedGet(large);
+        hedgingGatewayFilterFactory.apply(config).filter(exchange, unreachableChain()).block(Duration.ofSeconds(5));
+
+        assertEquals(body, exchange.getResponse().getBodyAsString().block());
+        assertEquals(1, hits.get("large").get());
+        assertEquals(large, ((DefaultResponse) exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR)).getServer());
+        assertTrue(((Set<?>) exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR)).contains(URI.create("lb://" + SERVICE_ID + "/api/v1/products?page=0")));
+        assertEquals(0, instanceLoadRegistry.get(large).getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should report not found when the load balancer has no instance for the service")
+    void filter_WhenLoadBalancerHasNoInstance_ThenFailsWithNotFound() {
+        useInstances();
+
+        MockServerWebExchange exchange = routedGet(null);
+
+        assertThrows(NotFoundException.class, () -> hedgingGatewayFilterFactory.apply(config("products", 100))
+                .filter(exchange, unreachableChain())
+                .block(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Should cut p99 when one of three instances pauses intermittently")
+    void filter_WhenOneInstancePausesIntermittently_ThenHedgingCutsTailLatency() {
+        AtomicInteger served = new AtomicInteger();
+        Supplier<Duration> pausing = () -> Duration.ofMillis(served.incrementAndGet() % 12 == 0 ? 400 : 10);
+        List<ServiceInstance> instances = List.of(
+                backend("a", () -> Duration.ofMillis(10)),
+                backend("b", () -> Duration.ofMillis(10)),
+                backend("c", pausing));
+        useInstances(instances.toArray(ServiceInstance[]::new));
+
+        long unhedgedP99 = p99(runRoundRobin(hedgingGatewayFilterFactory.apply(config("unhedged", 0)), instances));
+        long hedgedP99 = p99(runRoundRobin(hedgingGatewayFilterFactory.apply(config("hedged", 10)), instances));
+
+        assertTrue(hedgedP99 < unhedgedP99 / 2, "hedged p99 " + hedgedP99 + "ms vs unhedged p99 " + unhedgedP99 + "ms");
+        assertTrue(meterRegistry.get(HedgingGatewayFilterFactory.REQUESTS_METRIC).tag("hedger", "hedged").tag("result", "sent").counter().count() <= 30);
+    }
+
+    private List<Long> runRoundRobin(GatewayFilter filter, List<ServiceInstance> instances) {
+        AtomicInteger next = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        Flux.range(0, 300)
+                .flatMap(i -> Mono.defer(() -> {
+                    MockServerWebExchange exchange = routedGet(instances.get(next.getAndIncrement() % instances.size()));
+                    long startedAt = System.nanoTime();
+                    return filter.filter(exchange, unreachableChain())
+                            .doOnSuccess(done -> latencies.add(Duration.ofNanos(System.nanoTime() - startedAt).toMillis()));
+                }), 10)
+                .blockLast(Duration.ofSeconds(60));
+        return latencies.subList(30, latencies.size());
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private void warmUp(GatewayFilter filter, ServiceInstance instance) {
+        for (int i = 0; i < 20; i++) {
+            filter.filter(routedGet(instance), unreachableChain()).block(Duration.ofSeconds(5));
+        }
+    }
+
+    private ServiceInstance backend(String name, Supplier<Duration> latency) {
+        return backend(name, latency, Mono.just(name));
+    }
+
+    private ServiceInstance backend(String name, Supplier<Duration> latency, Publisher<String> body) {
+        AtomicInteger served = hits.computeIfAbsent(name, key -> new AtomicInteger());
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    served.incrementAndGet();
+                    return Mono.delay(latency.get()).then(response.sendString(body).then());
+                })
+                .bindNow();
+        backends.add(server);
+        return new DefaultServiceInstance(SERVICE_ID + "-" + name, SERVICE_ID, "localhost", server.port(), false);
+    }
+
+    private void awaitIdle(ServiceInstance instance) {
+        Mono.fromSupplier(() -> instanceLoadRegistry.get(instance).getInFlight())
+                .filter(inFlight -> inFlight == 0)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private void resetInstanceLoads() {
+        instanceLoadRegistry = new InstanceLoadRegistry(new LatencyAwareLoadBalancerProperties(), meterRegistry);
+    }
+
+    private void useInstances(ServiceInstance... instances) {
+        AtomicInteger next = new AtomicInteger();
+        ReactorServiceInstanceLoadBalancer loadBalancer = request -> Mono.fromSupplier(() -> {
+            RetryableRequestContext context = (RetryableRequestContext) request.getContext();
+            if (context.getPreviousServiceInstance() == null) {
+                ServiceInstance primary = (ServiceInstance) context.getClientRequest().getAttributes().get(PRIMARY_ATTR);
+                return primary == null ? new EmptyResponse() : new DefaultResponse(primary);
+            }
+            List<ServiceInstance> candidates = Arrays.stream(instances)
+                    .filter(instance -> !instance.equals(context.getPreviousServiceInstance()))
+                    .toList();
+            return candidates.isEmpty()
+                    ? new EmptyResponse()
+                    : new DefaultResponse(candidates.get(next.getAndIncrement() % candidates.size()));
+        });
+        when(clientFactory.getInstance(eq(SERVICE_ID), eq(ReactorServiceInstanceLoadBalancer.class))).thenReturn(loadBalancer);
+    }
+
+    private static MockServerWebExchange routedGet(ServiceInstance primary) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8090/api/v1/products?page=0"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://" + SERVICE_ID + "/api/v1/products?page=0"));
+        if (primary != null) {
+            exchange.getAttributes().put(PRIMARY_ATTR, primary);
+        }
+        return exchange;
+    }
+
+    private static GatewayFilterChain unreachableChain() {
+        return exchange -> Mono.error(new AssertionError("GET should not reach the routing filter"));
+    }
+
+    private static HedgingGatewayFilterFactory.Config config(String name, double budgetPercent) {
+        HedgingGatewayFilterFactory.Config config = new HedgingGatewayFilterFactory.Config();
+        config.setName(name);
+        config.setBudgetPercent(budgetPercent);
+        return config;
+    }
+}
@@ -0,0 +1,103 @@
+package com.gad.msvc_gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_gateway.ratelimit.RouteRateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitGatewayFilterFactoryTest {
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger forwarded;
+    private GatewayFilterChain backend;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+        config.setName("orders");
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        filter = new RateLimitGatewayFilterFactory(new RouteRateLimiterRegistry(meterRegistry), new ObjectMapper()).apply(config);
+        forwarded = new AtomicInteger();
+        backend = exchange -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a client IP exhausts its burst")
+    void filter_WhenClientExceedsBurst_ThenReturns429WithRetryAfter() {
+        filter.filter(fromAddress("10.0.0.1"), backend).block();
+        filter.filter(fromAddress("10.0.0.1"), backend).block();
+        MockServerWebExchange rejected = fromAddress("10.0.0.1");
+        filter.filter(rejected, backend).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("\"status\":429"));
+        assertEquals(1, meterRegistry.get("gateway.rate.limit.requests").tag("limiter", "orders").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per client IP")
+    void filter_WhenDifferentClientsCall_ThenEachHasItsOwnBudget() {
+        for (int i = 0; i < 2; i++) {
+            filter.filter(fromAddress("10.0.0.1"), backend).block();
+            filter.filter(fromAddress("10.0.0.2"), backend).block();
+        }
+
+        assertEquals(4, forwarded.get());
+        assertEquals(2, meterRegistry.get("gateway.rate.limit.keys").tag("limiter", "orders").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should key authenticated requests by the uuid_customer claim instead of the IP")
+    void filter_WhenRequestIsAuthenticated_ThenCustomerClaimIsTheKey() {
+        filter.filter(authenticated("10.0.0.1", "customer-a"), backend).block();
+        filter.filter(authenticated("10.0.0.2", "customer-a"), backend).block();
+        ServerWebExchange sameCustomer = authenticated("10.0.0.3", "customer-a");
+        filter.filter(sameCustomer, backend).block();
+        ServerWebExchange otherCustomer = authenticated("10.0.0.1", "customer-b");
+        filter.filter(otherCustomer, backend).block();
+
+        assertEquals(3, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, sameCustomer.getResponse().getStatusCode());
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, otherCustomer.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange fromAddress(String address) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders")
+                .remoteAddress(new InetSocketAddress(address, 52000)));
+    }
+
+    private static ServerWebExchange authenticated(String address, String uuidCustomer) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("uuid_customer", uuidCustomer)
+                .build();
+        Principal principal = new JwtAuthenticationToken(jwt, List.of());
+        return fromAddress(address).mutate().principal(Mono.just(principal)).build();
+    }
+}
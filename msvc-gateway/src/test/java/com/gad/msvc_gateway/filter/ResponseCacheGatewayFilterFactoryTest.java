@@ -0,0 +1,183 @@
+package com.gad.msvc_gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+    private static final String PRODUCTS_JSON = "{\"status\":200,\"message\":\"Products found\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private List<HttpHeaders> backendRequests;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setName("products");
+        filter = new ResponseCacheGatewayFilterFactory(meterRegistry).apply(config);
+        backendRequests = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should serve the second read of the same path and query from the gateway")
+    void filter_WhenSamePathAndQueryRequestedTwice_ThenSecondIsServedFromCache() {
+        GatewayFilterChain backend = backend(HttpStatus.OK, "\"v1\"", "max-age=60");
+
+        MockServerWebExchange first = get("/api/v1/products?name=mouse");
+        filter.filter(first, backend).block();
+        MockServerWebExchange second = get("/api/v1/products?name=mouse");
+        filter.filter(second, backend).block();
+        filter.filter(get("/api/v1/products?name=keyboard"), backend).block();
+
+        assertEquals(2, backendRequests.size());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(PRODUCTS_JSON, second.getResponse().getBodyAsString().block());
+        assertEquals("\"v1\"", second.getResponse().getHeaders().getETag());
+        assertEquals(1, requests("hit"));
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    @DisplayName("Should not store responses the backend marks as no-store or private")
+    void filter_WhenBackendSendsNoStore_ThenResponseIsNotCached() {
+        GatewayFilterChain backend = backend(HttpStatus.OK, "\"v1\"", "no-store");
+
+        filter.filter(get("/api/v1/products/1"), backend).block();
+        MockServerWebExchange second = get("/api/v1/products/1");
+        filter.filter(second, backend).block();
+
+        assertEquals(2, backendRequests.size());
+        assertEquals(PRODUCTS_JSON, second.getResponse().getBodyAsString().block());
+        assertEquals(0, requests("hit"));
+    }
+
+    @Test
+    @DisplayName("Should revalidate a stale entry with If-None-Match and serve the cached body on 304")
+    void filter_WhenEntryIsStaleAndBackendReturns304_ThenCachedBodyIsServed() {
+        filter.filter(get("/api/v1/products/1"), backend(HttpStatus.OK, "\"v1\"", "max-age=0")).block();
+
+        MockServerWebExchange second = get("/api/v1/products/1");
+        filter.filter(second, backend(HttpStatus.NOT_MODIFIED, "\"v1\"", "max-age=60")).block();
+        MockServerWebExchange third = get("/api/v1/products/1");
+        filter.filter(third, backend(HttpStatus.OK, "\"v2\"", "max-age=60")).block();
+
+        assertEquals(2, backendRequests.size());
+        assertEquals(List.of("\"v1\""), backendRequests.get(1).getIfNoneMatch());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(PRODUCTS_JSON, second.getResponse().getBodyAsString().block());
+        assertEquals("max-age=60", second.getResponse().getHeaders().getCacheControl());
+        assertEquals(PRODUCTS_JSON, third.getResponse().getBodyAsString().block());
+        assertEquals(1, requests("revalidated"));
+        assertEquals(1, requests("hit"));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 to a client whose If-None-Match matches the cached ETag")
+    void filter_WhenClientSendsMatchingIfNoneMatch_ThenReturns304WithoutBody() {
+        GatewayFilterChain backend = backend(HttpStatus.OK, null, "max-age=60");
+        MockServerWebExchange first = get("/api/v1/products/1");
+        filter.filter(first, backend).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(second, backend).block();
+
+        assertNotNull(etag);
+        assertEquals(1, backendRequests.size());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+        assertEquals("", second.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for non-GET requests and not store error responses")
+    void filter_WhenRequestIsNotGetOrBackendFails_ThenResponseIsNotCached() {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/products/batch")), backend(HttpStatus.OK, "\"v1\"", "max-age=60")).block();
+        filter.filter(get("/api/v1/products/1"), backend(HttpStatus.INTERNAL_SERVER_ERROR, null, null)).block();
+        filter.filter(get("/api/v1/products/1"), backend(HttpStatus.OK, "\"v1\"", "max-age=60")).block();
+
+        assertEquals(3, backendRequests.size());
+        assertEquals(1, requests("bypass"));
+        assertEquals(2, requests("miss"));
+        assertEquals(1, meterRegistry.get(ResponseCacheGatewayFilterFactory.SIZE_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate entry per value of the request headers the backend varies on")
+    void filter_WhenBackendVariesOnRequestHeader_ThenEachVariantIsCachedSeparately() {
+        GatewayFilterChain backend = exchange -> {
+            backendRequests.add(exchange.getRequest().getHeaders());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl("max-age=60");
+            response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+            byte[] body = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE).getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+
+        filter.filter(get("/api/v1/products/1", "en"), backend).block();
+        MockServerWebExchange french = get("/api/v1/products/1", "fr");
+        filter.filter(french, backend).block();
+        MockServerWebExchange english = get("/api/v1/products/1", "en");
+        filter.filter(english, backend).block();
+        MockServerWebExchange frenchAgain = get("/api/v1/products/1", "fr");
+        filter.filter(frenchAgain, backend).block();
+
+        assertEquals(2, backendRequests.size());
+        assertEquals("fr", french.getResponse().getBodyAsString().block());
+        assertEquals("en", english.getResponse().getBodyAsString().block());
+        assertEquals("fr", frenchAgain.getResponse().getBodyAsString().block());
+        assertEquals(2, requests("hit"));
+        assertEquals(2, requests("miss"));
+    }
+
+    private GatewayFilterChain backend(HttpStatus status, String etag, String cacheControl) {
+        return exchange -> {
+            backendRequests.add(exchange.getRequest().getHeaders());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            if (etag != null) {
+                response.getHeaders().setETag(etag);
+            }
+            if (cacheControl != null) {
+                response.getHeaders().setCacheControl(cacheControl);
+            }
+            byte[] body = status == HttpStatus.NOT_MODIFIED ? new byte[0] : PRODUCTS_JSON.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static MockServerWebExchange get(String uri, String language) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri).header(HttpHeaders.ACCEPT_LANGUAGE, language));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get(ResponseCacheGatewayFilterFactory.REQUESTS_METRIC)
+                .tag("cache", "products")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
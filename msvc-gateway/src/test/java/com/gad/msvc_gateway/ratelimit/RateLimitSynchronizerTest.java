@@ -0,0 +1,94 @@
+package com.gad.msvc_gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitSynchronizerTest {
+    private static final String REDIS_KEY = "rate-limit:orders:ip:10.0.0.1";
+
+    @Mock
+    private ObjectProvider<ReactiveStringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private RouteRateLimiter limiter;
+    private RateLimitSynchronizer rateLimitSynchronizer;
+
+    @BeforeEach
+    void setUp() {
+        RouteRateLimiterRegistry routeRateLimiterRegistry = new RouteRateLimiterRegistry(new SimpleMeterRegistry());
+        limiter = routeRateLimiterRegistry.limiter("orders", 1, 10);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        rateLimitSynchronizer = new RateLimitSynchronizer(routeRateLimiterRegistry, redisTemplateProvider, new RateLimitProperties());
+    }
+
+    @Test
+    @DisplayName("Should push local counts to Redis and consume tokens used on other gateway instances")
+    void synchronize_WhenOtherInstancesUsedTheBudget_ThenLocalBucketIsDrained() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.expire(REDIS_KEY, Duration.ofMinutes(1))).thenReturn(Mono.just(true));
+        when(valueOperations.increment(REDIS_KEY, 2L)).thenReturn(Mono.just(2L));
+        when(valueOperations.increment(REDIS_KEY, 1L)).thenReturn(Mono.just(11L));
+
+        limiter.tryAcquire("ip:10.0.0.1");
+        limiter.tryAcquire("ip:10.0.0.1");
+        rateLimitSynchronizer.synchronize().block();
+        limiter.tryAcquire("ip:10.0.0.1");
+        rateLimitSynchronizer.synchronize().block();
+
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+        verify(redisTemplate, times(1)).expire(REDIS_KEY, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should keep local counts and enforce limits locally when Redis is down")
+    void synchronize_WhenRedisIsDown_ThenCountsAreKeptForTheNextSync() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(REDIS_KEY, 1L)).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(valueOperations.increment(REDIS_KEY, 2L)).thenReturn(Mono.just(2L));
+        when(redisTemplate.expire(REDIS_KEY, Duration.ofMinutes(1))).thenReturn(Mono.just(true));
+
+        limiter.tryAcquire("ip:10.0.0.1");
+        assertDoesNotThrow(() -> rateLimitSynchronizer.synchronize().block());
+        limiter.tryAcquire("ip:10.0.0.1");
+        rateLimitSynchronizer.synchronize().block();
+
+        verify(valueOperations, times(1)).increment(REDIS_KEY, 2L);
+    }
+
+    @Test
+    @DisplayName("Should drop buckets that are full and idle without calling Redis")
+    void synchronize_WhenBucketIsIdle_ThenItIsRemoved() throws InterruptedException {
+        RouteRateLimiterRegistry routeRateLimiterRegistry = new RouteRateLimiterRegistry(new SimpleMeterRegistry());
+        RouteRateLimiter fastLimiter = routeRateLimiterRegistry.limiter("products", 1_000, 1);
+        RateLimitSynchronizer synchronizer = new RateLimitSynchronizer(routeRateLimiterRegistry, redisTemplateProvider, new RateLimitProperties());
+
+        fastLimiter.tryAcquire("ip:10.0.0.1");
+        fastLimiter.buckets().get("ip:10.0.0.1").drainAdmitted();
+        Thread.sleep(5);
+        synchronizer.synchronize().block();
+
+        assertEquals(0, fastLimiter.size());
+        verifyNoInteractions(redisTemplate, valueOperations);
+    }
+}
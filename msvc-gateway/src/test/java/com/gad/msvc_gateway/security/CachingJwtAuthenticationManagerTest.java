@@ -0,0 +1,95 @@
+package com.gad.msvc_gateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtAuthenticationManagerTest {
+    @Mock
+    private ReactiveAuthenticationManager delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtAuthenticationManager cachingJwtAuthenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachingJwtAuthenticationManager = new CachingJwtAuthenticationManager(delegate, new JwtAuthenticationCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should verify a bearer token once and serve repeat requests from the cache")
+    void authenticate_WhenSameTokenIsPresentedTwice_ThenDelegateIsCalledOnce() {
+        JwtAuthenticationToken authenticated = authenticated("token-a", Instant.now().plus(Duration.ofMinutes(10)));
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authenticated));
+
+        StepVerifier.create(cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("token-a")))
+                .expectNext(authenticated)
+                .verifyComplete();
+        StepVerifier.create(cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("token-a")))
+                .expectNext(authenticated)
+                .verifyComplete();
+
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", CachingJwtAuthenticationManager.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", CachingJwtAuthenticationManager.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop serving a cached authentication once the token expires")
+    void authenticate_WhenCachedTokenExpires_ThenTokenIsVerifiedAgain() throws InterruptedException {
+        JwtAuthenticationToken authenticated = authenticated("token-a", Instant.now().plusMillis(200));
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authenticated));
+
+        cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("token-a")).block();
+        Thread.sleep(400);
+        cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("token-a")).block();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void authenticate_WhenTokenIsInvalid_ThenErrorIsNotCached() {
+        when(delegate.authenticate(any())).thenReturn(Mono.error(new InvalidBearerTokenException("Invalid signature")));
+
+        StepVerifier.create(cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("forged")))
+                .expectError(InvalidBearerTokenException.class)
+                .verify();
+        StepVerifier.create(cachingJwtAuthenticationManager.authenticate(new BearerTokenAuthenticationToken("forged")))
+                .expectError(InvalidBearerTokenException.class)
+                .verify();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static JwtAuthenticationToken authenticated(String tokenValue, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(tokenValue)
+                .header("alg", "RS256")
+                .claim("roles", List.of("ROLE_USER"))
+                .issuedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+}
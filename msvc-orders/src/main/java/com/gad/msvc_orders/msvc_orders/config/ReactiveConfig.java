@@ -0,0 +1,37 @@
+package com.gad.msvc_orders.msvc_orders.config;
+
+import com.gad.msvc_commons.cache.ReactiveRemoteCache;
+import com.gad.msvc_commons.cache.TwoTierCacheProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+
+    @Bean
+    public ReactiveRemoteCache orderByUuidReactiveCache(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, TwoTierCacheProperties twoTierCacheProperties) {
+        return ReactiveRemoteCache.create("OrderByUuid", reactiveRedisConnectionFactory, twoTierCacheProperties, false);
+    }
+
+    @Bean
+    public ReactiveRemoteCache orderDetailByUuidReactiveCache(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, TwoTierCacheProperties twoTierCacheProperties) {
+        return ReactiveRemoteCache.create("OrderDetailByUuid", reactiveRedisConnectionFactory, twoTierCacheProperties, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.gad.msvc_orders.msvc_orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReaggregationProperties.class)
+public class ReaggregationConfig {
+}
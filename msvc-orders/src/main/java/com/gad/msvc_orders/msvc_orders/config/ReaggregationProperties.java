@@ -0,0 +1,13 @@
+package com.gad.msvc_orders.msvc_orders.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.reaggregation")
+public class ReaggregationProperties {
+    private String cron = "-";
+    private int batchSize = 200;
+}
@@ -1,13 +1,19 @@
 package com.gad.msvc_orders.msvc_orders.config.feign;
 
 import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
+import com.gad.msvc_orders.msvc_orders.dto.OrderTotalsRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 
 @FeignClient(name = "msvc-details-order")
 public interface OrderDetailFeignClient {
     @GetMapping("${custom.path}/order-details/{uuid}")
     DataResponse findOrderDetailByUuid(@PathVariable String uuid);
+
+    @PostMapping("${custom.path}/order-details/totals")
+    DataResponse findOrderTotals(@RequestBody OrderTotalsRequest orderTotalsRequest);
 }
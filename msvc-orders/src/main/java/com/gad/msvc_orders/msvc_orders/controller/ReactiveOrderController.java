@@ -0,0 +1,97 @@
+package com.gad.msvc_orders.msvc_orders.controller;
+
+import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
+import com.gad.msvc_orders.msvc_orders.service.ReactiveOrderService;
+import com.gad.msvc_orders.msvc_orders.utils.Enums;
+import com.gad.msvc_orders.msvc_orders.utils.UtilsMethods;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.*;
+
+@Slf4j
+@RequestMapping("api/v1/orders")
+@RestController
+@RequiredArgsConstructor
+@Validated
+@Profile("reactive")
+public class ReactiveOrderController {
+    private final ReactiveOrderService reactiveOrderService;
+
+    @PostMapping
+    public Mono<ResponseEntity<DataResponse>> createOrder(@RequestHeader("Authorization") String bearerToken) {
+        return reactiveOrderService.createOrder(bearerToken)
+                .map(orderDTO -> ResponseEntity.created(URI.create("api/v1/orders/" + orderDTO.uuidOrder()))
+                        .body(new DataResponse(
+                                CREATED.value(),
+                                "Order created",
+                                orderDTO,
+                                UtilsMethods.dateTimeNowFormatted(),
+                                null
+                        )));
+    }
+
+    @GetMapping("/{uuid}")
+    public Mono<ResponseEntity<DataResponse>> getOrderByUuid(@PathVariable @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                           @NotBlank(message = "Customer UUID cannot be empty") String uuid) {
+        return reactiveOrderService.findByUuid(uuid)
+                .map(orderDTO -> ResponseEntity.ok()
+                        .body(new DataResponse(
+                                OK.value(),
+                                "Order found",
+                                orderDTO,
+                                UtilsMethods.dateTimeNowFormatted(),
+                                null
+                        )));
+    }
+
+    @CircuitBreaker(name = "updateOrderCircuitBreaker", fallbackMethod = "updateOrderFallback")
+    @Retry(name = "updateOrderRetry", fallbackMethod = "updateOrderFallback")
+    @PutMapping
+    public Mono<ResponseEntity<DataResponse>> updateOrder(@RequestParam @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                          @NotBlank(message = "Customer UUID cannot be empty") String uuidOrderDetail,
+                                                          @RequestParam @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                          @NotBlank(message = "Customer UUID cannot be empty") String uuidOrder) {
+        return reactiveOrderService.updateTotalPrice(uuidOrderDetail, uuidOrder)
+                .map(orderDTO -> ResponseEntity.created(URI.create("api/v1/orders/" + orderDTO.uuidOrder()))
+                        .body(new DataResponse(
+                                CREATED.value(),
+                                "Order updated",
+                                orderDTO,
+                                UtilsMethods.dateTimeNowFormatted(),
+                                null
+                        )));
+    }
+
+    @DeleteMapping("/{uuid}")
+    public Mono<ResponseEntity<Void>> deleteOrder(@PathVariable @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                  @NotBlank(message = "Customer UUID cannot be empty") String uuid) {
+        return reactiveOrderService.deleteOrder(uuid)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    public Mono<ResponseEntity<DataResponse>> updateOrderFallback(String uuidOrderDetail, String uuidOrder, Throwable ex) {
+        log.warn("Fallback triggered for updateOrder with uuidOrderDetail {} and uuidOrder {}. Reason: {}", uuidOrderDetail, uuidOrder, ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new DataResponse(
+                        SERVICE_UNAVAILABLE.value(),
+                        "Order service is currently unavailable. Please try again later.",
+                        null,
+                        UtilsMethods.dateTimeNowFormatted(),
+                        Map.of("error", ex.getMessage())
+                )));
+    }
+}
@@ -14,6 +14,8 @@ public record OrderDTO(
         @JsonProperty("status_order")
         String statusOrder,
         @JsonProperty("total_price")
-        BigDecimal totalPrice
+        BigDecimal totalPrice,
+        @JsonProperty("line_count")
+        Integer lineCount
         ) {
 }
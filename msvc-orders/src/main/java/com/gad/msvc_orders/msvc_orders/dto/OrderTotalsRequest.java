@@ -0,0 +1,11 @@
+package com.gad.msvc_orders.msvc_orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record OrderTotalsRequest(
+        @JsonProperty("uuid_orders")
+        List<String> uuidOrders
+) {
+}
@@ -8,8 +8,10 @@ import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
+import java.util.Set;
 import java.util.UUID;
 
 @Getter
@@ -30,6 +32,12 @@ public class Order {
 
     private OrderStatusEnum status;
 
-    @Field("total_price")
+    @Field(name = "total_price", targetType = FieldType.DECIMAL128)
     private BigDecimal totalPrice;
+
+    @Field("line_count")
+    private Integer lineCount;
+
+    @Field("applied_details")
+    private Set<UUID> appliedDetails;
 }
@@ -0,0 +1,31 @@
+package com.gad.msvc_orders.msvc_orders.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderTotal {
+    @JsonProperty("uuid_order")
+    private UUID uuidOrder;
+
+    @JsonProperty("total_price")
+    private BigDecimal totalPrice;
+
+    @JsonProperty("line_count")
+    private Integer lineCount;
+
+    @JsonProperty("uuid_details")
+    private List<UUID> uuidDetails;
+}
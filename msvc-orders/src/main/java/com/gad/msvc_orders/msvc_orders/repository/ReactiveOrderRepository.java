@@ -0,0 +1,11 @@
+package com.gad.msvc_orders.msvc_orders.repository;
+
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveOrderRepository extends ReactiveMongoRepository<Order, UUID> {
+    Mono<Order> findOrderByUuid(UUID uuidOrder);
+}
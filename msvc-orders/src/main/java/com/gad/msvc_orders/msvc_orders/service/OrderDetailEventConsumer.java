@@ -0,0 +1,52 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_commons.events.EventBroker;
+import com.gad.msvc_commons.events.EventMessage;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDetailCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderDetailEventConsumer {
+    private final EventBroker eventBroker;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${events.order-details.topic:order-details}")
+    private String topic;
+
+    @Value("${events.order-details.group:msvc-orders}")
+    private String group;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        eventBroker.subscribe(topic, group, this::handle);
+        log.info("Consuming order detail events from topic {} as group {}", topic, group);
+    }
+
+    void handle(List<EventMessage> messages) {
+        for (EventMessage message : messages) {
+            if (!OrderDetailCreatedEvent.TYPE.equals(message.type())) {
+                continue;
+            }
+            OrderDetailCreatedEvent event;
+            try {
+                event = objectMapper.readValue(message.payload(), OrderDetailCreatedEvent.class);
+            } catch (JsonProcessingException e) {
+                log.error("Order detail event {} discarded, payload could not be read: {}", message.id(), e.getMessage());
+                continue;
+            }
+            orderService.applyOrderDetail(event);
+        }
+    }
+}
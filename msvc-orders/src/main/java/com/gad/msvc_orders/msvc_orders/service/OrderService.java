@@ -1,6 +1,7 @@
 package com.gad.msvc_orders.msvc_orders.service;
 
 import com.gad.msvc_orders.msvc_orders.dto.OrderDTO;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDetailCreatedEvent;
 import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
 import com.gad.msvc_orders.msvc_orders.exception.OrderNotFoundException;
 import com.gad.msvc_orders.msvc_orders.model.Order;
@@ -9,14 +10,29 @@ import com.gad.msvc_orders.msvc_orders.repository.OrderRepository;
 import com.gad.msvc_orders.msvc_orders.service.feign.OrderDetailServiceFeign;
 import com.gad.msvc_orders.msvc_orders.utils.OrderMapper;
 import com.gad.msvc_orders.msvc_orders.utils.UtilsMethods;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.aggregation.SetOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -27,22 +43,18 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final JwtService jwtService;
     private final OrderDetailServiceFeign orderDetailServiceFeign;
+    private final MongoTemplate mongoTemplate;
     private static final String ORDER_UUID_TEXT = "Order with uuid ";
     private static final String NOT_FOUND_TEXT = " not found";
 
     @Transactional
     public OrderDTO createOrder(String token) {
         UUID uuidCustomer = jwtService.getUserUuidFromJwt(token);
-        Order order = new Order();
-        order.setOrderDate(UtilsMethods.dateTimeNowFormatted());
-        order.setStatus(OrderStatusEnum.PENDING);
-        order.setUuidCustomer(uuidCustomer);
-        order.setTotalPrice(BigDecimal.ZERO);
 
-        return OrderMapper.toDTO(orderRepository.save(order));
+        return OrderMapper.toDTO(orderRepository.save(newOrder(uuidCustomer)));
     }
 
-    @Cacheable(value = "OrderByUuid", key = "#uuidOrder")
+    @Cacheable(value = "OrderByUuid", key = "#uuidOrder", sync = true)
     @Transactional(readOnly = true)
     public OrderDTO findByUuid(String uuidOrder) {
         UUID uuidOrderRequest = UUID.fromString(uuidOrder);
@@ -55,11 +67,27 @@ public class OrderService {
     @Transactional
     public OrderDTO updateTotalPrice(String uuidOrderDetail, String uuidOrder) {
         OrderDetail orderDetail = orderDetailServiceFeign.findOrderDetailByUuid(uuidOrderDetail);
-        Order orderDb = orderRepository.findOrderByUuid(UUID.fromString(uuidOrder)).orElseThrow(() -> new OrderNotFoundException(ORDER_UUID_TEXT + uuidOrder + NOT_FOUND_TEXT));
+        UUID uuidOrderRequest = UUID.fromString(uuidOrder);
+        UUID uuidOrderDetailRequest = UUID.fromString(uuidOrderDetail);
+        Order orderDb = mongoTemplate.findAndModify(unappliedLineQuery(uuidOrderRequest, uuidOrderDetailRequest),
+                lineDelta(uuidOrderDetailRequest, orderDetail.getAmount(), orderDetail.getUnitPrice()).set("status").toValue(OrderStatusEnum.DELIVERED.name()),
+                FindAndModifyOptions.options().returnNew(true), Order.class);
+        if (orderDb == null) {
+            orderDb = orderRepository.findOrderByUuid(uuidOrderRequest).orElseThrow(() -> new OrderNotFoundException(ORDER_UUID_TEXT + uuidOrder + NOT_FOUND_TEXT));
+        }
 
-        orderDb.setTotalPrice(calculateTotalPrice(orderDetail.getAmount(), orderDetail.getUnitPrice()));
-        orderDb.setStatus(OrderStatusEnum.DELIVERED);
-        return OrderMapper.toDTO(orderRepository.save(orderDb));
+        return OrderMapper.toDTO(orderDb);
+    }
+
+    @CacheEvict(value = "OrderByUuid", key = "#event.uuidOrder()")
+    @Transactional
+    public void applyOrderDetail(OrderDetailCreatedEvent event) {
+        UUID uuidDetail = UUID.fromString(event.uuidDetail());
+        UpdateResult result = mongoTemplate.updateFirst(unappliedLineQuery(UUID.fromString(event.uuidOrder()), uuidDetail),
+                lineDelta(uuidDetail, event.amount(), event.unitPrice()), Order.class);
+        if (result.getModifiedCount() == 0) {
+            log.debug("Order detail {} skipped, order {} not found or detail already applied", event.uuidDetail(), event.uuidOrder());
+        }
     }
 
     @Transactional
@@ -70,7 +98,32 @@ public class OrderService {
         orderRepository.save(order);
     }
 
-    private BigDecimal calculateTotalPrice(Integer amount, BigDecimal unitPrice) {
+    static Order newOrder(UUID uuidCustomer) {
+        Order order = new Order();
+        order.setOrderDate(UtilsMethods.dateTimeNowFormatted());
+        order.setStatus(OrderStatusEnum.PENDING);
+        order.setUuidCustomer(uuidCustomer);
+        order.setTotalPrice(BigDecimal.ZERO);
+        order.setLineCount(0);
+        order.setAppliedDetails(Set.of());
+        return order;
+    }
+
+    static Query unappliedLineQuery(UUID uuidOrder, UUID uuidDetail) {
+        return new Query(Criteria.where("_id").is(uuidOrder).and("applied_details").ne(uuidDetail));
+    }
+
+    static AggregationUpdate lineDelta(UUID uuidDetail, Integer amount, BigDecimal unitPrice) {
+        return AggregationUpdate.update().set(SetOperation.builder()
+                .set("total_price").toValueOf(ArithmeticOperators.valueOf(
+                                ConvertOperators.valueOf(ConditionalOperators.ifNull("total_price").then(0)).convertToDecimal())
+                        .add(new Decimal128(calculateTotalPrice(amount, unitPrice))))
+                .and().set("line_count").toValueOf(ArithmeticOperators.valueOf(ConditionalOperators.ifNull("line_count").then(0)).add(1))
+                .and().set("applied_details").toValueOf(SetOperators.arrayAsSet(ConditionalOperators.ifNull("applied_details").then(List.of()))
+                        .union(LiteralOperators.valueOf(List.of(uuidDetail)).asLiteral())));
+    }
+
+    private static BigDecimal calculateTotalPrice(Integer amount, BigDecimal unitPrice) {
         return unitPrice.multiply(BigDecimal.valueOf(amount));
     }
 }
@@ -0,0 +1,86 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.gad.msvc_orders.msvc_orders.config.ReaggregationProperties;
+import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import com.gad.msvc_orders.msvc_orders.model.OrderTotal;
+import com.gad.msvc_orders.msvc_orders.service.feign.OrderDetailServiceFeign;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderTotalsReaggregationJob {
+    private final MongoTemplate mongoTemplate;
+    private final OrderDetailServiceFeign orderDetailServiceFeign;
+    private final CacheManager cacheManager;
+    private final ReaggregationProperties reaggregationProperties;
+
+    @Scheduled(cron = "${orders.reaggregation.cron:-}")
+    public void reaggregateTotals() {
+        UUID lastUuid = null;
+        int repaired = 0;
+        List<UUID> page;
+        do {
+            page = nextPage(lastUuid);
+            if (!page.isEmpty()) {
+                repaired += reaggregate(page);
+                lastUuid = page.getLast();
+            }
+        } while (page.size() == reaggregationProperties.getBatchSize());
+        log.info("Order totals re-aggregated, {} orders updated", repaired);
+    }
+
+    int reaggregate(List<UUID> uuidOrders) {
+        List<OrderTotal> totals = orderDetailServiceFeign.findOrderTotals(uuidOrders.stream().map(UUID::toString).toList());
+        if (totals.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (OrderTotal total : totals) {
+            bulkOperations.updateOne(
+                    new Query(Criteria.where("_id").is(total.getUuidOrder()).orOperator(
+                            Criteria.where("line_count").exists(false),
+                            Criteria.where("line_count").lte(total.getLineCount()))),
+                    new Update()
+                            .set("total_price", new Decimal128(total.getTotalPrice()))
+                            .set("line_count", total.getLineCount())
+                            .set("applied_details", new HashSet<>(total.getUuidDetails())));
+        }
+        BulkWriteResult result = bulkOperations.execute();
+
+        Cache cache = cacheManager.getCache("OrderByUuid");
+        if (cache != null) {
+            totals.forEach(total -> cache.evict(total.getUuidOrder().toString()));
+        }
+        return result.getModifiedCount();
+    }
+
+    private List<UUID> nextPage(UUID lastUuid) {
+        Criteria criteria = Criteria.where("status").ne(OrderStatusEnum.CANCELED);
+        if (lastUuid != null) {
+            criteria = criteria.and("_id").gt(lastUuid);
+        }
+        Query query = new Query(criteria).with(Sort.by("_id")).limit(reaggregationProperties.getBatchSize());
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Order.class).stream().map(Order::getUuid).toList();
+    }
+}
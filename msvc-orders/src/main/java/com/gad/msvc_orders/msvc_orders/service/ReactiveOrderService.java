@@ -0,0 +1,76 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.gad.msvc_commons.cache.ReactiveRemoteCache;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDTO;
+import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
+import com.gad.msvc_orders.msvc_orders.exception.OrderNotFoundException;
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import com.gad.msvc_orders.msvc_orders.repository.ReactiveOrderRepository;
+import com.gad.msvc_orders.msvc_orders.service.webclient.OrderDetailServiceWebClient;
+import com.gad.msvc_orders.msvc_orders.utils.OrderMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+public class ReactiveOrderService {
+    private final ReactiveOrderRepository reactiveOrderRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final JwtService jwtService;
+    private final OrderDetailServiceWebClient orderDetailServiceWebClient;
+    private final ReactiveRemoteCache orderCache;
+    private static final String ORDER_UUID_TEXT = "Order with uuid ";
+    private static final String NOT_FOUND_TEXT = " not found";
+
+    public ReactiveOrderService(ReactiveOrderRepository reactiveOrderRepository, ReactiveMongoTemplate reactiveMongoTemplate,
+                                JwtService jwtService, OrderDetailServiceWebClient orderDetailServiceWebClient,
+                                @Qualifier("orderByUuidReactiveCache") ReactiveRemoteCache orderCache) {
+        this.reactiveOrderRepository = reactiveOrderRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.jwtService = jwtService;
+        this.orderDetailServiceWebClient = orderDetailServiceWebClient;
+        this.orderCache = orderCache;
+    }
+
+    public Mono<OrderDTO> createOrder(String token) {
+        return Mono.fromCallable(() -> OrderService.newOrder(jwtService.getUserUuidFromJwt(token)))
+                .flatMap(reactiveOrderRepository::save)
+                .map(OrderMapper::toDTO);
+    }
+
+    public Mono<OrderDTO> findByUuid(String uuidOrder) {
+        return orderCache.get(uuidOrder, OrderDTO.class, () -> findOrder(uuidOrder).map(OrderMapper::toDTO));
+    }
+
+    public Mono<OrderDTO> updateTotalPrice(String uuidOrderDetail, String uuidOrder) {
+        UUID uuidOrderRequest = UUID.fromString(uuidOrder);
+        UUID uuidOrderDetailRequest = UUID.fromString(uuidOrderDetail);
+
+        return orderDetailServiceWebClient.findOrderDetailByUuid(uuidOrderDetail)
+                .flatMap(orderDetail -> reactiveMongoTemplate.findAndModify(OrderService.unappliedLineQuery(uuidOrderRequest, uuidOrderDetailRequest),
+                        OrderService.lineDelta(uuidOrderDetailRequest, orderDetail.getAmount(), orderDetail.getUnitPrice()).set("status").toValue(OrderStatusEnum.DELIVERED.name()),
+                        FindAndModifyOptions.options().returnNew(true), Order.class)
+                        .switchIfEmpty(Mono.defer(() -> findOrder(uuidOrder))))
+                .flatMap(order -> orderCache.evict(uuidOrder).thenReturn(OrderMapper.toDTO(order)));
+    }
+
+    public Mono<Void> deleteOrder(String uuidOrder) {
+        return findOrder(uuidOrder)
+                .flatMap(order -> {
+                    order.setStatus(OrderStatusEnum.CANCELED);
+                    return reactiveOrderRepository.save(order);
+                })
+                .then();
+    }
+
+    private Mono<Order> findOrder(String uuidOrder) {
+        return reactiveOrderRepository.findOrderByUuid(UUID.fromString(uuidOrder))
+                .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(ORDER_UUID_TEXT + uuidOrder + NOT_FOUND_TEXT)));
+    }
+}
@@ -2,8 +2,10 @@ package com.gad.msvc_orders.msvc_orders.service.feign;
 
 import com.gad.msvc_orders.msvc_orders.config.feign.OrderDetailFeignClient;
 import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
+import com.gad.msvc_orders.msvc_orders.dto.OrderTotalsRequest;
 import com.gad.msvc_orders.msvc_orders.exception.OrderDetailFeignNotFoundException;
 import com.gad.msvc_orders.msvc_orders.model.OrderDetail;
+import com.gad.msvc_orders.msvc_orders.model.OrderTotal;
 import com.gad.msvc_orders.msvc_orders.utils.MapperWildCard;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 @Service
 @RequiredArgsConstructor
@@ -31,4 +35,17 @@ public class OrderDetailServiceFeign {
             throw new OrderDetailFeignNotFoundException("Feign: Order detail information with uuid " + uuidOrderDetail + " could not be obtained", e);
         }
     }
+
+    public List<OrderTotal> findOrderTotals(List<String> uuidOrders) {
+        try {
+            DataResponse dataResponse = orderDetailFeignClient.findOrderTotals(new OrderTotalsRequest(uuidOrders));
+            if (dataResponse == null || dataResponse.data() == null) {
+                throw new OrderDetailFeignNotFoundException("Feign: Order totals for " + uuidOrders.size() + " orders not found");
+            }
+
+            return MapperWildCard.toList(dataResponse, OrderTotal.class);
+        } catch (FeignException e) {
+            throw new OrderDetailFeignNotFoundException("Feign: Order totals for " + uuidOrders.size() + " orders could not be obtained", e);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.gad.msvc_orders.msvc_orders.service.webclient;
+
+import com.gad.msvc_commons.cache.ReactiveRemoteCache;
+import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
+import com.gad.msvc_orders.msvc_orders.exception.OrderDetailFeignNotFoundException;
+import com.gad.msvc_orders.msvc_orders.model.OrderDetail;
+import com.gad.msvc_orders.msvc_orders.utils.MapperWildCard;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Service
+@Profile("reactive")
+public class OrderDetailServiceWebClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(3);
+
+    private final WebClient webClient;
+    private final ReactiveRemoteCache orderDetailCache;
+
+    public OrderDetailServiceWebClient(WebClient.Builder loadBalancedWebClientBuilder,
+                                       @Qualifier("orderDetailByUuidReactiveCache") ReactiveRemoteCache orderDetailCache,
+                                       @Value("${custom.path}") String customPath) {
+        this.webClient = loadBalancedWebClientBuilder.baseUrl("http://msvc-details-order" + customPath).build();
+        this.orderDetailCache = orderDetailCache;
+    }
+
+    public Mono<OrderDetail> findOrderDetailByUuid(String uuidOrderDetail) {
+        return orderDetailCache.get(uuidOrderDetail, OrderDetail.class, () -> webClient.get()
+                .uri("/order-details/{uuid}", uuidOrderDetail)
+                .retrieve()
+                .bodyToMono(DataResponse.class)
+                .timeout(REQUEST_TIMEOUT)
+                .onErrorMap(e -> new OrderDetailFeignNotFoundException("WebClient: Order detail information with uuid " + uuidOrderDetail + " could not be obtained", e))
+                .filter(dataResponse -> dataResponse.data() != null)
+                .switchIfEmpty(Mono.error(() -> new OrderDetailFeignNotFoundException("WebClient: Order detail with uuid " + uuidOrderDetail + " not found")))
+                .map(dataResponse -> MapperWildCard.toEntity(dataResponse, OrderDetail.class)));
+    }
+}
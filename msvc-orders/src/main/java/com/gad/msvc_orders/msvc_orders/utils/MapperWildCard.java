@@ -3,6 +3,8 @@ package com.gad.msvc_orders.msvc_orders.utils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
 
+import java.util.List;
+
 public class MapperWildCard {
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private MapperWildCard() {
@@ -12,4 +14,8 @@ public class MapperWildCard {
         return objectMapper.convertValue(dataResponse.data(), entityType);
     }
 
+    public static <T> List<T> toList(final DataResponse dataResponse, Class<T> entityType) {
+        return objectMapper.convertValue(dataResponse.data(), objectMapper.getTypeFactory().constructCollectionType(List.class, entityType));
+    }
+
 }
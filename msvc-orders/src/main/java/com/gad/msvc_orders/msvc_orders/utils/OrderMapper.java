@@ -12,6 +12,7 @@ public class OrderMapper {
                 order.getUuidCustomer().toString(),
                 UtilsMethods.dateTimeNowFormatted(),
                 order.getStatus().name(),
-                order.getTotalPrice());
+                order.getTotalPrice(),
+                order.getLineCount());
     }
 }
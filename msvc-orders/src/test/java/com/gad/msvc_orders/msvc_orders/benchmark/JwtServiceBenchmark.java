@@ -0,0 +1,73 @@
+package com.gad.msvc_orders.msvc_orders.benchmark;
+
+import com.gad.msvc_commons.jwt.JwtVerifier;
+import com.gad.msvc_orders.msvc_orders.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private String publicKeyBase64;
+    private String bearerToken;
+    private String bearerTokenWithoutExpiration;
+    private JwtService warmJwtService;
+
+    @Setup
+    public void setUp() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        publicKeyBase64 = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        bearerToken = "Bearer " + Jwts.builder()
+                .claim("uuid_customer", UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        bearerTokenWithoutExpiration = "Bearer " + Jwts.builder()
+                .claim("uuid_customer", UUID.randomUUID().toString())
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        warmJwtService = newJwtService();
+        warmJwtService.getUserUuidFromJwt(bearerToken);
+    }
+
+    @Benchmark
+    public UUID coldVerification() {
+        return newJwtService().getUserUuidFromJwt(bearerToken);
+    }
+
+    @Benchmark
+    public UUID warmParserVerification() {
+        return warmJwtService.getUserUuidFromJwt(bearerTokenWithoutExpiration);
+    }
+
+    @Benchmark
+    public UUID warmCachedVerification() {
+        return warmJwtService.getUserUuidFromJwt(bearerToken);
+    }
+
+    private JwtService newJwtService() {
+        return new JwtService(new JwtVerifier(publicKeyBase64, 10_000, new SimpleMeterRegistry()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.gad.msvc_orders.msvc_orders.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReactiveStackBenchmark {
+    private static final int SERVLET_MAX_THREADS = 200;
+    private static final long DATABASE_CALL_MILLIS = 100;
+    private static final String ORDER_JSON = "{\"status\":\"PENDING\"}";
+
+    @Param({"SERVLET", "REACTIVE"})
+    public String stack;
+
+    @Param({"600", "2000"})
+    public int concurrentClients;
+
+    private Tomcat tomcat;
+    private DisposableServer nettyServer;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private ExecutorService clients;
+    private final LongAdder completed = new LongAdder();
+    private volatile boolean loading;
+    private long loadStartedAt;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        int port = "REACTIVE".equals(stack) ? startNetty() : startTomcat();
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders")).GET().build();
+
+        loading = true;
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        IntStream.range(1, concurrentClients).forEach(i -> clients.submit(this::closedLoopClient));
+        loadStartedAt = System.nanoTime();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException, InterruptedException {
+        double seconds = (System.nanoTime() - loadStartedAt) / 1e9;
+        double throughput = completed.sum() / seconds;
+        double inFlight = throughput * DATABASE_CALL_MILLIS / 1000.0;
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%n%s stack, %d clients: %.0f req/s sustained, %.0f connections in flight, %.0f per core (%d cores)%n",
+                stack, concurrentClients, throughput, inFlight, inFlight / cores, cores);
+        loading = false;
+        clients.shutdownNow();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+        httpClient.close();
+        if (nettyServer != null) {
+            nettyServer.disposeNow();
+        }
+        if (tomcat != null) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    @Benchmark
+    public int findOrder() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int startTomcat() throws IOException, LifecycleException {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat-benchmark").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        ((AbstractProtocol<?>) connector.getProtocolHandler()).setMaxThreads(SERVLET_MAX_THREADS);
+        connector.setProperty("maxKeepAliveRequests", "-1");
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "orders", new BlockingOrderServlet());
+        context.addServletMappingDecoded("/orders", "orders");
+        tomcat.start();
+        return connector.getLocalPort();
+    }
+
+    private int startNetty() {
+        nettyServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/orders", (httpRequest, httpResponse) -> httpResponse
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(Duration.ofMillis(DATABASE_CALL_MILLIS)).thenReturn(ORDER_JSON))))
+                .bindNow();
+        return nettyServer.port();
+    }
+
+    private void closedLoopClient() {
+        while (loading) {
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                completed.increment();
+            } catch (IOException e) {
+                if (!loading) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static class BlockingOrderServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(DATABASE_CALL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            response.getWriter().write(ORDER_JSON);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReactiveStackBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.gad.msvc_orders.msvc_orders.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadRequestExecutorBenchmark {
+    private static final int PLATFORM_MAX_THREADS = 200;
+    private static final long BLOCKING_CALL_MILLIS = 100;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threading;
+
+    @Param({"150", "600"})
+    public int concurrentClients;
+
+    private Tomcat tomcat;
+    private HttpClient httpClient;
+    private HttpRequest request;
+    private ExecutorService clients;
+    private final LongAdder completed = new LongAdder();
+    private volatile boolean loading;
+    private long loadStartedAt;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat-benchmark").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+        if ("VIRTUAL".equals(threading)) {
+            protocol.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+        } else {
+            protocol.setMaxThreads(PLATFORM_MAX_THREADS);
+        }
+        connector.setProperty("maxKeepAliveRequests", "-1");
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "orders", new BlockingOrderServlet());
+        context.addServletMappingDecoded("/orders", "orders");
+        tomcat.start();
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + connector.getLocalPort() + "/orders")).GET().build();
+
+        loading = true;
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        IntStream.range(1, concurrentClients).forEach(i -> clients.submit(this::closedLoopClient));
+        loadStartedAt = System.nanoTime();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException, InterruptedException {
+        double seconds = (System.nanoTime() - loadStartedAt) / 1e9;
+        double throughput = completed.sum() / seconds;
+        System.out.printf("%n%s threads, %d clients: %.0f req/s sustained, %.0f requests in flight on average%n",
+                threading, concurrentClients, throughput, throughput * BLOCKING_CALL_MILLIS / 1000.0);
+        loading = false;
+        clients.shutdownNow();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+        httpClient.close();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public int findOrder() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void closedLoopClient() {
+        while (loading) {
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                completed.increment();
+            } catch (IOException e) {
+                if (!loading) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static class BlockingOrderServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(BLOCKING_CALL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":\"PENDING\"}");
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VirtualThreadRequestExecutorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
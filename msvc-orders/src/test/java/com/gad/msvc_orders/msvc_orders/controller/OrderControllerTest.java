@@ -54,7 +54,7 @@ class OrderControllerTest {
         uuidOrder = UUID.randomUUID();
         uuidOrderDetail = UUID.randomUUID();
         orderDTO = new OrderDTO(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UtilsMethods.dateTimeNowFormatted(),
-                OrderStatusEnum.PENDING.name(), BigDecimal.valueOf(100));
+                OrderStatusEnum.PENDING.name(), BigDecimal.valueOf(100), 1);
     }
 
     @Test
@@ -73,6 +73,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.order_date").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.data.status_order").value(orderDTO.statusOrder()))
                 .andExpect(jsonPath("$.data.total_price").value(orderDTO.totalPrice()))
+                .andExpect(jsonPath("$.data.line_count").value(orderDTO.lineCount()))
                 .andExpect(jsonPath("$.timestamp").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.errors").isEmpty());
 
@@ -132,6 +133,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.order_date").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.data.status_order").value(orderDTO.statusOrder()))
                 .andExpect(jsonPath("$.data.total_price").value(orderDTO.totalPrice()))
+                .andExpect(jsonPath("$.data.line_count").value(orderDTO.lineCount()))
                 .andExpect(jsonPath("$.timestamp").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.errors").isEmpty());
 
@@ -171,6 +173,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.order_date").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.data.status_order").value(orderDTO.statusOrder()))
                 .andExpect(jsonPath("$.data.total_price").value(orderDTO.totalPrice()))
+                .andExpect(jsonPath("$.data.line_count").value(orderDTO.lineCount()))
                 .andExpect(jsonPath("$.timestamp").value(orderDTO.orderDate()))
                 .andExpect(jsonPath("$.errors").isEmpty());
 
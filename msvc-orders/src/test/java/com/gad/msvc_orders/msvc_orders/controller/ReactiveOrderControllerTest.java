@@ -0,0 +1,106 @@
+package com.gad.msvc_orders.msvc_orders.controller;
+
+import com.gad.msvc_orders.msvc_orders.dto.OrderDTO;
+import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
+import com.gad.msvc_orders.msvc_orders.exception.GlobalExceptionHandler;
+import com.gad.msvc_orders.msvc_orders.exception.JwtDecodingException;
+import com.gad.msvc_orders.msvc_orders.exception.OrderNotFoundException;
+import com.gad.msvc_orders.msvc_orders.service.ReactiveOrderService;
+import com.gad.msvc_orders.msvc_orders.utils.UtilsMethods;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderControllerTest {
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveOrderService reactiveOrderService;
+
+    @InjectMocks
+    private ReactiveOrderController reactiveOrderController;
+
+    private OrderDTO orderDTO;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(reactiveOrderController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        orderDTO = new OrderDTO(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UtilsMethods.dateTimeNowFormatted(),
+                OrderStatusEnum.PENDING.name(), BigDecimal.valueOf(100), 1);
+    }
+
+    @Test
+    @DisplayName("Should return status 201 and orderDto when token bearer is valid")
+    void createOrder_WhenTokenBearerIsValid_ReturnsStatus201AndOrderDto() {
+        when(reactiveOrderService.createOrder("Bearer token")).thenReturn(Mono.just(orderDTO));
+
+        webTestClient.post().uri("/api/v1/orders")
+                .header("Authorization", "Bearer token")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("api/v1/orders/" + orderDTO.uuidOrder())
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(201)
+                .jsonPath("$.message").isEqualTo("Order created")
+                .jsonPath("$.data.uuid_order").isEqualTo(orderDTO.uuidOrder())
+                .jsonPath("$.data.line_count").isEqualTo(1)
+                .jsonPath("$.errors").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return status 401 when the token cannot be decoded")
+    void createOrder_WhenTokenCannotBeDecoded_ReturnsStatus401() {
+        when(reactiveOrderService.createOrder("Bearer token")).thenReturn(Mono.error(new JwtDecodingException("JWT could not be decoded")));
+
+        webTestClient.post().uri("/api/v1/orders")
+                .header("Authorization", "Bearer token")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(401)
+                .jsonPath("$.message").isEqualTo("JWT could not be decoded");
+    }
+
+    @Test
+    @DisplayName("Should return status 404 when the order does not exist")
+    void getOrderByUuid_WhenOrderDoesNotExist_ReturnsStatus404() {
+        String uuid = UUID.randomUUID().toString();
+        when(reactiveOrderService.findByUuid(uuid)).thenReturn(Mono.error(new OrderNotFoundException("Order with uuid " + uuid + " not found")));
+
+        webTestClient.get().uri("/api/v1/orders/{uuid}", uuid)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Order with uuid " + uuid + " not found")
+                .jsonPath("$.data").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return status 204 when the order is deleted")
+    void deleteOrder_WhenOrderExists_ReturnsStatus204() {
+        String uuid = UUID.randomUUID().toString();
+        when(reactiveOrderService.deleteOrder(uuid)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/v1/orders/{uuid}", uuid)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(reactiveOrderService, times(1)).deleteOrder(uuid);
+    }
+}
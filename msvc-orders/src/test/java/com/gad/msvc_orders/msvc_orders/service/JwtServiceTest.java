@@ -1,16 +1,14 @@
 package com.gad.msvc_orders.msvc_orders.service;
 
+import com.gad.msvc_commons.jwt.JwtVerifier;
 import com.gad.msvc_orders.msvc_orders.exception.JwtDecodingException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.security.KeyPair;
 import java.util.Base64;
@@ -18,9 +16,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
-    @InjectMocks
     private JwtService jwtService;
 
     private KeyPair keyPair;
@@ -30,7 +26,7 @@ class JwtServiceTest {
         keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
         String publicKeyBase64 = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
 
-        ReflectionTestUtils.setField(jwtService, "propertyPublicKey", publicKeyBase64);
+        jwtService = new JwtService(new JwtVerifier(publicKeyBase64, 100, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -80,7 +76,7 @@ class JwtServiceTest {
     @Test
     @DisplayName("Should throw JwtDecodingException when public key is malformed")
     void givenMalformedPublicKey_whenGetUserUuidFromJwt_thenThrowsException() {
-        ReflectionTestUtils.setField(jwtService, "propertyPublicKey", "invalid_public_key");
+        jwtService = new JwtService(new JwtVerifier("invalid_public_key", 100, new SimpleMeterRegistry()));
 
         assertThrows(JwtDecodingException.class, this::invokeGetUserUuidFromJwtWithBearerToken);
     }
@@ -0,0 +1,63 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_commons.events.EventBroker;
+import com.gad.msvc_commons.events.EventMessage;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDetailCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDetailEventConsumerTest {
+    @Mock
+    private EventBroker eventBroker;
+
+    @Mock
+    private OrderService orderService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OrderDetailEventConsumer orderDetailEventConsumer;
+
+    @Test
+    @DisplayName("Should apply every order detail event of the batch and skip unreadable payloads")
+    void handle_WhenBatchReceived_AppliesReadableOrderDetailEvents() {
+        orderDetailEventConsumer.handle(List.of(
+                new EventMessage("1", OrderDetailCreatedEvent.TYPE, "order-1",
+                        "{\"uuid_detail\":\"1\",\"uuid_order\":\"order-1\",\"uuid_product\":\"product-1\",\"amount\":2,\"unit_price\":10.5}", Instant.now()),
+                new EventMessage("2", OrderDetailCreatedEvent.TYPE, "order-2", "not json", Instant.now()),
+                new EventMessage("3", "ProductUpdated", "product-1", "{}", Instant.now())));
+
+        ArgumentCaptor<OrderDetailCreatedEvent> event = ArgumentCaptor.forClass(OrderDetailCreatedEvent.class);
+        verify(orderService, times(1)).applyOrderDetail(event.capture());
+        assertEquals("order-1", event.getValue().uuidOrder());
+        assertEquals(2, event.getValue().amount());
+        assertEquals(new BigDecimal("10.5"), event.getValue().unitPrice());
+    }
+
+    @Test
+    @DisplayName("Should propagate failures so the broker redelivers the batch")
+    void handle_WhenOrderServiceFails_ThrowsException() {
+        doThrow(new IllegalStateException("database unavailable")).when(orderService).applyOrderDetail(any());
+        List<EventMessage> batch = List.of(new EventMessage("1", OrderDetailCreatedEvent.TYPE, "order-1",
+                "{\"uuid_detail\":\"1\",\"uuid_order\":\"order-1\",\"uuid_product\":\"product-1\",\"amount\":2,\"unit_price\":10}", Instant.now()));
+
+        assertThrows(IllegalStateException.class, () -> orderDetailEventConsumer.handle(batch));
+    }
+}
@@ -0,0 +1,86 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.gad.msvc_orders.msvc_orders.dto.OrderDetailCreatedEvent;
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import com.gad.msvc_orders.msvc_orders.repository.OrderRepository;
+import com.gad.msvc_orders.msvc_orders.service.feign.OrderDetailServiceFeign;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+@DataMongoTest
+class OrderServiceLegacyTotalPriceTest {
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:8.0");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderService = new OrderService(orderRepository, mock(JwtService.class), mock(OrderDetailServiceFeign.class), mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should convert a total price stored as a string and add the detail line to it")
+    void applyOrderDetail_WhenTotalPriceIsStoredAsString_ThenConvertsAndAddsLine() {
+        UUID uuidOrder = UUID.randomUUID();
+        mongoTemplate.insert(new Document("_id", uuidOrder)
+                .append("status", "PENDING")
+                .append("total_price", "100.50"), "orders");
+        UUID uuidDetail = UUID.randomUUID();
+
+        orderService.applyOrderDetail(new OrderDetailCreatedEvent(uuidDetail.toString(), uuidOrder.toString(),
+                UUID.randomUUID().toString(), 3, BigDecimal.valueOf(25)));
+
+        Document stored = mongoTemplate.findOne(new Query(Criteria.where("_id").is(uuidOrder)), Document.class, "orders");
+        assertNotNull(stored);
+        assertEquals(new Decimal128(new BigDecimal("175.50")), stored.get("total_price"));
+        assertEquals(1, stored.get("line_count"));
+        assertEquals(List.of(uuidDetail), stored.getList("applied_details", UUID.class));
+        Order order = orderRepository.findOrderByUuid(uuidOrder).orElseThrow();
+        assertEquals(new BigDecimal("175.50"), order.getTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Should not add the same detail line twice to a legacy order")
+    void applyOrderDetail_WhenDetailAlreadyApplied_ThenLeavesTotalUnchanged() {
+        UUID uuidOrder = UUID.randomUUID();
+        mongoTemplate.insert(new Document("_id", uuidOrder)
+                .append("status", "PENDING")
+                .append("total_price", "10"), "orders");
+        OrderDetailCreatedEvent event = new OrderDetailCreatedEvent(UUID.randomUUID().toString(), uuidOrder.toString(),
+                UUID.randomUUID().toString(), 1, BigDecimal.valueOf(5));
+
+        orderService.applyOrderDetail(event);
+        orderService.applyOrderDetail(event);
+
+        assertEquals(new BigDecimal("15"), orderRepository.findOrderByUuid(uuidOrder).orElseThrow().getTotalPrice());
+    }
+}
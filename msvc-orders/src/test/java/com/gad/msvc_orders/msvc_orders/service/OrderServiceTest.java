@@ -1,6 +1,7 @@
 package com.gad.msvc_orders.msvc_orders.service;
 
 import com.gad.msvc_orders.msvc_orders.dto.OrderDTO;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDetailCreatedEvent;
 import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
 import com.gad.msvc_orders.msvc_orders.exception.OrderNotFoundException;
 import com.gad.msvc_orders.msvc_orders.model.Order;
@@ -8,20 +9,31 @@ import com.gad.msvc_orders.msvc_orders.model.OrderDetail;
 import com.gad.msvc_orders.msvc_orders.repository.OrderRepository;
 import com.gad.msvc_orders.msvc_orders.service.feign.OrderDetailServiceFeign;
 import com.gad.msvc_orders.msvc_orders.utils.UtilsMethods;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +47,9 @@ class OrderServiceTest {
     @Mock
     private OrderDetailServiceFeign orderDetailServiceFeign;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -105,25 +120,46 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should return orderDTO when uuid order detail and uuid order exists")
+    @DisplayName("Should add the order detail to the running total and mark the order delivered")
     void updateTotalPrice() {
         String orderDetailUuid = UUID.randomUUID().toString();
-
+        order.setTotalPrice(BigDecimal.valueOf(1200));
+        order.setLineCount(2);
+        order.setStatus(OrderStatusEnum.DELIVERED);
         when(orderDetailServiceFeign.findOrderDetailByUuid(any(String.class))).thenReturn(orderDetail);
-        when(orderRepository.findOrderByUuid(any(UUID.class))).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(mongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class), any(FindAndModifyOptions.class), eq(Order.class))).thenReturn(order);
 
         OrderDTO orderDTO = orderService.updateTotalPrice(orderDetailUuid, order.getUuid().toString());
 
         assertNotNull(orderDTO);
         assertEquals(order.getUuid(), UUID.fromString(orderDTO.uuidOrder()));
-        assertEquals(order.getOrderDate(), orderDTO.orderDate());
-        assertEquals(order.getStatus(), OrderStatusEnum.valueOf(orderDTO.statusOrder()));
-        assertEquals(order.getUuidCustomer(), UUID.fromString(orderDTO.uuidCustomer()));
+        assertEquals(OrderStatusEnum.DELIVERED.name(), orderDTO.statusOrder());
         assertEquals(order.getTotalPrice(), orderDTO.totalPrice());
+        assertEquals(2, orderDTO.lineCount());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(mongoTemplate, times(1)).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Order.class));
+        assertEquals(new Document("$ne", UUID.fromString(orderDetailUuid)), query.getValue().getQueryObject().get("applied_details"));
+        Document assignments = assignments(update.getValue());
+        assertEquals(totalPriceIncrement(BigDecimal.valueOf(1000)), assignments.get("total_price"));
+        assertEquals(lineCountIncrement(), assignments.get("line_count"));
+        assertEquals(OrderStatusEnum.DELIVERED.name(), assignments.get("status"));
         verify(orderDetailServiceFeign, times(1)).findOrderDetailByUuid(orderDetailUuid);
-        verify(orderRepository, times(1)).findOrderByUuid(any(UUID.class));
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should return the current order without adding the detail twice when it was already applied")
+    void updateTotalPrice_WhenOrderDetailAlreadyApplied_ReturnsCurrentOrder() {
+        String orderDetailUuid = UUID.randomUUID().toString();
+        when(orderDetailServiceFeign.findOrderDetailByUuid(any(String.class))).thenReturn(orderDetail);
+        when(mongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class), any(FindAndModifyOptions.class), eq(Order.class))).thenReturn(null);
+        when(orderRepository.findOrderByUuid(order.getUuid())).thenReturn(Optional.of(order));
+
+        OrderDTO orderDTO = orderService.updateTotalPrice(orderDetailUuid, order.getUuid().toString());
+
+        assertEquals(order.getTotalPrice(), orderDTO.totalPrice());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -142,6 +178,41 @@ class OrderServiceTest {
         verify(orderRepository, times(0)).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should apply the event as an idempotent delta without calling order details")
+    void applyOrderDetail_WhenEventReceived_IncrementsTotalOnlyIfDetailNotApplied() {
+        OrderDetailCreatedEvent event = new OrderDetailCreatedEvent(UUID.randomUUID().toString(), order.getUuid().toString(),
+                UUID.randomUUID().toString(), 3, BigDecimal.valueOf(25));
+        when(mongoTemplate.updateFirst(any(Query.class), any(AggregationUpdate.class), eq(Order.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        orderService.applyOrderDetail(event);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Order.class));
+        assertEquals(order.getUuid(), query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("$ne", UUID.fromString(event.uuidDetail())), query.getValue().getQueryObject().get("applied_details"));
+        Document assignments = assignments(update.getValue());
+        assertEquals(totalPriceIncrement(BigDecimal.valueOf(75)), assignments.get("total_price"));
+        assertEquals(lineCountIncrement(), assignments.get("line_count"));
+        assertEquals(new Document("$setUnion", List.of(new Document("$ifNull", List.of("$applied_details", List.of())),
+                new Document("$literal", List.of(UUID.fromString(event.uuidDetail()))))), assignments.get("applied_details"));
+        assertNull(assignments.get("status"));
+        verifyNoInteractions(orderDetailServiceFeign);
+    }
+
+    @Test
+    @DisplayName("Should skip the event when its order does not exist or the detail was already applied")
+    void applyOrderDetail_WhenNothingModified_SkipsEvent() {
+        OrderDetailCreatedEvent event = new OrderDetailCreatedEvent(UUID.randomUUID().toString(), order.getUuid().toString(),
+                UUID.randomUUID().toString(), 3, BigDecimal.valueOf(25));
+        when(mongoTemplate.updateFirst(any(Query.class), any(AggregationUpdate.class), eq(Order.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertDoesNotThrow(() -> orderService.applyOrderDetail(event));
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Should delete order when uuid order exists")
     void deleteOrder_WhenUuidOrder_ReturnsNothing() {
@@ -166,4 +237,18 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findOrderByUuid(any(UUID.class));
         verify(orderRepository, times(0)).save(any(Order.class));
     }
-}
\ No newline at end of file
+
+    static Document assignments(AggregationUpdate update) {
+        Document assignments = new Document();
+        update.toPipeline(Aggregation.DEFAULT_CONTEXT).forEach(stage -> assignments.putAll(stage.get("$set", Document.class)));
+        return assignments;
+    }
+
+    static Document totalPriceIncrement(BigDecimal amount) {
+        return new Document("$add", List.of(new Document("$toDecimal", new Document("$ifNull", List.of("$total_price", 0))), new Decimal128(amount)));
+    }
+
+    private static Document lineCountIncrement() {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$line_count", 0)), 1));
+    }
+}
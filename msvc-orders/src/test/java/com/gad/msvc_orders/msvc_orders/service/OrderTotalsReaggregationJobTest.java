@@ -0,0 +1,108 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.gad.msvc_orders.msvc_orders.config.ReaggregationProperties;
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import com.gad.msvc_orders.msvc_orders.model.OrderTotal;
+import com.gad.msvc_orders.msvc_orders.service.feign.OrderDetailServiceFeign;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTotalsReaggregationJobTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OrderDetailServiceFeign orderDetailServiceFeign;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Spy
+    private ReaggregationProperties reaggregationProperties = new ReaggregationProperties();
+
+    @InjectMocks
+    private OrderTotalsReaggregationJob orderTotalsReaggregationJob;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        order.setUuid(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should overwrite totals with the aggregated snapshot unless newer lines were applied meanwhile")
+    void reaggregate_WhenTotalsAggregated_UpdatesOrdersInOneBulkAndEvictsCache() {
+        UUID uuidDetail = UUID.randomUUID();
+        when(orderDetailServiceFeign.findOrderTotals(List.of(order.getUuid().toString())))
+                .thenReturn(List.of(new OrderTotal(order.getUuid(), BigDecimal.valueOf(300), 1, List.of(uuidDetail))));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(cacheManager.getCache("OrderByUuid")).thenReturn(cache);
+
+        int repaired = orderTotalsReaggregationJob.reaggregate(List.of(order.getUuid()));
+
+        assertEquals(1, repaired);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(query.capture(), update.capture());
+        assertEquals(order.getUuid(), query.getValue().getQueryObject().get("_id"));
+        assertNotNull(query.getValue().getQueryObject().get("$or"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(new Decimal128(BigDecimal.valueOf(300)), set.get("total_price"));
+        assertEquals(1, set.get("line_count"));
+        assertEquals(Set.of(uuidDetail), set.get("applied_details"));
+        verify(cache).evict(order.getUuid().toString());
+    }
+
+    @Test
+    @DisplayName("Should page through orders until a page is smaller than the batch size")
+    void reaggregateTotals_WhenOrdersSpanSeveralPages_ReaggregatesEveryPage() {
+        reaggregationProperties.setBatchSize(1);
+        Order secondOrder = new Order();
+        secondOrder.setUuid(UUID.randomUUID());
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order), List.of(secondOrder), List.of());
+        when(orderDetailServiceFeign.findOrderTotals(any())).thenReturn(List.of());
+
+        orderTotalsReaggregationJob.reaggregateTotals();
+
+        verify(orderDetailServiceFeign).findOrderTotals(List.of(order.getUuid().toString()));
+        verify(orderDetailServiceFeign).findOrderTotals(List.of(secondOrder.getUuid().toString()));
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Order.class));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class));
+    }
+}
@@ -0,0 +1,160 @@
+package com.gad.msvc_orders.msvc_orders.service;
+
+import com.gad.msvc_commons.cache.ReactiveRemoteCache;
+import com.gad.msvc_orders.msvc_orders.dto.OrderDTO;
+import com.gad.msvc_orders.msvc_orders.enums.OrderStatusEnum;
+import com.gad.msvc_orders.msvc_orders.exception.OrderDetailFeignNotFoundException;
+import com.gad.msvc_orders.msvc_orders.exception.OrderNotFoundException;
+import com.gad.msvc_orders.msvc_orders.model.Order;
+import com.gad.msvc_orders.msvc_orders.model.OrderDetail;
+import com.gad.msvc_orders.msvc_orders.repository.ReactiveOrderRepository;
+import com.gad.msvc_orders.msvc_orders.service.webclient.OrderDetailServiceWebClient;
+import com.gad.msvc_orders.msvc_orders.utils.UtilsMethods;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderServiceTest {
+    @Mock
+    private ReactiveOrderRepository reactiveOrderRepository;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private OrderDetailServiceWebClient orderDetailServiceWebClient;
+
+    @Mock
+    private ReactiveRemoteCache orderCache;
+
+    private ReactiveOrderService reactiveOrderService;
+
+    private Order order;
+    private OrderDetail orderDetail;
+
+    @BeforeEach
+    void setUp() {
+        reactiveOrderService = new ReactiveOrderService(reactiveOrderRepository, reactiveMongoTemplate, jwtService, orderDetailServiceWebClient, orderCache);
+
+        order = new Order();
+        order.setUuid(UUID.randomUUID());
+        order.setOrderDate(UtilsMethods.dateTimeNowFormatted());
+        order.setStatus(OrderStatusEnum.PENDING);
+        order.setUuidCustomer(UUID.randomUUID());
+        order.setTotalPrice(BigDecimal.valueOf(200));
+
+        orderDetail = new OrderDetail();
+        orderDetail.setAmount(10);
+        orderDetail.setUnitPrice(BigDecimal.valueOf(100));
+    }
+
+    @Test
+    @DisplayName("Should save a pending order with empty totals for the customer in the token")
+    void createOrder_WhenTokenSent_SavesPendingOrder() {
+        when(jwtService.getUserUuidFromJwt("Bearer token")).thenReturn(order.getUuidCustomer());
+        when(reactiveOrderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order saved = invocation.getArgument(0);
+            saved.setUuid(order.getUuid());
+            return Mono.just(saved);
+        });
+
+        StepVerifier.create(reactiveOrderService.createOrder("Bearer token"))
+                .assertNext(orderDTO -> {
+                    assertEquals(order.getUuid().toString(), orderDTO.uuidOrder());
+                    assertEquals(order.getUuidCustomer().toString(), orderDTO.uuidCustomer());
+                    assertEquals(OrderStatusEnum.PENDING.name(), orderDTO.statusOrder());
+                    assertEquals(BigDecimal.ZERO, orderDTO.totalPrice());
+                    assertEquals(0, orderDTO.lineCount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should load the order through the shared cache and fail with OrderNotFoundException when it does not exist")
+    @SuppressWarnings("unchecked")
+    void findByUuid_WhenUuidDoesNotExist_ThenErrorsWithOrderNotFoundException() {
+        UUID uuidOrder = UUID.randomUUID();
+        when(orderCache.get(eq(uuidOrder.toString()), eq(OrderDTO.class), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<OrderDTO>>>getArgument(2).get());
+        when(reactiveOrderRepository.findOrderByUuid(uuidOrder)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOrderService.findByUuid(uuidOrder.toString()))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(OrderNotFoundException.class, error);
+                    assertEquals("Order with uuid " + uuidOrder + " not found", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should apply the detail line atomically, mark the order delivered and evict the cached order")
+    void updateTotalPrice_WhenDetailExists_ThenAppliesLineAndEvictsCache() {
+        UUID uuidOrderDetail = UUID.randomUUID();
+        order.setStatus(OrderStatusEnum.DELIVERED);
+        when(orderDetailServiceWebClient.findOrderDetailByUuid(uuidOrderDetail.toString())).thenReturn(Mono.just(orderDetail));
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(AggregationUpdate.class), any(FindAndModifyOptions.class), eq(Order.class)))
+                .thenReturn(Mono.just(order));
+        when(orderCache.evict(order.getUuid().toString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveOrderService.updateTotalPrice(uuidOrderDetail.toString(), order.getUuid().toString()))
+                .assertNext(orderDTO -> assertEquals(OrderStatusEnum.DELIVERED.name(), orderDTO.statusOrder()))
+                .verifyComplete();
+
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(reactiveMongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Order.class));
+        Document assignments = OrderServiceTest.assignments(update.getValue());
+        assertEquals(OrderServiceTest.totalPriceIncrement(BigDecimal.valueOf(1000)), assignments.get("total_price"));
+        assertEquals(OrderStatusEnum.DELIVERED.name(), assignments.get("status"));
+        verify(orderCache).evict(order.getUuid().toString());
+    }
+
+    @Test
+    @DisplayName("Should not touch the order when the detail cannot be obtained")
+    void updateTotalPrice_WhenDetailUnavailable_ThenPropagatesErrorWithoutUpdating() {
+        UUID uuidOrderDetail = UUID.randomUUID();
+        when(orderDetailServiceWebClient.findOrderDetailByUuid(uuidOrderDetail.toString()))
+                .thenReturn(Mono.error(new OrderDetailFeignNotFoundException("WebClient: Order detail with uuid " + uuidOrderDetail + " not found")));
+
+        StepVerifier.create(reactiveOrderService.updateTotalPrice(uuidOrderDetail.toString(), order.getUuid().toString()))
+                .expectError(OrderDetailFeignNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveMongoTemplate, orderCache);
+    }
+
+    @Test
+    @DisplayName("Should cancel the order when it exists")
+    void deleteOrder_WhenOrderExists_ThenSavesCanceledOrder() {
+        when(reactiveOrderRepository.findOrderByUuid(order.getUuid())).thenReturn(Mono.just(order));
+        when(reactiveOrderRepository.save(order)).thenReturn(Mono.just(order));
+
+        StepVerifier.create(reactiveOrderService.deleteOrder(order.getUuid().toString())).verifyComplete();
+
+        assertEquals(OrderStatusEnum.CANCELED, order.getStatus());
+        verify(reactiveOrderRepository).save(order);
+    }
+}
@@ -2,8 +2,10 @@ package com.gad.msvc_orders.msvc_orders.service.feign;
 
 import com.gad.msvc_orders.msvc_orders.config.feign.OrderDetailFeignClient;
 import com.gad.msvc_orders.msvc_orders.dto.DataResponse;
+import com.gad.msvc_orders.msvc_orders.dto.OrderTotalsRequest;
 import com.gad.msvc_orders.msvc_orders.exception.OrderDetailFeignNotFoundException;
 import com.gad.msvc_orders.msvc_orders.model.OrderDetail;
+import com.gad.msvc_orders.msvc_orders.model.OrderTotal;
 import feign.FeignException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -69,4 +77,32 @@ class OrderDetailServiceFeignTest {
         assertEquals("Feign: Order detail information with uuid " + uuidOrderDetail + " could not be obtained", exception.getMessage());
         verify(orderDetailFeignClient, times(1)).findOrderDetailByUuid(uuidOrderDetail);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the aggregated order totals of every requested order in one call")
+    void findOrderTotals_WhenOrdersExist_ReturnsOrderTotals() {
+        String uuidOrder = UUID.randomUUID().toString();
+        String uuidDetail = UUID.randomUUID().toString();
+        when(orderDetailFeignClient.findOrderTotals(new OrderTotalsRequest(List.of(uuidOrder)))).thenReturn(new DataResponse(200, "Order totals aggregated",
+                List.of(Map.of("uuid_order", uuidOrder, "total_price", 150.5, "line_count", 2, "uuid_details", List.of(uuidDetail))), null, null));
+
+        List<OrderTotal> result = orderDetailServiceFeign.findOrderTotals(List.of(uuidOrder));
+
+        assertEquals(1, result.size());
+        assertEquals(UUID.fromString(uuidOrder), result.getFirst().getUuidOrder());
+        assertEquals(new BigDecimal("150.5"), result.getFirst().getTotalPrice());
+        assertEquals(2, result.getFirst().getLineCount());
+        assertEquals(List.of(UUID.fromString(uuidDetail)), result.getFirst().getUuidDetails());
+    }
+
+    @Test
+    @DisplayName("Should throw OrderDetailFeignNotFoundException when order totals cannot be obtained")
+    void findOrderTotals_WhenFeignExceptionOccurs_ThrowsOrderDetailFeignNotFoundException() {
+        when(orderDetailFeignClient.findOrderTotals(any(OrderTotalsRequest.class))).thenThrow(FeignException.class);
+
+        Exception exception = assertThrows(OrderDetailFeignNotFoundException.class, () ->
+                orderDetailServiceFeign.findOrderTotals(List.of(UUID.randomUUID().toString())));
+
+        assertEquals("Feign: Order totals for 1 orders could not be obtained", exception.getMessage());
+    }
+}
@@ -0,0 +1,9 @@
+package com.gad.msvc_products.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProductHttpCacheProperties.class)
+public class ProductHttpCacheConfig {
+}
@@ -0,0 +1,14 @@
+package com.gad.msvc_products.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "products.http-cache")
+public class ProductHttpCacheProperties {
+    private Duration maxAge = Duration.ofSeconds(5);
+}
@@ -0,0 +1,26 @@
+package com.gad.msvc_products.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountStatementInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> QUERY_COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = QUERY_COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        QUERY_COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] count = QUERY_COUNT.get();
+        QUERY_COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
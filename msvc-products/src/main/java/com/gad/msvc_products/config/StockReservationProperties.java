@@ -0,0 +1,16 @@
+package com.gad.msvc_products.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stock.reservation")
+public class StockReservationProperties {
+    private Duration ttl = Duration.ofMinutes(15);
+    private Duration releaseInterval = Duration.ofSeconds(30);
+    private int releaseBatchSize = 500;
+}
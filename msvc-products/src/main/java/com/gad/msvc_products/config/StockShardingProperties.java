@@ -0,0 +1,24 @@
+package com.gad.msvc_products.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stock.sharding")
+public class StockShardingProperties {
+    private boolean enabled;
+    private int shardCount = 8;
+    private Duration rebalanceInterval = Duration.ofSeconds(10);
+    private Set<UUID> hotProducts = new HashSet<>();
+
+    public boolean isSharded(UUID uuidProduct) {
+        return enabled && hotProducts.contains(uuidProduct);
+    }
+}
@@ -1,18 +1,24 @@
 package com.gad.msvc_products.controller;
 
 import com.gad.msvc_products.assembler.ProductModelAssembler;
+import com.gad.msvc_products.config.ProductHttpCacheProperties;
 import com.gad.msvc_products.dto.DataResponse;
+import com.gad.msvc_products.dto.ProductBatchRequest;
+import com.gad.msvc_products.dto.ProductCursorPageDTO;
 import com.gad.msvc_products.dto.ProductDTO;
 import com.gad.msvc_products.dto.ProductPageDTO;
 import com.gad.msvc_products.service.ProductService;
+import com.gad.msvc_products.utils.EntityTags;
 import com.gad.msvc_products.utils.Enums;
 import com.gad.msvc_products.utils.FormatterDateTime;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -29,14 +35,17 @@ public class ProductController {
     private final ProductService productService;
     private final PagedResourcesAssembler<ProductDTO> pagedResourcesAssembler;
     private final ProductModelAssembler productModelAssembler;
+    private final ProductHttpCacheProperties productHttpCacheProperties;
 
     @GetMapping("/{uuid}")
     public ResponseEntity<DataResponse> getProductByUuid(@PathVariable @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
                                                              @NotBlank(message = "Customer UUID cannot be empty") String uuid) {
-        return ResponseEntity.ok().body(new DataResponse(
+        ProductDTO productDTO = productService.getProductByUuid(uuid);
+
+        return cacheable(productDTO).body(new DataResponse(
                 OK.value(),
                 "Product found",
-                productService.getProductByUuid(uuid),
+                productDTO,
                 FormatterDateTime.dateTimeNowFormatted(),
                 null)
         );
@@ -47,11 +56,55 @@ public class ProductController {
                                                                              @RequestParam(required = false) @Size(message = "The size minimum is 0") String name,
                                                                              @RequestParam(required = false) @Min(value = 1, message = "The minimum price must be greater than 0") BigDecimal minPrice,
                                                                              @RequestParam(required = false) @Max(value = 10000, message = "The maximum price must be less than 10000") BigDecimal maxPrice,
-                                                                             @RequestParam(required = false) @Min(value = 0, message = "The stock cannot be negative") Integer stock) {
+                                                                             @RequestParam(required = false) @Min(value = 0, message = "The stock cannot be negative") Integer stock,
+                                                                             @RequestParam(defaultValue = "false") boolean keyset,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (keyset || after != null) {
+            ProductCursorPageDTO productCursorPageDTO = productService.getProductsByNameAndPriceAndStockAfter(after, pageable.getPageSize(), includeTotal, name, minPrice, maxPrice, stock);
+
+            return cacheable(productCursorPageDTO).body(new DataResponse(
+                    OK.value(),
+                    "Products found",
+                    productCursorPageDTO,
+                    FormatterDateTime.dateTimeNowFormatted(),
+                    null
+            ));
+        }
 
         ProductPageDTO productPageDTO = productService.getAllProductsByNameAndPriceAndStock(pageable, name, minPrice, maxPrice, stock);
 
+        return cacheable(productPageDTO).body(new DataResponse(
+                OK.value(),
+                "Products found",
+                pagedResourcesAssembler.toModel(
+                        new PageImpl<>(productPageDTO.content(), pageable, productPageDTO.totalElements()),
+                        productModelAssembler),
+                FormatterDateTime.dateTimeNowFormatted(),
+                null
+        ));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<DataResponse> getProductsByUuids(@RequestBody @Valid ProductBatchRequest productBatchRequest) {
         return ResponseEntity.ok().body(new DataResponse(
+                OK.value(),
+                "Products found",
+                productService.getProductsByUuids(productBatchRequest.uuidProducts()),
+                FormatterDateTime.dateTimeNowFormatted(),
+                null
+        ));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<DataResponse> searchProducts(@PageableDefault(size = 5) Pageable pageable,
+                                                       @RequestParam(required = false) String q,
+                                                       @RequestParam(required = false) @Min(value = 1, message = "The minimum price must be greater than 0") BigDecimal minPrice,
+                                                       @RequestParam(required = false) @Max(value = 10000, message = "The maximum price must be less than 10000") BigDecimal maxPrice,
+                                                       @RequestParam(required = false) @Min(value = 0, message = "The stock cannot be negative") Integer stock) {
+        ProductPageDTO productPageDTO = productService.searchProducts(q, minPrice, maxPrice, stock, pageable.getPageNumber(), pageable.getPageSize());
+
+        return cacheable(productPageDTO).body(new DataResponse(
                 OK.value(),
                 "Products found",
                 pagedResourcesAssembler.toModel(
@@ -61,4 +114,10 @@ public class ProductController {
                 null
         ));
     }
+
+    private ResponseEntity.BodyBuilder cacheable(Object content) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(productHttpCacheProperties.getMaxAge()))
+                .eTag(EntityTags.of(content));
+    }
 }
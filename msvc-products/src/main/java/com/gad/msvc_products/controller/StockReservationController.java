@@ -0,0 +1,66 @@
+package com.gad.msvc_products.controller;
+
+import com.gad.msvc_products.dto.DataResponse;
+import com.gad.msvc_products.dto.StockReservationDTO;
+import com.gad.msvc_products.dto.StockReservationRequest;
+import com.gad.msvc_products.service.StockReservationService;
+import com.gad.msvc_products.utils.Enums;
+import com.gad.msvc_products.utils.FormatterDateTime;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.OK;
+
+@Validated
+@RestController
+@RequestMapping("api/v1/stock-reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    public ResponseEntity<DataResponse> reserveStock(@RequestBody @Valid StockReservationRequest stockReservationRequest) {
+        StockReservationDTO stockReservationDTO = stockReservationService.reserve(stockReservationRequest);
+        URI location = URI.create("api/v1/stock-reservations/" + stockReservationDTO.uuidReservation());
+
+        return ResponseEntity.created(location).body(new DataResponse(
+                CREATED.value(),
+                "Stock reserved",
+                stockReservationDTO,
+                FormatterDateTime.dateTimeNowFormatted(),
+                null)
+        );
+    }
+
+    @PostMapping("/{uuid}/confirm")
+    public ResponseEntity<DataResponse> confirmStockReservation(@PathVariable @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                                @NotBlank(message = "Reservation UUID cannot be empty") String uuid) {
+        return ResponseEntity.ok().body(new DataResponse(
+                OK.value(),
+                "Stock reservation confirmed",
+                stockReservationService.confirm(uuid),
+                FormatterDateTime.dateTimeNowFormatted(),
+                null)
+        );
+    }
+
+    @DeleteMapping("/{uuid}")
+    public ResponseEntity<DataResponse> releaseStockReservation(@PathVariable @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+                                                                @NotBlank(message = "Reservation UUID cannot be empty") String uuid) {
+        return ResponseEntity.ok().body(new DataResponse(
+                OK.value(),
+                "Stock reservation released",
+                stockReservationService.release(uuid),
+                FormatterDateTime.dateTimeNowFormatted(),
+                null)
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.gad.msvc_products.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProductBatchDTO(
+        List<ProductDTO> content,
+        List<UUID> notFound
+) {
+}
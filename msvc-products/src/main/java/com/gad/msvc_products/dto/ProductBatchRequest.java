@@ -0,0 +1,18 @@
+package com.gad.msvc_products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gad.msvc_products.utils.Enums;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductBatchRequest(
+        @NotEmpty(message = "Product UUIDs cannot be empty")
+        @Size(max = ProductBatchRequest.MAX_UUIDS, message = "A maximum of " + ProductBatchRequest.MAX_UUIDS + " product UUIDs can be requested at once")
+        @JsonProperty("uuid_products")
+        List<@Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format") String> uuidProducts
+) {
+    public static final int MAX_UUIDS = 500;
+}
@@ -0,0 +1,12 @@
+package com.gad.msvc_products.dto;
+
+import java.util.List;
+
+public record ProductCursorPageDTO(
+        List<ProductDTO> content,
+        int pageSize,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {
+}
@@ -0,0 +1,18 @@
+package com.gad.msvc_products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gad.msvc_products.model.StockReservationStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record StockReservationDTO(
+        @JsonProperty("uuid_reservation")
+        UUID uuidReservation,
+        StockReservationStatus status,
+        @JsonProperty("expires_at")
+        Instant expiresAt,
+        List<StockReservationLineDTO> lines
+) {
+}
@@ -0,0 +1,12 @@
+package com.gad.msvc_products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+public record StockReservationLineDTO(
+        @JsonProperty("uuid_product")
+        UUID uuidProduct,
+        Integer amount
+) {
+}
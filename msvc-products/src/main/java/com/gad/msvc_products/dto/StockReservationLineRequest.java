@@ -0,0 +1,17 @@
+package com.gad.msvc_products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gad.msvc_products.utils.Enums;
+import jakarta.validation.constraints.*;
+
+public record StockReservationLineRequest(
+        @Pattern(regexp = Enums.PATTERN_REGEX, message = "Invalid UUID format")
+        @NotBlank(message = "Product UUID cannot be empty")
+        @JsonProperty("uuid_product")
+        String uuidProduct,
+
+        @NotNull(message = "Amount cannot be null")
+        @Min(value = 1, message = "The amount must be greater than 0")
+        Integer amount
+) {
+}
@@ -0,0 +1,15 @@
+package com.gad.msvc_products.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockReservationRequest(
+        @NotEmpty(message = "Lines cannot be empty")
+        @Size(max = StockReservationRequest.MAX_LINES, message = "A maximum of " + StockReservationRequest.MAX_LINES + " lines can be reserved at once")
+        List<@Valid StockReservationLineRequest> lines
+) {
+    public static final int MAX_LINES = 500;
+}
@@ -4,7 +4,10 @@ import com.gad.msvc_products.dto.DataResponse;
 import com.gad.msvc_products.utils.FormatterDateTime;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -12,6 +15,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @RestControllerAdvice
@@ -61,6 +65,37 @@ public class GlobalExceptionHandler {
                         errors));
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<DataResponse> handlerMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        List<Map<String, Object>> errors = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .collect(Collectors.groupingBy(
+                        FieldError::getField,
+                        LinkedHashMap::new,
+                        Collectors.mapping(
+                                FieldError::getDefaultMessage,
+                                Collectors.toList()
+                        )
+                ))
+                .entrySet()
+                .stream()
+                .map(entry -> {
+                    Map<String, Object> errorMap = new LinkedHashMap<>();
+                    errorMap.put(TEXT_FIELD, entry.getKey());
+                    errorMap.put(TEXT_MESSAGES, entry.getValue().stream().sorted().toList());
+                    return errorMap;
+                })
+                .toList();
+
+        return ResponseEntity.badRequest()
+                .body(new DataResponse(BAD_REQUEST.value(),
+                        "Validation incorrect",
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        errors));
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<DataResponse> handlerProductNotFoundException(ProductNotFoundException ex) {
         return ResponseEntity.status(NOT_FOUND)
@@ -71,4 +106,43 @@ public class GlobalExceptionHandler {
                         null));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<DataResponse> handlerInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(new DataResponse(BAD_REQUEST.value(),
+                        ex.getMessage(),
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        null));
+    }
+
+    @ExceptionHandler(StockReservationNotFoundException.class)
+    public ResponseEntity<DataResponse> handlerStockReservationNotFoundException(StockReservationNotFoundException ex) {
+        return ResponseEntity.status(NOT_FOUND)
+                .body(new DataResponse(NOT_FOUND.value(),
+                        ex.getMessage(),
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        null));
+    }
+
+    @ExceptionHandler({StockNotAvailableException.class, StockReservationStateException.class})
+    public ResponseEntity<DataResponse> handlerStockConflictException(RuntimeException ex) {
+        return ResponseEntity.status(CONFLICT)
+                .body(new DataResponse(CONFLICT.value(),
+                        ex.getMessage(),
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        null));
+    }
+
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<DataResponse> handlerPessimisticLockingFailureException(PessimisticLockingFailureException ex) {
+        return ResponseEntity.status(CONFLICT)
+                .body(new DataResponse(CONFLICT.value(),
+                        "The stock is being updated concurrently, please retry",
+                        null,
+                        FormatterDateTime.dateTimeNowFormatted(),
+                        null));
+    }
 }
@@ -0,0 +1,7 @@
+package com.gad.msvc_products.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gad.msvc_products.exception;
+
+public class StockNotAvailableException extends RuntimeException {
+    public StockNotAvailableException(String message) {
+        super(message);
+    }
+}
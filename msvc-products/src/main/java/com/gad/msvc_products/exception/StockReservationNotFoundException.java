@@ -0,0 +1,7 @@
+package com.gad.msvc_products.exception;
+
+public class StockReservationNotFoundException extends RuntimeException {
+    public StockReservationNotFoundException(String message) {
+        super(message);
+    }
+}
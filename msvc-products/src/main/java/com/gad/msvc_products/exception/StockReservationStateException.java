@@ -0,0 +1,7 @@
+package com.gad.msvc_products.exception;
+
+public class StockReservationStateException extends RuntimeException {
+    public StockReservationStateException(String message) {
+        super(message);
+    }
+}
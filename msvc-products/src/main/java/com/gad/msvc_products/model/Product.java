@@ -1,6 +1,7 @@
 package com.gad.msvc_products.model;
 
 import jakarta.persistence.*;
+import com.gad.msvc_products.service.ProductSearchIndexListener;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
 
@@ -14,6 +15,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "products")
+@EntityListeners(ProductSearchIndexListener.class)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,4 +34,11 @@ public class Product {
 
     @Column(nullable = false)
     private Integer stock;
+
+    @Transient
+    private Integer shardedStock;
+
+    public int getAvailableStock() {
+        return stock + (shardedStock == null ? 0 : shardedStock);
+    }
 }
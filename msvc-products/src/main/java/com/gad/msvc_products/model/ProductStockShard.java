@@ -0,0 +1,29 @@
+package com.gad.msvc_products.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "product_stock_shards")
+public class ProductStockShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_shard")
+    private Long id;
+
+    @Column(name = "uuid_product", nullable = false)
+    private UUID uuidProduct;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Integer stock;
+}
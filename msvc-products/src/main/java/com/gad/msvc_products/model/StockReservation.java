@@ -0,0 +1,37 @@
+package com.gad.msvc_products.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stock_reservations")
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_reservation")
+    private Long id;
+
+    @Column(name = "uuid_reservation", nullable = false)
+    private UUID uuid;
+
+    @Column(name = "uuid_product", nullable = false)
+    private UUID uuidProduct;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
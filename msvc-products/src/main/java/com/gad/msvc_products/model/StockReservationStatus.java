@@ -0,0 +1,7 @@
+package com.gad.msvc_products.model;
+
+public enum StockReservationStatus {
+    RESERVED,
+    CONFIRMED,
+    RELEASED
+}
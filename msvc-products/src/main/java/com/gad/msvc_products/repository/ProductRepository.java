@@ -1,30 +1,84 @@
 package com.gad.msvc_products.repository;
 
 import com.gad.msvc_products.model.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findProductByUuid(UUID uuid);
-    Page<Product> findProductsByNameContainingIgnoreCase(Pageable pageable, String name);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.uuid = :uuid")
+    Optional<Product> findLockedProductByUuid(@Param("uuid") UUID uuid);
+
+    List<Product> findProductsByUuidIn(Collection<UUID> uuids);
+    boolean existsByNameContainingIgnoreCase(String name);
 
     @Query("""
             SELECT p FROM Product p
             WHERE (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))
             AND (:minPrice IS NULL OR p.price >= :minPrice)
             AND (:maxPrice IS NULL OR p.price <= :maxPrice)
-            AND (:stock IS NULL OR p.stock >= :stock)
+            AND (:stock IS NULL OR p.stock + COALESCE((SELECT SUM(s.stock) FROM ProductStockShard s WHERE s.uuidProduct = p.uuid), 0) >= :stock)
             """)
     Page<Product> findProductsByNameAndPriceAndStock(Pageable pageable,
                                                      @Param("name") String name,
                                                      @Param("minPrice") BigDecimal minPrice,
                                                      @Param("maxPrice") BigDecimal maxPrice,
                                                      @Param("stock") Integer stock);
+
+    @Query("""
+            SELECT p FROM Product p
+            WHERE (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))
+            AND (:minPrice IS NULL OR p.price >= :minPrice)
+            AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+            AND (:stock IS NULL OR p.stock + COALESCE((SELECT SUM(s.stock) FROM ProductStockShard s WHERE s.uuidProduct = p.uuid), 0) >= :stock)
+            AND p.name >= :afterName
+            AND (p.name > :afterName OR p.id > :afterId)
+            ORDER BY p.name ASC, p.id ASC
+            """)
+    List<Product> findProductsByNameAndPriceAndStockAfter(@Param("name") String name,
+                                                          @Param("minPrice") BigDecimal minPrice,
+                                                          @Param("maxPrice") BigDecimal maxPrice,
+                                                          @Param("stock") Integer stock,
+                                                          @Param("afterName") String afterName,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
+
+    @Query("""
+            SELECT COUNT(p) FROM Product p
+            WHERE (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))
+            AND (:minPrice IS NULL OR p.price >= :minPrice)
+            AND (:maxPrice IS NULL OR p.price <= :maxPrice)
+            AND (:stock IS NULL OR p.stock + COALESCE((SELECT SUM(s.stock) FROM ProductStockShard s WHERE s.uuidProduct = p.uuid), 0) >= :stock)
+            """)
+    long countProductsByNameAndPriceAndStock(@Param("name") String name,
+                                             @Param("minPrice") BigDecimal minPrice,
+                                             @Param("maxPrice") BigDecimal maxPrice,
+                                             @Param("stock") Integer stock);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :amount WHERE p.uuid = :uuid AND p.stock >= :amount")
+    int decrementStock(@Param("uuid") UUID uuid, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :amount WHERE p.uuid = :uuid")
+    int incrementStock(@Param("uuid") UUID uuid, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = :stock WHERE p.uuid = :uuid")
+    int updateStock(@Param("uuid") UUID uuid, @Param("stock") int stock);
 }
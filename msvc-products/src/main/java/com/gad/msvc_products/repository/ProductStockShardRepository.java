@@ -0,0 +1,50 @@
+package com.gad.msvc_products.repository;
+
+import com.gad.msvc_products.model.ProductStockShard;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStockShard s WHERE s.uuidProduct = :uuid ORDER BY s.shard ASC")
+    List<ProductStockShard> findLockedShardsByUuidProduct(@Param("uuid") UUID uuidProduct);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM ProductStockShard s WHERE s.uuidProduct = :uuid AND s.shard = :shard AND s.stock >= :amount")
+    Optional<ProductStockShard> findUnlockedShardWithStock(@Param("uuid") UUID uuidProduct, @Param("shard") int shard, @Param("amount") int amount);
+
+    @Query("SELECT DISTINCT s.uuidProduct FROM ProductStockShard s")
+    List<UUID> findShardedProductUuids();
+
+    @Query("SELECT s.uuidProduct AS uuidProduct, SUM(s.stock) AS stock FROM ProductStockShard s WHERE s.uuidProduct IN :uuids GROUP BY s.uuidProduct")
+    List<ShardedStock> sumStockByUuidProductIn(@Param("uuids") Collection<UUID> uuidProducts);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductStockShard s SET s.stock = s.stock - :amount WHERE s.uuidProduct = :uuid AND s.shard = :shard AND s.stock >= :amount")
+    int decrementShard(@Param("uuid") UUID uuidProduct, @Param("shard") int shard, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductStockShard s SET s.stock = s.stock + :amount WHERE s.uuidProduct = :uuid AND s.shard = :shard")
+    int incrementShard(@Param("uuid") UUID uuidProduct, @Param("shard") int shard, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductStockShard s SET s.stock = :stock WHERE s.uuidProduct = :uuid AND s.shard = :shard")
+    int updateShard(@Param("uuid") UUID uuidProduct, @Param("shard") int shard, @Param("stock") int stock);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductStockShard s WHERE s.uuidProduct = :uuid")
+    int deleteShardsByUuidProduct(@Param("uuid") UUID uuidProduct);
+
+    interface ShardedStock {
+        UUID getUuidProduct();
+        Long getStock();
+    }
+}
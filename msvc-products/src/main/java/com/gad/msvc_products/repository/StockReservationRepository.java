@@ -0,0 +1,41 @@
+package com.gad.msvc_products.repository;
+
+import com.gad.msvc_products.model.StockReservation;
+import com.gad.msvc_products.model.StockReservationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    List<StockReservation> findStockReservationsByUuid(UUID uuid);
+
+    @Query("""
+            SELECT DISTINCT r.uuid FROM StockReservation r
+            WHERE r.status = com.gad.msvc_products.model.StockReservationStatus.RESERVED
+            AND r.expiresAt <= :now
+            """)
+    List<UUID> findExpiredReservationUuids(@Param("now") Instant now, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StockReservation r SET r.status = :status
+            WHERE r.uuid = :uuid
+            AND r.status = com.gad.msvc_products.model.StockReservationStatus.RESERVED
+            AND r.expiresAt > :now
+            """)
+    int completeReservation(@Param("uuid") UUID uuid, @Param("status") StockReservationStatus status, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StockReservation r SET r.status = com.gad.msvc_products.model.StockReservationStatus.RELEASED
+            WHERE r.uuid = :uuid
+            AND r.status = com.gad.msvc_products.model.StockReservationStatus.RESERVED
+            """)
+    int releaseReservation(@Param("uuid") UUID uuid);
+}
@@ -0,0 +1,366 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.dto.ProductDTO;
+import com.gad.msvc_products.dto.ProductPageDTO;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.utils.ProductCursor;
+import com.gad.msvc_products.utils.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int PRICE_SCALE = 2;
+    private static final Comparator<Document> NAME_ORDER = Comparator.comparing(Document::name).thenComparing(Document::id);
+
+    private final ProductRepository productRepository;
+    private final ShardedStockLoader shardedStockLoader;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final BitSet shortNameOrdinals = new BitSet();
+    private long[] prices = new long[1024];
+    private int[] stocks = new int[1024];
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        clear();
+
+        try {
+            ProductCursor cursor = ProductCursor.FIRST;
+            List<Product> batch;
+            do {
+                batch = productRepository.findProductsByNameAndPriceAndStockAfter(null, null, null, null,
+                        cursor.name(), cursor.id(), Limit.of(LOAD_BATCH_SIZE));
+                shardedStockLoader.load(batch);
+                upsertAll(batch);
+                if (!batch.isEmpty()) {
+                    cursor = new ProductCursor(batch.getLast().getName(), batch.getLast().getId());
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("Product search index could not be built, searches will use the database", e);
+            return;
+        }
+
+        ready = true;
+        log.info("Product search index built with {} products and {} grams", size(), gramCount());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void upsert(Product product) {
+        shardedStockLoader.load(List.of(product));
+        upsertAll(List.of(product));
+    }
+
+    public void upsertAll(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            products.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void refresh(Collection<UUID> uuidProducts) {
+        if (uuidProducts.isEmpty()) {
+            return;
+        }
+        List<UUID> uuids = List.copyOf(uuidProducts);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(uuids);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload(uuids);
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(id);
+            if (ordinal != null) {
+                unindexGrams(documents.get(ordinal).normalizedName(), ordinal);
+                documents.set(ordinal, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductPageDTO search(String query, BigDecimal minPrice, BigDecimal maxPrice, Integer stock, int page, int size) {
+        String normalizedQuery = normalize(query);
+        boolean verifyName = normalizedQuery.length() != GRAM_LENGTH;
+        long minScaledPrice = minPrice == null ? Long.MIN_VALUE : scale(minPrice, RoundingMode.CEILING);
+        long maxScaledPrice = maxPrice == null ? Long.MAX_VALUE : scale(maxPrice, RoundingMode.FLOOR);
+        int minStock = stock == null ? Integer.MIN_VALUE : stock;
+        long limit = (page + 1L) * size;
+        PriorityQueue<Document> topDocuments = new PriorityQueue<>(NAME_ORDER.reversed());
+        long totalElements = 0;
+
+        lock.readLock().lock();
+        try {
+            PrimitiveIterator.OfInt candidates = candidates(normalizedQuery);
+            while (candidates.hasNext()) {
+                int ordinal = candidates.nextInt();
+                if (prices[ordinal] < minScaledPrice || prices[ordinal] > maxScaledPrice || stocks[ordinal] < minStock) {
+                    continue;
+                }
+                Document document = documents.get(ordinal);
+                if (document == null || (verifyName && !document.normalizedName().contains(normalizedQuery))) {
+                    continue;
+                }
+                totalElements++;
+                if (topDocuments.size() < limit) {
+                    topDocuments.offer(document);
+                } else if (NAME_ORDER.compare(document, topDocuments.peek()) < 0) {
+                    topDocuments.poll();
+                    topDocuments.offer(document);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Document> sorted = new ArrayList<>(topDocuments);
+        sorted.sort(NAME_ORDER);
+        List<ProductDTO> content = sorted.subList((int) Math.min((long) page * size, sorted.size()), sorted.size()).stream()
+                .map(Document::product)
+                .toList();
+        int totalPages = (int) ((totalElements + size - 1) / size);
+
+        return new ProductPageDTO(content, page, size, totalElements, totalPages);
+    }
+
+    private void reload(List<UUID> uuidProducts) {
+        try {
+            List<Product> products = productRepository.findProductsByUuidIn(uuidProducts);
+            shardedStockLoader.load(products);
+            upsertAll(products);
+        } catch (RuntimeException e) {
+            log.warn("Product search index could not refresh the stock of products {}", uuidProducts, e);
+        }
+    }
+
+    private PrimitiveIterator.OfInt candidates(String normalizedQuery) {
+        if (normalizedQuery.isEmpty()) {
+            return IntStream.range(0, documents.size()).iterator();
+        }
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            List<PostingList> lists = postings.entrySet().stream()
+                    .filter(entry -> entry.getKey().contains(normalizedQuery))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            if (lists.stream().mapToLong(PostingList::size).sum() >= documents.size()) {
+                return IntStream.range(0, documents.size()).iterator();
+            }
+            BitSet ordinals = (BitSet) shortNameOrdinals.clone();
+            lists.forEach(postingList -> postingList.addTo(ordinals));
+            return ordinals.stream().iterator();
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(normalizedQuery)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return IntStream.empty().iterator();
+            }
+            lists.add(postingList);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] ordinals = lists.getFirst().toArray();
+        int size = ordinals.length;
+        for (PostingList other : lists.subList(1, lists.size())) {
+            size = other.retainAll(ordinals, size);
+        }
+        return Arrays.stream(ordinals, 0, size).iterator();
+    }
+
+    private void index(Product product) {
+        Document document = new Document(product.getId(), normalize(product.getName()), ProductMapper.toDTO(product));
+        Integer ordinal = ordinalsById.get(product.getId());
+
+        if (ordinal == null) {
+            ordinal = documents.size();
+            if (ordinal == prices.length) {
+                prices = Arrays.copyOf(prices, ordinal * 2);
+                stocks = Arrays.copyOf(stocks, ordinal * 2);
+            }
+            prices[ordinal] = scale(product.getPrice(), RoundingMode.HALF_UP);
+            stocks[ordinal] = product.getAvailableStock();
+            documents.add(document);
+            ordinalsById.put(product.getId(), ordinal);
+            indexGrams(document.normalizedName(), ordinal);
+            return;
+        }
+
+        prices[ordinal] = scale(product.getPrice(), RoundingMode.HALF_UP);
+        stocks[ordinal] = product.getAvailableStock();
+        Document previous = documents.set(ordinal, document);
+        if (!previous.normalizedName().equals(document.normalizedName())) {
+            unindexGrams(previous.normalizedName(), ordinal);
+            indexGrams(document.normalizedName(), ordinal);
+        }
+    }
+
+    private void indexGrams(String normalizedName, int ordinal) {
+        shortNameOrdinals.set(ordinal, normalizedName.length() < GRAM_LENGTH);
+        for (String gram : grams(normalizedName)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void unindexGrams(String normalizedName, int ordinal) {
+        shortNameOrdinals.clear(ordinal);
+        for (String gram : grams(normalizedName)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList != null && postingList.remove(ordinal) && postingList.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            shortNameOrdinals.clear();
+            ordinalsById.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String normalizedText) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedText.length(); i++) {
+            grams.add(normalizedText.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static long scale(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(PRICE_SCALE, roundingMode).unscaledValue().longValue();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(Long id, String normalizedName, ProductDTO product) {
+        String name() {
+            return product.name();
+        }
+    }
+
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return ordinals[index];
+        }
+
+        void addTo(BitSet bitSet) {
+            for (int i = 0; i < size; i++) {
+                bitSet.set(ordinals[i]);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        int retainAll(int[] candidates, int candidateCount) {
+            int retained = 0;
+            int position = 0;
+            for (int i = 0; i < candidateCount && position < size; i++) {
+                int candidate = candidates[i];
+                while (position < size && ordinals[position] < candidate) {
+                    position++;
+                }
+                if (position < size && ordinals[position] == candidate) {
+                    candidates[retained++] = candidate;
+                }
+            }
+            return retained;
+        }
+
+        void add(int ordinal) {
+            int position = size > 0 && ordinals[size - 1] >= ordinal ? Arrays.binarySearch(ordinals, 0, size, ordinal) : -size - 1;
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+            ordinals[position] = ordinal;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
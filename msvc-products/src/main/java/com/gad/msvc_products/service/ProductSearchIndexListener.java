@@ -0,0 +1,43 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.model.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexListener {
+    private final ObjectProvider<ProductSearchIndex> productSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        afterCommit(() -> productSearchIndex.ifAvailable(index -> index.upsert(product)));
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        Long id = product.getId();
+        afterCommit(() -> productSearchIndex.ifAvailable(index -> index.remove(id)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,49 +1,136 @@
 package com.gad.msvc_products.service;
 
+import com.gad.msvc_commons.cache.CacheBatches;
+import com.gad.msvc_products.dto.ProductBatchDTO;
+import com.gad.msvc_products.dto.ProductCursorPageDTO;
 import com.gad.msvc_products.dto.ProductDTO;
 import com.gad.msvc_products.dto.ProductPageDTO;
 import com.gad.msvc_products.exception.ProductNotFoundException;
 import com.gad.msvc_products.model.Product;
 import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.utils.ProductCursor;
 import com.gad.msvc_products.utils.ProductMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
+    private static final String PRODUCTS_BY_UUID_CACHE = "productsByUuid";
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ShardedStockLoader shardedStockLoader;
+    private final CacheManager cacheManager;
 
-    @Cacheable(value = "productsByUuid", key = "#uuid")
+    @Cacheable(value = "productsByUuid", key = "#uuid", sync = true)
     @Transactional(readOnly = true)
     public ProductDTO getProductByUuid(String uuid) {
         UUID uuidProduct = UUID.fromString(uuid);
         Product product = productRepository.findProductByUuid(uuidProduct).orElseThrow(() -> new ProductNotFoundException("Product not found with uuid: " + uuidProduct));
+        shardedStockLoader.load(List.of(product));
         return ProductMapper.toDTO(product);
     }
 
     @Cacheable(value = "listProductsByNameAndPriceAndStock",
-            key = "'page:' + #pageable.pageNumber + '-size:' + #pageable.pageSize + '-sort:' + #pageable.sort.toString() + '-name:' + #name + '-min:' + #minPrice + '-max:' + #maxPrice + '-stock:' + #stock")
+            key = "'page:' + #pageable.pageNumber + '-size:' + #pageable.pageSize + '-sort:' + #pageable.sort.toString() + '-name:' + #name + '-min:' + #minPrice + '-max:' + #maxPrice + '-stock:' + #stock", sync = true)
     @Transactional(readOnly = true)
     public ProductPageDTO getAllProductsByNameAndPriceAndStock(Pageable pageable, String name, BigDecimal minPrice, BigDecimal maxPrice, Integer stock) {
-        if (name != null && !name.isEmpty() && productRepository.findProductsByNameContainingIgnoreCase(pageable, name).isEmpty()) {
-            throw new ProductNotFoundException("Product not found with word: " + name);
-        }
-
-        Page<ProductDTO> products = productRepository.findProductsByNameAndPriceAndStock(pageable, name, minPrice, maxPrice, stock)
-                .map(ProductMapper::toDTO);
+        Page<Product> productPage = productRepository.findProductsByNameAndPriceAndStock(pageable, name, minPrice, maxPrice, stock);
+        shardedStockLoader.load(productPage);
+        Page<ProductDTO> products = productPage.map(ProductMapper::toDTO);
 
         if (products.isEmpty()) {
-            throw new ProductNotFoundException("No products found with the given criteria");
+            throw productNotFound(name);
         }
 
         return new ProductPageDTO(products.getContent(), products.getNumber(), products.getSize(), products.getTotalElements(), products.getTotalPages());
     }
+
+    @Cacheable(value = "listProductsByNameAndPriceAndStockAfter",
+            key = "'after:' + #after + '-size:' + #size + '-total:' + #includeTotal + '-name:' + #name + '-min:' + #minPrice + '-max:' + #maxPrice + '-stock:' + #stock", sync = true)
+    @Transactional(readOnly = true)
+    public ProductCursorPageDTO getProductsByNameAndPriceAndStockAfter(String after, int size, boolean includeTotal, String name, BigDecimal minPrice, BigDecimal maxPrice, Integer stock) {
+        boolean firstPage = after == null || after.isEmpty();
+        ProductCursor cursor = firstPage ? ProductCursor.FIRST : ProductCursor.decode(after);
+
+        List<Product> products = productRepository.findProductsByNameAndPriceAndStockAfter(name, minPrice, maxPrice, stock,
+                cursor.name(), cursor.id(), Limit.of(size + 1));
+
+        if (firstPage && products.isEmpty()) {
+            throw productNotFound(name);
+        }
+
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+        shardedStockLoader.load(page);
+        String nextCursor = hasNext ? new ProductCursor(page.getLast().getName(), page.getLast().getId()).encode() : null;
+        Long totalElements = includeTotal ? productRepository.countProductsByNameAndPriceAndStock(name, minPrice, maxPrice, stock) : null;
+
+        return new ProductCursorPageDTO(page.stream().map(ProductMapper::toDTO).toList(), size, nextCursor, hasNext, totalElements);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductBatchDTO getProductsByUuids(List<String> uuids) {
+        List<String> keys = uuids.stream().map(uuid -> UUID.fromString(uuid).toString()).distinct().toList();
+        Map<String, ProductDTO> products = CacheBatches.getAll(cacheManager.getCache(PRODUCTS_BY_UUID_CACHE), keys, ProductDTO.class);
+
+        List<UUID> uncached = keys.stream().filter(key -> !products.containsKey(key)).map(UUID::fromString).toList();
+        if (!uncached.isEmpty()) {
+            Map<String, ProductDTO> loaded = new HashMap<>();
+            List<Product> found = productRepository.findProductsByUuidIn(uncached);
+            shardedStockLoader.load(found);
+            for (Product product : found) {
+                ProductDTO productDTO = ProductMapper.toDTO(product);
+                products.put(product.getUuid().toString(), productDTO);
+                loaded.put(product.getUuid().toString(), productDTO);
+            }
+            CacheBatches.putAll(cacheManager.getCache(PRODUCTS_BY_UUID_CACHE), loaded);
+        }
+
+        return new ProductBatchDTO(
+                keys.stream().map(products::get).filter(Objects::nonNull).toList(),
+                keys.stream().filter(key -> !products.containsKey(key)).map(UUID::fromString).toList());
+    }
+
+    public ProductPageDTO searchProducts(String query, BigDecimal minPrice, BigDecimal maxPrice, Integer stock, int page, int size) {
+        ProductPageDTO products;
+        if (productSearchIndex.isReady()) {
+            products = productSearchIndex.search(query, minPrice, maxPrice, stock, page, size);
+        } else {
+            Page<Product> found = productRepository.findProductsByNameAndPriceAndStock(
+                    PageRequest.of(page, size, Sort.by("name", "id")), query, minPrice, maxPrice, stock);
+            shardedStockLoader.load(found);
+            Page<ProductDTO> productPage = found.map(ProductMapper::toDTO);
+            products = new ProductPageDTO(productPage.getContent(), productPage.getNumber(), productPage.getSize(), productPage.getTotalElements(), productPage.getTotalPages());
+        }
+
+        if (products.totalElements() == 0) {
+            throw productNotFound(query);
+        }
+
+        return products;
+    }
+
+    private ProductNotFoundException productNotFound(String name) {
+        if (name != null && !name.isEmpty() && !productRepository.existsByNameContainingIgnoreCase(name)) {
+            return new ProductNotFoundException("Product not found with word: " + name);
+        }
+        return new ProductNotFoundException("No products found with the given criteria");
+    }
 }
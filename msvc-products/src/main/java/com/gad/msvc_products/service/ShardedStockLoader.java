@@ -0,0 +1,36 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import com.gad.msvc_products.repository.ProductStockShardRepository.ShardedStock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ShardedStockLoader {
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StockShardingProperties stockShardingProperties;
+
+    public void load(Iterable<Product> products) {
+        Map<UUID, Product> shardedProducts = new HashMap<>();
+        for (Product product : products) {
+            if (stockShardingProperties.isSharded(product.getUuid())) {
+                shardedProducts.put(product.getUuid(), product);
+            }
+        }
+        if (shardedProducts.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Long> stocks = productStockShardRepository.sumStockByUuidProductIn(shardedProducts.keySet()).stream()
+                .collect(Collectors.toMap(ShardedStock::getUuidProduct, ShardedStock::getStock));
+        shardedProducts.forEach((uuid, product) -> product.setShardedStock(Math.toIntExact(stocks.getOrDefault(uuid, 0L))));
+    }
+}
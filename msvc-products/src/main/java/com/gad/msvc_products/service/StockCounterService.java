@@ -0,0 +1,128 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.model.ProductStockShard;
+import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+public class StockCounterService {
+    private final ProductRepository productRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StockShardingProperties stockShardingProperties;
+    private final ProductSearchIndex productSearchIndex;
+
+    @Transactional
+    public boolean decrement(UUID uuidProduct, int amount) {
+        if (!decrementCounters(uuidProduct, amount)) {
+            return false;
+        }
+        productSearchIndex.refresh(List.of(uuidProduct));
+        return true;
+    }
+
+    @Transactional
+    public void increment(UUID uuidProduct, int amount) {
+        incrementCounters(uuidProduct, amount);
+        productSearchIndex.refresh(List.of(uuidProduct));
+    }
+
+    @Transactional
+    public void rebalance(UUID uuidProduct) {
+        List<ProductStockShard> shards = productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct);
+        Optional<Product> product = productRepository.findLockedProductByUuid(uuidProduct);
+        if (product.isEmpty()) {
+            productStockShardRepository.deleteShardsByUuidProduct(uuidProduct);
+            return;
+        }
+
+        int unshardedStock = product.get().getStock();
+        int total = unshardedStock + shards.stream().mapToInt(ProductStockShard::getStock).sum();
+        int shardCount = stockShardingProperties.getShardCount();
+        if (shards.size() != shardCount) {
+            productStockShardRepository.deleteShardsByUuidProduct(uuidProduct);
+            productStockShardRepository.saveAll(IntStream.range(0, shardCount)
+                    .mapToObj(shard -> new ProductStockShard(null, uuidProduct, shard, share(total, shardCount, shard)))
+                    .toList());
+        } else {
+            shards.stream()
+                    .filter(shard -> shard.getStock() != share(total, shardCount, shard.getShard()))
+                    .forEach(shard -> productStockShardRepository.updateShard(uuidProduct, shard.getShard(), share(total, shardCount, shard.getShard())));
+        }
+        if (unshardedStock != 0) {
+            productRepository.updateStock(uuidProduct, 0);
+        }
+        productSearchIndex.refresh(List.of(uuidProduct));
+    }
+
+    @Transactional
+    public void unshard(UUID uuidProduct) {
+        int total = productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct).stream()
+                .mapToInt(ProductStockShard::getStock)
+                .sum();
+        if (total > 0) {
+            productRepository.incrementStock(uuidProduct, total);
+        }
+        productStockShardRepository.deleteShardsByUuidProduct(uuidProduct);
+        productSearchIndex.refresh(List.of(uuidProduct));
+    }
+
+    private boolean decrementCounters(UUID uuidProduct, int amount) {
+        if (!stockShardingProperties.isSharded(uuidProduct)) {
+            return productRepository.decrementStock(uuidProduct, amount) == 1;
+        }
+
+        int shardCount = stockShardingProperties.getShardCount();
+        int first = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (first + i) % shardCount;
+            if (productStockShardRepository.findUnlockedShardWithStock(uuidProduct, shard, amount).isPresent()) {
+                return productStockShardRepository.decrementShard(uuidProduct, shard, amount) == 1;
+            }
+        }
+        if (productStockShardRepository.decrementShard(uuidProduct, first, amount) == 1) {
+            return true;
+        }
+
+        List<ProductStockShard> shards = productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct);
+        int shardedStock = shards.stream().mapToInt(ProductStockShard::getStock).sum();
+        if (shardedStock < amount && productRepository.decrementStock(uuidProduct, amount - shardedStock) != 1) {
+            return false;
+        }
+
+        int remaining = Math.min(amount, shardedStock);
+        for (ProductStockShard shard : shards) {
+            int taken = Math.min(shard.getStock(), remaining);
+            if (taken > 0) {
+                productStockShardRepository.decrementShard(uuidProduct, shard.getShard(), taken);
+                remaining -= taken;
+            }
+        }
+        return true;
+    }
+
+    private void incrementCounters(UUID uuidProduct, int amount) {
+        if (stockShardingProperties.isSharded(uuidProduct)) {
+            int shard = ThreadLocalRandom.current().nextInt(stockShardingProperties.getShardCount());
+            if (productStockShardRepository.incrementShard(uuidProduct, shard, amount) == 1) {
+                return;
+            }
+        }
+        productRepository.incrementStock(uuidProduct, amount);
+    }
+
+    private static int share(int total, int shardCount, int shard) {
+        return total / shardCount + (shard < total % shardCount ? 1 : 0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockReservationProperties;
+import com.gad.msvc_products.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationReaper {
+    private final StockReservationRepository stockReservationRepository;
+    private final StockReservationService stockReservationService;
+    private final StockReservationProperties stockReservationProperties;
+
+    @Scheduled(fixedDelayString = "${stock.reservation.release-interval:30s}")
+    public int releaseExpiredReservations() {
+        int released = 0;
+        for (UUID uuidReservation : stockReservationRepository.findExpiredReservationUuids(Instant.now(),
+                Limit.of(stockReservationProperties.getReleaseBatchSize()))) {
+            try {
+                if (stockReservationService.releaseExpired(uuidReservation)) {
+                    released++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Expired stock reservation {} could not be released", uuidReservation, e);
+            }
+        }
+
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+        return released;
+    }
+}
@@ -0,0 +1,133 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockReservationProperties;
+import com.gad.msvc_products.dto.StockReservationDTO;
+import com.gad.msvc_products.dto.StockReservationLineDTO;
+import com.gad.msvc_products.dto.StockReservationRequest;
+import com.gad.msvc_products.exception.ProductNotFoundException;
+import com.gad.msvc_products.exception.StockNotAvailableException;
+import com.gad.msvc_products.exception.StockReservationNotFoundException;
+import com.gad.msvc_products.exception.StockReservationStateException;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.model.StockReservation;
+import com.gad.msvc_products.model.StockReservationStatus;
+import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+    private static final String PRODUCTS_BY_UUID_CACHE = "productsByUuid";
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final StockCounterService stockCounterService;
+    private final ShardedStockLoader shardedStockLoader;
+    private final CacheManager cacheManager;
+    private final StockReservationProperties stockReservationProperties;
+
+    @Transactional
+    public StockReservationDTO reserve(StockReservationRequest stockReservationRequest) {
+        Map<UUID, Integer> amounts = new TreeMap<>();
+        stockReservationRequest.lines().forEach(line -> amounts.merge(UUID.fromString(line.uuidProduct()), line.amount(), Integer::sum));
+
+        for (Map.Entry<UUID, Integer> entry : amounts.entrySet()) {
+            if (!stockCounterService.decrement(entry.getKey(), entry.getValue())) {
+                Product product = productRepository.findProductByUuid(entry.getKey())
+                        .orElseThrow(() -> new ProductNotFoundException("Product not found with uuid: " + entry.getKey()));
+                shardedStockLoader.load(List.of(product));
+                throw new StockNotAvailableException("The amount requested " + entry.getValue() + " exceeds the stock of the product " + product.getName() + " with stock " + product.getAvailableStock());
+            }
+        }
+
+        UUID uuidReservation = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(stockReservationProperties.getTtl());
+        List<StockReservation> reservations = amounts.entrySet().stream()
+                .map(entry -> new StockReservation(null, uuidReservation, entry.getKey(), entry.getValue(), StockReservationStatus.RESERVED, expiresAt))
+                .toList();
+        stockReservationRepository.saveAll(reservations);
+        publishStockChange(amounts.keySet());
+
+        return toDTO(reservations);
+    }
+
+    @Transactional
+    public StockReservationDTO confirm(String uuid) {
+        UUID uuidReservation = UUID.fromString(uuid);
+        if (stockReservationRepository.completeReservation(uuidReservation, StockReservationStatus.CONFIRMED, Instant.now()) == 0) {
+            throw invalidState(findReservations(uuidReservation), "confirmed");
+        }
+        return toDTO(findReservations(uuidReservation));
+    }
+
+    @Transactional
+    public StockReservationDTO release(String uuid) {
+        UUID uuidReservation = UUID.fromString(uuid);
+        if (!releaseReservation(uuidReservation)) {
+            List<StockReservation> reservations = findReservations(uuidReservation);
+            if (reservations.getFirst().getStatus() != StockReservationStatus.RELEASED) {
+                throw invalidState(reservations, "released");
+            }
+        }
+        return toDTO(findReservations(uuidReservation));
+    }
+
+    @Transactional
+    public boolean releaseExpired(UUID uuidReservation) {
+        return releaseReservation(uuidReservation);
+    }
+
+    private boolean releaseReservation(UUID uuidReservation) {
+        if (stockReservationRepository.releaseReservation(uuidReservation) == 0) {
+            return false;
+        }
+
+        List<StockReservation> reservations = stockReservationRepository.findStockReservationsByUuid(uuidReservation).stream()
+                .sorted(Comparator.comparing(StockReservation::getUuidProduct))
+                .toList();
+        reservations.forEach(reservation -> stockCounterService.increment(reservation.getUuidProduct(), reservation.getAmount()));
+        publishStockChange(reservations.stream().map(StockReservation::getUuidProduct).toList());
+        return true;
+    }
+
+    private void publishStockChange(Collection<UUID> uuidProducts) {
+        Cache cache = cacheManager.getCache(PRODUCTS_BY_UUID_CACHE);
+        if (cache != null) {
+            Cache afterCommitCache = new TransactionAwareCacheDecorator(cache);
+            uuidProducts.forEach(uuidProduct -> afterCommitCache.evict(uuidProduct.toString()));
+        }
+    }
+
+    private List<StockReservation> findReservations(UUID uuidReservation) {
+        List<StockReservation> reservations = stockReservationRepository.findStockReservationsByUuid(uuidReservation);
+        if (reservations.isEmpty()) {
+            throw new StockReservationNotFoundException("Stock reservation not found with uuid: " + uuidReservation);
+        }
+        return reservations;
+    }
+
+    private static StockReservationStateException invalidState(List<StockReservation> reservations, String action) {
+        StockReservation reservation = reservations.getFirst();
+        String reason = reservation.getStatus() == StockReservationStatus.RESERVED ? "it has expired" : "it is " + reservation.getStatus();
+        return new StockReservationStateException("Stock reservation " + reservation.getUuid() + " cannot be " + action + " because " + reason);
+    }
+
+    private static StockReservationDTO toDTO(List<StockReservation> reservations) {
+        StockReservation reservation = reservations.getFirst();
+        return new StockReservationDTO(
+                reservation.getUuid(),
+                reservation.getStatus(),
+                reservation.getExpiresAt(),
+                reservations.stream().map(line -> new StockReservationLineDTO(line.getUuidProduct(), line.getAmount())).toList()
+        );
+    }
+}
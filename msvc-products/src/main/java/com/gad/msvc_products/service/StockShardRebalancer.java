@@ -0,0 +1,44 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockShardRebalancer {
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StockCounterService stockCounterService;
+    private final StockShardingProperties stockShardingProperties;
+
+    @Scheduled(fixedDelayString = "${stock.sharding.rebalance-interval:10s}")
+    public void rebalanceShards() {
+        Set<UUID> hotProducts = stockShardingProperties.isEnabled() ? stockShardingProperties.getHotProducts() : Set.of();
+
+        for (UUID uuidProduct : hotProducts) {
+            try {
+                stockCounterService.rebalance(uuidProduct);
+            } catch (RuntimeException e) {
+                log.warn("Stock shards of product {} could not be rebalanced", uuidProduct, e);
+            }
+        }
+
+        for (UUID uuidProduct : productStockShardRepository.findShardedProductUuids()) {
+            if (!hotProducts.contains(uuidProduct)) {
+                try {
+                    stockCounterService.unshard(uuidProduct);
+                    log.info("Stock of product {} merged back into a single counter", uuidProduct);
+                } catch (RuntimeException e) {
+                    log.warn("Stock shards of product {} could not be merged", uuidProduct, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.gad.msvc_products.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+public class EntityTags {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private EntityTags() {
+    }
+
+    public static String of(Object content) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(OBJECT_MAPPER.writeValueAsBytes(content)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not compute the entity tag of " + content.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.gad.msvc_products.utils;
+
+import com.gad.msvc_products.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ProductCursor(
+        String name,
+        Long id
+) {
+    public static final ProductCursor FIRST = new ProductCursor("", 0L);
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ProductCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -11,6 +11,6 @@ public class ProductMapper {
     @Nullable
     public static ProductDTO toDTO(@Nullable final Product product) {
         if(product == null) return null;
-        return new ProductDTO(product.getUuid(), product.getName(), product.getPrice(), product.getStock());
+        return new ProductDTO(product.getUuid(), product.getName(), product.getPrice(), product.getAvailableStock());
     }
 }
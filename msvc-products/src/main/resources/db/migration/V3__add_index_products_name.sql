@@ -0,0 +1 @@
+CREATE INDEX idx_products_name_id ON products (name, id_product);
@@ -0,0 +1,11 @@
+CREATE TABLE stock_reservations
+(
+    id_reservation   BIGINT PRIMARY KEY AUTO_INCREMENT,
+    uuid_reservation BINARY(16)  NOT NULL,
+    uuid_product     BINARY(16)  NOT NULL,
+    amount           INT         NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    expires_at       DATETIME(3) NOT NULL
+);
+CREATE INDEX idx_stock_reservations_uuid ON stock_reservations (uuid_reservation);
+CREATE INDEX idx_stock_reservations_status_expires ON stock_reservations (status, expires_at);
@@ -0,0 +1,8 @@
+CREATE TABLE product_stock_shards
+(
+    id_shard     BIGINT PRIMARY KEY AUTO_INCREMENT,
+    uuid_product BINARY(16) NOT NULL,
+    shard        INT        NOT NULL,
+    stock        INT        NOT NULL,
+    CONSTRAINT uk_product_stock_shards_product_shard UNIQUE (uuid_product, shard)
+);
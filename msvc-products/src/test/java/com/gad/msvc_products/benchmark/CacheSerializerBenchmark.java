@@ -0,0 +1,76 @@
+package com.gad.msvc_products.benchmark;
+
+import com.gad.msvc_commons.cache.CacheSerializationFormat;
+import com.gad.msvc_commons.cache.VersionedCacheSerializer;
+import com.gad.msvc_products.dto.ProductCursorPageDTO;
+import com.gad.msvc_products.dto.ProductDTO;
+import com.gad.msvc_products.dto.ProductPageDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"product", "productPage", "productCursorPage"})
+    private String value;
+
+    private RedisSerializer<Object> serializer;
+    private Object cachedValue;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = "json".equals(format)
+                ? new GenericJackson2JsonRedisSerializer()
+                : new VersionedCacheSerializer(CacheSerializationFormat.SMILE);
+
+        List<ProductDTO> products = IntStream.range(0, 20)
+                .mapToObj(i -> new ProductDTO(UUID.randomUUID(), "Product " + i, BigDecimal.valueOf(1999 + i, 2), i))
+                .toList();
+        cachedValue = switch (value) {
+            case "product" -> products.getFirst();
+            case "productPage" -> new ProductPageDTO(products, 0, 20, 1000, 50);
+            default -> new ProductCursorPageDTO(products, 20, "MTIzOlByb2R1Y3QgMTk", true, null);
+        };
+        encoded = serializer.serialize(cachedValue);
+
+        if (!cachedValue.equals(serializer.deserialize(encoded))) {
+            throw new IllegalStateException("Value does not round-trip with " + format);
+        }
+        System.out.printf("%n%s %s: %d bytes per entry%n", format, value, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(cachedValue);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
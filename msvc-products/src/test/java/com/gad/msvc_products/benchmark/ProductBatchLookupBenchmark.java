@@ -0,0 +1,181 @@
+package com.gad.msvc_products.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gad.msvc_products.dto.ProductBatchDTO;
+import com.gad.msvc_products.dto.ProductBatchRequest;
+import com.gad.msvc_products.dto.ProductDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductBatchLookupBenchmark {
+    private static final int PRODUCTS = 100_000;
+    private static final String SELECT_ONE = "SELECT uuid_product, name, price, stock FROM products WHERE uuid_product = ?";
+
+    @Param({"1", "10", "50", "100", "500"})
+    private int batchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random(42);
+    private Connection connection;
+    private HttpServer server;
+    private HttpClient client;
+    private URI singleUri;
+    private URI batchUri;
+    private List<UUID> catalog;
+    private List<String> requested;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:batch;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id_product BIGINT PRIMARY KEY,
+                        uuid_product UUID NOT NULL UNIQUE,
+                        name VARCHAR(200) NOT NULL,
+                        price DECIMAL(10, 2) NOT NULL,
+                        stock INT NOT NULL
+                    )
+                    """);
+        }
+        catalog = new ArrayList<>(PRODUCTS);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= PRODUCTS; id++) {
+                UUID uuid = UUID.randomUUID();
+                catalog.add(uuid);
+                insert.setLong(1, id);
+                insert.setObject(2, uuid);
+                insert.setString(3, "Product " + id);
+                insert.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(100_000), 2));
+                insert.setInt(5, random.nextInt(500));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/api/v1/products/batch", this::handleBatch);
+        server.createContext("/api/v1/products/", this::handleSingle);
+        server.start();
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/products/";
+        singleUri = URI.create(baseUri);
+        batchUri = URI.create(baseUri + "batch");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Setup(Level.Invocation)
+    public void pickProducts() {
+        requested = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requested.add(catalog.get(random.nextInt(PRODUCTS)).toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        server.stop(0);
+        connection.close();
+    }
+
+    @Benchmark
+    public List<ProductDTO> perItemLookups() throws IOException, InterruptedException {
+        List<ProductDTO> products = new ArrayList<>(requested.size());
+        for (String uuid : requested) {
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(singleUri.resolve(uuid)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            products.add(objectMapper.readValue(response.body(), ProductDTO.class));
+        }
+        return products;
+    }
+
+    @Benchmark
+    public ProductBatchDTO batchLookup() throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(new ProductBatchRequest(requested));
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(batchUri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), ProductBatchDTO.class);
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        UUID uuid = UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ONE)) {
+            statement.setObject(1, uuid);
+            List<ProductDTO> products = read(statement);
+            respond(exchange, objectMapper.writeValueAsBytes(products.getFirst()));
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        ProductBatchRequest request = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {
+        });
+        List<UUID> uuids = request.uuidProducts().stream().map(UUID::fromString).distinct().toList();
+        String placeholders = String.join(",", Collections.nCopies(uuids.size(), "?"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT uuid_product, name, price, stock FROM products WHERE uuid_product IN (" + placeholders + ")")) {
+            for (int i = 0; i < uuids.size(); i++) {
+                statement.setObject(i + 1, uuids.get(i));
+            }
+            respond(exchange, objectMapper.writeValueAsBytes(new ProductBatchDTO(read(statement), List.of())));
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static List<ProductDTO> read(PreparedStatement statement) throws SQLException {
+        List<ProductDTO> products = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                products.add(new ProductDTO(resultSet.getObject(1, UUID.class), resultSet.getString(2),
+                        resultSet.getBigDecimal(3), resultSet.getInt(4)));
+            }
+        }
+        return products;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductBatchLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
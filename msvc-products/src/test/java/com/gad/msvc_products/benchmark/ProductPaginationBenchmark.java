@@ -0,0 +1,131 @@
+package com.gad.msvc_products.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPaginationBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int PRODUCTS = 10_000 * PAGE_SIZE;
+
+    private static final String OFFSET_QUERY = """
+            SELECT id_product, uuid_product, name, price, stock FROM products
+            ORDER BY name ASC, id_product ASC
+            LIMIT ? OFFSET ?
+            """;
+    private static final String COUNT_QUERY = "SELECT COUNT(*) FROM products";
+    private static final String KEYSET_QUERY = """
+            SELECT id_product, uuid_product, name, price, stock FROM products
+            WHERE name >= ? AND (name > ? OR id_product > ?)
+            ORDER BY name ASC, id_product ASC
+            LIMIT ?
+            """;
+
+    @Param({"1", "100", "1000", "10000"})
+    private int page;
+
+    private Connection connection;
+    private String afterName = "";
+    private long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:products;MODE=MySQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id_product INT PRIMARY KEY AUTO_INCREMENT,
+                        uuid_product UUID DEFAULT RANDOM_UUID() NOT NULL,
+                        name VARCHAR(200) NOT NULL,
+                        price DECIMAL(10, 2) NOT NULL,
+                        stock INT NOT NULL
+                    )
+                    """);
+            statement.execute("CREATE INDEX idx_products_name_id ON products (name, id_product)");
+        }
+
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products (name, price, stock) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < PRODUCTS; i++) {
+                insert.setString(1, "Product " + random.nextInt(PRODUCTS / 4));
+                insert.setBigDecimal(2, BigDecimal.valueOf(random.nextInt(100_000), 2));
+                insert.setInt(3, random.nextInt(500));
+                insert.addBatch();
+                if (i % 5_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        if (page > 1) {
+            try (PreparedStatement previous = connection.prepareStatement(OFFSET_QUERY)) {
+                previous.setInt(1, 1);
+                previous.setInt(2, (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet resultSet = previous.executeQuery()) {
+                    resultSet.next();
+                    afterId = resultSet.getLong("id_product");
+                    afterName = resultSet.getString("name");
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPageWithCount(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(OFFSET_QUERY)) {
+            query.setInt(1, PAGE_SIZE);
+            query.setInt(2, (page - 1) * PAGE_SIZE);
+            consume(query, blackhole);
+        }
+        try (Statement count = connection.createStatement(); ResultSet resultSet = count.executeQuery(COUNT_QUERY)) {
+            resultSet.next();
+            blackhole.consume(resultSet.getLong(1));
+        }
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(KEYSET_QUERY)) {
+            query.setString(1, afterName);
+            query.setString(2, afterName);
+            query.setLong(3, afterId);
+            query.setInt(4, PAGE_SIZE + 1);
+            consume(query, blackhole);
+        }
+    }
+
+    private void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong("id_product"));
+                blackhole.consume(resultSet.getString("name"));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductPaginationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
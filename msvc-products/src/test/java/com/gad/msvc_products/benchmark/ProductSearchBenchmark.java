@@ -0,0 +1,140 @@
+package com.gad.msvc_products.benchmark;
+
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchBenchmark {
+    private static final int PRODUCTS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(50);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(500);
+    private static final int MIN_STOCK = 10;
+    private static final String[] BRANDS = {"Acme", "Globex", "Initech", "Umbrella", "Stark", "Wayne", "Hooli", "Vandelay"};
+    private static final String[] ADJECTIVES = {"Wireless", "Gaming", "Ergonomic", "Portable", "Compact", "Premium", "Smart", "Classic"};
+    private static final String[] NOUNS = {"Mouse", "Keyboard", "Headset", "Monitor", "Speaker", "Webcam", "Charger", "Router", "Tablet", "Lamp"};
+
+    private static final String JPQL_EQUIVALENT_QUERY = """
+            SELECT id_product, uuid_product, name, price, stock FROM products
+            WHERE LOWER(name) LIKE LOWER(CONCAT('%', ?, '%'))
+            AND price >= ? AND price <= ? AND stock >= ?
+            ORDER BY name ASC, id_product ASC
+            LIMIT ? OFFSET 0
+            """;
+    private static final String JPQL_EQUIVALENT_COUNT = """
+            SELECT COUNT(*) FROM products
+            WHERE LOWER(name) LIKE LOWER(CONCAT('%', ?, '%'))
+            AND price >= ? AND price <= ? AND stock >= ?
+            """;
+
+    @Param({"wayne ergonomic webcam 4242", "keyboard", "x"})
+    private String query;
+
+    private Connection connection;
+    private ProductSearchIndex productSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search;MODE=MySQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id_product BIGINT PRIMARY KEY,
+                        uuid_product UUID NOT NULL,
+                        name VARCHAR(200) NOT NULL,
+                        price DECIMAL(10, 2) NOT NULL,
+                        stock INT NOT NULL
+                    )
+                    """);
+            statement.execute("CREATE INDEX idx_products_name_id ON products (name, id_product)");
+        }
+
+        productSearchIndex = new ProductSearchIndex(null, null);
+        Random random = new Random(42);
+        List<Product> batch = new ArrayList<>();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= PRODUCTS; id++) {
+                Product product = new Product(id, UUID.randomUUID(),
+                        BRANDS[random.nextInt(BRANDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                                + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(10_000),
+                        BigDecimal.valueOf(random.nextInt(100_000), 2), random.nextInt(500), null);
+                insert.setLong(1, product.getId());
+                insert.setObject(2, product.getUuid());
+                insert.setString(3, product.getName());
+                insert.setBigDecimal(4, product.getPrice());
+                insert.setInt(5, product.getStock());
+                insert.addBatch();
+                batch.add(product);
+                if (batch.size() == 10_000) {
+                    insert.executeBatch();
+                    productSearchIndex.upsertAll(batch);
+                    batch.clear();
+                }
+            }
+            insert.executeBatch();
+            productSearchIndex.upsertAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void jpqlLikeQuery(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(JPQL_EQUIVALENT_QUERY)) {
+            bindFilters(statement);
+            statement.setInt(5, PAGE_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getString("name"));
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(JPQL_EQUIVALENT_COUNT)) {
+            bindFilters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object searchIndex() {
+        return productSearchIndex.search(query, MIN_PRICE, MAX_PRICE, MIN_STOCK, 0, PAGE_SIZE);
+    }
+
+    private void bindFilters(PreparedStatement statement) throws SQLException {
+        statement.setString(1, query);
+        statement.setBigDecimal(2, MIN_PRICE);
+        statement.setBigDecimal(3, MAX_PRICE);
+        statement.setInt(4, MIN_STOCK);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
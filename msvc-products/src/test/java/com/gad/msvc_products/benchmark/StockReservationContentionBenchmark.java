@@ -0,0 +1,175 @@
+package com.gad.msvc_products.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StockReservationContentionBenchmark {
+    private static final int HOT_SKUS = 5;
+    private static final int STOCK_PER_SKU = 1_000;
+    private static final int RESERVATIONS = 10_000;
+    private static final int CLIENTS = 64;
+
+    private static final String CONDITIONAL_DECREMENT = "UPDATE products SET stock = stock - ? WHERE uuid_product = ? AND stock >= ?";
+    private static final String SELECT_STOCK = "SELECT stock FROM products WHERE uuid_product = ?";
+    private static final String SELECT_STOCK_FOR_UPDATE = SELECT_STOCK + " FOR UPDATE";
+    private static final String WRITE_STOCK = "UPDATE products SET stock = ? WHERE uuid_product = ?";
+
+    @Param({"conditional-update", "read-check-write", "select-for-update"})
+    private String strategy;
+
+    private HikariDataSource dataSource;
+    private ExecutorService clients;
+    private List<UUID> hotSkus;
+    private final AtomicInteger accepted = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:reservations;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(CLIENTS);
+        clients = Executors.newFixedThreadPool(CLIENTS);
+
+        hotSkus = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id_product BIGINT PRIMARY KEY AUTO_INCREMENT,
+                        uuid_product UUID NOT NULL UNIQUE,
+                        name VARCHAR(200) NOT NULL,
+                        price DECIMAL(10, 2) NOT NULL,
+                        stock INT NOT NULL
+                    )
+                    """);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products (uuid_product, name, price, stock) VALUES (?, ?, 10, 0)")) {
+                for (int i = 0; i < HOT_SKUS; i++) {
+                    UUID uuid = UUID.randomUUID();
+                    hotSkus.add(uuid);
+                    insert.setObject(1, uuid);
+                    insert.setString(2, "Hot SKU " + i);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void restock() throws SQLException {
+        accepted.set(0);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE products SET stock = " + STOCK_PER_SKU);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void reportOversell() throws SQLException {
+        int oversold = accepted.get() - HOT_SKUS * STOCK_PER_SKU;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT SUM(stock) FROM products")) {
+            resultSet.next();
+            System.out.printf("%n%s: accepted %d of %d reservations, oversold %d units, %d units left%n",
+                    strategy, accepted.get(), RESERVATIONS, Math.max(oversold, 0), resultSet.getInt(1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int reserveHotSkus() throws InterruptedException, ExecutionException {
+        List<Future<?>> reservations = new ArrayList<>(RESERVATIONS);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            UUID sku = hotSkus.get(i % HOT_SKUS);
+            reservations.add(clients.submit(() -> {
+                if (reserve(sku, 1)) {
+                    accepted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> reservation : reservations) {
+            reservation.get();
+        }
+        return accepted.get();
+    }
+
+    private boolean reserve(UUID sku, int amount) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return switch (strategy) {
+                case "conditional-update" -> conditionalUpdate(connection, sku, amount);
+                case "read-check-write" -> readCheckWrite(connection, sku, amount, SELECT_STOCK);
+                case "select-for-update" -> lockedReadCheckWrite(connection, sku, amount);
+                default -> throw new IllegalStateException("Unknown strategy " + strategy);
+            };
+        }
+    }
+
+    private static boolean conditionalUpdate(Connection connection, UUID sku, int amount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CONDITIONAL_DECREMENT)) {
+            statement.setInt(1, amount);
+            statement.setObject(2, sku);
+            statement.setInt(3, amount);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private static boolean readCheckWrite(Connection connection, UUID sku, int amount, String select) throws SQLException {
+        int stock;
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            statement.setObject(1, sku);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                stock = resultSet.getInt(1);
+            }
+        }
+        if (stock < amount) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(WRITE_STOCK)) {
+            statement.setInt(1, stock - amount);
+            statement.setObject(2, sku);
+            statement.executeUpdate();
+        }
+        return true;
+    }
+
+    private static boolean lockedReadCheckWrite(Connection connection, UUID sku, int amount) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            boolean reserved = readCheckWrite(connection, sku, amount, SELECT_STOCK_FOR_UPDATE);
+            connection.commit();
+            return reserved;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StockReservationContentionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,193 @@
+package com.gad.msvc_products.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(32)
+@Fork(1)
+public class StockShardContentionBenchmark {
+    private static final long COMMIT_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int STOCK = 1_000_000_000;
+
+    private static final String DECREMENT_ROW = "UPDATE products SET stock = stock - ? WHERE uuid_product = ? AND stock >= ?";
+    private static final String SELECT_UNLOCKED_SHARD = "SELECT stock FROM product_stock_shards WHERE uuid_product = ? AND shard = ? AND stock >= ? FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_LOCKED_SHARDS = "SELECT shard, stock FROM product_stock_shards WHERE uuid_product = ? ORDER BY shard FOR UPDATE";
+    private static final String DECREMENT_SHARD = "UPDATE product_stock_shards SET stock = stock - ? WHERE uuid_product = ? AND shard = ? AND stock >= ?";
+    private static final String SUM_STOCK = """
+            SELECT p.stock + COALESCE((SELECT SUM(s.stock) FROM product_stock_shards s WHERE s.uuid_product = p.uuid_product), 0)
+            FROM products p WHERE p.uuid_product = ?
+            """;
+
+    @Param({"0", "4", "16"})
+    private int shards;
+
+    private HikariDataSource dataSource;
+    private UUID hotSku;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong attempted = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:shards;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(64);
+
+        hotSku = UUID.randomUUID();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS product_stock_shards");
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products (
+                        id_product BIGINT PRIMARY KEY AUTO_INCREMENT,
+                        uuid_product UUID NOT NULL UNIQUE,
+                        name VARCHAR(200) NOT NULL,
+                        price DECIMAL(10, 2) NOT NULL,
+                        stock INT NOT NULL
+                    )
+                    """);
+            statement.execute("""
+                    CREATE TABLE product_stock_shards (
+                        id_shard BIGINT PRIMARY KEY AUTO_INCREMENT,
+                        uuid_product UUID NOT NULL,
+                        shard INT NOT NULL,
+                        stock INT NOT NULL,
+                        CONSTRAINT uk_product_stock_shards UNIQUE (uuid_product, shard)
+                    )
+                    """);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products (uuid_product, name, price, stock) VALUES (?, 'Hot SKU', 10, ?)")) {
+                insert.setObject(1, hotSku);
+                insert.setInt(2, shards == 0 ? STOCK : 0);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO product_stock_shards (uuid_product, shard, stock) VALUES (?, ?, ?)")) {
+                for (int shard = 0; shard < shards; shard++) {
+                    insert.setObject(1, hotSku);
+                    insert.setInt(2, shard);
+                    insert.setInt(3, STOCK / shards);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(SUM_STOCK)) {
+            statement.setObject(1, hotSku);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                System.out.printf("%n%d shards: accepted %d of %d reservations, %d units reserved%n",
+                        shards, accepted.get(), attempted.get(), (shards == 0 ? STOCK : STOCK / shards * shards) - resultSet.getInt(1));
+            }
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean reserveHotSku() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                boolean reserved = shards == 0 ? decrementRow(connection, 1) : decrementShards(connection, 1);
+                LockSupport.parkNanos(COMMIT_LATENCY_NANOS);
+                connection.commit();
+                attempted.incrementAndGet();
+                if (reserved) {
+                    accepted.incrementAndGet();
+                }
+                return reserved;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private boolean decrementRow(Connection connection, int amount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DECREMENT_ROW)) {
+            statement.setInt(1, amount);
+            statement.setObject(2, hotSku);
+            statement.setInt(3, amount);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private boolean decrementShards(Connection connection, int amount) throws SQLException {
+        int first = ThreadLocalRandom.current().nextInt(shards);
+        int shard = findUnlockedShard(connection, first, amount);
+        if (shard >= 0) {
+            return decrementShard(connection, shard, amount);
+        }
+        if (decrementShard(connection, first, amount)) {
+            return true;
+        }
+        shard = lockShardWithStock(connection, amount);
+        return shard >= 0 ? decrementShard(connection, shard, amount) : decrementRow(connection, amount);
+    }
+
+    private boolean decrementShard(Connection connection, int shard, int amount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DECREMENT_SHARD)) {
+            statement.setInt(1, amount);
+            statement.setObject(2, hotSku);
+            statement.setInt(3, shard);
+            statement.setInt(4, amount);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private int findUnlockedShard(Connection connection, int first, int amount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_UNLOCKED_SHARD)) {
+            for (int i = 0; i < shards; i++) {
+                int shard = (first + i) % shards;
+                statement.setObject(1, hotSku);
+                statement.setInt(2, shard);
+                statement.setInt(3, amount);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return shard;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int lockShardWithStock(Connection connection, int amount) throws SQLException {
+        int shard = -1;
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_LOCKED_SHARDS)) {
+            statement.setObject(1, hotSku);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (shard < 0 && resultSet.getInt(2) >= amount) {
+                        shard = resultSet.getInt(1);
+                    }
+                }
+            }
+        }
+        return shard;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StockShardContentionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
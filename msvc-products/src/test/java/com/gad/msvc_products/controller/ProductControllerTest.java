@@ -1,9 +1,14 @@
 package com.gad.msvc_products.controller;
 
 import com.gad.msvc_products.assembler.ProductModelAssembler;
+import com.gad.msvc_products.config.ProductHttpCacheProperties;
+import com.gad.msvc_products.dto.ProductBatchDTO;
+import com.gad.msvc_products.dto.ProductBatchRequest;
+import com.gad.msvc_products.dto.ProductCursorPageDTO;
 import com.gad.msvc_products.dto.ProductDTO;
 import com.gad.msvc_products.dto.ProductPageDTO;
 import com.gad.msvc_products.exception.GlobalExceptionHandler;
+import com.gad.msvc_products.exception.InvalidCursorException;
 import com.gad.msvc_products.exception.ProductNotFoundException;
 import com.gad.msvc_products.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +25,8 @@ import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -27,6 +35,7 @@ import java.util.*;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +52,9 @@ class ProductControllerTest {
     @Mock
     private ProductModelAssembler productModelAssembler;
 
+    @Spy
+    private ProductHttpCacheProperties productHttpCacheProperties = new ProductHttpCacheProperties();
+
     @InjectMocks
     private ProductController productController;
 
@@ -93,6 +105,28 @@ class ProductControllerTest {
         verify(productService, times(1)).getProductByUuid(uuidProduct);
     }
 
+    @Test
+    @DisplayName("Should return an ETag and Cache-Control max-age and answer 304 when the ETag still matches")
+    void getProductByUuid_WhenIfNoneMatchIsCurrent_ReturnsStatus304() throws Exception {
+        String uuidProduct = uuid.toString();
+        when(productService.getProductByUuid(uuidProduct)).thenReturn(productDTO);
+
+        String etag = mockMvc.perform(get("/api/v1/products/{uuid}", uuid))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/products/{uuid}", uuid).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        when(productService.getProductByUuid(uuidProduct)).thenReturn(new ProductDTO(uuid, "Test Product", BigDecimal.valueOf(100), 9));
+        mockMvc.perform(get("/api/v1/products/{uuid}", uuid).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.stock").value(9));
+    }
+
     @Test
     @DisplayName("Should return status 404 and throw ProductNotFoundException when Uuid not exists")
     void getProductByUuid_WhenUuidNotExists_ReturnsStatus400AndThrowProductNotFoundException() throws Exception {
@@ -200,4 +234,94 @@ class ProductControllerTest {
         verify(productService, times(1))
                 .getAllProductsByNameAndPriceAndStock(any(), anyString(), any(BigDecimal.class), any(BigDecimal.class), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return status 200 and keyset page with next cursor when keyset mode is requested")
+    void getAllProductsByNameAndPriceAndStock_WhenKeysetRequested_ReturnsStatus200AndCursorPage() throws Exception {
+        ProductCursorPageDTO cursorPage = new ProductCursorPageDTO(List.of(productDTO), 5, "next-cursor", true, null);
+        when(productService.getProductsByNameAndPriceAndStockAfter(null, 5, false, "Product", null, null, null))
+                .thenReturn(cursorPage);
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", "Product")
+                        .param("keyset", "true")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.data.content[0].uuid_product").value(uuid.toString()))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").isEmpty());
+
+        verify(productService, never()).getAllProductsByNameAndPriceAndStock(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return status 400 when keyset cursor is invalid")
+    void getAllProductsByNameAndPriceAndStock_WhenCursorInvalid_ReturnsStatus400() throws Exception {
+        when(productService.getProductsByNameAndPriceAndStockAfter("bad", 5, false, null, null, null, null))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("after", "bad")
+                        .param("size", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    @DisplayName("Should return status 200 and paginated products when search matches")
+    void searchProducts_WhenQueryMatches_ReturnsStatus200AndPaginatedProducts() throws Exception {
+        when(productService.searchProducts("prod", BigDecimal.valueOf(50), null, null, 0, 5)).thenReturn(productPageDTO);
+        when(pagedResourcesAssembler.toModel(any(Page.class), any(ProductModelAssembler.class)))
+                .thenReturn(PagedModel.of(List.of(EntityModel.of(productDTO)), new PagedModel.PageMetadata(5, 0, 1)));
+
+        mockMvc.perform(get("/api/v1/products/search")
+                        .param("q", "prod")
+                        .param("minPrice", "50")
+                        .param("page", "0")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(200))
+                .andExpect(jsonPath("$.message").value("Products found"))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        verify(productService, never()).getProductByUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should return status 200 with found products and missing UUIDs for a batch lookup")
+    void getProductsByUuids_WhenRequestValid_ReturnsStatus200AndBatch() throws Exception {
+        UUID missingUuid = UUID.randomUUID();
+        when(productService.getProductsByUuids(List.of(uuid.toString(), missingUuid.toString())))
+                .thenReturn(new ProductBatchDTO(List.of(productDTO), List.of(missingUuid)));
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid_products\": [\"" + uuid + "\", \"" + missingUuid + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Products found"))
+                .andExpect(jsonPath("$.data.content[0].uuid_product").value(uuid.toString()))
+                .andExpect(jsonPath("$.data.notFound[0]").value(missingUuid.toString()));
+    }
+
+    @Test
+    @DisplayName("Should return status 400 when a batch contains an invalid UUID or too many UUIDs")
+    void getProductsByUuids_WhenRequestInvalid_ReturnsStatus400() throws Exception {
+        String tooMany = String.join(",", Collections.nCopies(ProductBatchRequest.MAX_UUIDS + 1, "\"" + uuid + "\""));
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid_products\": [\"not-a-uuid\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("Invalid UUID format"));
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid_products\": [" + tooMany + "]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("uuidProducts"));
+
+        verifyNoInteractions(productService);
+    }
+}
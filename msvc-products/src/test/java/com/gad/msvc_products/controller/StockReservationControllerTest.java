@@ -0,0 +1,165 @@
+package com.gad.msvc_products.controller;
+
+import com.gad.msvc_products.dto.StockReservationDTO;
+import com.gad.msvc_products.dto.StockReservationLineDTO;
+import com.gad.msvc_products.dto.StockReservationLineRequest;
+import com.gad.msvc_products.dto.StockReservationRequest;
+import com.gad.msvc_products.exception.GlobalExceptionHandler;
+import com.gad.msvc_products.exception.StockNotAvailableException;
+import com.gad.msvc_products.exception.StockReservationNotFoundException;
+import com.gad.msvc_products.exception.StockReservationStateException;
+import com.gad.msvc_products.model.StockReservationStatus;
+import com.gad.msvc_products.service.StockReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @InjectMocks
+    private StockReservationController stockReservationController;
+
+    private UUID uuidProduct;
+    private UUID uuidReservation;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockReservationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        uuidProduct = UUID.randomUUID();
+        uuidReservation = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should return status 201 and the reservation when stock is reserved")
+    void reserveStock_WhenRequestValid_ReturnsStatus201AndReservation() throws Exception {
+        StockReservationRequest request = new StockReservationRequest(List.of(new StockReservationLineRequest(uuidProduct.toString(), 2)));
+        when(stockReservationService.reserve(request)).thenReturn(reservation(StockReservationStatus.RESERVED));
+
+        mockMvc.perform(post("/api/v1/stock-reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\": [{\"uuid_product\": \"" + uuidProduct + "\", \"amount\": 2}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "api/v1/stock-reservations/" + uuidReservation))
+                .andExpect(jsonPath("$.status").value(201))
+                .andExpect(jsonPath("$.message").value("Stock reserved"))
+                .andExpect(jsonPath("$.data.uuid_reservation").value(uuidReservation.toString()))
+                .andExpect(jsonPath("$.data.status").value("RESERVED"))
+                .andExpect(jsonPath("$.data.lines[0].uuid_product").value(uuidProduct.toString()))
+                .andExpect(jsonPath("$.data.lines[0].amount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return status 400 when the reservation has no lines or an invalid amount")
+    void reserveStock_WhenRequestInvalid_ReturnsStatus400() throws Exception {
+        mockMvc.perform(post("/api/v1/stock-reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("Lines cannot be empty"));
+        mockMvc.perform(post("/api/v1/stock-reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\": [{\"uuid_product\": \"" + uuidProduct + "\", \"amount\": 0}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("The amount must be greater than 0"));
+
+        verifyNoInteractions(stockReservationService);
+    }
+
+    @Test
+    @DisplayName("Should return status 409 when the stock is not available")
+    void reserveStock_WhenStockNotAvailable_ReturnsStatus409() throws Exception {
+        when(stockReservationService.reserve(any())).thenThrow(new StockNotAvailableException("Stock not available"));
+
+        mockMvc.perform(post("/api/v1/stock-reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\": [{\"uuid_product\": \"" + uuidProduct + "\", \"amount\": 2}]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Stock not available"));
+    }
+
+    @Test
+    @DisplayName("Should return status 409 when the reservation lost a lock race")
+    void reserveStock_WhenLockCannotBeAcquired_ReturnsStatus409() throws Exception {
+        when(stockReservationService.reserve(any())).thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+        mockMvc.perform(post("/api/v1/stock-reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\": [{\"uuid_product\": \"" + uuidProduct + "\", \"amount\": 2}]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("The stock is being updated concurrently, please retry"));
+    }
+
+    @Test
+    @DisplayName("Should return status 200 when a reservation is confirmed")
+    void confirmStockReservation_WhenReservationPending_ReturnsStatus200() throws Exception {
+        when(stockReservationService.confirm(uuidReservation.toString())).thenReturn(reservation(StockReservationStatus.CONFIRMED));
+
+        mockMvc.perform(post("/api/v1/stock-reservations/" + uuidReservation + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Stock reservation confirmed"))
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+    }
+
+    @Test
+    @DisplayName("Should return status 409 when confirming a reservation that is no longer pending")
+    void confirmStockReservation_WhenReservationNotPending_ReturnsStatus409() throws Exception {
+        when(stockReservationService.confirm(uuidReservation.toString())).thenThrow(new StockReservationStateException("Stock reservation cannot be confirmed"));
+
+        mockMvc.perform(post("/api/v1/stock-reservations/" + uuidReservation + "/confirm"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Stock reservation cannot be confirmed"));
+    }
+
+    @Test
+    @DisplayName("Should return status 200 when a reservation is released")
+    void releaseStockReservation_WhenReservationPending_ReturnsStatus200() throws Exception {
+        when(stockReservationService.release(uuidReservation.toString())).thenReturn(reservation(StockReservationStatus.RELEASED));
+
+        mockMvc.perform(delete("/api/v1/stock-reservations/" + uuidReservation))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Stock reservation released"))
+                .andExpect(jsonPath("$.data.status").value("RELEASED"));
+    }
+
+    @Test
+    @DisplayName("Should return status 404 when releasing a reservation that does not exist")
+    void releaseStockReservation_WhenReservationDoesNotExist_ReturnsStatus404() throws Exception {
+        when(stockReservationService.release(uuidReservation.toString())).thenThrow(new StockReservationNotFoundException("Stock reservation not found"));
+
+        mockMvc.perform(delete("/api/v1/stock-reservations/" + uuidReservation))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Stock reservation not found"));
+    }
+
+    private StockReservationDTO reservation(StockReservationStatus status) {
+        return new StockReservationDTO(uuidReservation, status, Instant.now().plusSeconds(900),
+                List.of(new StockReservationLineDTO(uuidProduct, 2)));
+    }
+}
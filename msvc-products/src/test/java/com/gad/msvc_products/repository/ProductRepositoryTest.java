@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.testcontainers.containers.MySQLContainer;
@@ -72,22 +73,19 @@ class ProductRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should return products when name contains search term")
-    void findProductsByNameContainingIgnoreCase_WhenNameContainsTerm_ReturnsProducts() {
-        Page<Product> productsFound = productRepository.findProductsByNameContainingIgnoreCase(
-                PageRequest.of(0, 10), "pro");
-
-        assertEquals(2, productsFound.getTotalElements());
-        assertEquals("Product 1 test", productsFound.getContent().getFirst().getName());
+    @DisplayName("Should report whether any product name contains search term")
+    void existsByNameContainingIgnoreCase_WhenSearchingTerm_ReportsExistence() {
+        assertTrue(productRepository.existsByNameContainingIgnoreCase("PRO"));
+        assertFalse(productRepository.existsByNameContainingIgnoreCase("non-existent"));
     }
 
     @Test
-    @DisplayName("Should return empty page when name does not contain search term")
-    void findProductsByNameContainingIgnoreCase_WhenNameDoesNotContainTerm_ReturnsEmptyPage() {
-        Page<Product> productsFound = productRepository.findProductsByNameContainingIgnoreCase(
-                PageRequest.of(0, 10), "non-existent");
+    @DisplayName("Should return only the products whose UUID is in the batch")
+    void findProductsByUuidIn_WhenSomeUuidsExist_ReturnsExistingProducts() {
+        List<Product> productsFound = productRepository.findProductsByUuidIn(List.of(product1.getUuid(), UUID.randomUUID()));
 
-        assertEquals(0, productsFound.getTotalElements());
+        assertEquals(1, productsFound.size());
+        assertEquals(product1.getUuid(), productsFound.getFirst().getUuid());
     }
 
     @Test
@@ -948,4 +946,44 @@ class ProductRepositoryTest {
 
         assertEquals(0, productsFound.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return products after cursor ordered by name and id")
+    void findProductsByNameAndPriceAndStockAfter_WhenCursorGiven_ReturnsProductsAfterCursor() {
+        List<Product> firstPage = productRepository.findProductsByNameAndPriceAndStockAfter(
+                null, null, null, null, "", 0L, Limit.of(1));
+        Product last = firstPage.getLast();
+
+        List<Product> secondPage = productRepository.findProductsByNameAndPriceAndStockAfter(
+                null, null, null, null, last.getName(), last.getId(), Limit.of(10));
+
+        assertEquals("Product 1 test", last.getName());
+        assertEquals(1, secondPage.size());
+        assertEquals("Product 2 test", secondPage.getFirst().getName());
+    }
+
+    @Test
+    @DisplayName("Should count products matching filters without loading them")
+    void countProductsByNameAndPriceAndStock_WhenFilteringByStock_ReturnsCount() {
+        assertEquals(1, productRepository.countProductsByNameAndPriceAndStock(null, null, null, 15));
+    }
+
+    @Test
+    @DisplayName("Should decrement stock only while enough stock is left")
+    void decrementStock_WhenStockIsEnough_DecrementsAndOtherwiseLeavesStockUntouched() {
+        assertEquals(1, productRepository.decrementStock(product1.getUuid(), 15));
+        assertEquals(0, productRepository.decrementStock(product1.getUuid(), 6));
+        assertEquals(1, productRepository.decrementStock(product1.getUuid(), 5));
+
+        assertEquals(0, productRepository.findProductByUuid(product1.getUuid()).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Should give stock back when incrementing")
+    void incrementStock_WhenProductExists_IncrementsStock() {
+        assertEquals(1, productRepository.incrementStock(product1.getUuid(), 5));
+        assertEquals(0, productRepository.incrementStock(UUID.randomUUID(), 5));
+
+        assertEquals(25, productRepository.findProductByUuid(product1.getUuid()).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,73 @@
+package com.gad.msvc_products.repository;
+
+import com.gad.msvc_products.model.ProductStockShard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductStockShardRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+    private UUID uuidProduct;
+
+    @BeforeEach
+    void setUp() {
+        productStockShardRepository.deleteAll();
+
+        uuidProduct = UUID.randomUUID();
+        productStockShardRepository.saveAll(List.of(
+                new ProductStockShard(null, uuidProduct, 0, 2),
+                new ProductStockShard(null, uuidProduct, 1, 7),
+                new ProductStockShard(null, uuidProduct, 2, 4)));
+    }
+
+    @Test
+    @DisplayName("Should return a shard only when it covers the amount")
+    void findUnlockedShardWithStock_WhenShardCoversAmount_ReturnsShard() {
+        assertEquals(7, productStockShardRepository.findUnlockedShardWithStock(uuidProduct, 1, 3).orElseThrow().getStock());
+        assertTrue(productStockShardRepository.findUnlockedShardWithStock(uuidProduct, 0, 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should decrement a shard only while it holds enough stock")
+    void decrementShard_WhenStockRunsOut_StopsDecrementing() {
+        assertEquals(1, productStockShardRepository.decrementShard(uuidProduct, 0, 2));
+        assertEquals(0, productStockShardRepository.decrementShard(uuidProduct, 0, 1));
+    }
+
+    @Test
+    @DisplayName("Should list each sharded product once")
+    void findShardedProductUuids_WhenProductHasSeveralShards_ReturnsDistinctUuids() {
+        assertEquals(List.of(uuidProduct), productStockShardRepository.findShardedProductUuids());
+    }
+
+    @Test
+    @DisplayName("Should sum the shards of each requested product")
+    void sumStockByUuidProductIn_WhenProductHasSeveralShards_ReturnsTotalPerProduct() {
+        List<ProductStockShardRepository.ShardedStock> stocks = productStockShardRepository.sumStockByUuidProductIn(List.of(uuidProduct, UUID.randomUUID()));
+
+        assertEquals(1, stocks.size());
+        assertEquals(uuidProduct, stocks.getFirst().getUuidProduct());
+        assertEquals(13L, stocks.getFirst().getStock());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gad.msvc_products.repository;
+
+import com.gad.msvc_products.model.StockReservation;
+import com.gad.msvc_products.model.StockReservationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StockReservationRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+    private UUID pending;
+    private UUID expired;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationRepository.deleteAll();
+
+        pending = UUID.randomUUID();
+        expired = UUID.randomUUID();
+        Instant now = Instant.now();
+        stockReservationRepository.saveAll(List.of(
+                new StockReservation(null, pending, UUID.randomUUID(), 2, StockReservationStatus.RESERVED, now.plusSeconds(600)),
+                new StockReservation(null, expired, UUID.randomUUID(), 1, StockReservationStatus.RESERVED, now.minusSeconds(5)),
+                new StockReservation(null, expired, UUID.randomUUID(), 3, StockReservationStatus.RESERVED, now.minusSeconds(5))));
+    }
+
+    @Test
+    @DisplayName("Should return each expired pending reservation once")
+    void findExpiredReservationUuids_WhenReservationsExpired_ReturnsDistinctUuids() {
+        List<UUID> expiredUuids = stockReservationRepository.findExpiredReservationUuids(Instant.now(), Limit.of(10));
+
+        assertEquals(List.of(expired), expiredUuids);
+    }
+
+    @Test
+    @DisplayName("Should confirm only pending reservations that have not expired")
+    void completeReservation_WhenReservationPendingOrExpired_UpdatesOnlyPending() {
+        assertEquals(1, stockReservationRepository.completeReservation(pending, StockReservationStatus.CONFIRMED, Instant.now()));
+        assertEquals(0, stockReservationRepository.completeReservation(expired, StockReservationStatus.CONFIRMED, Instant.now()));
+        assertEquals(0, stockReservationRepository.completeReservation(pending, StockReservationStatus.CONFIRMED, Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should release every line of a pending reservation exactly once")
+    void releaseReservation_WhenCalledTwice_ReleasesOnlyOnce() {
+        assertEquals(2, stockReservationRepository.releaseReservation(expired));
+        assertEquals(0, stockReservationRepository.releaseReservation(expired));
+
+        assertTrue(stockReservationRepository.findStockReservationsByUuid(expired).stream()
+                .allMatch(reservation -> reservation.getStatus() == StockReservationStatus.RELEASED));
+    }
+}
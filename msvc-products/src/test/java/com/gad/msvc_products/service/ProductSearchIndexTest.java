@@ -0,0 +1,137 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.dto.ProductDTO;
+import com.gad.msvc_products.dto.ProductPageDTO;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShardedStockLoader shardedStockLoader;
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex.upsertAll(List.of(
+                product(1L, "Wireless Mouse", 25, 10),
+                product(2L, "Gaming Mouse", 60, 0),
+                product(3L, "Mechanical Keyboard", 90, 5),
+                product(4L, "Mouse Pad", 10, 50)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should return matching products ordered by name when query matches a substring")
+    void search_WhenQueryMatchesSubstring_ReturnsProductsOrderedByName() {
+        ProductPageDTO result = productSearchIndex.search("MOUSE", null, null, null, 0, 5);
+
+        assertEquals(3, result.totalElements());
+        assertEquals(List.of("Gaming Mouse", "Mouse Pad", "Wireless Mouse"), names(result));
+    }
+
+    @Test
+    @DisplayName("Should apply price and stock filters and paginate results")
+    void search_WhenFiltersAndPage_ReturnsFilteredPage() {
+        ProductPageDTO result = productSearchIndex.search("ouse", BigDecimal.valueOf(10), BigDecimal.valueOf(60), 1, 1, 1);
+
+        assertEquals(2, result.totalElements());
+        assertEquals(2, result.totalPages());
+        assertEquals(List.of("Wireless Mouse"), names(result));
+    }
+
+    @Test
+    @DisplayName("Should match short queries and return every product when query is empty")
+    void search_WhenQueryShorterThanGram_ScansAllProducts() {
+        assertEquals(List.of("Mechanical Keyboard"), names(productSearchIndex.search("ke", null, null, null, 0, 5)));
+        assertEquals(4, productSearchIndex.search(null, null, null, null, 0, 5).totalElements());
+    }
+
+    @Test
+    @DisplayName("Should not return products whose grams match but the query does not")
+    void search_WhenGramsMatchOutOfOrder_ReturnsNoProducts() {
+        assertEquals(0, productSearchIndex.search("mouse wireless", null, null, null, 0, 5).totalElements());
+        assertEquals(0, productSearchIndex.search("xyz", null, null, null, 0, 5).totalElements());
+    }
+
+    @Test
+    @DisplayName("Should reflect renamed, restocked and removed products")
+    void upsertAndRemove_WhenProductsChange_UpdatesIndex() {
+        productSearchIndex.upsert(product(4L, "Desk Pad", 10, 50));
+        productSearchIndex.upsert(product(2L, "Gaming Mouse", 60, 3));
+        productSearchIndex.remove(1L);
+
+        assertEquals(List.of("Gaming Mouse"), names(productSearchIndex.search("mouse", null, null, 1, 0, 5)));
+        assertEquals(List.of("Desk Pad"), names(productSearchIndex.search("pad", null, null, null, 0, 5)));
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the repository in keyset batches")
+    void rebuild_WhenRepositoryHasProducts_IndexesAllProducts() {
+        when(productRepository.findProductsByNameAndPriceAndStockAfter(any(), any(), any(), any(), anyString(), anyLong(), any(Limit.class)))
+                .thenReturn(List.of(product(10L, "Office Chair", 150, 2)));
+
+        productSearchIndex.rebuild();
+
+        assertTrue(productSearchIndex.isReady());
+        assertEquals(1, productSearchIndex.size());
+        assertEquals(List.of("Office Chair"), names(productSearchIndex.search("chair", null, null, null, 0, 5)));
+    }
+
+    @Test
+    @DisplayName("Should reload changed stock only after the surrounding transaction commits")
+    void refresh_WhenTransactionCommits_ReloadsStockOfChangedProducts() {
+        Product restocked = product(2L, "Gaming Mouse", 60, 8);
+        when(productRepository.findProductsByUuidIn(List.of(restocked.getUuid()))).thenReturn(List.of(restocked));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productSearchIndex.refresh(List.of(restocked.getUuid()));
+            verify(productRepository, never()).findProductsByUuidIn(any());
+            assertEquals(2, productSearchIndex.search("mouse", null, null, 1, 0, 5).totalElements());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("Gaming Mouse", "Mouse Pad", "Wireless Mouse"), names(productSearchIndex.search("mouse", null, null, 1, 0, 5)));
+    }
+
+    private static Product product(Long id, String name, int price, int stock) {
+        return new Product(id, UUID.randomUUID(), name, BigDecimal.valueOf(price), stock, null);
+    }
+
+    private static List<String> names(ProductPageDTO page) {
+        return page.content().stream().map(ProductDTO::name).toList();
+    }
+}
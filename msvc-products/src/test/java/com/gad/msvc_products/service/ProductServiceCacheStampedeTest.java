@@ -0,0 +1,113 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_commons.cache.TwoTierCacheManager;
+import com.gad.msvc_commons.cache.TwoTierCacheProperties;
+import com.gad.msvc_products.dto.ProductDTO;
+import com.gad.msvc_products.exception.ProductNotFoundException;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class ProductServiceCacheStampedeTest {
+    private static final int CALLERS = 100;
+
+    @Autowired
+    private ProductService productService;
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private ShardedStockLoader shardedStockLoader;
+
+    @Test
+    @DisplayName("Should query the database once when a hot product key is missed concurrently")
+    void givenHotProductMissedConcurrently_whenLoaded_thenDatabaseQueriedOnce() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        when(productRepository.findProductByUuid(uuid)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(new Product(1L, uuid, "Keyboard", BigDecimal.TEN, 5, null));
+        });
+
+        List<ProductDTO> results = concurrently(() -> productService.getProductByUuid(uuid.toString()));
+
+        assertTrue(results.stream().allMatch(product -> uuid.equals(product.uuidProduct())));
+        verify(productRepository, times(1)).findProductByUuid(uuid);
+    }
+
+    @Test
+    @DisplayName("Should propagate the not-found error to every coalesced caller")
+    void givenMissingProductMissedConcurrently_whenLoaded_thenEveryCallerGetsNotFound() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        when(productRepository.findProductByUuid(uuid)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.empty();
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> concurrently(() -> productService.getProductByUuid(uuid.toString())));
+
+        assertInstanceOf(ProductNotFoundException.class, exception.getCause());
+        verify(productRepository, atMost(CALLERS / 2)).findProductByUuid(uuid);
+    }
+
+    private static <T> List<T> concurrently(Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import(ProductService.class)
+    static class CacheConfig {
+
+        @Bean
+        TwoTierCacheManager cacheManager() {
+            return new TwoTierCacheManager(new ConcurrentMapCacheManager(), mock(StringRedisTemplate.class),
+                    new TwoTierCacheProperties(), new SimpleMeterRegistry());
+        }
+    }
+}
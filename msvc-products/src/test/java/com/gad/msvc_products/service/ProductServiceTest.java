@@ -1,10 +1,16 @@
 package com.gad.msvc_products.service;
 
+import com.gad.msvc_commons.cache.TwoTierCache;
+import com.gad.msvc_products.dto.ProductBatchDTO;
+import com.gad.msvc_products.dto.ProductCursorPageDTO;
 import com.gad.msvc_products.dto.ProductDTO;
 import com.gad.msvc_products.dto.ProductPageDTO;
+import com.gad.msvc_products.exception.InvalidCursorException;
 import com.gad.msvc_products.exception.ProductNotFoundException;
 import com.gad.msvc_products.model.Product;
 import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.utils.ProductCursor;
+import com.gad.msvc_products.utils.ProductMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -20,6 +28,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,6 +41,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ShardedStockLoader shardedStockLoader;
+
     @InjectMocks
     private ProductService productService;
 
@@ -78,11 +96,6 @@ class ProductServiceTest {
         List<Product> productList = Collections.singletonList(product);
         Page<Product> productPage = new PageImpl<>(productList);
 
-        when(productRepository.findProductsByNameContainingIgnoreCase(
-                any(PageRequest.class),
-                anyString()
-        )).thenReturn(productPage);
-
         when(productRepository.findProductsByNameAndPriceAndStock(
                 any(PageRequest.class),
                 anyString(),
@@ -117,14 +130,9 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductNotFoundException when no products match criteria")
     void getAllProductsByNameAndPriceAndStock_WhenNoProductsMatchFilter_ThrowProductNotFoundException() {
-        List<Product> productList = Collections.singletonList(product);
-        Page<Product> productPage = new PageImpl<>(productList);
         Page<Product> emptyPage = new PageImpl<>(Collections.emptyList());
 
-        when(productRepository.findProductsByNameContainingIgnoreCase(
-                any(PageRequest.class),
-                anyString()
-        )).thenReturn(productPage);
+        when(productRepository.existsByNameContainingIgnoreCase(anyString())).thenReturn(true);
 
         when(productRepository.findProductsByNameAndPriceAndStock(
                 any(PageRequest.class),
@@ -157,10 +165,14 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should throw ProductNotFoundException when name search returns empty result")
     void getAllProductsByNameAndPriceAndStock_WhenNameSearchReturnsEmpty_ThrowProductNotFoundException() {
-        when(productRepository.findProductsByNameContainingIgnoreCase(
+        when(productRepository.findProductsByNameAndPriceAndStock(
                 any(PageRequest.class),
-                anyString()
+                anyString(),
+                any(BigDecimal.class),
+                any(BigDecimal.class),
+                anyInt()
         )).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(productRepository.existsByNameContainingIgnoreCase(anyString())).thenReturn(false);
 
         int page = 0;
         int size = 5;
@@ -173,10 +185,151 @@ class ProductServiceTest {
                 productService.getAllProductsByNameAndPriceAndStock(Pageable.ofSize(size).withPage(page), name, minPrice, maxPrice, stock));
 
         assertEquals("Product not found with word: " + name, exception.getMessage());
-        verify(productRepository, times(1)).findProductsByNameContainingIgnoreCase(
+        verify(productRepository, times(1)).existsByNameContainingIgnoreCase(eq(name));
+    }
+
+    @Test
+    @DisplayName("Should run only the filtered query when products are found")
+    void getAllProductsByNameAndPriceAndStock_WhenProductsExists_SkipsNameExistenceQuery() {
+        when(productRepository.findProductsByNameAndPriceAndStock(
                 any(PageRequest.class),
-                eq(name)
-        );
-        verify(productRepository, never()).findProductsByNameAndPriceAndStock(any(), any(), any(), any(), anyInt());
+                anyString(),
+                any(),
+                any(),
+                any()
+        )).thenReturn(new PageImpl<>(Collections.singletonList(product)));
+
+        productService.getAllProductsByNameAndPriceAndStock(Pageable.ofSize(5), "Test", null, null, null);
+
+        verify(productRepository, never()).existsByNameContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Should return first keyset page with next cursor and without count when more products exist")
+    void getProductsByNameAndPriceAndStockAfter_WhenMoreProductsExist_ReturnsPageWithNextCursor() {
+        Product secondProduct = new Product(2L, UUID.randomUUID(), "Test Product 2", BigDecimal.valueOf(120), 5, null);
+        when(productRepository.findProductsByNameAndPriceAndStockAfter(null, null, null, null, "", 0L, Limit.of(2)))
+                .thenReturn(List.of(product, secondProduct));
+
+        ProductCursorPageDTO result = productService.getProductsByNameAndPriceAndStockAfter(null, 1, false, null, null, null, null);
+
+        assertEquals(1, result.content().size());
+        assertEquals(uuid, result.content().getFirst().uuidProduct());
+        assertTrue(result.hasNext());
+        assertEquals(new ProductCursor(product.getName(), product.getId()), ProductCursor.decode(result.nextCursor()));
+        assertNull(result.totalElements());
+        verify(productRepository, never()).countProductsByNameAndPriceAndStock(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should seek after cursor and count only when total is requested")
+    void getProductsByNameAndPriceAndStockAfter_WhenCursorAndTotalRequested_SeeksAfterCursorAndCounts() {
+        String after = new ProductCursor("Test", 1L).encode();
+        when(productRepository.findProductsByNameAndPriceAndStockAfter("Test", null, null, null, "Test", 1L, Limit.of(6)))
+                .thenReturn(List.of(product));
+        when(productRepository.countProductsByNameAndPriceAndStock("Test", null, null, null)).thenReturn(6L);
+
+        ProductCursorPageDTO result = productService.getProductsByNameAndPriceAndStockAfter(after, 5, true, "Test", null, null, null);
+
+        assertEquals(1, result.content().size());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        assertEquals(6L, result.totalElements());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidCursorException when cursor is malformed")
+    void getProductsByNameAndPriceAndStockAfter_WhenCursorIsMalformed_ThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () ->
+                productService.getProductsByNameAndPriceAndStockAfter("not-a-cursor", 5, false, null, null, null, null));
+        verify(productRepository, never()).findProductsByNameAndPriceAndStockAfter(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when first keyset page is empty")
+    void getProductsByNameAndPriceAndStockAfter_WhenFirstPageIsEmpty_ThrowProductNotFoundException() {
+        when(productRepository.findProductsByNameAndPriceAndStockAfter(null, null, null, null, "", 0L, Limit.of(6)))
+                .thenReturn(Collections.emptyList());
+
+        Exception exception = assertThrows(ProductNotFoundException.class, () ->
+                productService.getProductsByNameAndPriceAndStockAfter(null, 5, false, null, null, null, null));
+
+        assertEquals("No products found with the given criteria", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should serve search from the index when it is ready")
+    void searchProducts_WhenIndexReady_ReturnsIndexPage() {
+        ProductPageDTO indexPage = new ProductPageDTO(List.of(new ProductDTO(uuid, "Test Product", BigDecimal.valueOf(100), 10)), 0, 5, 1, 1);
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("test", null, null, null, 0, 5)).thenReturn(indexPage);
+
+        ProductPageDTO result = productService.searchProducts("test", null, null, null, 0, 5);
+
+        assertSame(indexPage, result);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database query while the index is building")
+    void searchProducts_WhenIndexNotReady_QueriesRepository() {
+        when(productSearchIndex.isReady()).thenReturn(false);
+        when(productRepository.findProductsByNameAndPriceAndStock(any(PageRequest.class), eq("test"), isNull(), isNull(), isNull()))
+                .thenReturn(new PageImpl<>(List.of(product)));
+
+        ProductPageDTO result = productService.searchProducts("test", null, null, null, 0, 5);
+
+        assertEquals(1, result.totalElements());
+        assertEquals(uuid, result.content().getFirst().uuidProduct());
+        verify(productSearchIndex, never()).search(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when search has no results")
+    void searchProducts_WhenNoResults_ThrowProductNotFoundException() {
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("zzz", null, null, null, 0, 5)).thenReturn(new ProductPageDTO(List.of(), 0, 5, 0, 0));
+        when(productRepository.existsByNameContainingIgnoreCase("zzz")).thenReturn(false);
+
+        Exception exception = assertThrows(ProductNotFoundException.class, () ->
+                productService.searchProducts("zzz", null, null, null, 0, 5));
+
+        assertEquals("Product not found with word: zzz", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should answer a batch from the cache and load only the uncached products with one query")
+    void getProductsByUuids_WhenPartiallyCached_LoadsRemainderWithSingleQuery() {
+        UUID cachedUuid = UUID.randomUUID();
+        UUID missingUuid = UUID.randomUUID();
+        ProductDTO cachedProduct = new ProductDTO(cachedUuid, "Cached Product", BigDecimal.TEN, 1);
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache("productsByUuid")).thenReturn(cache);
+        when(cache.getAll(List.of(cachedUuid.toString(), uuid.toString(), missingUuid.toString())))
+                .thenReturn(Map.of(cachedUuid.toString(), cachedProduct));
+        when(productRepository.findProductsByUuidIn(List.of(uuid, missingUuid))).thenReturn(List.of(product));
+
+        ProductBatchDTO result = productService.getProductsByUuids(
+                List.of(cachedUuid.toString(), uuid.toString(), missingUuid.toString(), cachedUuid.toString()));
+
+        assertEquals(List.of(cachedProduct, ProductMapper.toDTO(product)), result.content());
+        assertEquals(List.of(missingUuid), result.notFound());
+        verify(productRepository, times(1)).findProductsByUuidIn(any());
+        verify(cache).putAll(Map.of(uuid.toString(), ProductMapper.toDTO(product)));
+    }
+
+    @Test
+    @DisplayName("Should not query the database when every product of the batch is cached")
+    void getProductsByUuids_WhenFullyCached_SkipsRepository() {
+        ProductDTO cachedProduct = ProductMapper.toDTO(product);
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache("productsByUuid")).thenReturn(cache);
+        when(cache.getAll(List.of(uuid.toString()))).thenReturn(Map.of(uuid.toString(), cachedProduct));
+
+        ProductBatchDTO result = productService.getProductsByUuids(List.of(uuid.toString().toUpperCase()));
+
+        assertEquals(List.of(cachedProduct), result.content());
+        assertTrue(result.notFound().isEmpty());
+        verifyNoInteractions(productRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import com.gad.msvc_products.repository.ProductStockShardRepository.ShardedStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedStockLoaderTest {
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Spy
+    private StockShardingProperties stockShardingProperties = new StockShardingProperties();
+
+    @InjectMocks
+    private ShardedStockLoader shardedStockLoader;
+
+    private UUID hotProduct;
+    private UUID hotProductWithoutShards;
+
+    @BeforeEach
+    void setUp() {
+        hotProduct = UUID.randomUUID();
+        hotProductWithoutShards = UUID.randomUUID();
+        stockShardingProperties.setEnabled(true);
+        stockShardingProperties.setHotProducts(Set.of(hotProduct, hotProductWithoutShards));
+    }
+
+    @Test
+    @DisplayName("Should not query the shards when no loaded product is sharded")
+    void load_WhenNoProductIsSharded_DoesNotQueryShards() {
+        Product product = product(UUID.randomUUID(), 5);
+
+        shardedStockLoader.load(List.of(product));
+
+        assertEquals(5, product.getAvailableStock());
+        verifyNoInteractions(productStockShardRepository);
+    }
+
+    @Test
+    @DisplayName("Should add the shard stock of sharded products in a single query")
+    void load_WhenProductsAreSharded_AddsShardStockInOneQuery() {
+        Product coldProduct = product(UUID.randomUUID(), 5);
+        Product shardedProduct = product(hotProduct, 2);
+        Product unshardedHotProduct = product(hotProductWithoutShards, 3);
+        when(productStockShardRepository.sumStockByUuidProductIn(Set.of(hotProduct, hotProductWithoutShards)))
+                .thenReturn(List.of(shardedStock(hotProduct, 40L)));
+
+        shardedStockLoader.load(List.of(coldProduct, shardedProduct, unshardedHotProduct));
+
+        assertEquals(5, coldProduct.getAvailableStock());
+        assertEquals(42, shardedProduct.getAvailableStock());
+        assertEquals(3, unshardedHotProduct.getAvailableStock());
+        verify(productStockShardRepository, times(1)).sumStockByUuidProductIn(any());
+    }
+
+    private static Product product(UUID uuid, int stock) {
+        return new Product(1L, uuid, "Product", BigDecimal.TEN, stock, null);
+    }
+
+    private static ShardedStock shardedStock(UUID uuidProduct, Long stock) {
+        return new ShardedStock() {
+            @Override
+            public UUID getUuidProduct() {
+                return uuidProduct;
+            }
+
+            @Override
+            public Long getStock() {
+                return stock;
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.model.ProductStockShard;
+import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockCounterServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Spy
+    private StockShardingProperties stockShardingProperties = new StockShardingProperties();
+
+    @InjectMocks
+    private StockCounterService stockCounterService;
+
+    private UUID uuidProduct;
+
+    @BeforeEach
+    void setUp() {
+        uuidProduct = UUID.randomUUID();
+        stockShardingProperties.setEnabled(true);
+        stockShardingProperties.setShardCount(4);
+        stockShardingProperties.setHotProducts(Set.of(uuidProduct));
+    }
+
+    @Test
+    @DisplayName("Should decrement the product row when the product is not sharded")
+    void decrement_WhenProductIsNotSharded_DecrementsProductRow() {
+        UUID coldProduct = UUID.randomUUID();
+        when(productRepository.decrementStock(coldProduct, 3)).thenReturn(1);
+
+        assertTrue(stockCounterService.decrement(coldProduct, 3));
+        verifyNoInteractions(productStockShardRepository);
+        verify(productSearchIndex).refresh(List.of(coldProduct));
+    }
+
+    @Test
+    @DisplayName("Should decrement the product row when sharding is disabled")
+    void decrement_WhenShardingIsDisabled_DecrementsProductRow() {
+        stockShardingProperties.setEnabled(false);
+        when(productRepository.decrementStock(uuidProduct, 3)).thenReturn(0);
+
+        assertFalse(stockCounterService.decrement(uuidProduct, 3));
+        verifyNoInteractions(productStockShardRepository);
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should decrement the first unlocked shard that covers the amount")
+    void decrement_WhenAnUnlockedShardHasStock_DecrementsThatShard() {
+        when(productStockShardRepository.findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(3))).thenReturn(Optional.empty());
+        when(productStockShardRepository.findUnlockedShardWithStock(uuidProduct, 2, 3))
+                .thenReturn(Optional.of(new ProductStockShard(1L, uuidProduct, 2, 10)));
+        when(productStockShardRepository.decrementShard(uuidProduct, 2, 3)).thenReturn(1);
+
+        assertTrue(stockCounterService.decrement(uuidProduct, 3));
+        verify(productStockShardRepository, never()).findLockedShardsByUuidProduct(uuidProduct);
+        verify(productRepository, never()).decrementStock(eq(uuidProduct), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should wait on one shard instead of locking them all when every shard is busy")
+    void decrement_WhenEveryShardIsLocked_WaitsOnOneShard() {
+        when(productStockShardRepository.findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(3))).thenReturn(Optional.empty());
+        when(productStockShardRepository.decrementShard(eq(uuidProduct), anyInt(), eq(3))).thenReturn(1);
+
+        assertTrue(stockCounterService.decrement(uuidProduct, 3));
+        verify(productStockShardRepository, never()).findLockedShardsByUuidProduct(uuidProduct);
+    }
+
+    @Test
+    @DisplayName("Should drain several shards in order when no single shard covers the amount")
+    void decrement_WhenNoSingleShardCoversAmount_DrainsShardsInOrder() {
+        when(productStockShardRepository.findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(5))).thenReturn(Optional.empty());
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of(
+                new ProductStockShard(1L, uuidProduct, 0, 2),
+                new ProductStockShard(2L, uuidProduct, 1, 0),
+                new ProductStockShard(3L, uuidProduct, 2, 2),
+                new ProductStockShard(4L, uuidProduct, 3, 4)));
+
+        assertTrue(stockCounterService.decrement(uuidProduct, 5));
+        verify(productStockShardRepository, times(4)).findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(5));
+        verify(productStockShardRepository).decrementShard(uuidProduct, 0, 2);
+        verify(productStockShardRepository).decrementShard(uuidProduct, 2, 2);
+        verify(productStockShardRepository).decrementShard(uuidProduct, 3, 1);
+        verify(productStockShardRepository, never()).decrementShard(uuidProduct, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Should fail without touching the shards when shards and product row together do not hold enough stock")
+    void decrement_WhenShardsAndProductRowDoNotHoldEnoughStock_ReturnsFalse() {
+        when(productStockShardRepository.findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(5))).thenReturn(Optional.empty());
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct))
+                .thenReturn(List.of(new ProductStockShard(1L, uuidProduct, 0, 4)));
+        when(productRepository.decrementStock(uuidProduct, 1)).thenReturn(0);
+
+        assertFalse(stockCounterService.decrement(uuidProduct, 5));
+        verify(productStockShardRepository, times(1)).decrementShard(eq(uuidProduct), anyInt(), anyInt());
+        verify(productStockShardRepository, never()).decrementShard(uuidProduct, 0, 4);
+    }
+
+    @Test
+    @DisplayName("Should drain the shards and take only the remainder from the product row")
+    void decrement_WhenShardsAndProductRowTogetherCoverAmount_SplitsTheDecrement() {
+        when(productStockShardRepository.findUnlockedShardWithStock(eq(uuidProduct), anyInt(), eq(6))).thenReturn(Optional.empty());
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of(
+                new ProductStockShard(1L, uuidProduct, 0, 1),
+                new ProductStockShard(2L, uuidProduct, 1, 2)));
+        when(productRepository.decrementStock(uuidProduct, 3)).thenReturn(1);
+
+        assertTrue(stockCounterService.decrement(uuidProduct, 6));
+        verify(productStockShardRepository).decrementShard(uuidProduct, 0, 1);
+        verify(productStockShardRepository).decrementShard(uuidProduct, 1, 2);
+        verify(productRepository).decrementStock(uuidProduct, 3);
+        verify(productRepository, never()).decrementStock(uuidProduct, 6);
+    }
+
+    @Test
+    @DisplayName("Should give stock back to a shard when the product is sharded")
+    void increment_WhenProductIsSharded_IncrementsAShard() {
+        when(productStockShardRepository.incrementShard(eq(uuidProduct), anyInt(), eq(2))).thenReturn(1);
+
+        stockCounterService.increment(uuidProduct, 2);
+
+        verify(productRepository, never()).incrementStock(uuidProduct, 2);
+    }
+
+    @Test
+    @DisplayName("Should give stock back to the product row when the shards have not been created yet")
+    void increment_WhenShardsDoNotExist_IncrementsProductRow() {
+        when(productStockShardRepository.incrementShard(eq(uuidProduct), anyInt(), eq(2))).thenReturn(0);
+
+        stockCounterService.increment(uuidProduct, 2);
+
+        verify(productRepository).incrementStock(uuidProduct, 2);
+        verify(productSearchIndex).refresh(List.of(uuidProduct));
+    }
+
+    @Test
+    @DisplayName("Should create the shards from the product row stock the first time a product is rebalanced")
+    @SuppressWarnings("unchecked")
+    void rebalance_WhenShardsDoNotExist_CreatesShardsFromProductStock() {
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of());
+        when(productRepository.findLockedProductByUuid(uuidProduct))
+                .thenReturn(Optional.of(new Product(1L, uuidProduct, "Hot Product", BigDecimal.TEN, 10, null)));
+
+        stockCounterService.rebalance(uuidProduct);
+
+        ArgumentCaptor<List<ProductStockShard>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productStockShardRepository).saveAll(captor.capture());
+        assertEquals(List.of(3, 3, 2, 2), captor.getValue().stream().map(ProductStockShard::getStock).toList());
+        verify(productRepository).updateStock(uuidProduct, 0);
+        verify(productSearchIndex).refresh(List.of(uuidProduct));
+    }
+
+    @Test
+    @DisplayName("Should even out existing shards and only rewrite the ones that changed")
+    void rebalance_WhenShardsAreUneven_UpdatesChangedShards() {
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of(
+                new ProductStockShard(1L, uuidProduct, 0, 0),
+                new ProductStockShard(2L, uuidProduct, 1, 3),
+                new ProductStockShard(3L, uuidProduct, 2, 3),
+                new ProductStockShard(4L, uuidProduct, 3, 6)));
+        when(productRepository.findLockedProductByUuid(uuidProduct))
+                .thenReturn(Optional.of(new Product(1L, uuidProduct, "Hot Product", BigDecimal.TEN, 0, 12)));
+
+        stockCounterService.rebalance(uuidProduct);
+
+        verify(productStockShardRepository).updateShard(uuidProduct, 0, 3);
+        verify(productStockShardRepository).updateShard(uuidProduct, 3, 3);
+        verify(productStockShardRepository, times(2)).updateShard(eq(uuidProduct), anyInt(), anyInt());
+        verify(productStockShardRepository, never()).saveAll(anyList());
+        verify(productRepository, never()).updateStock(eq(uuidProduct), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should drop the shards of a product that no longer exists")
+    void rebalance_WhenProductDoesNotExist_DeletesShards() {
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of());
+        when(productRepository.findLockedProductByUuid(uuidProduct)).thenReturn(Optional.empty());
+
+        stockCounterService.rebalance(uuidProduct);
+
+        verify(productStockShardRepository).deleteShardsByUuidProduct(uuidProduct);
+        verify(productStockShardRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should move the shard stock back into the product row and delete the shards")
+    void unshard_WhenShardsHoldStock_MovesStockToProductRow() {
+        when(productStockShardRepository.findLockedShardsByUuidProduct(uuidProduct)).thenReturn(List.of(
+                new ProductStockShard(1L, uuidProduct, 0, 4),
+                new ProductStockShard(2L, uuidProduct, 1, 3)));
+
+        stockCounterService.unshard(uuidProduct);
+
+        verify(productRepository).incrementStock(uuidProduct, 7);
+        verify(productStockShardRepository).deleteShardsByUuidProduct(uuidProduct);
+        verify(productSearchIndex).refresh(List.of(uuidProduct));
+    }
+}
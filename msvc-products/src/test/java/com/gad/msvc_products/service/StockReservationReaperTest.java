@@ -0,0 +1,54 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockReservationProperties;
+import com.gad.msvc_products.repository.StockReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationReaperTest {
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Spy
+    private StockReservationProperties stockReservationProperties = new StockReservationProperties();
+
+    @InjectMocks
+    private StockReservationReaper stockReservationReaper;
+
+    @Test
+    @DisplayName("Should release every expired reservation and keep going when one of them fails")
+    void releaseExpiredReservations_WhenOneReleaseFails_ReleasesTheOthers() {
+        UUID first = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        UUID alreadyReleased = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        when(stockReservationRepository.findExpiredReservationUuids(any(Instant.class), eq(Limit.of(500))))
+                .thenReturn(List.of(first, failing, alreadyReleased, last));
+        when(stockReservationService.releaseExpired(first)).thenReturn(true);
+        when(stockReservationService.releaseExpired(failing)).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+        when(stockReservationService.releaseExpired(alreadyReleased)).thenReturn(false);
+        when(stockReservationService.releaseExpired(last)).thenReturn(true);
+
+        assertEquals(2, stockReservationReaper.releaseExpiredReservations());
+        verify(stockReservationService, times(4)).releaseExpired(any(UUID.class));
+    }
+}
@@ -0,0 +1,208 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockReservationProperties;
+import com.gad.msvc_products.dto.StockReservationDTO;
+import com.gad.msvc_products.dto.StockReservationLineRequest;
+import com.gad.msvc_products.dto.StockReservationRequest;
+import com.gad.msvc_products.exception.ProductNotFoundException;
+import com.gad.msvc_products.exception.StockNotAvailableException;
+import com.gad.msvc_products.exception.StockReservationNotFoundException;
+import com.gad.msvc_products.exception.StockReservationStateException;
+import com.gad.msvc_products.model.Product;
+import com.gad.msvc_products.model.StockReservation;
+import com.gad.msvc_products.model.StockReservationStatus;
+import com.gad.msvc_products.repository.ProductRepository;
+import com.gad.msvc_products.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private StockCounterService stockCounterService;
+
+    @Mock
+    private ShardedStockLoader shardedStockLoader;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Spy
+    private StockReservationProperties stockReservationProperties = new StockReservationProperties();
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    private Product product;
+    private UUID uuidReservation;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product(1L, UUID.randomUUID(), "Test Product", BigDecimal.valueOf(100), 5, null);
+        uuidReservation = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should decrement stock once per product and save a reservation when stock is available")
+    void reserve_WhenStockIsAvailable_DecrementsStockAndReturnsReservation() {
+        UUID otherProduct = UUID.randomUUID();
+        StockReservationRequest request = new StockReservationRequest(List.of(
+                new StockReservationLineRequest(product.getUuid().toString(), 2),
+                new StockReservationLineRequest(otherProduct.toString(), 1),
+                new StockReservationLineRequest(product.getUuid().toString(), 3)));
+        when(stockCounterService.decrement(any(UUID.class), anyInt())).thenReturn(true);
+        when(cacheManager.getCache("productsByUuid")).thenReturn(cache);
+
+        StockReservationDTO stockReservationDTO = stockReservationService.reserve(request);
+
+        assertEquals(StockReservationStatus.RESERVED, stockReservationDTO.status());
+        assertEquals(2, stockReservationDTO.lines().size());
+        assertTrue(stockReservationDTO.expiresAt().isAfter(Instant.now()));
+        verify(stockCounterService).decrement(product.getUuid(), 5);
+        verify(stockCounterService).decrement(otherProduct, 1);
+        verify(stockReservationRepository).saveAll(anyList());
+        verify(cache).evict(product.getUuid().toString());
+        verify(cache).evict(otherProduct.toString());
+    }
+
+    @Test
+    @DisplayName("Should throw StockNotAvailableException and save nothing when the conditional decrement fails")
+    void reserve_WhenStockIsNotAvailable_ThrowsStockNotAvailableException() {
+        StockReservationRequest request = new StockReservationRequest(List.of(new StockReservationLineRequest(product.getUuid().toString(), 6)));
+        when(stockCounterService.decrement(product.getUuid(), 6)).thenReturn(false);
+        when(productRepository.findProductByUuid(product.getUuid())).thenReturn(Optional.of(product));
+
+        Exception exception = assertThrows(StockNotAvailableException.class, () -> stockReservationService.reserve(request));
+
+        assertEquals("The amount requested 6 exceeds the stock of the product Test Product with stock 5", exception.getMessage());
+        verify(stockReservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when a reserved product does not exist")
+    void reserve_WhenProductDoesNotExist_ThrowsProductNotFoundException() {
+        UUID missingProduct = UUID.randomUUID();
+        StockReservationRequest request = new StockReservationRequest(List.of(new StockReservationLineRequest(missingProduct.toString(), 1)));
+        when(stockCounterService.decrement(missingProduct, 1)).thenReturn(false);
+        when(productRepository.findProductByUuid(missingProduct)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ProductNotFoundException.class, () -> stockReservationService.reserve(request));
+
+        assertEquals("Product not found with uuid: " + missingProduct, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should confirm a pending reservation")
+    void confirm_WhenReservationIsPending_ReturnsConfirmedReservation() {
+        when(stockReservationRepository.completeReservation(eq(uuidReservation), eq(StockReservationStatus.CONFIRMED), any(Instant.class))).thenReturn(1);
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of(reservation(StockReservationStatus.CONFIRMED)));
+
+        StockReservationDTO stockReservationDTO = stockReservationService.confirm(uuidReservation.toString());
+
+        assertEquals(StockReservationStatus.CONFIRMED, stockReservationDTO.status());
+        verify(stockCounterService, never()).increment(any(UUID.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw StockReservationStateException when confirming an expired reservation")
+    void confirm_WhenReservationExpired_ThrowsStockReservationStateException() {
+        when(stockReservationRepository.completeReservation(eq(uuidReservation), eq(StockReservationStatus.CONFIRMED), any(Instant.class))).thenReturn(0);
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of(reservation(StockReservationStatus.RESERVED)));
+
+        Exception exception = assertThrows(StockReservationStateException.class, () -> stockReservationService.confirm(uuidReservation.toString()));
+
+        assertEquals("Stock reservation " + uuidReservation + " cannot be confirmed because it has expired", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw StockReservationNotFoundException when the reservation does not exist")
+    void confirm_WhenReservationDoesNotExist_ThrowsStockReservationNotFoundException() {
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of());
+
+        Exception exception = assertThrows(StockReservationNotFoundException.class, () -> stockReservationService.confirm(uuidReservation.toString()));
+
+        assertEquals("Stock reservation not found with uuid: " + uuidReservation, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should give the reserved stock back when a pending reservation is released")
+    void release_WhenReservationIsPending_IncrementsStock() {
+        when(stockReservationRepository.releaseReservation(uuidReservation)).thenReturn(1);
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of(reservation(StockReservationStatus.RELEASED)));
+
+        StockReservationDTO stockReservationDTO = stockReservationService.release(uuidReservation.toString());
+
+        assertEquals(StockReservationStatus.RELEASED, stockReservationDTO.status());
+        InOrder inOrder = inOrder(stockReservationRepository, stockCounterService);
+        inOrder.verify(stockReservationRepository).releaseReservation(uuidReservation);
+        inOrder.verify(stockCounterService).increment(product.getUuid(), 2);
+    }
+
+    @Test
+    @DisplayName("Should not give stock back twice when the reservation was already released")
+    void release_WhenReservationAlreadyReleased_ReturnsReservationWithoutIncrementingStock() {
+        when(stockReservationRepository.releaseReservation(uuidReservation)).thenReturn(0);
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of(reservation(StockReservationStatus.RELEASED)));
+
+        StockReservationDTO stockReservationDTO = stockReservationService.release(uuidReservation.toString());
+
+        assertEquals(StockReservationStatus.RELEASED, stockReservationDTO.status());
+        verify(stockCounterService, never()).increment(any(UUID.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw StockReservationStateException when releasing a confirmed reservation")
+    void release_WhenReservationConfirmed_ThrowsStockReservationStateException() {
+        when(stockReservationRepository.releaseReservation(uuidReservation)).thenReturn(0);
+        when(stockReservationRepository.findStockReservationsByUuid(uuidReservation)).thenReturn(List.of(reservation(StockReservationStatus.CONFIRMED)));
+
+        Exception exception = assertThrows(StockReservationStateException.class, () -> stockReservationService.release(uuidReservation.toString()));
+
+        assertEquals("Stock reservation " + uuidReservation + " cannot be released because it is CONFIRMED", exception.getMessage());
+        verify(stockCounterService, never()).increment(any(UUID.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return false when an expired reservation was already handled by another instance")
+    void releaseExpired_WhenReservationAlreadyReleased_ReturnsFalse() {
+        when(stockReservationRepository.releaseReservation(uuidReservation)).thenReturn(0);
+
+        assertFalse(stockReservationService.releaseExpired(uuidReservation));
+        verify(stockCounterService, never()).increment(any(UUID.class), anyInt());
+    }
+
+    private StockReservation reservation(StockReservationStatus status) {
+        return new StockReservation(1L, uuidReservation, product.getUuid(), 2, status, Instant.now().plusSeconds(60));
+    }
+}
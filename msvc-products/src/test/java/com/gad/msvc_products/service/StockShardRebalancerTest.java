@@ -0,0 +1,65 @@
+package com.gad.msvc_products.service;
+
+import com.gad.msvc_products.config.StockShardingProperties;
+import com.gad.msvc_products.repository.ProductStockShardRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockShardRebalancerTest {
+    @Mock
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Mock
+    private StockCounterService stockCounterService;
+
+    @Spy
+    private StockShardingProperties stockShardingProperties = new StockShardingProperties();
+
+    @InjectMocks
+    private StockShardRebalancer stockShardRebalancer;
+
+    @Test
+    @DisplayName("Should rebalance every hot product and merge back the ones that are no longer hot")
+    void rebalanceShards_WhenShardingIsEnabled_RebalancesHotAndMergesColdProducts() {
+        UUID hot = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        UUID cold = UUID.randomUUID();
+        stockShardingProperties.setEnabled(true);
+        stockShardingProperties.setHotProducts(Set.of(hot, failing));
+        doThrow(new CannotAcquireLockException("lock wait timeout")).when(stockCounterService).rebalance(failing);
+        when(productStockShardRepository.findShardedProductUuids()).thenReturn(List.of(hot, failing, cold));
+
+        stockShardRebalancer.rebalanceShards();
+
+        verify(stockCounterService).rebalance(hot);
+        verify(stockCounterService).unshard(cold);
+        verify(stockCounterService, times(1)).unshard(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should merge every sharded product back when sharding is disabled")
+    void rebalanceShards_WhenShardingIsDisabled_MergesAllShardedProducts() {
+        UUID sharded = UUID.randomUUID();
+        stockShardingProperties.setHotProducts(Set.of(sharded));
+        when(productStockShardRepository.findShardedProductUuids()).thenReturn(List.of(sharded));
+
+        stockShardRebalancer.rebalanceShards();
+
+        verify(stockCounterService, never()).rebalance(any(UUID.class));
+        verify(stockCounterService).unshard(sharded);
+    }
+}